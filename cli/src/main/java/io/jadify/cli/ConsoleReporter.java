@@ -1,20 +1,79 @@
 package io.jadify.cli;
 
 import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+import io.jadify.core.reactor.ModuleResult;
+import io.jadify.core.watch.WatchSession;
 
+import java.io.PrintWriter;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 
 public final class ConsoleReporter {
 
+    private final PrintWriter out;
+
+    public ConsoleReporter() {
+        this(new PrintWriter(System.out, true));
+    }
+
+    public ConsoleReporter(PrintWriter out) {
+        this.out = out;
+    }
+
     public void print(List<Issue> issues) {
         issues.stream()
                 .sorted(Comparator.comparing((Issue i) -> i.element().sourceFile())
                         .thenComparing(i -> i.element().displayName()))
-                .forEach(i -> System.out.printf(
-                        "[%s] %s (%s) - %s%n",
-                        i.severity(), i.message(), i.ruleId(), i.element().sourceFile()
-                ));
-        System.out.printf("Issues: %d%n", issues.size());
+                .forEach(this::print);
+        printSummary(issues.size());
+    }
+
+    /** Prints a single issue immediately; used when issues are streamed in scan order. */
+    public void print(Issue i) {
+        out.printf(
+                "[%s] %s (%s) - %s%n",
+                i.severity(), i.message(), i.ruleId(), i.element().sourceFile()
+        );
+    }
+
+    /** Prints the issues of every module under its own header, followed by the total over all modules. */
+    public void printModules(List<ModuleResult> modules) {
+        int total = 0;
+        for (ModuleResult module : modules) {
+            out.printf("== %s ==%n", module.moduleRoot());
+            print(module.issues());
+            total += module.issues().size();
+        }
+        out.printf("Modules: %d, total issues: %d%n", modules.size(), total);
+    }
+
+    /** Prints what a watch-mode re-check fixed ({@code -}) and introduced ({@code +}). */
+    public void printDelta(WatchSession.Delta delta, int issueCount, Duration elapsed) {
+        for (Issue i : delta.removed()) {
+            out.print("- ");
+            print(i);
+        }
+        for (Issue i : delta.added()) {
+            out.print("+ ");
+            print(i);
+        }
+        out.printf("Re-checked %d files in %d ms: %d new, %d fixed, issues: %d%n",
+                delta.filesChecked(), elapsed.toMillis(), delta.added().size(), delta.removed().size(), issueCount);
+    }
+
+    /** Prints the blocking issues a fail-fast scan stopped at, in scan order. */
+    public void printOffenders(List<Issue> offenders, Severity failAt) {
+        offenders.forEach(this::print);
+        if (offenders.isEmpty()) {
+            out.printf("No issues at or above %s%n", failAt);
+        } else {
+            out.printf("Stopped at %d issue(s) at or above %s%n", offenders.size(), failAt);
+        }
+    }
+
+    public void printSummary(int issueCount) {
+        out.printf("Issues: %d%n", issueCount);
     }
-}
\ No newline at end of file
+}
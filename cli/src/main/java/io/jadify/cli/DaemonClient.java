@@ -0,0 +1,72 @@
+package io.jadify.cli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalInt;
+
+/**
+ * Forwards a command line to a running {@code jadify daemon} and replays its output.
+ */
+final class DaemonClient {
+
+    private DaemonClient() {}
+
+    /**
+     * Runs {@code args} in the daemon listening on {@code socket}. Returns empty if no daemon is reachable, in which
+     * case nothing has been written and the caller should run the command itself.
+     */
+    static OptionalInt tryRun(Path socket, String[] args, PrintStream out, PrintStream err) {
+        if (!Files.exists(socket)) {
+            return OptionalInt.empty();
+        }
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.connect(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            return OptionalInt.empty(); // stale socket file of a daemon that is gone
+        }
+        try (channel) {
+            var request = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            DaemonProtocol.writeRequest(request, Path.of("").toAbsolutePath(), args);
+            var response = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (true) {
+                byte type = response.readByte();
+                int value = response.readInt();
+                switch (type) {
+                    case DaemonProtocol.STDOUT -> copy(response, value, out);
+                    case DaemonProtocol.STDERR -> copy(response, value, err);
+                    case DaemonProtocol.EXIT -> {
+                        out.flush();
+                        err.flush();
+                        return OptionalInt.of(value);
+                    }
+                    default -> throw new IOException("Unexpected frame " + type);
+                }
+            }
+        } catch (EOFException e) {
+            err.println("Jadify daemon closed the connection");
+            return OptionalInt.of(1);
+        } catch (IOException e) {
+            err.println("Jadify daemon failed: " + e.getMessage());
+            return OptionalInt.of(1);
+        }
+    }
+
+    private static void copy(DataInputStream in, int length, PrintStream target) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) throw new EOFException();
+        target.write(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,196 @@
+package io.jadify.cli;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.ConfigLoader;
+import picocli.CommandLine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps a JVM with loaded classes, JIT-compiled scanner code and parsed configurations running, and serves
+ * {@code jadify scan} requests of the normal CLI over a Unix domain socket. Every connection is handled on its own
+ * virtual thread; the daemon exits after {@code --idle-timeout} minutes without requests.
+ */
+@CommandLine.Command(name = "daemon", mixinStandardHelpOptions = true,
+        description = "Serve scan requests from a warm JVM; scan uses it automatically unless --no-daemon is given")
+public final class DaemonCommand implements Runnable {
+
+    private static final Logger log = Logger.getLogger(DaemonCommand.class.getName());
+
+    @CommandLine.Option(names = "--socket",
+            description = "Unix domain socket to listen on (default: $" + DaemonProtocol.SOCKET_ENV + " or ~/.jadify/daemon.sock)")
+    Path socket;
+
+    @CommandLine.Option(names = "--idle-timeout", defaultValue = "30",
+            description = "Minutes without requests after which the daemon exits; 0 never exits (default: ${DEFAULT-VALUE})")
+    long idleTimeoutMinutes;
+
+    private final Map<Path, CachedConfig> configs = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicLong lastActivity = new AtomicLong(System.nanoTime());
+
+    private record CachedConfig(FileTime modified, long size, Config config) {}
+
+    @Override
+    public void run() {
+        Path socketFile = (socket != null ? socket : DaemonProtocol.defaultSocket()).toAbsolutePath();
+        try (ServerSocketChannel server = bind(socketFile);
+             ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            Thread.ofVirtual().name("jadify-daemon-idle").start(() -> closeWhenIdle(server));
+            log.info("Jadify daemon listening on %s".formatted(socketFile));
+            while (true) {
+                SocketChannel client;
+                try {
+                    client = server.accept();
+                } catch (AsynchronousCloseException e) {
+                    break; // idle timeout
+                }
+                activeRequests.incrementAndGet();
+                requests.submit(() -> serve(client));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                Files.deleteIfExists(socketFile);
+            } catch (IOException ignored) {
+                // a leftover socket file is detected as stale by the next client or daemon
+            }
+        }
+        log.info("Jadify daemon stopped");
+    }
+
+    private static ServerSocketChannel bind(Path socketFile) throws IOException {
+        Path dir = socketFile.getParent();
+        if (dir != null && !Files.isDirectory(dir)) {
+            try {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } catch (UnsupportedOperationException e) {
+                Files.createDirectories(dir);
+            }
+        }
+        if (Files.exists(socketFile)) {
+            try (SocketChannel probe = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                probe.connect(UnixDomainSocketAddress.of(socketFile));
+                throw new IllegalStateException("A jadify daemon is already listening on " + socketFile);
+            } catch (IOException stale) {
+                Files.delete(socketFile);
+            }
+        }
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketFile));
+        try {
+            Files.setPosixFilePermissions(socketFile, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException ignored) {
+            // not a POSIX file system; the directory permissions still apply
+        }
+        return server;
+    }
+
+    private void closeWhenIdle(ServerSocketChannel server) {
+        if (idleTimeoutMinutes <= 0) return;
+        long timeout = Duration.ofMinutes(idleTimeoutMinutes).toNanos();
+        try {
+            while (true) {
+                long idle = System.nanoTime() - lastActivity.get();
+                if (activeRequests.get() == 0 && idle >= timeout) {
+                    log.info("Jadify daemon idle for %d minutes, shutting down".formatted(idleTimeoutMinutes));
+                    server.close();
+                    return;
+                }
+                Thread.sleep(Duration.ofNanos(Math.max(timeout - idle, Duration.ofSeconds(1).toNanos())));
+            }
+        } catch (InterruptedException | IOException e) {
+            // the daemon is going away anyway
+        }
+    }
+
+    private void serve(SocketChannel client) {
+        try (client) {
+            var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client)));
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)));
+            DaemonProtocol.Request request = DaemonProtocol.readRequest(in);
+            var stdout = new PrintWriter(new OutputStreamWriter(DaemonProtocol.frames(out, DaemonProtocol.STDOUT), UTF_8), true);
+            var stderr = new PrintWriter(new OutputStreamWriter(DaemonProtocol.frames(out, DaemonProtocol.STDERR), UTF_8), true);
+            int exitCode;
+            if (request.args().isEmpty() || !request.args().getFirst().equals("scan")) {
+                stderr.println("The jadify daemon only runs scan requests");
+                exitCode = CommandLine.ExitCode.USAGE;
+            } else {
+                exitCode = JadifyMain.commandLine(new RequestFactory(request.workingDirectory()))
+                        .setOut(stdout)
+                        .setErr(stderr)
+                        .execute(request.args().toArray(String[]::new));
+            }
+            stdout.flush();
+            stderr.flush();
+            DaemonProtocol.writeExit(out, exitCode);
+        } catch (IOException e) {
+            log.warning("Jadify daemon request failed: %s".formatted(e.getMessage()));
+        } finally {
+            lastActivity.set(System.nanoTime());
+            activeRequests.decrementAndGet();
+        }
+    }
+
+    /** Parses a configuration file once and reuses it until the file changes. */
+    private Config loadConfig(Path configFile) throws Exception {
+        if (configFile == null) {
+            return ConfigLoader.load(null);
+        }
+        Path key = configFile.toAbsolutePath().normalize();
+        FileTime modified = Files.getLastModifiedTime(key);
+        long size = Files.size(key);
+        CachedConfig cached = configs.get(key);
+        if (cached != null && cached.modified().equals(modified) && cached.size() == size) {
+            return cached.config();
+        }
+        Config config = ConfigLoader.load(key);
+        configs.put(key, new CachedConfig(modified, size, config));
+        return config;
+    }
+
+    /** Creates the scan command of one request, bound to the client's working directory. */
+    private final class RequestFactory implements CommandLine.IFactory {
+        private final Path workingDirectory;
+
+        RequestFactory(Path workingDirectory) {
+            this.workingDirectory = workingDirectory;
+        }
+
+        @Override
+        public <K> K create(Class<K> cls) throws Exception {
+            if (cls == ScanCommand.class) {
+                return cls.cast(new ScanCommand(workingDirectory, DaemonCommand.this::loadConfig));
+            }
+            return CommandLine.defaultFactory().create(cls);
+        }
+    }
+}
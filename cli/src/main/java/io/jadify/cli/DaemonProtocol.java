@@ -0,0 +1,95 @@
+package io.jadify.cli;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format between the CLI and {@code jadify daemon}. A request is the client's working directory and its command
+ * line; the response is a sequence of stdout/stderr frames terminated by the exit code.
+ */
+final class DaemonProtocol {
+
+    static final String SOCKET_ENV = "JADIFY_DAEMON_SOCKET";
+
+    private static final int MAGIC = 0x4a444631; // "JDF1"
+
+    static final byte STDOUT = 1;
+    static final byte STDERR = 2;
+    static final byte EXIT = 3;
+
+    private DaemonProtocol() {}
+
+    /** {@code $JADIFY_DAEMON_SOCKET}, or {@code ~/.jadify/daemon.sock}. */
+    static Path defaultSocket() {
+        String env = System.getenv(SOCKET_ENV);
+        if (env != null && !env.isBlank()) {
+            return Path.of(env);
+        }
+        return Path.of(System.getProperty("user.home"), ".jadify", "daemon.sock");
+    }
+
+    record Request(Path workingDirectory, List<String> args) {}
+
+    static void writeRequest(DataOutputStream out, Path workingDirectory, String[] args) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeUTF(workingDirectory.toString());
+        out.writeInt(args.length);
+        for (String arg : args) {
+            out.writeUTF(arg);
+        }
+        out.flush();
+    }
+
+    static Request readRequest(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a jadify request");
+        }
+        Path workingDirectory = Path.of(in.readUTF());
+        int count = in.readInt();
+        List<String> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            args.add(in.readUTF());
+        }
+        return new Request(workingDirectory, args);
+    }
+
+    /** An output stream that sends everything written to it as frames of {@code type}. */
+    static OutputStream frames(DataOutputStream out, byte type) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (len == 0) return;
+                synchronized (out) {
+                    out.writeByte(type);
+                    out.writeInt(len);
+                    out.write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                synchronized (out) {
+                    out.flush();
+                }
+            }
+        };
+    }
+
+    static void writeExit(DataOutputStream out, int exitCode) throws IOException {
+        synchronized (out) {
+            out.writeByte(EXIT);
+            out.writeInt(exitCode);
+            out.flush();
+        }
+    }
+}
@@ -1,17 +1,57 @@
 package io.jadify.cli;
 
+import io.jadify.core.config.exception.ExitCode;
+import io.jadify.core.config.exception.JadifyException;
 import picocli.CommandLine;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
 @CommandLine.Command(
         name = "jadify",
-        subcommands = { ScanCommand.class },
+        subcommands = { ScanCommand.class, DaemonCommand.class },
         mixinStandardHelpOptions = true
 )
 public final class JadifyMain implements Runnable {
     @Override public void run() { CommandLine.usage(this, System.out); }
 
     public static void main(String[] args) {
-        int code = new CommandLine(new JadifyMain()).execute(args);
+        // Watch mode lives as long as the terminal it prints to, so it never ties up a daemon.
+        List<String> arguments = Arrays.asList(args);
+        if (args.length > 0 && args[0].equals("scan") && !arguments.contains("--no-daemon") && !arguments.contains("--watch")) {
+            OptionalInt code = DaemonClient.tryRun(DaemonProtocol.defaultSocket(), args, System.out, System.err);
+            if (code.isPresent()) {
+                System.exit(code.getAsInt());
+            }
+        }
+        int code = commandLine(CommandLine.defaultFactory()).execute(args);
         System.exit(code);
     }
+
+    /** The {@code jadify} command line with its exit codes, creating commands through {@code factory}. */
+    static CommandLine commandLine(CommandLine.IFactory factory) {
+        return new CommandLine(new JadifyMain(), factory)
+                .setExitCodeExceptionMapper(JadifyMain::exitCode)
+                .setExecutionExceptionHandler(JadifyMain::onFailure);
+    }
+
+    /** Reports a {@link JadifyException} such as a failing gate by its message; anything else keeps its stack trace. */
+    static int onFailure(Exception failure, CommandLine commandLine, CommandLine.ParseResult parseResult) throws Exception {
+        if (!(failure instanceof JadifyException e)) {
+            throw failure;
+        }
+        commandLine.getErr().println(e.getMessage());
+        return e.exitCode().code();
+    }
+
+    /** The {@link ExitCode} of the {@link JadifyException} behind a failed command, if there is one. */
+    static int exitCode(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof JadifyException e) {
+                return e.exitCode().code();
+            }
+        }
+        return ExitCode.UNEXPECTED.code();
+    }
 }
@@ -1,44 +1,310 @@
 package io.jadify.cli;
 
 import io.jadify.core.JadifyRunner;
+import io.jadify.core.config.Config;
 import io.jadify.core.config.ConfigLoader;
+import io.jadify.core.config.exception.BuildFailureException;
+import io.jadify.core.model.Issue;
 import io.jadify.core.model.Severity;
-import io.jadify.core.rules.PublicJavadocPresenceRule;
+import io.jadify.core.reactor.ReactorModules;
+import io.jadify.core.report.IssueReporter;
+import io.jadify.core.report.ReportFormat;
+import io.jadify.core.rules.BuiltInRules;
+import io.jadify.core.rules.ElementRule;
+import io.jadify.core.rules.Rule;
+import io.jadify.core.scan.ChangeSet;
+import io.jadify.core.scan.DeclarationScanner;
 import io.jadify.core.scan.JavaSourceScanner;
+import io.jadify.core.scan.ScanOptions;
+import io.jadify.core.scan.Scanner;
+import io.jadify.core.watch.SourceWatcher;
+import io.jadify.core.watch.WatchSession;
 import picocli.CommandLine;
 
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
 
 @CommandLine.Command(name = "scan", mixinStandardHelpOptions = true)
 public final class ScanCommand implements Runnable {
 
+    /** Files per parse batch with {@code --fail-fast}: small, so that stopping early skips most of the parsing. */
+    private static final int FAIL_FAST_BATCH_SIZE = 32;
+
+    @CommandLine.Spec
+    CommandLine.Model.CommandSpec spec;
+
+    /** Relative paths of the command line are resolved against this; the daemon runs requests from other directories. */
+    private final Path workingDirectory;
+    private final ConfigSource configSource;
+
+    public ScanCommand() {
+        this(Path.of(""), ConfigLoader::load);
+    }
+
+    ScanCommand(Path workingDirectory, ConfigSource configSource) {
+        this.workingDirectory = workingDirectory;
+        this.configSource = configSource;
+    }
+
+    @FunctionalInterface
+    interface ConfigSource {
+        Config load(Path configFile) throws Exception;
+    }
+
     @CommandLine.Option(names = {"-c", "--config"}, required = true)
     Path configFile;
 
-    @CommandLine.Parameters(index = "0", description = "Project root (e.g. src/main/java)")
-    Path projectRoot;
+    @CommandLine.Parameters(arity = "1..*", description = "Project root (e.g. src/main/java), or a -sources.jar, zip or tar.gz archive; several roots are scanned as modules of one run")
+    List<Path> projectRoots;
+
+    @CommandLine.Option(names = "--reactor",
+            description = "Treat the project root as a Maven reactor and scan all modules listed in its pom.xml in one run")
+    boolean reactor;
+
+    @CommandLine.Option(names = "--module-threads", defaultValue = "0",
+            description = "Number of modules scanned concurrently in reactor mode; 0 uses one per available processor (default: ${DEFAULT-VALUE})")
+    int moduleThreads;
+
+    @CommandLine.Option(names = {"-t", "--threads"}, defaultValue = "1",
+            description = "Number of scanner threads; 0 uses one per available processor (default: ${DEFAULT-VALUE})")
+    int threads;
+
+    @CommandLine.Option(names = "--cache", arity = "0..1", fallbackValue = ".jadify/cache",
+            description = "Reuse scan results of unchanged files from this directory (default when given without a value: ${FALLBACK-VALUE})")
+    Path cacheDir;
+
+    @CommandLine.Option(names = "--stream",
+            description = "Report issues while the scan is still running, in scan order, with memory bounded by the batch size")
+    boolean stream;
+
+    @CommandLine.Option(names = "--fail-fast",
+            description = "Stop the scan as soon as an issue reaches the failOn severity and report only the offenders found")
+    boolean failFast;
+
+    @CommandLine.Option(names = "--fail-fast-limit", defaultValue = "1",
+            description = "With --fail-fast, number of blocking issues to report before stopping (default: ${DEFAULT-VALUE})")
+    int failFastLimit;
+
+    @CommandLine.Option(names = "--format",
+            description = "Write a machine-readable report instead of the console listing: SARIF, JSONL or CHECKSTYLE (XML); issues are written as they are found, with line and column")
+    ReportFormat format;
+
+    @CommandLine.Option(names = {"-o", "--output"},
+            description = "With --format, write the report to this file instead of standard output")
+    Path output;
+
+    @CommandLine.Option(names = "--batch-bytes", defaultValue = "0", converter = ByteSizeConverter.class,
+            description = "Parse at most this much source per javac task, e.g. 64m, so trees of earlier batches can be collected; 0 means no limit (default: ${DEFAULT-VALUE})")
+    long batchBytes;
+
+    @CommandLine.Option(names = "--max-heap-fraction", defaultValue = "0",
+            description = "Size parse batches so their trees take at most this share of the maximum heap, e.g. 0.25; 0 means no limit (default: ${DEFAULT-VALUE})")
+    double maxHeapFraction;
+
+    @CommandLine.Option(names = "--scanner", defaultValue = "JAVAC",
+            description = "Source scanner: JAVAC (full javac parse) or DECLARATION (javac-free, presence checks only); default: ${DEFAULT-VALUE}")
+    ScannerKind scannerKind;
+
+    @CommandLine.Option(names = "--declarations-only",
+            description = "With the JAVAC scanner, blank method bodies before parsing; same result, less parse time and heap")
+    boolean declarationsOnly;
+
+    @CommandLine.Option(names = "--changed-from",
+            description = "Only scan the files listed in this unified diff or file list (e.g. git diff --name-only)")
+    Path changedFrom;
+
+    @CommandLine.Option(names = "--changed-lines",
+            description = "With --changed-from and a diff, only report elements whose declaration or doc comment overlaps a changed hunk")
+    boolean changedLines;
+
+    @CommandLine.Option(names = "--watch",
+            description = "Keep running and re-check changed files, printing the issues that appear or disappear; never uses the daemon or --cache")
+    boolean watch;
+
+    @CommandLine.Option(names = "--watch-quiet-ms", defaultValue = "200",
+            description = "With --watch, milliseconds without file events before a burst of changes is re-checked (default: ${DEFAULT-VALUE})")
+    long watchQuietMillis;
+
+    @CommandLine.Option(names = "--no-daemon",
+            description = "Run in this process even if a jadify daemon is listening")
+    boolean noDaemon;
+
+    enum ScannerKind { JAVAC, DECLARATION }
+
+    /** Parses a byte count with an optional {@code k}, {@code m} or {@code g} suffix. */
+    static final class ByteSizeConverter implements CommandLine.ITypeConverter<Long> {
+        @Override
+        public Long convert(String value) {
+            String digits = value.trim().toLowerCase(Locale.ROOT);
+            int shift = switch (digits.isEmpty() ? ' ' : digits.charAt(digits.length() - 1)) {
+                case 'k' -> 10;
+                case 'm' -> 20;
+                case 'g' -> 30;
+                default -> 0;
+            };
+            if (shift > 0) {
+                digits = digits.substring(0, digits.length() - 1);
+            }
+            try {
+                return Long.parseLong(digits) << shift;
+            } catch (NumberFormatException e) {
+                throw new CommandLine.TypeConversionException("Invalid byte size '%s', expected e.g. 65536, 512k or 64m".formatted(value));
+            }
+        }
+    }
 
     @Override
     public void run() {
+        Severity failAt;
+        boolean shouldFail;
         try {
-            var config = ConfigLoader.load(configFile);
+            var config = configSource.load(workingDirectory.resolve(configFile));
+            var out = spec.commandLine().getOut();
+            List<Path> roots = projectRoots.stream().map(workingDirectory::resolve).toList();
 
-            var runner = new JadifyRunner(
-                    new JavaSourceScanner(),
-                    List.of(new PublicJavadocPresenceRule())
-            );
-
-            var issues = runner.run(projectRoot, config);
-            new ConsoleReporter().print(issues);
-
-            Severity failAt = config.failOn().severity();
-            boolean shouldFail = issues.stream().anyMatch(i -> i.severity().ordinal() >= failAt.ordinal());
-            if (shouldFail) throw new RuntimeException();
+            ChangeSet changes = null;
+            if (changedFrom != null) {
+                changes = ChangeSet.read(workingDirectory.resolve(changedFrom));
+                if (!changedLines) {
+                    changes = changes.wholeFiles();
+                }
+            }
+            ScanOptions options = ScanOptions.defaults()
+                    .withThreads(threads)
+                    .withCacheDir(cacheDir == null ? null : workingDirectory.resolve(cacheDir))
+                    .withBatchBytes(batchBytes)
+                    .withMaxHeapFraction(maxHeapFraction)
+                    .withChanges(changes)
+                    .withDeclarationsOnly(declarationsOnly);
+            if (failFast) {
+                options = options.withBatchSize(FAIL_FAST_BATCH_SIZE);
+            }
+            Scanner scanner = switch (scannerKind) {
+                case JAVAC -> new JavaSourceScanner(options);
+                case DECLARATION -> new DeclarationScanner(options);
+            };
+            List<Rule> rules = BuiltInRules.forConfig(config);
+            var runner = new JadifyRunner(scanner, rules);
 
+            failAt = config.failOn().severity();
+            List<Path> modules = reactor
+                    ? roots.stream().flatMap(root -> ReactorModules.fromPom(root, config.projectRoot()).stream()).toList()
+                    : roots;
+            if (watch) {
+                if (reactor || modules.size() > 1 || stream || failFast || format != null || changes != null || cacheDir != null) {
+                    throw new IllegalArgumentException(
+                            "--watch takes a single project root and no --reactor, --stream, --fail-fast, --format, --changed-from or --cache");
+                }
+                watch(scanner, rules, modules.getFirst(), config, new ConsoleReporter(out));
+                return;
+            }
+            if (output != null && format == null) {
+                throw new IllegalArgumentException("--output needs a --format");
+            }
+            if (failFast) {
+                if (stream) throw new IllegalArgumentException("--fail-fast always streams, drop --stream");
+                if (format != null) throw new IllegalArgumentException("--fail-fast reports to the console, drop --format");
+                if (failFastLimit <= 0) throw new IllegalArgumentException("--fail-fast-limit must be positive");
+                List<Issue> offenders = new ArrayList<>();
+                for (Path module : modules) {
+                    if (offenders.size() == failFastLimit) break;
+                    offenders.addAll(runner.failFast(module, config, failAt, failFastLimit - offenders.size()));
+                }
+                new ConsoleReporter(out).printOffenders(offenders, failAt);
+                shouldFail = !offenders.isEmpty();
+            } else if (format != null) {
+                if (stream) throw new IllegalArgumentException("--format always streams, drop --stream");
+                shouldFail = report(runner, rules, modules, config, failAt, out);
+            } else if (reactor || modules.size() > 1) {
+                if (stream) throw new IllegalArgumentException("--stream scans a single project root");
+                var results = runner.runModules(modules, config, moduleThreads);
+                new ConsoleReporter(out).printModules(results);
+                shouldFail = results.stream()
+                        .flatMap(module -> module.issues().stream())
+                        .anyMatch(i -> i.severity().ordinal() >= failAt.ordinal());
+            } else if (stream) {
+                var reporter = new ConsoleReporter(out);
+                int[] counts = new int[2]; // [all issues, failing issues]
+                runner.stream(modules.getFirst(), config, issue -> {
+                    reporter.print(issue);
+                    counts[0]++;
+                    if (issue.severity().ordinal() >= failAt.ordinal()) counts[1]++;
+                });
+                reporter.printSummary(counts[0]);
+                shouldFail = counts[1] > 0;
+            } else {
+                var issues = runner.run(modules.getFirst(), config);
+                new ConsoleReporter(out).print(issues);
+                shouldFail = issues.stream().anyMatch(i -> i.severity().ordinal() >= failAt.ordinal());
+            }
         } catch (Exception e) {
-            System.err.println("Jadify failed: " + e.getMessage());
+            spec.commandLine().getErr().println("Jadify failed: " + e.getMessage());
             throw new RuntimeException(e);
         }
+        // A failing gate is the outcome of a completed scan, not an error of the run.
+        if (shouldFail) throw new BuildFailureException(failAt);
+    }
+
+    /**
+     * Writes the issues of all modules into one {@link #format} report, streaming one module after the other so the
+     * report takes constant memory; rules that need the whole scan fall back to scanning each module at once.
+     *
+     * @return whether an issue reached {@code failAt}
+     */
+    private boolean report(JadifyRunner runner, List<Rule> rules, List<Path> modules, Config config, Severity failAt,
+                           PrintWriter console) throws Exception {
+        boolean streamable = rules.stream().allMatch(ElementRule.class::isInstance);
+        Writer target = output == null ? console : Files.newBufferedWriter(workingDirectory.resolve(output));
+        int[] failing = new int[1];
+        int count;
+        try {
+            try (IssueReporter reporter = format.open(target)) {
+                Consumer<Issue> sink = issue -> {
+                    reporter.accept(issue);
+                    if (issue.severity().ordinal() >= failAt.ordinal()) failing[0]++;
+                };
+                for (Path module : modules) {
+                    reporter.projectRoot(module);
+                    if (streamable) {
+                        runner.stream(module, config, sink);
+                    } else {
+                        // Issues come grouped by rule; file order keeps one group per file and reads each file once.
+                        runner.run(module, config).stream().sorted(IssueReporter.BY_LOCATION).forEach(sink);
+                    }
+                }
+                count = reporter.count();
+            }
+        } finally {
+            if (output != null) {
+                target.close();
+            }
+        }
+        if (output != null) {
+            new ConsoleReporter(console).printSummary(count);
+        }
+        return failing[0] > 0;
+    }
+
+    /** Prints the issues of a full scan, then the delta of every re-check until the process is stopped. */
+    private void watch(Scanner scanner, List<Rule> rules, Path projectRoot, Config config, ConsoleReporter reporter) throws Exception {
+        Path sourceRoot = projectRoot.resolve(config.projectRoot());
+        // Watch before the first scan, so that nothing saved during it is missed.
+        try (var watcher = new SourceWatcher(sourceRoot, config.scan().sources(), Duration.ofMillis(watchQuietMillis))) {
+            var session = WatchSession.start(scanner, rules, projectRoot, config);
+            reporter.print(session.issues());
+            while (true) {
+                var changed = watcher.awaitChanges();
+                long start = System.nanoTime();
+                var delta = session.recheck(changed);
+                reporter.printDelta(delta, session.issueCount(), Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
     }
 }
@@ -0,0 +1,54 @@
+package io.jadify.cli;
+
+import io.jadify.core.config.exception.ExitCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalInt;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaemonCommandTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void servesScanRequestsWithTheirOutputAndExitCode() throws Exception {
+        Path config = Files.writeString(dir.resolve("jadify.yaml"), "projectRoot: \"src/main/java\"\n");
+        Path source = dir.resolve("src/main/java/com/example/A.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "package com.example;\npublic class A {}\n");
+        Path socket = dir.resolve("d.sock");
+
+        // The daemon serves until it is idle for a minute; as a daemon thread it does not outlive the tests.
+        Thread.ofPlatform().daemon().name("jadify-daemon-test").start(() ->
+                JadifyMain.commandLine(CommandLine.defaultFactory()).execute("daemon", "--socket", socket.toString()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        OptionalInt exitCode = OptionalInt.empty();
+        // The socket file appears when the daemon binds, which is just before it listens.
+        for (int i = 0; i < 500 && exitCode.isEmpty(); i++) {
+            Thread.sleep(10);
+            exitCode = DaemonClient.tryRun(socket, new String[]{"scan", "-c", config.toString(), dir.toString()},
+                    new PrintStream(out, true, UTF_8), new PrintStream(err, true, UTF_8));
+        }
+
+        assertEquals(OptionalInt.of(ExitCode.FAILURE.code()), exitCode, err.toString(UTF_8));
+        assertTrue(out.toString(UTF_8).contains("Missing Javadoc: com.example.A"), out.toString(UTF_8));
+        assertEquals("Failing build due to severity >= ERROR", err.toString(UTF_8).strip());
+
+        err.reset();
+        exitCode = DaemonClient.tryRun(socket, new String[]{"daemon"}, new PrintStream(out, true, UTF_8),
+                new PrintStream(err, true, UTF_8));
+
+        assertEquals(OptionalInt.of(CommandLine.ExitCode.USAGE), exitCode);
+        assertTrue(err.toString(UTF_8).contains("only runs scan requests"), err.toString(UTF_8));
+    }
+}
@@ -0,0 +1,144 @@
+package io.jadify.cli;
+
+import io.jadify.core.config.ConfigLoader;
+import io.jadify.core.config.exception.ExitCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanCommandTest {
+
+    @TempDir
+    Path projectRoot;
+
+    private record Result(int exitCode, String out, String err) {
+        long issueLines() {
+            return out.lines().filter(line -> line.startsWith("[")).count();
+        }
+    }
+
+    @BeforeEach
+    void writeConfig() throws IOException {
+        Files.writeString(projectRoot.resolve("jadify.yaml"), "projectRoot: \"src/main/java\"\n");
+    }
+
+    @Test
+    void passesWithoutBlockingIssues() throws Exception {
+        write("com/example/A.java", "package com.example;\n/** A. */\npublic class A {}\n");
+
+        Result result = scan();
+
+        assertEquals(ExitCode.SUCCESS.code(), result.exitCode(), result.err());
+        assertTrue(result.out().contains("Issues: 0"), result.out());
+    }
+
+    @Test
+    void exitsWithTheFailureCodeWhenAnIssueReachesFailOn() throws Exception {
+        write("com/example/A.java", "package com.example;\npublic class A {}\n");
+
+        Result result = scan();
+
+        assertEquals(ExitCode.FAILURE.code(), result.exitCode());
+        assertEquals(1, result.issueLines(), result.out());
+        assertEquals("Failing build due to severity >= ERROR", result.err().strip());
+    }
+
+    @Test
+    void missingTagsOnlyWarnByDefault() throws Exception {
+        write("com/example/A.java", "package com.example;\n/** A. */\npublic class A {\n    /** Runs. */\n"
+                + "    public int run(int x) { return x; }\n}\n");
+
+        Result result = scan();
+
+        assertEquals(ExitCode.SUCCESS.code(), result.exitCode(), result.err());
+        assertEquals(2, result.out().lines().filter(line -> line.startsWith("[WARN] Missing @")).count(), result.out());
+    }
+
+    @Test
+    void failFastStopsAtTheFirstOffenders() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            write("com/example/A" + i + ".java", "package com.example;\npublic class A" + i + " {}\n");
+        }
+
+        Result result = scan("--fail-fast", "--fail-fast-limit", "2");
+
+        assertEquals(ExitCode.FAILURE.code(), result.exitCode());
+        assertEquals(2, result.issueLines(), result.out());
+        assertTrue(result.out().contains("Stopped at 2 issue(s) at or above ERROR"), result.out());
+        assertEquals("Failing build due to severity >= ERROR", result.err().strip());
+    }
+
+    @Test
+    void failFastPassesWithoutBlockingIssues() throws Exception {
+        write("com/example/A.java", "package com.example;\n/** A. */\npublic class A {}\n");
+
+        Result result = scan("--fail-fast");
+
+        assertEquals(ExitCode.SUCCESS.code(), result.exitCode(), result.err());
+        assertTrue(result.out().contains("No issues at or above ERROR"), result.out());
+    }
+
+    @Test
+    void writesTheReportInTheRequestedFormat() throws Exception {
+        write("com/example/A.java", "package com.example;\npublic class A {\n    public void run() {}\n}\n");
+
+        Result result = scan("--format", "JSONL", "-o", "report.jsonl");
+
+        assertEquals(ExitCode.FAILURE.code(), result.exitCode());
+        List<String> report = Files.readAllLines(projectRoot.resolve("report.jsonl"));
+        assertEquals(2, report.size());
+        assertTrue(report.getFirst().startsWith("{\"severity\":\"ERROR\",\"rule\":\"public-javadoc-presence\""), report.getFirst());
+        assertTrue(result.out().contains("Issues: 2"), result.out());
+    }
+
+    @Test
+    void rejectsOptionsWatchModeCannotHonor() throws Exception {
+        write("com/example/A.java", "package com.example;\npublic class A {}\n");
+
+        for (String option : List.of("--cache", "--stream", "--fail-fast")) {
+            Result result = scan("--watch", option);
+
+            assertNotEquals(ExitCode.SUCCESS.code(), result.exitCode(), option);
+            assertTrue(result.err().contains("--watch takes a single project root"), result.err());
+        }
+    }
+
+    /** Runs {@code jadify scan} on {@link #projectRoot}, which relative paths of {@code options} are resolved against. */
+    private Result scan(String... options) {
+        StringWriter out = new StringWriter();
+        StringWriter err = new StringWriter();
+        CommandLine.IFactory factory = new CommandLine.IFactory() {
+            @Override
+            public <K> K create(Class<K> cls) throws Exception {
+                if (cls == ScanCommand.class) {
+                    return cls.cast(new ScanCommand(projectRoot, ConfigLoader::load));
+                }
+                return CommandLine.defaultFactory().create(cls);
+            }
+        };
+        String[] args = Stream.concat(Stream.of("scan", "--no-daemon", "-c", "jadify.yaml", "."), Stream.of(options))
+                .toArray(String[]::new);
+        int exitCode = JadifyMain.commandLine(factory)
+                .setOut(new PrintWriter(out, true))
+                .setErr(new PrintWriter(err, true))
+                .execute(args);
+        return new Result(exitCode, out.toString(), err.toString());
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = projectRoot.resolve("src/main/java").resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
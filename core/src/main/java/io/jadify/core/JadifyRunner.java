@@ -1,18 +1,49 @@
 package io.jadify.core;
 
 import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.ConfigCompiler;
+import io.jadify.core.model.ElementTable;
 import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+import io.jadify.core.reactor.ModuleResult;
+import io.jadify.core.rules.ElementRule;
 import io.jadify.core.rules.Rule;
+import io.jadify.core.rules.RuleEngine;
+import io.jadify.core.scan.ScanBatch;
 import io.jadify.core.scan.Scanner;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.logging.Logger;
+
+import static java.util.logging.Logger.getLogger;
 
 public final class JadifyRunner {
 
+    private static final Logger log = getLogger(JadifyRunner.class.getName());
+
+    /** Batches the scanner may run ahead of rule evaluation before it blocks. */
+    private static final int STREAM_QUEUE_CAPACITY = 4;
+    private static final ScanBatch END_OF_SCAN = new ScanBatch(ElementTable.empty());
+
     private final Scanner scanner;
     private final List<Rule> rules;
+    private volatile Compiled compiled;
+
+    private record Compiled(Config config, RuleEngine engine) {}
 
     public JadifyRunner(Scanner scanner, List<Rule> rules) {
         this.scanner = scanner;
@@ -21,10 +52,181 @@ public final class JadifyRunner {
 
     public List<Issue> run(Path projectRoot, Config config) throws Exception {
         var ctx = scanner.scan(projectRoot, config);
-        var issues = new ArrayList<Issue>();
+        return engine(config).evaluate(ctx);
+    }
+
+    /** The rule engine for {@code config}, compiled once and shared by all modules and batches of a run. */
+    private RuleEngine engine(Config config) {
+        Compiled last = compiled;
+        if (last == null || last.config() != config) {
+            last = new Compiled(config, RuleEngine.of(rules, new ConfigCompiler().compile(config)));
+            compiled = last;
+        }
+        return last.engine();
+    }
+
+    /**
+     * Runs every module of a reactor in this JVM, up to {@code parallelism} modules at a time ({@code <= 0} means one
+     * per available processor). The scanner, rules and config are shared by all modules, so config loading, filter
+     * compilation and javac warm-up are paid once. Results are returned in the order of {@code moduleRoots}.
+     */
+    public List<ModuleResult> runModules(List<Path> moduleRoots, Config config, int parallelism) throws Exception {
+        int threads = Math.max(1, Math.min(
+                parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism,
+                moduleRoots.size()));
+        log.info("Scanning %d modules on %d threads".formatted(moduleRoots.size(), threads));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<List<Issue>>> futures = new ArrayList<>(moduleRoots.size());
+            for (Path moduleRoot : moduleRoots) {
+                futures.add(executor.submit(() -> run(moduleRoot, config)));
+            }
+            List<ModuleResult> results = new ArrayList<>(moduleRoots.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(new ModuleResult(moduleRoots.get(i), futures.get(i).get()));
+                } catch (ExecutionException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw new IllegalStateException("Failed to scan module " + moduleRoots.get(i), e.getCause());
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Scans and evaluates concurrently: the scanner pushes batches into a bounded queue on its own thread while the
+     * calling thread runs the rules and hands each issue to {@code reporter} as soon as it is found. A slow consumer
+     * blocks the scanner, so memory stays bounded by the batch size. Issues are reported in element order, with all
+     * rules of one element before the next element. Only {@link ElementRule}s can be streamed.
+     * <p>
+     * The exception are elements a rule judges by {@link ElementRule#usesTypeHierarchy(ElementTable, int) the type
+     * hierarchy}, which no single batch holds, such as undocumented methods that may inherit a comment. They are held
+     * back, together with the type declarations of every batch, and evaluated after the last batch against the whole
+     * scan's hierarchy, so their issues come last.
+     */
+    public void stream(Path projectRoot, Config config, Consumer<Issue> reporter) throws Exception {
+        stream(projectRoot, config, reporter, () -> false);
+    }
+
+    /**
+     * Streams like {@link #stream(Path, Config, Consumer)} but only looks for issues at or above {@code failAt}: as soon
+     * as {@code limit} of them are found, rule evaluation stops and the scanner is interrupted, so it parses no batch
+     * after the current one. A gate that fails early thus costs only the scan up to its first offenders, unless
+     * they are all among the elements held back for the type hierarchy.
+     *
+     * @return the first {@code limit} blocking issues in scan order; empty if the scan passes
+     */
+    public List<Issue> failFast(Path projectRoot, Config config, Severity failAt, int limit) throws Exception {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        List<Issue> offenders = new ArrayList<>(Math.min(limit, 64));
+        stream(projectRoot, config, issue -> {
+            if (issue.severity().ordinal() >= failAt.ordinal() && offenders.size() < limit) {
+                offenders.add(issue);
+            }
+        }, () -> offenders.size() >= limit);
+        return offenders;
+    }
+
+    /** @param cancelled checked between elements; once it returns {@code true} the scan is abandoned */
+    private void stream(Path projectRoot, Config config, Consumer<Issue> reporter, BooleanSupplier cancelled) throws Exception {
+        List<ElementRule> hierarchyRules = new ArrayList<>();
         for (Rule rule : rules) {
-            issues.addAll(rule.evaluate(ctx));
+            if (!(rule instanceof ElementRule elementRule)) {
+                throw new IllegalStateException("Rule %s needs the whole scan and cannot be streamed".formatted(rule.getName()));
+            }
+            if (elementRule.usesTypeHierarchy()) {
+                hierarchyRules.add(elementRule);
+            }
+        }
+        RuleEngine engine = engine(config);
+        // Elements held back for the whole scan's hierarchy, next to the type declarations of every batch.
+        ElementTable.Builder deferred = hierarchyRules.isEmpty() ? null : new ElementTable.Builder();
+
+        BlockingQueue<ScanBatch> queue = new ArrayBlockingQueue<>(STREAM_QUEUE_CAPACITY);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread producer = Thread.ofPlatform().name("jadify-scan").start(() -> {
+            try {
+                scanner.scan(projectRoot, config, batch -> {
+                    try {
+                        queue.put(batch);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CancellationException("Scan cancelled");
+                    }
+                });
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                try {
+                    queue.put(END_OF_SCAN);
+                } catch (InterruptedException e) {
+                    // The consumer gave up, nobody is waiting for the end marker.
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        boolean drained = false;
+        try {
+            for (ScanBatch batch = queue.take(); batch != END_OF_SCAN; batch = queue.take()) {
+                ElementTable elements = batch.elements();
+                if (deferred == null) {
+                    engine.stream(elements, reporter, cancelled);
+                } else {
+                    engine.stream(elements, defer(elements, hierarchyRules, deferred).negate(), reporter, cancelled);
+                }
+                if (cancelled.getAsBoolean()) {
+                    break;
+                }
+            }
+            drained = !cancelled.getAsBoolean();
+        } finally {
+            if (!drained) {
+                producer.interrupt();
+            }
+            producer.join();
+        }
+        if (!drained) {
+            return; // whatever the interrupted scanner reported does not change the outcome
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof Exception e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        if (deferred != null) {
+            engine.stream(deferred.build(), reporter, cancelled);
+        }
+    }
+
+    /**
+     * Copies the type declarations of {@code elements} and the elements one of {@code hierarchyRules} needs the whole
+     * hierarchy for into {@code deferred}.
+     *
+     * @return the ids of the elements held back
+     */
+    private static IntPredicate defer(ElementTable elements, List<ElementRule> hierarchyRules,
+                                      ElementTable.Builder deferred) {
+        elements.types().forEach(deferred::addType);
+        BitSet held = new BitSet(elements.size());
+        for (int id = 0; id < elements.size(); id++) {
+            for (ElementRule rule : hierarchyRules) {
+                if (rule.usesTypeHierarchy(elements, id)) {
+                    held.set(id);
+                    deferred.add(elements, id);
+                    break;
+                }
+            }
         }
-        return issues;
+        return held::get;
     }
 }
@@ -1,9 +1,10 @@
 package io.jadify.core;
 
 import io.jadify.core.config.ConfigLoader;
+import io.jadify.core.config.exception.BuildFailureException;
 import io.jadify.core.model.Issue;
 import io.jadify.core.model.Severity;
-import io.jadify.core.rules.PublicJavadocPresenceRule;
+import io.jadify.core.rules.BuiltInRules;
 import io.jadify.core.scan.JavaSourceScanner;
 
 import java.nio.file.Path;
@@ -19,7 +20,7 @@ public class Starter {
         var config = ConfigLoader.load(configFile);
         var runner = new JadifyRunner(
                 new JavaSourceScanner(),
-                List.of(new PublicJavadocPresenceRule())
+                BuiltInRules.forConfig(config)
         );
 
         var issues = runner.run(projectRoot, config);
@@ -28,7 +29,7 @@ public class Starter {
         Severity failAt = config.failOn().severity();
         boolean shouldFail = issues.stream().anyMatch(i -> i.severity().ordinal() >= failAt.ordinal());
         if (shouldFail) {
-            throw new IllegalStateException("Failing build due to severity >= " + failAt);
+            throw new BuildFailureException(failAt);
         }
     }
 
@@ -14,7 +14,16 @@ public record Config(
         List<Rule> rules,
         FailOn failOn
 ) {
-    public record Scan(Packages packages, Types types, Members members) {}
+    public record Scan(Packages packages, Types types, Members members, Sources sources) {}
+
+    /**
+     * Which directories below the source root are searched for sources. Build output directories (a {@code target}
+     * next to a {@code pom.xml}, a {@code build} next to a Gradle build file) are always skipped.
+     */
+    public record Sources(
+            List<String> excludeDirectories,  // .gitignore-style patterns, relative to the source root
+            boolean respectGitignore
+    ) {}
 
     public record Packages(List<String> include, List<String> exclude) {}
 
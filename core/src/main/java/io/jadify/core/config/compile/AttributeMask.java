@@ -0,0 +1,42 @@
+package io.jadify.core.config.compile;
+
+import io.jadify.core.config.Config;
+
+import java.util.List;
+
+import static io.jadify.core.config.compile.ElementAttributes.ACCESSOR_KIND_SHIFT;
+import static io.jadify.core.config.compile.ElementAttributes.MEMBER_KIND_SHIFT;
+import static io.jadify.core.config.compile.ElementAttributes.TARGET_SHIFT;
+import static io.jadify.core.config.compile.ElementAttributes.VISIBILITY_SHIFT;
+
+/**
+ * The enum constraints of a selector over {@link ElementAttributes}: per group, the bits of the accepted constants.
+ * An unconstrained group accepts every bit, so it passes for any element, which always has a target bit.
+ */
+public record AttributeMask(int targets, int visibility, int memberKinds, int accessorKinds) {
+
+    public static final AttributeMask ANY = new AttributeMask(-1, -1, -1, -1);
+
+    public static AttributeMask of(List<Config.Target> targets, List<Config.Visibility> visibility,
+                                   List<Config.MemberKind> memberKinds, List<Config.AccessorKind> accessorKinds) {
+        return new AttributeMask(bits(targets, TARGET_SHIFT), bits(visibility, VISIBILITY_SHIFT),
+                bits(memberKinds, MEMBER_KIND_SHIFT), bits(accessorKinds, ACCESSOR_KIND_SHIFT));
+    }
+
+    public boolean test(int attributes) {
+        // Non-short-circuit: four predictable ANDs are cheaper than up to four unpredictable branches.
+        return (attributes & targets) != 0 & (attributes & visibility) != 0
+                & (attributes & memberKinds) != 0 & (attributes & accessorKinds) != 0;
+    }
+
+    private static int bits(List<? extends Enum<?>> constants, int shift) {
+        if (constants == null || constants.isEmpty()) {
+            return -1;
+        }
+        int bits = 0;
+        for (Enum<?> constant : constants) {
+            bits |= 1 << (shift + constant.ordinal());
+        }
+        return bits;
+    }
+}
@@ -58,6 +58,7 @@ public record CompiledConfig(
             JsonNode config
     ) {}
 
+    /** {@code mask} holds the enum constraints as bits, tested against {@link ElementAttributes} before any regex. */
     public record CompiledSelector(
             List<Config.Target> targets,
             List<Config.Visibility> visibility,
@@ -67,6 +68,15 @@ public record CompiledConfig(
             RegexSet fqnPatterns,
             RegexSet simpleNamePatterns,
             RegexSet signaturePatterns,
-            RegexFilter annotations
-    ) {}
+            RegexFilter annotations,
+            AttributeMask mask
+    ) {
+        public CompiledSelector(List<Config.Target> targets, List<Config.Visibility> visibility,
+                                List<Config.MemberKind> memberKinds, List<Config.AccessorKind> accessorKinds,
+                                RegexSet packagePatterns, RegexSet fqnPatterns, RegexSet simpleNamePatterns,
+                                RegexSet signaturePatterns, RegexFilter annotations) {
+            this(targets, visibility, memberKinds, accessorKinds, packagePatterns, fqnPatterns, simpleNamePatterns,
+                    signaturePatterns, annotations, AttributeMask.of(targets, visibility, memberKinds, accessorKinds));
+        }
+    }
 }
@@ -13,26 +13,7 @@ public final class ConfigCompiler {
     public CompiledConfig compile(Config config) {
         Objects.requireNonNull(config, "config");
 
-        var packages = compileNameFilter(config.scan().packages().include(), config.scan().packages().exclude());
-        var typeNames = compileNameFilter(config.scan().types().names().include(), config.scan().types().names().exclude());
-        var typeAnnotations = compileAnnotationFilter(
-                config.scan().types().annotations().include(),
-                config.scan().types().annotations().exclude()
-        );
-        var memberNames = compileNameFilter(config.scan().members().names().include(), config.scan().members().names().exclude());
-        var memberAnnotations = compileAnnotationFilter(
-                config.scan().members().annotations().include(),
-                config.scan().members().annotations().exclude()
-        );
-
-        var scan = new CompiledConfig.CompiledScan(
-                packages,
-                typeNames,
-                typeAnnotations,
-                memberNames,
-                memberAnnotations,
-                config.scan().members().includeInherited()
-        );
+        var scan = compileScan(config.scan());
 
         var defaults = new CompiledConfig.CompiledDefaults(
                 new CompiledConfig.CompiledSeverityProfile(
@@ -69,6 +50,32 @@ public final class ConfigCompiler {
         return new CompiledConfig(config.projectRoot(), scan, defaults, rules, config.failOn());
     }
 
+    /** Compiles only the scan filters, which is all the scanner needs. */
+    public CompiledConfig.CompiledScan compileScan(Config.Scan scan) {
+        Objects.requireNonNull(scan, "scan");
+
+        var packages = compileNameFilter(scan.packages().include(), scan.packages().exclude());
+        var typeNames = compileNameFilter(scan.types().names().include(), scan.types().names().exclude());
+        var typeAnnotations = compileAnnotationFilter(
+                scan.types().annotations().include(),
+                scan.types().annotations().exclude()
+        );
+        var memberNames = compileNameFilter(scan.members().names().include(), scan.members().names().exclude());
+        var memberAnnotations = compileAnnotationFilter(
+                scan.members().annotations().include(),
+                scan.members().annotations().exclude()
+        );
+
+        return new CompiledConfig.CompiledScan(
+                packages,
+                typeNames,
+                typeAnnotations,
+                memberNames,
+                memberAnnotations,
+                scan.members().includeInherited()
+        );
+    }
+
     private static RegexFilter compileNameFilter(List<String> include, List<String> exclude) {
         return new RegexFilter(RegexSet.fromIncludes(include), RegexSet.fromExcludes(exclude));
     }
@@ -92,7 +99,8 @@ public final class ConfigCompiler {
                 RegexSet.fromIncludes(selector.signaturePatterns()),
                 selector.annotations() == null
                         ? null
-                        : compileAnnotationFilter(selector.annotations().include(), selector.annotations().exclude())
+                        : compileAnnotationFilter(selector.annotations().include(), selector.annotations().exclude()),
+                AttributeMask.of(selector.targets(), selector.visibility(), selector.memberKinds(), selector.accessorKinds())
         );
     }
 }
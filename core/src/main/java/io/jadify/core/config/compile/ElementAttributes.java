@@ -0,0 +1,120 @@
+package io.jadify.core.config.compile;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementKind;
+
+/**
+ * Packs the enum attributes a selector tests into one {@code int} per element, one bit per constant: target in bits
+ * 0-4, visibility in 5-8, member kind in 9-12 and accessor kind in 13-15. Scanners compute them once per element and
+ * store them in the {@link io.jadify.core.model.ElementTable}; an {@link AttributeMask} then tests a selector's enum
+ * constraints with a few integer operations. An attribute that is unknown or does not apply has no bit set.
+ */
+public final class ElementAttributes {
+
+    static final int TARGET_SHIFT = 0;
+    static final int VISIBILITY_SHIFT = 5;
+    static final int MEMBER_KIND_SHIFT = 9;
+    static final int ACCESSOR_KIND_SHIFT = 13;
+
+    private static final Config.Target[] TARGETS = Config.Target.values();
+    private static final Config.Visibility[] VISIBILITIES = Config.Visibility.values();
+    private static final Config.MemberKind[] MEMBER_KINDS = Config.MemberKind.values();
+    private static final Config.AccessorKind[] ACCESSOR_KINDS = Config.AccessorKind.values();
+
+    /** Number of distinct {@link #combination}s: each group's constants plus "none". */
+    static final int COMBINATIONS = (TARGETS.length + 1) * (VISIBILITIES.length + 1) * (MEMBER_KINDS.length + 1)
+            * (ACCESSOR_KINDS.length + 1);
+
+    public static int of(ElementKind kind, Config.Visibility visibility, Config.AccessorKind accessorKind) {
+        return forKind(kind)
+                | (visibility == null ? 0 : 1 << (VISIBILITY_SHIFT + visibility.ordinal()))
+                | (accessorKind == null ? 0 : 1 << (ACCESSOR_KIND_SHIFT + accessorKind.ordinal()));
+    }
+
+    /** The target and member kind bits implied by {@code kind}. */
+    public static int forKind(ElementKind kind) {
+        return switch (kind) {
+            case METHOD -> bit(Config.Target.METHOD, Config.MemberKind.METHOD);
+            case CONSTRUCTOR -> bit(Config.Target.CONSTRUCTOR, Config.MemberKind.CONSTRUCTOR);
+            case CLASS, INTERFACE, ENUM, ANNOTATION, RECORD -> 1 << (TARGET_SHIFT + Config.Target.TYPE.ordinal());
+        };
+    }
+
+    /** Accessor kind of a method by the bean naming convention, or {@code null} if it is none. */
+    public static Config.AccessorKind accessorKind(String methodName, int parameterCount) {
+        if (parameterCount == 0 && isBeanName(methodName, "get")) {
+            return Config.AccessorKind.GETTER;
+        }
+        if (parameterCount == 0 && isBeanName(methodName, "is")) {
+            return Config.AccessorKind.BOOLEAN_GETTER;
+        }
+        if (parameterCount == 1 && isBeanName(methodName, "set")) {
+            return Config.AccessorKind.SETTER;
+        }
+        return null;
+    }
+
+    /**
+     * A dense index in {@code [0, COMBINATIONS)} of the attributes, taking the lowest set bit of each group, so tables
+     * can be precomputed for every element an attribute-only selector can tell apart.
+     */
+    static int combination(int attributes) {
+        int target = group(attributes, TARGET_SHIFT, TARGETS.length);
+        int visibility = group(attributes, VISIBILITY_SHIFT, VISIBILITIES.length);
+        int memberKind = group(attributes, MEMBER_KIND_SHIFT, MEMBER_KINDS.length);
+        int accessorKind = group(attributes, ACCESSOR_KIND_SHIFT, ACCESSOR_KINDS.length);
+        return ((target * (VISIBILITIES.length + 1) + visibility) * (MEMBER_KINDS.length + 1) + memberKind)
+                * (ACCESSOR_KINDS.length + 1) + accessorKind;
+    }
+
+    /** The attributes of {@code combination}; the inverse of {@link #combination}. */
+    static int attributesOf(int combination) {
+        int accessorKind = combination % (ACCESSOR_KINDS.length + 1);
+        combination /= ACCESSOR_KINDS.length + 1;
+        int memberKind = combination % (MEMBER_KINDS.length + 1);
+        combination /= MEMBER_KINDS.length + 1;
+        int visibility = combination % (VISIBILITIES.length + 1);
+        int target = combination / (VISIBILITIES.length + 1);
+        return bit(target, TARGET_SHIFT, TARGETS.length) | bit(visibility, VISIBILITY_SHIFT, VISIBILITIES.length)
+                | bit(memberKind, MEMBER_KIND_SHIFT, MEMBER_KINDS.length)
+                | bit(accessorKind, ACCESSOR_KIND_SHIFT, ACCESSOR_KINDS.length);
+    }
+
+    /** Visibility of the element, or {@code null} if the scanner did not record it. */
+    static Config.Visibility visibility(int attributes) {
+        int index = group(attributes, VISIBILITY_SHIFT, VISIBILITIES.length);
+        return index < VISIBILITIES.length ? VISIBILITIES[index] : null;
+    }
+
+    /** Target of the element, or {@code null} if unknown. */
+    public static Config.Target target(int attributes) {
+        int index = group(attributes, TARGET_SHIFT, TARGETS.length);
+        return index < TARGETS.length ? TARGETS[index] : null;
+    }
+
+    /** Accessor kind of the element, or {@code null} if it is none or was not recorded. */
+    public static Config.AccessorKind accessorKind(int attributes) {
+        int index = group(attributes, ACCESSOR_KIND_SHIFT, ACCESSOR_KINDS.length);
+        return index < ACCESSOR_KINDS.length ? ACCESSOR_KINDS[index] : null;
+    }
+
+    /** Index of the lowest set bit of a group, or {@code size} if none is set. */
+    private static int group(int attributes, int shift, int size) {
+        int bits = (attributes >>> shift) & ((1 << size) - 1);
+        return bits == 0 ? size : Integer.numberOfTrailingZeros(bits);
+    }
+
+    private static int bit(int index, int shift, int size) {
+        return index < size ? 1 << (shift + index) : 0;
+    }
+
+    private static boolean isBeanName(String name, String prefix) {
+        return name.length() > prefix.length() && name.startsWith(prefix) && Character.isUpperCase(name.charAt(prefix.length()));
+    }
+
+    private static int bit(Config.Target target, Config.MemberKind memberKind) {
+        return 1 << (TARGET_SHIFT + target.ordinal()) | 1 << (MEMBER_KIND_SHIFT + memberKind.ordinal());
+    }
+
+    private ElementAttributes() {}
+}
@@ -0,0 +1,185 @@
+package io.jadify.core.config.compile;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Include/exclude matcher over names, created by {@link NameMatching}. Patterns that are plain literals, such as
+ * {@code ^lombok\.Generated$}, are looked up in a hash set, and a literal after or before {@code .*}, such as
+ * {@code com\.example\..*} or {@code .*Test$}, becomes a {@link String#startsWith} or {@link String#endsWith} check;
+ * only the rest goes through one {@link RegexAutomaton}. Anchors are dropped, since every pattern has to match the
+ * whole name anyway. Verdicts are memoized per name; a full cache is cleared and starts over with the names that
+ * follow, and {@link NameMatching#reset} clears it for the next run.
+ */
+public final class NameMatcher {
+
+    private static final byte INCLUDED = 1;
+    private static final byte EXCLUDED = 2;
+
+    private final NameMatching matching;
+    private final Patterns includes;
+    private final Patterns excludes;
+    private final ConcurrentHashMap<String, Byte> cache = new ConcurrentHashMap<>();
+
+    NameMatcher(NameMatching matching, RegexSet includes, RegexSet excludes) {
+        this.matching = matching;
+        this.includes = Patterns.of(includes);
+        this.excludes = Patterns.of(excludes);
+    }
+
+    /** Whether {@code value} is included and not excluded. */
+    public boolean matches(String value) {
+        return verdict(value) == INCLUDED;
+    }
+
+    /**
+     * Whether some of {@code values} is included and none is excluded, as for the annotations of an element. With no
+     * include patterns, an empty list matches too.
+     */
+    public boolean matchesAny(List<String> values) {
+        boolean included = includes == null;
+        for (String value : values) {
+            int verdict = verdict(value);
+            if (verdict == EXCLUDED) {
+                return false;
+            }
+            included |= verdict == INCLUDED;
+        }
+        return included;
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    private int verdict(String value) {
+        if (includes == null && excludes == null) {
+            return INCLUDED;
+        }
+        if (value == null) {
+            return includes == null ? INCLUDED : 0;
+        }
+        matching.lookups.increment();
+        Byte cached = cache.get(value);
+        if (cached != null) {
+            matching.cacheHits.increment();
+            return cached;
+        }
+        byte verdict;
+        if (excludes != null && excludes.matches(value, matching)) {
+            verdict = EXCLUDED;
+        } else {
+            verdict = includes == null || includes.matches(value, matching) ? INCLUDED : 0;
+        }
+        if (matching.cacheSize > 0) {
+            if (cache.size() >= matching.cacheSize) {
+                cache.clear();
+            }
+            cache.putIfAbsent(value, verdict);
+        }
+        return verdict;
+    }
+
+    /** One side of the filter, split by how cheaply each pattern can be decided. */
+    private record Patterns(Set<String> literals, String[] prefixes, String[] suffixes, RegexAutomaton regexes) {
+
+        /** {@code null} for a missing or empty set. */
+        static Patterns of(RegexSet set) {
+            if (set == null || set.patterns().isEmpty()) {
+                return null;
+            }
+            Set<String> literals = new HashSet<>();
+            List<String> prefixes = new ArrayList<>();
+            List<String> suffixes = new ArrayList<>();
+            List<Pattern> regexes = new ArrayList<>();
+            for (Pattern pattern : set.patterns()) {
+                String regex = pattern.flags() == 0 ? withoutAnchors(pattern.pattern()) : null;
+                String literal = regex == null ? null : literal(regex);
+                String prefix = regex != null && regex.endsWith(".*") ? literal(regex.substring(0, regex.length() - 2)) : null;
+                String suffix = regex != null && regex.startsWith(".*") ? literal(regex.substring(2)) : null;
+                if (literal != null) {
+                    literals.add(literal);
+                } else if (prefix != null) {
+                    prefixes.add(prefix);
+                } else if (suffix != null) {
+                    suffixes.add(suffix);
+                } else {
+                    regexes.add(pattern);
+                }
+            }
+            return new Patterns(Set.copyOf(literals), prefixes.toArray(String[]::new), suffixes.toArray(String[]::new),
+                    regexes.isEmpty() ? null : RegexAutomaton.compile(regexes));
+        }
+
+        boolean matches(String value, NameMatching matching) {
+            if (literals.contains(value)) {
+                return true;
+            }
+            for (String prefix : prefixes) {
+                if (value.startsWith(prefix) && !hasLineTerminator(value, prefix.length(), value.length())) {
+                    return true;
+                }
+            }
+            for (String suffix : suffixes) {
+                if (value.endsWith(suffix) && !hasLineTerminator(value, 0, value.length() - suffix.length())) {
+                    return true;
+                }
+            }
+            if (regexes == null) {
+                return false;
+            }
+            matching.regexEvaluations.increment();
+            return regexes.matches(value);
+        }
+    }
+
+    /** {@code regex} without a leading {@code ^} and an unescaped trailing {@code $}, which full matches imply. */
+    static String withoutAnchors(String regex) {
+        int from = regex.startsWith("^") ? 1 : 0;
+        int to = regex.length();
+        if (to > from && regex.charAt(to - 1) == '$') {
+            int backslashes = 0;
+            while (to - 2 - backslashes >= from && regex.charAt(to - 2 - backslashes) == '\\') {
+                backslashes++;
+            }
+            if (backslashes % 2 == 0) {
+                to--;
+            }
+        }
+        return regex.substring(from, to);
+    }
+
+    /** The only string {@code regex} matches, or {@code null} if it uses any regex construct. */
+    static String literal(String regex) {
+        StringBuilder literal = new StringBuilder(regex.length());
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    return null; // \d, \Q, back references and the like
+                }
+                literal.append(regex.charAt(++i));
+            } else if (".[]{}()*+?^$|".indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.toString();
+    }
+
+    /** Whether {@code value[from, to)} has a character {@code .} does not match without {@code DOTALL}. */
+    private static boolean hasLineTerminator(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,75 @@
+package io.jadify.core.config.compile;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Matching layer over compiled name patterns for one run, shared by the scanner filters and {@link SelectorMatcher}.
+ * Names such as {@code Override} or the packages of a project repeat for nearly every element, so each
+ * {@link NameMatcher} handed out here memoizes up to {@code cacheSize} distinct names; all of them count into the same
+ * {@link Stats}. Matchers are thread-safe.
+ * <p>
+ * A full cache starts over rather than keeping the names it saw first, so a matching that outlives one run, such as the
+ * one of a {@link SelectorMatcher} in a shared engine, follows the names of the current run; {@link #reset} also
+ * clears the caches and stats at the start of one.
+ */
+public final class NameMatching {
+
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    final int cacheSize;
+    final LongAdder lookups = new LongAdder();
+    final LongAdder cacheHits = new LongAdder();
+    final LongAdder regexEvaluations = new LongAdder();
+    private final Queue<NameMatcher> matchers = new ConcurrentLinkedQueue<>();
+
+    public NameMatching() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public NameMatching(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+    }
+
+    /** Matches with the semantics of {@link RegexFilter#matches}. */
+    public NameMatcher matcher(RegexFilter filter) {
+        return register(new NameMatcher(this, filter.includes(), filter.excludes()));
+    }
+
+    /** Matches names matching any of {@code patterns}; an empty set matches everything. */
+    public NameMatcher matcher(RegexSet patterns) {
+        return register(new NameMatcher(this, patterns, null));
+    }
+
+    /** Starts a new run: every matcher handed out forgets its memoized verdicts, and the stats start from zero. */
+    public void reset() {
+        matchers.forEach(NameMatcher::clear);
+        lookups.reset();
+        cacheHits.reset();
+        regexEvaluations.reset();
+    }
+
+    private NameMatcher register(NameMatcher matcher) {
+        matchers.add(matcher);
+        return matcher;
+    }
+
+    public Stats stats() {
+        return new Stats(lookups.sum(), cacheHits.sum(), regexEvaluations.sum());
+    }
+
+    /**
+     * @param lookups          names looked up by any matcher of this run
+     * @param cacheHits        lookups answered from a matcher's cache
+     * @param regexEvaluations lookups no literal, prefix or suffix pattern decided, which ran the {@link RegexAutomaton}
+     */
+    public record Stats(long lookups, long cacheHits, long regexEvaluations) {
+        public double hitRate() {
+            return lookups == 0 ? 0 : (double) cacheHits / lookups;
+        }
+    }
+}
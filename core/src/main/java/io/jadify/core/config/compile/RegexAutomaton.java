@@ -0,0 +1,347 @@
+package io.jadify.core.config.compile;
+
+import io.jadify.core.config.compile.RegexSubset.Alt;
+import io.jadify.core.config.compile.RegexSubset.Chars;
+import io.jadify.core.config.compile.RegexSubset.Concat;
+import io.jadify.core.config.compile.RegexSubset.Node;
+import io.jadify.core.config.compile.RegexSubset.Repeat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A set of patterns compiled into one automaton, as an alternative to running the backtracking matchers of a
+ * {@link RegexSet} one after another. Patterns in the {@link RegexSubset} syntax share a single NFA whose DFA is built
+ * lazily, one state per distinct set of NFA states reached, so a name is matched against all of them in one pass over
+ * its characters and catastrophic backtracking cannot happen. Patterns outside the subset, with flags, or exceeding
+ * the NFA budget run through {@code java.util.regex} as before.
+ * <p>
+ * Matching is full-string, like {@link java.util.regex.Matcher#matches()}, and {@link #firstMatch} reports the lowest
+ * index of a matching pattern. Instances are thread-safe; concurrent lookups may build the same DFA state twice, which
+ * is harmless.
+ */
+public final class RegexAutomaton {
+
+    /** DFA states kept before the cache is dropped and rebuilt on demand, bounding memory on adversarial input. */
+    static final int MAX_DFA_STATES = 10_000;
+
+    /** NFA states of all compiled patterns together; further patterns fall back to {@code java.util.regex}. */
+    private static final int MAX_NFA_STATES = 100_000;
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final List<Pattern> patterns;
+    /** Indices of the patterns that are not part of the automaton, ascending. */
+    private final int[] fallback;
+    private final boolean hasAutomaton;
+
+    // NFA: a state either consumes one char of its ranges and goes to out[0], accepts pattern accept[s], or is an
+    // epsilon state with any number of successors.
+    private final int[][] ranges;
+    private final int[][] out;
+    private final int[] accept;
+    private final int nfaStart;
+
+    // Alphabet: chars between consecutive boundaries behave the same in every range of the NFA.
+    private final int[] boundaries;
+    private final int[] asciiClass;
+
+    private final Map<StateSet, DfaState> dfaStates = new ConcurrentHashMap<>();
+    private volatile DfaState dfaStart;
+    private final DfaState dead = new DfaState(new int[0], NO_MATCH, 0);
+
+    private RegexAutomaton(List<Pattern> patterns) {
+        this.patterns = List.copyOf(patterns);
+        NfaBuilder nfa = new NfaBuilder();
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> fallback = new ArrayList<>();
+        for (int i = 0; i < this.patterns.size(); i++) {
+            Pattern pattern = this.patterns.get(i);
+            int mark = nfa.size();
+            try {
+                if (pattern.flags() != 0) {
+                    throw new RegexSubset.Unsupported("flags");
+                }
+                starts.add(nfa.build(RegexSubset.parse(pattern.pattern()), nfa.accepting(i)));
+                if (nfa.size() > MAX_NFA_STATES) {
+                    throw new RegexSubset.Unsupported("too many states");
+                }
+            } catch (RegexSubset.Unsupported e) {
+                nfa.truncate(mark);
+                fallback.add(i);
+            }
+        }
+        this.fallback = fallback.stream().mapToInt(Integer::intValue).toArray();
+        this.hasAutomaton = !starts.isEmpty();
+        this.nfaStart = nfa.epsilon(starts.stream().mapToInt(Integer::intValue).toArray());
+        this.ranges = nfa.ranges.toArray(int[][]::new);
+        this.out = nfa.out.toArray(int[][]::new);
+        this.accept = nfa.accept.stream().mapToInt(Integer::intValue).toArray();
+
+        TreeSet<Integer> cuts = new TreeSet<>(List.of(0));
+        for (int[] r : ranges) {
+            for (int i = 0; r != null && i < r.length; i += 2) {
+                cuts.add(r[i]);
+                if (r[i + 1] < Character.MAX_VALUE) {
+                    cuts.add(r[i + 1] + 1);
+                }
+            }
+        }
+        this.boundaries = cuts.stream().mapToInt(Integer::intValue).toArray();
+        this.asciiClass = new int[128];
+        for (char c = 0; c < 128; c++) {
+            asciiClass[c] = searchClass(c);
+        }
+        this.dfaStart = newStart();
+    }
+
+    public static RegexAutomaton compile(List<Pattern> patterns) {
+        return new RegexAutomaton(patterns);
+    }
+
+    public boolean matches(CharSequence value) {
+        return firstMatch(value) >= 0;
+    }
+
+    /** Index of the first pattern matching all of {@code value}, or {@code -1}. */
+    public int firstMatch(CharSequence value) {
+        int first = hasAutomaton ? run(value) : NO_MATCH;
+        for (int index : fallback) {
+            if (index > first) {
+                break;
+            }
+            if (patterns.get(index).matcher(value).matches()) {
+                return index;
+            }
+        }
+        return first == NO_MATCH ? -1 : first;
+    }
+
+    /** Number of patterns matched through the automaton rather than {@code java.util.regex}. */
+    public int compiledPatterns() {
+        return patterns.size() - fallback.length;
+    }
+
+    int cachedDfaStates() {
+        return dfaStates.size();
+    }
+
+    private int run(CharSequence value) {
+        DfaState state = dfaStart;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isSurrogate(c)) {
+                return runBacktracking(value); // '.' and negated classes match whole code points
+            }
+            int charClass = c < 128 ? asciiClass[c] : searchClass(c);
+            DfaState next = state.next[charClass];
+            if (next == null) {
+                next = step(state, charClass);
+            }
+            if (next == dead) {
+                return NO_MATCH;
+            }
+            state = next;
+        }
+        return state.firstAccept;
+    }
+
+    private int runBacktracking(CharSequence value) {
+        int fallbackAt = 0;
+        for (int i = 0; i < patterns.size(); i++) {
+            if (fallbackAt < fallback.length && fallback[fallbackAt] == i) {
+                fallbackAt++;
+                continue;
+            }
+            if (patterns.get(i).matcher(value).matches()) {
+                return i;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private int searchClass(int c) {
+        int index = Arrays.binarySearch(boundaries, c);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private DfaState newStart() {
+        dfaStates.clear();
+        return intern(closure(new int[]{nfaStart}));
+    }
+
+    private DfaState step(DfaState from, int charClass) {
+        int c = boundaries[charClass];
+        List<Integer> targets = new ArrayList<>();
+        for (int s : from.nfaStates) {
+            int[] r = ranges[s];
+            if (r != null && contains(r, c)) {
+                targets.add(out[s][0]);
+            }
+        }
+        DfaState next = targets.isEmpty() ? dead : intern(closure(targets.stream().mapToInt(Integer::intValue).toArray()));
+        from.next[charClass] = next;
+        if (dfaStates.size() > MAX_DFA_STATES) {
+            dfaStart = newStart();
+        }
+        return next;
+    }
+
+    private DfaState intern(int[] nfaStates) {
+        return dfaStates.computeIfAbsent(new StateSet(nfaStates), key -> {
+            int firstAccept = NO_MATCH;
+            for (int s : nfaStates) {
+                if (accept[s] >= 0) {
+                    firstAccept = Math.min(firstAccept, accept[s]);
+                }
+            }
+            return new DfaState(nfaStates, firstAccept, boundaries.length);
+        });
+    }
+
+    /** Consuming and accepting states reachable from {@code from} through epsilon moves, sorted. */
+    private int[] closure(int[] from) {
+        boolean[] seen = new boolean[ranges.length];
+        int[] stack = new int[ranges.length];
+        int top = 0;
+        for (int s : from) {
+            if (!seen[s]) {
+                seen[s] = true;
+                stack[top++] = s;
+            }
+        }
+        int[] result = new int[ranges.length];
+        int size = 0;
+        while (top > 0) {
+            int s = stack[--top];
+            if (ranges[s] != null || accept[s] >= 0) {
+                result[size++] = s;
+            } else {
+                for (int t : out[s]) {
+                    if (!seen[t]) {
+                        seen[t] = true;
+                        stack[top++] = t;
+                    }
+                }
+            }
+        }
+        int[] sorted = Arrays.copyOf(result, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static boolean contains(int[] ranges, int c) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (c < ranges[i]) {
+                return false;
+            }
+            if (c <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record StateSet(int[] states) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateSet other && Arrays.equals(states, other.states);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(states);
+        }
+    }
+
+    private static final class DfaState {
+        final int[] nfaStates;
+        final int firstAccept;
+        final DfaState[] next;
+
+        DfaState(int[] nfaStates, int firstAccept, int classes) {
+            this.nfaStates = nfaStates;
+            this.firstAccept = firstAccept;
+            this.next = new DfaState[classes];
+        }
+    }
+
+    /** Thompson construction, built back to front so every fragment is created with its successor known. */
+    private static final class NfaBuilder {
+        final List<int[]> ranges = new ArrayList<>();
+        final List<int[]> out = new ArrayList<>();
+        final List<Integer> accept = new ArrayList<>();
+
+        int size() {
+            return ranges.size();
+        }
+
+        void truncate(int size) {
+            while (ranges.size() > size) {
+                ranges.removeLast();
+                out.removeLast();
+                accept.removeLast();
+            }
+        }
+
+        int accepting(int pattern) {
+            return add(null, new int[0], pattern);
+        }
+
+        int epsilon(int... successors) {
+            return add(null, successors, -1);
+        }
+
+        private int add(int[] chars, int[] successors, int pattern) {
+            ranges.add(chars);
+            out.add(successors);
+            accept.add(pattern);
+            return ranges.size() - 1;
+        }
+
+        /** Start state of {@code node} followed by {@code next}. */
+        int build(Node node, int next) throws RegexSubset.Unsupported {
+            if (size() > MAX_NFA_STATES) {
+                throw new RegexSubset.Unsupported("too many states");
+            }
+            return switch (node) {
+                case Chars chars -> add(chars.ranges(), new int[]{next}, -1);
+                case Concat concat -> {
+                    int start = next;
+                    for (int i = concat.items().size() - 1; i >= 0; i--) {
+                        start = build(concat.items().get(i), start);
+                    }
+                    yield start;
+                }
+                case Alt alt -> {
+                    int[] starts = new int[alt.alternatives().size()];
+                    for (int i = 0; i < starts.length; i++) {
+                        starts[i] = build(alt.alternatives().get(i), next);
+                    }
+                    yield epsilon(starts);
+                }
+                case Repeat repeat -> {
+                    int start = next;
+                    if (repeat.max() < 0) {
+                        int loop = epsilon();
+                        out.set(loop, new int[]{build(repeat.node(), loop), next});
+                        start = loop;
+                    } else {
+                        for (int i = repeat.min(); i < repeat.max(); i++) {
+                            start = epsilon(build(repeat.node(), start), next);
+                        }
+                    }
+                    for (int i = 0; i < repeat.min(); i++) {
+                        start = build(repeat.node(), start);
+                    }
+                    yield start;
+                }
+            };
+        }
+    }
+}
@@ -15,6 +15,11 @@ public record RegexSet(List<Pattern> patterns) {
         return patterns.stream().anyMatch(p -> p.matcher(value).matches());
     }
 
+    /** The same patterns as one {@link RegexAutomaton}, which matches in a single pass and reports which pattern matched. */
+    public RegexAutomaton toAutomaton() {
+        return RegexAutomaton.compile(patterns);
+    }
+
     public static RegexSet fromIncludes(List<String> includes) {
         return fromExcludes(includes);
     }
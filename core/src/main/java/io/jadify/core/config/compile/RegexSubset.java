@@ -0,0 +1,322 @@
+package io.jadify.core.config.compile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parser for the part of {@link java.util.regex.Pattern} syntax that {@link RegexAutomaton} compiles: literals,
+ * escapes, {@code .}, character classes without intersections, groups, alternation, greedy and lazy quantifiers, and
+ * {@code ^}/{@code $} at the very ends. Everything else, notably backreferences, lookaround, possessive quantifiers,
+ * word boundaries, {@code \p{..}} and inline flags, is rejected with {@link Unsupported} so the caller can fall back to
+ * {@code java.util.regex}.
+ */
+final class RegexSubset {
+
+    /** Largest repetition count expanded into copies, e.g. {@code x{2,100}}. */
+    private static final int MAX_REPEAT = 100;
+
+    /** Characters {@code .} does not match without {@code DOTALL}. */
+    static final int[] LINE_TERMINATORS = {'\n', '\n', '\r', '\r', '\u0085', '\u0085', '\u2028', '\u2029'};
+
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '}; // \t \n \x0B \f \r and space
+
+    sealed interface Node permits Chars, Concat, Alt, Repeat {}
+
+    /** One character out of sorted, disjoint, inclusive ranges {@code [lo0, hi0, lo1, hi1, ...]}. */
+    record Chars(int[] ranges) implements Node {}
+
+    record Concat(List<Node> items) implements Node {}
+
+    record Alt(List<Node> alternatives) implements Node {}
+
+    /** {@code max < 0} means unbounded. */
+    record Repeat(Node node, int min, int max) implements Node {}
+
+    static final class Unsupported extends Exception {
+        Unsupported(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final String regex;
+    private int at;
+
+    private RegexSubset(String regex) {
+        this.regex = regex;
+    }
+
+    static Node parse(String regex) throws Unsupported {
+        RegexSubset parser = new RegexSubset(regex);
+        if (regex.startsWith("^")) {
+            parser.at = 1; // full matches start at the beginning anyway
+        }
+        Node node = parser.alternation();
+        if (parser.at != regex.length()) {
+            throw new Unsupported("unbalanced ')' at " + parser.at);
+        }
+        return node;
+    }
+
+    private Node alternation() throws Unsupported {
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(concatenation());
+        while (peek('|')) {
+            at++;
+            alternatives.add(concatenation());
+        }
+        return alternatives.size() == 1 ? alternatives.getFirst() : new Alt(alternatives);
+    }
+
+    private Node concatenation() throws Unsupported {
+        List<Node> items = new ArrayList<>();
+        while (at < regex.length() && !peek('|') && !peek(')')) {
+            if (peek('$') && at == regex.length() - 1) {
+                at++; // a trailing $ can only match at the end of a full match
+                break;
+            }
+            items.add(quantified(atom()));
+        }
+        return items.size() == 1 ? items.getFirst() : new Concat(items);
+    }
+
+    private Node quantified(Node atom) throws Unsupported {
+        if (at >= regex.length()) {
+            return atom;
+        }
+        int min;
+        int max;
+        switch (regex.charAt(at)) {
+            case '*' -> { min = 0; max = -1; at++; }
+            case '+' -> { min = 1; max = -1; at++; }
+            case '?' -> { min = 0; max = 1; at++; }
+            case '{' -> {
+                at++;
+                min = number();
+                max = min;
+                if (peek(',')) {
+                    at++;
+                    max = peek('}') ? -1 : number();
+                }
+                expect('}');
+                if (min > MAX_REPEAT || max > MAX_REPEAT || (max >= 0 && max < min)) {
+                    throw new Unsupported("repetition too large");
+                }
+            }
+            default -> {
+                return atom;
+            }
+        }
+        if (peek('?')) {
+            at++; // lazy: same set of full matches
+        } else if (peek('+')) {
+            throw new Unsupported("possessive quantifier");
+        }
+        if (at < regex.length() && "*+?{".indexOf(regex.charAt(at)) >= 0) {
+            throw new Unsupported("stacked quantifiers");
+        }
+        return new Repeat(atom, min, max);
+    }
+
+    private Node atom() throws Unsupported {
+        char c = regex.charAt(at++);
+        return switch (c) {
+            case '(' -> {
+                if (peek('?')) {
+                    if (!regex.startsWith("?:", at)) {
+                        throw new Unsupported("group construct at " + at);
+                    }
+                    at += 2;
+                }
+                Node group = alternation();
+                expect(')');
+                yield group;
+            }
+            case '[' -> new Chars(charClass());
+            case '.' -> new Chars(complement(LINE_TERMINATORS));
+            case '\\' -> escape(false);
+            case '^', '$', '*', '+', '?', '{', ')', ']', '}', '|' -> throw new Unsupported("'" + c + "' at " + (at - 1));
+            default -> {
+                if (Character.isSurrogate(c)) {
+                    throw new Unsupported("supplementary character");
+                }
+                yield single(c);
+            }
+        };
+    }
+
+    /** An escape after its backslash; inside a class only single characters and predefined classes are allowed. */
+    private Node escape(boolean inClass) throws Unsupported {
+        if (at >= regex.length()) {
+            throw new Unsupported("trailing backslash");
+        }
+        char c = regex.charAt(at++);
+        switch (c) {
+            case 'd': return new Chars(new int[]{'0', '9'});
+            case 'D': return new Chars(complement(new int[]{'0', '9'}));
+            case 'w': return new Chars(WORD);
+            case 'W': return new Chars(complement(WORD));
+            case 's': return new Chars(SPACE);
+            case 'S': return new Chars(complement(SPACE));
+            case 't': return single('\t');
+            case 'n': return single('\n');
+            case 'r': return single('\r');
+            case 'f': return single('\f');
+            case 'a': return single('\u0007');
+            case 'e': return single('\u001B');
+            case 'x': return single(hex(2));
+            case 'u': return single(hex(4));
+            case 'Q':
+                if (!inClass) {
+                    int end = regex.indexOf("\\E", at);
+                    String quoted = regex.substring(at, end < 0 ? regex.length() : end);
+                    at = end < 0 ? regex.length() : end + 2;
+                    List<Node> chars = new ArrayList<>();
+                    for (char q : quoted.toCharArray()) {
+                        if (Character.isSurrogate(q)) {
+                            throw new Unsupported("supplementary character");
+                        }
+                        chars.add(single(q));
+                    }
+                    return new Concat(chars);
+                }
+                throw new Unsupported("\\Q in a class");
+            default:
+                if (Character.isLetterOrDigit(c) || Character.isSurrogate(c)) {
+                    throw new Unsupported("escape \\" + c);
+                }
+                return single(c);
+        }
+    }
+
+    private int[] charClass() throws Unsupported {
+        boolean negated = peek('^');
+        if (negated) {
+            at++;
+        }
+        if (peek(']')) {
+            throw new Unsupported("']' first in a class");
+        }
+        List<int[]> parts = new ArrayList<>();
+        while (!peek(']')) {
+            if (at >= regex.length()) {
+                throw new Unsupported("unterminated class");
+            }
+            if (peek('[') || regex.startsWith("&&", at)) {
+                throw new Unsupported("nested class or intersection");
+            }
+            int[] part = classAtom();
+            if (part.length == 2 && part[0] == part[1] && peek('-') && at + 1 < regex.length() && regex.charAt(at + 1) != ']') {
+                at++;
+                int[] upper = classAtom();
+                if (upper.length != 2 || upper[0] != upper[1] || upper[0] < part[0]) {
+                    throw new Unsupported("class range");
+                }
+                part = new int[]{part[0], upper[0]};
+            }
+            parts.add(part);
+        }
+        at++;
+        int[] ranges = union(parts);
+        return negated ? complement(ranges) : ranges;
+    }
+
+    private int[] classAtom() throws Unsupported {
+        char c = regex.charAt(at++);
+        if (c == '\\') {
+            if (at < regex.length() && regex.charAt(at) == 'Q') {
+                throw new Unsupported("\\Q in a class");
+            }
+            return ((Chars) escape(true)).ranges();
+        }
+        if (Character.isSurrogate(c)) {
+            throw new Unsupported("supplementary character");
+        }
+        return new int[]{c, c};
+    }
+
+    private static Chars single(int c) {
+        return new Chars(new int[]{c, c});
+    }
+
+    private int number() throws Unsupported {
+        int start = at;
+        while (at < regex.length() && Character.isDigit(regex.charAt(at)) && at - start < 4) {
+            at++;
+        }
+        if (start == at) {
+            throw new Unsupported("repetition count");
+        }
+        return Integer.parseInt(regex, start, at, 10);
+    }
+
+    private char hex(int digits) throws Unsupported {
+        if (at + digits > regex.length()) {
+            throw new Unsupported("hex escape");
+        }
+        try {
+            int value = Integer.parseInt(regex, at, at + digits, 16);
+            at += digits;
+            if (Character.isSurrogate((char) value)) {
+                throw new Unsupported("supplementary character");
+            }
+            return (char) value;
+        } catch (NumberFormatException e) {
+            throw new Unsupported("hex escape");
+        }
+    }
+
+    private boolean peek(char c) {
+        return at < regex.length() && regex.charAt(at) == c;
+    }
+
+    private void expect(char c) throws Unsupported {
+        if (!peek(c)) {
+            throw new Unsupported("expected '" + c + "' at " + at);
+        }
+        at++;
+    }
+
+    /** Sorted, merged union of range lists. */
+    static int[] union(List<int[]> parts) {
+        List<int[]> pairs = new ArrayList<>();
+        for (int[] part : parts) {
+            for (int i = 0; i < part.length; i += 2) {
+                pairs.add(new int[]{part[i], part[i + 1]});
+            }
+        }
+        pairs.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] merged = new int[pairs.size() * 2];
+        int size = 0;
+        for (int[] pair : pairs) {
+            if (size > 0 && pair[0] <= merged[size - 1] + 1) {
+                merged[size - 1] = Math.max(merged[size - 1], pair[1]);
+            } else {
+                merged[size++] = pair[0];
+                merged[size++] = pair[1];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /** All chars not in {@code ranges}. */
+    static int[] complement(int[] ranges) {
+        int[] sorted = union(List.of(ranges));
+        int[] complement = new int[sorted.length + 2];
+        int size = 0;
+        int next = 0;
+        for (int i = 0; i < sorted.length; i += 2) {
+            if (sorted[i] > next) {
+                complement[size++] = next;
+                complement[size++] = sorted[i] - 1;
+            }
+            next = sorted[i + 1] + 1;
+        }
+        if (next <= Character.MAX_VALUE) {
+            complement[size++] = next;
+            complement[size++] = Character.MAX_VALUE;
+        }
+        return Arrays.copyOf(complement, size);
+    }
+}
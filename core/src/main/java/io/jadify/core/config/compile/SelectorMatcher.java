@@ -1,15 +1,38 @@
 package io.jadify.core.config.compile;
 
 import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Evaluates whether a selector applies to a given element descriptor.
+ * Evaluates whether a selector applies to a given element descriptor. Name patterns are matched through
+ * {@link NameMatching}, one memoizing matcher per pattern set. Elements of an {@link ElementTable} are tested on their
+ * packed {@link ElementAttributes} first, so the enum constraints cost a few integer operations and the regexes only
+ * run for elements that pass them.
  */
 public final class SelectorMatcher {
 
+    private final NameMatching matching;
+    private final Map<Object, NameMatcher> matchers = new ConcurrentHashMap<>();
+
+    public SelectorMatcher() {
+        this(new NameMatching());
+    }
+
+    /** Matches names through {@code matching}, e.g. the one of the scan run, so caches and statistics are shared. */
+    public SelectorMatcher(NameMatching matching) {
+        this.matching = matching;
+    }
+
+    public NameMatching matching() {
+        return matching;
+    }
+
     public boolean matches(CompiledConfig.CompiledSelector selector, SelectorInput input) {
         if (selector == null) {
             return true;
@@ -39,7 +62,65 @@ public final class SelectorMatcher {
             return false;
         }
         return selector.annotations() == null
-                || selector.annotations().matches(input.annotationFqn());
+                || matchers.computeIfAbsent(selector.annotations(), filter -> matching.matcher((RegexFilter) filter))
+                        .matches(input.annotationFqn());
+    }
+
+    /** Whether {@code selector} applies to element {@code id} of {@code elements}. */
+    public boolean matches(CompiledConfig.CompiledSelector selector, ElementTable elements, int id) {
+        if (selector == null) {
+            return true;
+        }
+        int attributes = elements.attributes(id);
+        if (!selector.mask().test(attributes != 0 ? attributes : ElementAttributes.forKind(elements.kind(id)))) {
+            return false;
+        }
+        if (!isEmpty(selector.packagePatterns()) || !isEmpty(selector.fqnPatterns())
+                || !isEmpty(selector.simpleNamePatterns()) || !isEmpty(selector.signaturePatterns())) {
+            String fqn = elements.qualifiedName(id);
+            int hash = fqn.indexOf('#');
+            String type = hash < 0 ? fqn : fqn.substring(0, hash);
+            String signature = hash < 0 ? fqn.substring(fqn.lastIndexOf('.') + 1) : fqn.substring(hash + 1);
+            int paren = signature.indexOf('(');
+            String simpleName = paren < 0 ? signature : signature.substring(0, paren);
+            String packageName = isEmpty(selector.packagePatterns()) ? null : packageName(elements, id, type);
+            if (!matchesPatterns(selector.packagePatterns(), packageName)
+                    || !matchesPatterns(selector.fqnPatterns(), fqn)
+                    || !matchesPatterns(selector.simpleNamePatterns(), simpleName)
+                    || !matchesPatterns(selector.signaturePatterns(), signature)) {
+                return false;
+            }
+        }
+        return selector.annotations() == null
+                || matchers.computeIfAbsent(selector.annotations(), filter -> matching.matcher((RegexFilter) filter))
+                        .matchesAny(elements.annotations(id));
+    }
+
+    /** The package the scanner recorded for element {@code id}, else the one {@code type} suggests. */
+    private static String packageName(ElementTable elements, int id, String type) {
+        String packageName = elements.packageName(id);
+        return packageName != null ? packageName : packageName(type);
+    }
+
+    /**
+     * The segments of {@code type} before the first one starting with an upper-case letter, by Java convention. Only a
+     * guess for elements whose package was not recorded, such as tables built from bare {@link ElementRef}s.
+     */
+    static String packageName(String type) {
+        int end = -1;
+        for (int start = 0; start < type.length(); ) {
+            int dot = type.indexOf('.', start);
+            if (Character.isUpperCase(type.charAt(start)) || dot < 0) {
+                break;
+            }
+            end = dot;
+            start = dot + 1;
+        }
+        return end < 0 ? "" : type.substring(0, end);
+    }
+
+    private static boolean isEmpty(RegexSet patterns) {
+        return patterns == null || patterns.patterns().isEmpty();
     }
 
     private static boolean matchesEnum(List<?> selectorValues, Set<?> inputValues) {
@@ -67,11 +148,11 @@ public final class SelectorMatcher {
         return selectorValues.contains(inputValue);
     }
 
-    private static boolean matchesPatterns(RegexSet patterns, String value) {
+    private boolean matchesPatterns(RegexSet patterns, String value) {
         if (patterns == null || patterns.patterns().isEmpty()) {
             return true;
         }
-        return patterns.matches(value);
+        return matchers.computeIfAbsent(patterns, set -> matching.matcher((RegexSet) set)).matches(value);
     }
 
     public record SelectorInput(
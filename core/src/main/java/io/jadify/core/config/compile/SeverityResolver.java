@@ -0,0 +1,239 @@
+package io.jadify.core.config.compile;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.CompiledConfig.CompiledAnnotationPolicy;
+import io.jadify.core.config.compile.CompiledConfig.CompiledRule;
+import io.jadify.core.config.compile.CompiledConfig.CompiledSelector;
+import io.jadify.core.config.compile.CompiledConfig.CompiledSeverityOverride;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Severity;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The effective severity of an issue, compiled from the config's {@code defaults} and rule severities.
+ * <p>
+ * A rule's own {@code severity} wins; otherwise the last matching severity override, then the rule's default severity
+ * (see {@code Rule#defaultSeverity()}), then {@code byVisibility}, and finally the severity the rule reported.
+ * Overrides that only constrain enum attributes are folded into one table indexed by
+ * {@link ElementAttributes#combination}, and {@code byVisibility} into another, so they cost a single lookup each.
+ * Overrides with name or annotation patterns are kept per combination, and only those after the table's winner whose
+ * enum constraints pass are matched by {@link SelectorMatcher}, last first.
+ * <p>
+ * Annotation policies are bucketed by target and only consulted for annotated elements. They apply in config order:
+ * {@code SUPPRESS} and {@code SUPPRESS_RULES} turn the issue {@link Severity#OFF}, the latter for the rules in a
+ * bitset over rule indices; {@code SET_SEVERITY} replaces the severity and {@code SHIFT_SEVERITY} moves it within
+ * {@code INFO..ERROR}.
+ */
+public final class SeverityResolver {
+
+    private static final Config.Target[] TARGETS = Config.Target.values();
+    private static final Severity[] ACTIVE = {Severity.INFO, Severity.WARN, Severity.ERROR};
+    private static final int[] NO_CANDIDATES = new int[0];
+    private static final Policy[] NO_POLICIES = new Policy[0];
+
+    /** @param rules the rule indices it applies to, or {@code null} for all */
+    private record Policy(NameMatcher annotations, Config.Effect effect, BitSet rules, Severity toSeverity, int shift) {}
+
+    private final Severity[] ruleSeverities;
+    private final Severity[] ruleDefaults;
+    private final Severity[] overridden;
+    private final Severity[] byVisibility;
+    private final int[][] candidates;
+    private final CompiledSeverityOverride[] overrides;
+    private final Policy[][] policiesByTarget;
+    private final SelectorMatcher selectors;
+
+    private SeverityResolver(Severity[] ruleSeverities, Severity[] ruleDefaults, Severity[] overridden,
+                             Severity[] byVisibility, int[][] candidates, CompiledSeverityOverride[] overrides,
+                             Policy[][] policiesByTarget, SelectorMatcher selectors) {
+        this.ruleSeverities = ruleSeverities;
+        this.ruleDefaults = ruleDefaults;
+        this.overridden = overridden;
+        this.byVisibility = byVisibility;
+        this.candidates = candidates;
+        this.overrides = overrides;
+        this.policiesByTarget = policiesByTarget;
+        this.selectors = selectors;
+    }
+
+    /**
+     * @param ruleIds the config ids of the rules issues are resolved for (see {@code Rule#configId()}); a rule's index
+     *                in this list is the {@code rule} argument of {@link #resolve}
+     */
+    public static SeverityResolver compile(CompiledConfig config, List<String> ruleIds) {
+        return compile(config, ruleIds, Collections.nCopies(ruleIds.size(), null), new SelectorMatcher());
+    }
+
+    /**
+     * Like {@link #compile(CompiledConfig, List)}, matching names through {@code selectors}.
+     *
+     * @param ruleDefaults the default severity of each rule of {@code ruleIds}, or {@code null} where it has none
+     */
+    public static SeverityResolver compile(CompiledConfig config, List<String> ruleIds, List<Severity> ruleDefaults,
+                                           SelectorMatcher selectors) {
+        Severity[] ruleSeverities = new Severity[ruleIds.size()];
+        if (config.rules() != null) {
+            for (int i = 0; i < ruleIds.size(); i++) {
+                for (CompiledRule rule : config.rules()) {
+                    if (rule.id().equals(ruleIds.get(i))) {
+                        ruleSeverities[i] = rule.severity();
+                        break;
+                    }
+                }
+            }
+        }
+
+        CompiledConfig.CompiledDefaults defaults = config.defaults();
+        CompiledConfig.CompiledSeverityProfile profile = defaults == null ? null : defaults.severity();
+        CompiledSeverityOverride[] overrides = profile == null || profile.overrides() == null
+                ? new CompiledSeverityOverride[0]
+                : profile.overrides().toArray(CompiledSeverityOverride[]::new);
+        Severity[] overridden = new Severity[ElementAttributes.COMBINATIONS];
+        Severity[] byVisibility = new Severity[ElementAttributes.COMBINATIONS];
+        int[][] candidates = new int[ElementAttributes.COMBINATIONS][];
+        List<Integer> pending = new ArrayList<>();
+        for (int combination = 0; combination < overridden.length; combination++) {
+            int attributes = ElementAttributes.attributesOf(combination);
+            Config.Visibility visibility = ElementAttributes.visibility(attributes);
+            byVisibility[combination] = profile == null || profile.byVisibility() == null || visibility == null
+                    ? null : profile.byVisibility().get(visibility);
+            pending.clear();
+            for (int i = 0; i < overrides.length; i++) {
+                CompiledSelector match = overrides[i].match();
+                if (match != null && !match.mask().test(attributes)) {
+                    continue;
+                }
+                if (match == null || isAttributeOnly(match)) {
+                    overridden[combination] = overrides[i].severity();
+                    pending.clear();
+                } else {
+                    pending.add(i);
+                }
+            }
+            candidates[combination] = lastFirst(pending);
+        }
+
+        List<List<Policy>> policies = new ArrayList<>();
+        for (int target = 0; target <= TARGETS.length; target++) {
+            policies.add(new ArrayList<>());
+        }
+        if (defaults != null && defaults.annotationPolicies() != null) {
+            for (CompiledAnnotationPolicy policy : defaults.annotationPolicies()) {
+                Policy compiled = new Policy(selectors.matching().matcher(policy.annotationPattern()), policy.effect(),
+                        ruleBits(policy, ruleIds), policy.toSeverity(), policy.shift() == null ? 0 : policy.shift());
+                for (int target = 0; target < TARGETS.length; target++) {
+                    if (policy.targets() == null || policy.targets().isEmpty() || policy.targets().contains(TARGETS[target])) {
+                        policies.get(target).add(compiled);
+                    }
+                }
+                // Elements without a known target are only affected by policies for every target.
+                if (policy.targets() == null || policy.targets().isEmpty()) {
+                    policies.get(TARGETS.length).add(compiled);
+                }
+            }
+        }
+        Policy[][] policiesByTarget = new Policy[policies.size()][];
+        for (int target = 0; target < policies.size(); target++) {
+            policiesByTarget[target] = policies.get(target).toArray(NO_POLICIES);
+        }
+
+        return new SeverityResolver(ruleSeverities, ruleDefaults.toArray(Severity[]::new), overridden, byVisibility,
+                candidates, overrides, policiesByTarget, selectors);
+    }
+
+    /**
+     * The effective severity of an issue of rule {@code rule} on element {@code id}, or {@code fallback} if the config
+     * determines none. {@link Severity#OFF} means the issue is dropped.
+     */
+    public Severity resolve(int rule, Severity fallback, ElementTable elements, int id) {
+        int attributes = elements.attributes(id);
+        if (attributes == 0) {
+            attributes = ElementAttributes.forKind(elements.kind(id));
+        }
+        int combination = ElementAttributes.combination(attributes);
+        Severity severity = ruleSeverities[rule];
+        if (severity == null) {
+            severity = overriddenSeverity(combination, elements, id);
+        }
+        if (severity == null) {
+            severity = ruleDefaults[rule];
+        }
+        if (severity == null) {
+            severity = byVisibility[combination];
+        }
+        if (severity == null) {
+            severity = fallback;
+        }
+        List<String> annotations = elements.annotations(id);
+        if (annotations.isEmpty()) {
+            return severity;
+        }
+        Config.Target target = ElementAttributes.target(attributes);
+        for (Policy policy : policiesByTarget[target == null ? TARGETS.length : target.ordinal()]) {
+            if (severity == Severity.OFF) {
+                break;
+            }
+            if (policy.annotations().matchesAny(annotations)) {
+                severity = apply(policy, rule, severity);
+            }
+        }
+        return severity;
+    }
+
+    /** The severity of the last override matching the element, or {@code null} if none does. */
+    private Severity overriddenSeverity(int combination, ElementTable elements, int id) {
+        for (int override : candidates[combination]) {
+            if (selectors.matches(overrides[override].match(), elements, id)) {
+                return overrides[override].severity();
+            }
+        }
+        return overridden[combination];
+    }
+
+    private static Severity apply(Policy policy, int rule, Severity severity) {
+        return switch (policy.effect()) {
+            case SUPPRESS -> Severity.OFF;
+            case SUPPRESS_RULES -> policy.rules() == null || policy.rules().get(rule) ? Severity.OFF : severity;
+            case SET_SEVERITY -> policy.toSeverity() == null ? severity : policy.toSeverity();
+            case SHIFT_SEVERITY -> ACTIVE[Math.clamp(severity.ordinal() + policy.shift(), 0, ACTIVE.length - 1)];
+        };
+    }
+
+    private static int[] lastFirst(List<Integer> indices) {
+        if (indices.isEmpty()) {
+            return NO_CANDIDATES;
+        }
+        int[] reversed = new int[indices.size()];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = indices.get(indices.size() - 1 - i);
+        }
+        return reversed;
+    }
+
+    private static BitSet ruleBits(CompiledAnnotationPolicy policy, List<String> ruleIds) {
+        if (policy.rules() == null || policy.rules().isEmpty()) {
+            return null;
+        }
+        BitSet bits = new BitSet(ruleIds.size());
+        for (int i = 0; i < ruleIds.size(); i++) {
+            if (policy.rules().contains(ruleIds.get(i))) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static boolean isAttributeOnly(CompiledSelector selector) {
+        return isEmpty(selector.packagePatterns()) && isEmpty(selector.fqnPatterns())
+                && isEmpty(selector.simpleNamePatterns()) && isEmpty(selector.signaturePatterns())
+                && selector.annotations() == null;
+    }
+
+    private static boolean isEmpty(RegexSet set) {
+        return set == null || set.patterns().isEmpty();
+    }
+}
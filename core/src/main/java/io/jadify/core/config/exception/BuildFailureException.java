@@ -0,0 +1,14 @@
+package io.jadify.core.config.exception;
+
+import io.jadify.core.model.Severity;
+
+import static io.jadify.core.config.exception.ExitCode.FAILURE;
+
+/** The scan found issues at or above the {@code failOn} severity. */
+public class BuildFailureException extends JadifyException {
+
+    public BuildFailureException(Severity failAt) {
+        super("Failing build due to severity >= " + failAt, FAILURE);
+    }
+
+}
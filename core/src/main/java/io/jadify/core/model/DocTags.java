@@ -0,0 +1,105 @@
+package io.jadify.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The tags of an element's doc comment next to what its declaration says they should document, recorded by the
+ * scanners so tag rules are lookups instead of re-parsing the comment text. Standard tags the rules care about are
+ * bits of {@code kinds}; tags that are not standard Javadoc, block or inline, are listed in {@code customTags} once per
+ * occurrence. For types, {@code parameters} and {@code thrown} are empty and {@code returnsVoid} is {@code true}, as
+ * for constructors.
+ *
+ * @param paramTags  names documented by {@code @param}, type parameters as {@code <T>}
+ * @param throwsTags types documented by {@code @throws} or {@code @exception}, as written
+ * @param parameters declared parameter names
+ * @param thrown     types in the {@code throws} clause, as written
+ */
+public record DocTags(
+        int kinds,
+        List<String> paramTags,
+        List<String> throwsTags,
+        List<String> customTags,
+        List<String> parameters,
+        boolean returnsVoid,
+        List<String> thrown
+) {
+
+    public enum Kind { PARAM, RETURN, THROWS, DEPRECATED, SEE, SINCE, INHERIT_DOC }
+
+    /** Standard tags without a {@link Kind}; they are neither kinds nor custom tags. */
+    private static final Set<String> OTHER_STANDARD_TAGS = Set.of(
+            "author", "code", "docRoot", "hidden", "index", "link", "linkplain", "literal", "provides", "serial",
+            "serialData", "serialField", "snippet", "spec", "summary", "systemProperty", "uses", "value", "version"
+    );
+
+    public boolean has(Kind kind) {
+        return (kinds & 1 << kind.ordinal()) != 0;
+    }
+
+    /** Occurrences of custom tag {@code name}. */
+    public int count(String name) {
+        int count = 0;
+        for (String tag : customTags) {
+            count += tag.equals(name) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /** The kind of a tag by its name without {@code @}, or {@code null} if it has none. */
+    public static Kind kindOf(String tagName) {
+        return switch (tagName) {
+            case "param" -> Kind.PARAM;
+            case "return" -> Kind.RETURN;
+            case "throws", "exception" -> Kind.THROWS;
+            case "deprecated" -> Kind.DEPRECATED;
+            case "see" -> Kind.SEE;
+            case "since" -> Kind.SINCE;
+            case "inheritDoc" -> Kind.INHERIT_DOC;
+            default -> null;
+        };
+    }
+
+    /** Collects the tags of one doc comment and the declaration, in the order the scanner meets them. */
+    public static final class Builder {
+        private int kinds;
+        private final List<String> paramTags = new ArrayList<>();
+        private final List<String> throwsTags = new ArrayList<>();
+        private final List<String> customTags = new ArrayList<>();
+        private List<String> parameters = List.of();
+        private boolean returnsVoid = true;
+        private List<String> thrown = List.of();
+
+        /**
+         * Records tag {@code name}; {@code argument} is the documented name of {@code @param} or type of
+         * {@code @throws}, and ignored for other tags.
+         */
+        public Builder tag(String name, String argument) {
+            Kind kind = kindOf(name);
+            if (kind != null) {
+                kinds |= 1 << kind.ordinal();
+                if (kind == Kind.PARAM && argument != null) {
+                    paramTags.add(argument);
+                } else if (kind == Kind.THROWS && argument != null) {
+                    throwsTags.add(argument);
+                }
+            } else if (!OTHER_STANDARD_TAGS.contains(name)) {
+                customTags.add(name);
+            }
+            return this;
+        }
+
+        public Builder declaration(List<String> parameters, boolean returnsVoid, List<String> thrown) {
+            this.parameters = List.copyOf(parameters);
+            this.returnsVoid = returnsVoid;
+            this.thrown = List.copyOf(thrown);
+            return this;
+        }
+
+        public DocTags build() {
+            return new DocTags(kinds, List.copyOf(paramTags), List.copyOf(throwsTags), List.copyOf(customTags),
+                    parameters, returnsVoid, thrown);
+        }
+    }
+}
@@ -1,8 +1,38 @@
 package io.jadify.core.model;
 
+import java.util.Objects;
+
+/**
+ * A scanned element. {@code position} is the character offset of its declaration in the source file, where its first
+ * annotation or modifier starts (its doc comment excluded), or {@link #NOPOS} if unknown. The position only locates
+ * the element in reports; it is not part of its identity, so equality and hash code ignore it and an element that
+ * moves within its file stays equal to itself.
+ */
 public record ElementRef(
         ElementKind kind,
         String qualifiedName,
         String displayName,
-        String sourceFile
-) {}
+        String sourceFile,
+        int position
+) {
+
+    public static final int NOPOS = -1;
+
+    public ElementRef(ElementKind kind, String qualifiedName, String displayName, String sourceFile) {
+        this(kind, qualifiedName, displayName, sourceFile, NOPOS);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ElementRef other
+                && kind == other.kind
+                && qualifiedName.equals(other.qualifiedName)
+                && displayName.equals(other.displayName)
+                && sourceFile.equals(other.sourceFile);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, qualifiedName, displayName, sourceFile);
+    }
+}
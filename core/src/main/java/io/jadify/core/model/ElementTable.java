@@ -0,0 +1,329 @@
+package io.jadify.core.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column store of scanned elements, addressed by dense ids {@code 0..size()-1} in scan order. Kinds are kept in a byte
+ * array, source files and qualified-name prefixes (packages, enclosing types) are interned once per table, and doc
+ * comments are looked up by id instead of hashing {@link ElementRef}s. Rules iterate ids and only materialize an
+ * {@link ElementRef} via {@link #ref(int)} when they report an issue.
+ * <p>
+ * A qualified name is stored as an interned prefix plus the local part after the last {@code '#'} (members) or
+ * {@code '.'} (types); the display name is only stored where it differs from the qualified name.
+ * <p>
+ * Scanners also record each element's packed selector attributes (see
+ * {@link io.jadify.core.config.compile.ElementAttributes}; {@code 0} if unknown), its annotation names, its
+ * {@link DocTags} and its package name, each interned once per table, and the {@link ElementRef#position() position}
+ * of its declaration.
+ * Next to the elements the table keeps the {@link TypeDeclaration}s of every type the scanner parsed, from which the
+ * {@link #hierarchy()} is built on first use.
+ */
+public final class ElementTable {
+
+    private static final ElementKind[] KINDS = ElementKind.values();
+
+    private static final byte MEMBER_SEPARATOR = 1; // the local name follows a '#' instead of a '.'
+
+    private static final int[] NO_ANNOTATIONS = new int[0];
+
+    private static final ElementTable EMPTY = new Builder().build();
+
+    private final int size;
+    private final byte[] kinds;
+    private final byte[] flags;
+    private final int[] prefixes;
+    private final String[] localNames;
+    private final int[] files;
+    private final int[] positions;
+    private final String[] docComments;
+    private final int[] attributes;
+    private final int[][] annotations;
+    private final DocTags[] docTags;
+    private final int[] packages;
+    private final String[] prefixTable;
+    private final String[] fileTable;
+    private final String[] annotationTable;
+    private final String[] packageTable;
+    private final Map<Integer, String> displayNames;
+    private final List<TypeDeclaration> types;
+    private TypeHierarchy hierarchy;
+
+    private ElementTable(Builder builder) {
+        this.size = builder.size;
+        this.kinds = Arrays.copyOf(builder.kinds, size);
+        this.flags = Arrays.copyOf(builder.flags, size);
+        this.prefixes = Arrays.copyOf(builder.prefixes, size);
+        this.localNames = Arrays.copyOf(builder.localNames, size);
+        this.files = Arrays.copyOf(builder.files, size);
+        this.positions = Arrays.copyOf(builder.positions, size);
+        this.docComments = Arrays.copyOf(builder.docComments, size);
+        this.attributes = Arrays.copyOf(builder.attributes, size);
+        this.annotations = Arrays.copyOf(builder.annotations, size);
+        this.docTags = Arrays.copyOf(builder.docTags, size);
+        this.packages = Arrays.copyOf(builder.packages, size);
+        this.prefixTable = new String[builder.prefixIds.size()];
+        builder.prefixIds.forEach((prefix, id) -> prefixTable[id] = prefix);
+        this.fileTable = new String[builder.fileIds.size()];
+        builder.fileIds.forEach((file, id) -> fileTable[id] = file);
+        this.annotationTable = new String[builder.annotationIds.size()];
+        builder.annotationIds.forEach((annotation, id) -> annotationTable[id] = annotation);
+        this.packageTable = new String[builder.packageIds.size()];
+        builder.packageIds.forEach((packageName, id) -> packageTable[id] = packageName);
+        this.displayNames = Map.copyOf(builder.displayNames);
+        this.types = List.copyOf(builder.types);
+    }
+
+    public static ElementTable empty() {
+        return EMPTY;
+    }
+
+    /** Builds a table from records, e.g. for tests or scanners that do not fill a table directly. */
+    public static ElementTable of(List<ElementRef> elements, Map<ElementRef, String> docComments) {
+        Builder builder = new Builder();
+        for (ElementRef element : elements) {
+            builder.add(element, docComments.get(element));
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ElementKind kind(int id) {
+        return KINDS[kinds[id]];
+    }
+
+    public String qualifiedName(int id) {
+        int prefix = prefixes[id];
+        if (prefix < 0) {
+            return localNames[id];
+        }
+        char separator = (flags[id] & MEMBER_SEPARATOR) != 0 ? '#' : '.';
+        return prefixTable[prefix] + separator + localNames[id];
+    }
+
+    public String displayName(int id) {
+        String displayName = displayNames.isEmpty() ? null : displayNames.get(id);
+        return displayName != null ? displayName : qualifiedName(id);
+    }
+
+    public String sourceFile(int id) {
+        return fileTable[files[id]];
+    }
+
+    /** The {@link ElementRef#position() position} of element {@code id}, or {@link ElementRef#NOPOS} if unknown. */
+    public int position(int id) {
+        return positions[id];
+    }
+
+    /** The doc comment of element {@code id}, or {@code null} if it has none. */
+    public String docComment(int id) {
+        return docComments[id];
+    }
+
+    /** Packed selector attributes of element {@code id}, or {@code 0} if the scanner did not record them. */
+    public int attributes(int id) {
+        return attributes[id];
+    }
+
+    /** Annotation names of element {@code id} as written in the source. */
+    public List<String> annotations(int id) {
+        int[] ids = annotations[id];
+        if (ids.length == 0) {
+            return List.of();
+        }
+        String[] names = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            names[i] = annotationTable[ids[i]];
+        }
+        return List.of(names);
+    }
+
+    /** Doc comment tags and declared signature of element {@code id}, or {@code null} if the scanner did not record them. */
+    public DocTags docTags(int id) {
+        return docTags[id];
+    }
+
+    /**
+     * The package of element {@code id} as declared by its compilation unit ({@code ""} for the unnamed package), or
+     * {@code null} if the scanner did not record it.
+     */
+    public String packageName(int id) {
+        int packageId = packages[id];
+        return packageId < 0 ? null : packageTable[packageId];
+    }
+
+    /** The declarations of the types parsed for this table, including those that are not elements. */
+    public List<TypeDeclaration> types() {
+        return types;
+    }
+
+    /** The type hierarchy of {@link #types()}, built on first use and shared by all callers. */
+    public synchronized TypeHierarchy hierarchy() {
+        if (hierarchy == null) {
+            hierarchy = TypeHierarchy.of(types);
+        }
+        return hierarchy;
+    }
+
+    /** Materializes element {@code id}. */
+    public ElementRef ref(int id) {
+        return new ElementRef(kind(id), qualifiedName(id), displayName(id), sourceFile(id), positions[id]);
+    }
+
+    /** The elements as records; each {@code get} materializes a new {@link ElementRef}. */
+    public List<ElementRef> refs() {
+        return new AbstractList<>() {
+            @Override
+            public ElementRef get(int index) {
+                return ref(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /** Doc comments keyed by element, copied into a new map. */
+    public Map<ElementRef, String> docCommentMap() {
+        Map<ElementRef, String> map = new HashMap<>();
+        for (int id = 0; id < size; id++) {
+            if (docComments[id] != null) {
+                map.put(ref(id), docComments[id]);
+            }
+        }
+        return map;
+    }
+
+    public static final class Builder {
+        private int size;
+        private byte[] kinds = new byte[64];
+        private byte[] flags = new byte[64];
+        private int[] prefixes = new int[64];
+        private String[] localNames = new String[64];
+        private int[] files = new int[64];
+        private int[] positions = new int[64];
+        private String[] docComments = new String[64];
+        private int[] attributes = new int[64];
+        private int[][] annotations = new int[64][];
+        private DocTags[] docTags = new DocTags[64];
+        private int[] packages = new int[64];
+        private final Map<String, Integer> prefixIds = new HashMap<>();
+        private final Map<String, Integer> fileIds = new HashMap<>();
+        private final Map<String, Integer> annotationIds = new HashMap<>();
+        private final Map<String, Integer> packageIds = new HashMap<>();
+        private final Map<DocTags, DocTags> docTagsPool = new HashMap<>();
+        private final Map<Integer, String> displayNames = new HashMap<>();
+        private final List<TypeDeclaration> types = new ArrayList<>();
+
+        /** Appends an element without recorded attributes, annotations, doc tags or package and returns its id. */
+        public int add(ElementRef element, String docComment) {
+            return add(element, docComment, 0, List.of(), null, null);
+        }
+
+        /** Appends an element without recorded doc tags or package and returns its id. */
+        public int add(ElementRef element, String docComment, int attributes, List<String> annotations) {
+            return add(element, docComment, attributes, annotations, null, null);
+        }
+
+        /** Appends an element without a recorded package and returns its id. */
+        public int add(ElementRef element, String docComment, int attributes, List<String> annotations, DocTags docTags) {
+            return add(element, docComment, attributes, annotations, docTags, null);
+        }
+
+        /** Appends an element and returns its id; {@code packageName} is {@code null} if unknown. */
+        public int add(ElementRef element, String docComment, int attributes, List<String> annotations, DocTags docTags,
+                       String packageName) {
+            if (size == kinds.length) {
+                grow();
+            }
+            int id = size++;
+            String name = element.qualifiedName();
+            int split = name.lastIndexOf('#');
+            byte flag = MEMBER_SEPARATOR;
+            if (split < 0) {
+                split = name.lastIndexOf('.');
+                flag = 0;
+            }
+            kinds[id] = (byte) element.kind().ordinal();
+            if (split < 0) {
+                flags[id] = 0;
+                prefixes[id] = -1;
+                localNames[id] = name;
+            } else {
+                flags[id] = flag;
+                prefixes[id] = prefixIds.computeIfAbsent(name.substring(0, split), k -> prefixIds.size());
+                localNames[id] = name.substring(split + 1);
+            }
+            files[id] = fileIds.computeIfAbsent(element.sourceFile(), k -> fileIds.size());
+            positions[id] = element.position();
+            docComments[id] = docComment;
+            this.attributes[id] = attributes;
+            if (annotations.isEmpty()) {
+                this.annotations[id] = NO_ANNOTATIONS;
+            } else {
+                int[] ids = new int[annotations.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = annotationIds.computeIfAbsent(annotations.get(i), k -> annotationIds.size());
+                }
+                this.annotations[id] = ids;
+            }
+            this.docTags[id] = docTags == null ? null : docTagsPool.computeIfAbsent(docTags, k -> k);
+            packages[id] = packageName == null ? -1 : packageIds.computeIfAbsent(packageName, k -> packageIds.size());
+            if (!element.displayName().equals(name)) {
+                displayNames.put(id, element.displayName());
+            }
+            return id;
+        }
+
+        /** Records the declaration of a parsed type. */
+        public void addType(TypeDeclaration type) {
+            types.add(type);
+        }
+
+        /** Appends element {@code id} of {@code table}, without its table's type declarations, and returns its id. */
+        public int add(ElementTable table, int id) {
+            return add(table.ref(id), table.docComment(id), table.attributes(id), table.annotations(id),
+                    table.docTags(id), table.packageName(id));
+        }
+
+        /** Appends all elements and type declarations of {@code table}, in order. */
+        public void addAll(ElementTable table) {
+            for (int id = 0; id < table.size(); id++) {
+                add(table, id);
+            }
+            types.addAll(table.types());
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public ElementTable build() {
+            return new ElementTable(this);
+        }
+
+        private void grow() {
+            int capacity = kinds.length * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            prefixes = Arrays.copyOf(prefixes, capacity);
+            localNames = Arrays.copyOf(localNames, capacity);
+            files = Arrays.copyOf(files, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            docComments = Arrays.copyOf(docComments, capacity);
+            attributes = Arrays.copyOf(attributes, capacity);
+            annotations = Arrays.copyOf(annotations, capacity);
+            docTags = Arrays.copyOf(docTags, capacity);
+            packages = Arrays.copyOf(packages, capacity);
+        }
+    }
+}
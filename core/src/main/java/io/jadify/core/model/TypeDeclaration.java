@@ -0,0 +1,116 @@
+package io.jadify.core.model;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What the {@link TypeHierarchy} needs of a type declaration, recorded for every type a scanner parses, public or not:
+ * its supertypes as written, the imports to resolve them against, and its overridable methods.
+ *
+ * @param name        the qualified name, with {@code '.'} between enclosing and nested types
+ * @param packageName the package, empty for the unnamed package
+ * @param imports     the single-type ({@code a.b.C}) and on-demand ({@code a.b.*}) imports of the compilation unit
+ * @param supertypes  the types of the {@code extends} and {@code implements} clauses, without type arguments
+ * @param methods     the non-private instance methods
+ */
+public record TypeDeclaration(String name, String packageName, List<String> imports, List<String> supertypes,
+                              List<Method> methods) {
+
+    /**
+     * @param signature  the method's part of the element name, e.g. {@code get(int, List<E>)}
+     * @param key        the {@link #methodKey erased key} methods that override each other share
+     * @param documented whether the method has a non-blank doc comment
+     */
+    public record Method(String signature, String key, boolean documented) {}
+
+    public TypeDeclaration {
+        imports = List.copyOf(imports);
+        supertypes = List.copyOf(supertypes);
+        methods = List.copyOf(methods);
+    }
+
+    /**
+     * The erased key of a method: its name and the simple names of its parameter types without annotations or type
+     * arguments, e.g. {@code put(*,Entry[])} for {@code put(K key, Map.Entry<K, V>... entries)}. Type variables become
+     * {@code *}, which matches any type, since an override may substitute them.
+     */
+    public static String methodKey(String name, List<String> parameterTypes, Set<String> typeVariables) {
+        StringBuilder key = new StringBuilder(name).append('(');
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            appendErased(key, parameterTypes.get(i), typeVariables);
+        }
+        return key.append(')').toString();
+    }
+
+    /**
+     * A type as written without annotations and type arguments: {@code java.util.@A Map.Entry<K, V>} becomes
+     * {@code java.util.Map.Entry}.
+     */
+    public static String rawName(String type) {
+        StringBuilder name = new StringBuilder(type.length());
+        int depth = 0;
+        for (int i = 0; i < type.length(); i++) {
+            char c = type.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth == 0 && c == '@') {
+                while (i + 1 < type.length() && (Character.isJavaIdentifierPart(type.charAt(i + 1)) || type.charAt(i + 1) == '.')) {
+                    i++;
+                }
+            } else if (depth == 0 && (Character.isJavaIdentifierPart(c) || c == '.')) {
+                name.append(c);
+            }
+        }
+        return name.toString();
+    }
+
+    /** The erasure of a type as written: {@code a.b.@A C<D>[]...} becomes {@code C[][]}. */
+    private static void appendErased(StringBuilder key, String type, Set<String> typeVariables) {
+        int depth = 0;
+        int simpleStart = key.length();
+        int dimensions = 0;
+        for (int i = 0; i < type.length(); i++) {
+            char c = type.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth > 0) {
+                continue;
+            } else if (c == '@') {
+                // A type annotation: skip its name, and its arguments if any.
+                while (i + 1 < type.length() && (Character.isJavaIdentifierPart(type.charAt(i + 1)) || type.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                if (i + 1 < type.length() && type.charAt(i + 1) == '(') {
+                    int parens = 0;
+                    do {
+                        char a = type.charAt(++i);
+                        parens += a == '(' ? 1 : a == ')' ? -1 : 0;
+                    } while (parens > 0 && i + 1 < type.length());
+                }
+            } else if (c == '.') {
+                if (type.startsWith("...", i)) {
+                    dimensions++;
+                    i += 2;
+                } else {
+                    key.setLength(simpleStart);
+                }
+            } else if (c == '[') {
+                dimensions++;
+            } else if (Character.isJavaIdentifierPart(c)) {
+                key.append(c);
+            }
+        }
+        if (typeVariables.contains(key.substring(simpleStart))) {
+            key.setLength(simpleStart);
+            key.append('*');
+        }
+        key.append("[]".repeat(dimensions));
+    }
+}
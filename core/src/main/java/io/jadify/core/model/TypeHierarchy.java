@@ -0,0 +1,280 @@
+package io.jadify.core.model;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Type-hierarchy index over the {@link TypeDeclaration}s of a scan, answering whether an undocumented method inherits
+ * a doc comment the way the Javadoc tool would copy it: from a documented method it overrides, anywhere up the
+ * hierarchy. No attribution is run. A supertype name is resolved like javac resolves a simple name, against the
+ * enclosing types, the single-type imports, the package, the on-demand imports and {@code java.lang}, and the first
+ * candidate declared in the scan wins. Methods match on their {@link TypeDeclaration#methodKey erased key}.
+ * <p>
+ * Only supertypes that are not declared in the scan need more than a lookup. They are loaded through the platform
+ * class loader, so only JDK types are, and their methods are matched by reflection. Any other supertype, whether a
+ * dependency of the scanned project or a class that happens to be on Jadify's own class path, makes the answer
+ * {@link Inheritance#UNKNOWN}. All lookups are memoized and thread-safe, so stateless rules can share
+ * one index.
+ */
+public final class TypeHierarchy {
+
+    /** What the hierarchy says about a method's doc comment. */
+    public enum Inheritance {
+        /** It overrides a documented method, so Javadoc inherits that method's comment. */
+        DOCUMENTED,
+        /** Every method it overrides is undocumented, or it overrides none. */
+        UNDOCUMENTED,
+        /** Part of the hierarchy is neither in the scan nor on Jadify's class path. */
+        UNKNOWN
+    }
+
+    private static final TypeHierarchy EMPTY = new TypeHierarchy(List.of());
+    private static final String OBJECT = "java.lang.Object";
+
+    private final Map<String, TypeDeclaration> types = new HashMap<>();
+    private final Map<String, Inheritance> inherited = new ConcurrentHashMap<>();
+    private final Map<String, Inheritance> declaredByClasses = new ConcurrentHashMap<>();
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Class<?>>> classes = new ConcurrentHashMap<>();
+
+    private TypeHierarchy(List<TypeDeclaration> declarations) {
+        for (TypeDeclaration declaration : declarations) {
+            types.putIfAbsent(declaration.name(), declaration);
+        }
+    }
+
+    public static TypeHierarchy of(List<TypeDeclaration> declarations) {
+        return declarations.isEmpty() ? EMPTY : new TypeHierarchy(declarations);
+    }
+
+    public TypeDeclaration type(String name) {
+        return types.get(name);
+    }
+
+    /**
+     * Whether method {@code signature} of type {@code typeName}, as in the element name {@code typeName#signature},
+     * inherits a doc comment. It is {@link Inheritance#UNKNOWN} if the type is not in the scan.
+     */
+    public Inheritance inheritance(String typeName, String signature) {
+        TypeDeclaration type = types.get(typeName);
+        if (type == null) {
+            return Inheritance.UNKNOWN;
+        }
+        for (TypeDeclaration.Method method : type.methods()) {
+            if (method.signature().equals(signature)) {
+                return inheritance(type, method.key(), new HashSet<>());
+            }
+        }
+        return Inheritance.UNKNOWN;
+    }
+
+    /**
+     * What the supertypes of {@code type} say about a method with erased key {@code key}.
+     *
+     * @param visiting the types looked at further down, which break cycles in broken hierarchies
+     */
+    private Inheritance inheritance(TypeDeclaration type, String key, Set<String> visiting) {
+        String memo = type.name() + '#' + key;
+        Inheritance known = inherited.get(memo);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(type.name())) {
+            return Inheritance.UNDOCUMENTED;
+        }
+        boolean unknown = false;
+        Inheritance result = null;
+        for (String name : type.supertypes()) {
+            Inheritance supertype = supertype(type, name, key, visiting);
+            if (supertype == Inheritance.DOCUMENTED) {
+                result = supertype;
+                break;
+            }
+            unknown |= supertype == Inheritance.UNKNOWN;
+        }
+        if (result == null) {
+            // Every type has the public methods of Object.
+            result = declaredByClass(OBJECT, key) == Inheritance.DOCUMENTED ? Inheritance.DOCUMENTED
+                    : unknown ? Inheritance.UNKNOWN : Inheritance.UNDOCUMENTED;
+        }
+        inherited.put(memo, result);
+        return result;
+    }
+
+    private Inheritance supertype(TypeDeclaration type, String name, String key, Set<String> visiting) {
+        String resolvedName = resolve(type, name);
+        TypeDeclaration supertype = resolvedName == null ? null : types.get(resolvedName);
+        if (supertype == null) {
+            for (String candidate : candidates(type, name)) {
+                Inheritance external = declaredByClass(candidate, key);
+                if (external != Inheritance.UNKNOWN) {
+                    return external;
+                }
+            }
+            return Inheritance.UNKNOWN;
+        }
+        for (TypeDeclaration.Method method : supertype.methods()) {
+            if (method.documented() && matches(method.key(), key)) {
+                return Inheritance.DOCUMENTED;
+            }
+        }
+        return inheritance(supertype, key, visiting);
+    }
+
+    /** The qualified name of supertype {@code name} of {@code type} if it is declared in the scan, else {@code null}. */
+    private String resolve(TypeDeclaration type, String name) {
+        String memo = type.name() + '>' + name;
+        String known = resolved.get(memo);
+        if (known == null) {
+            known = "";
+            for (String candidate : candidates(type, name)) {
+                if (types.containsKey(candidate)) {
+                    known = candidate;
+                    break;
+                }
+            }
+            resolved.put(memo, known);
+        }
+        return known.isEmpty() ? null : known;
+    }
+
+    /** Qualified names {@code name} may denote in {@code type}, in the order javac looks them up. */
+    private static List<String> candidates(TypeDeclaration type, String name) {
+        List<String> candidates = new ArrayList<>();
+        int dot = name.indexOf('.');
+        String first = dot < 0 ? name : name.substring(0, dot);
+        String rest = dot < 0 ? "" : name.substring(dot);
+        // Member types of the enclosing types, innermost first; the type's own name is the innermost scope.
+        String packagePrefix = type.packageName().isEmpty() ? "" : type.packageName() + '.';
+        for (String enclosing = type.name(); enclosing.length() > packagePrefix.length(); ) {
+            candidates.add(enclosing + '.' + name);
+            int end = enclosing.lastIndexOf('.');
+            if (end < packagePrefix.length()) {
+                break;
+            }
+            enclosing = enclosing.substring(0, end);
+        }
+        for (String anImport : type.imports()) {
+            if (anImport.endsWith('.' + first)) {
+                candidates.add(anImport + rest);
+            }
+        }
+        candidates.add(packagePrefix + name);
+        for (String anImport : type.imports()) {
+            if (anImport.endsWith(".*")) {
+                candidates.add(anImport.substring(0, anImport.length() - 1) + name);
+            }
+        }
+        candidates.add("java.lang." + name);
+        if (dot > 0) {
+            candidates.add(name); // already qualified
+        }
+        return candidates;
+    }
+
+    /**
+     * Whether JDK class {@code name} has a public or protected instance method with key {@code key}, which is taken as
+     * documented; {@code UNKNOWN} if the platform class loader cannot load it.
+     */
+    private Inheritance declaredByClass(String name, String key) {
+        Class<?> type = classes.computeIfAbsent(name, TypeHierarchy::load).orElse(null);
+        if (type == null) {
+            return Inheritance.UNKNOWN;
+        }
+        String memo = name + '#' + key;
+        Inheritance known = declaredByClasses.get(memo);
+        if (known == null) {
+            known = overridable(type.getMethods(), key) ? Inheritance.DOCUMENTED : Inheritance.UNDOCUMENTED;
+            for (Class<?> c = type; c != null && known == Inheritance.UNDOCUMENTED; c = c.getSuperclass()) {
+                known = overridable(c.getDeclaredMethods(), key) ? Inheritance.DOCUMENTED : known; // protected ones
+            }
+            declaredByClasses.put(memo, known);
+        }
+        return known;
+    }
+
+    private static boolean overridable(Method[] methods, String key) {
+        for (Method method : methods) {
+            int modifiers = method.getModifiers();
+            if ((Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) && !Modifier.isStatic(modifiers)
+                    && !method.isSynthetic() && matches(key(method), key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(Method method) {
+        StringBuilder key = new StringBuilder(method.getName()).append('(');
+        Type[] parameters = method.getGenericParameterTypes();
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            Type parameter = parameters[i];
+            while (parameter instanceof GenericArrayType array) {
+                parameter = array.getGenericComponentType();
+            }
+            key.append(parameter instanceof TypeVariable<?> ? "*" : method.getParameterTypes()[i].getSimpleName());
+        }
+        return key.append(')').toString();
+    }
+
+    /**
+     * Loads platform class {@code name} without initializing it, trying nested classes ({@code a.B.C} as {@code a.B$C})
+     * as well. Jadify's own class loader is not asked: its classes are not the scanned project's dependencies.
+     */
+    private static Optional<Class<?>> load(String name) {
+        for (String binaryName = name; binaryName.indexOf('.') > 0; ) {
+            try {
+                return Optional.of(Class.forName(binaryName, false, ClassLoader.getPlatformClassLoader()));
+            } catch (ClassNotFoundException | LinkageError e) {
+                int dot = binaryName.lastIndexOf('.');
+                binaryName = binaryName.substring(0, dot) + '$' + binaryName.substring(dot + 1);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Whether two erased keys can belong to overriding methods; {@code *} matches any parameter. */
+    static boolean matches(String a, String b) {
+        if (a.equals(b)) {
+            return true;
+        }
+        int ia = 0;
+        int ib = 0;
+        while (ia < a.length() && ib < b.length()) {
+            char ca = a.charAt(ia);
+            char cb = b.charAt(ib);
+            if (ca == '*' || cb == '*') {
+                ia = parameterEnd(a, ia);
+                ib = parameterEnd(b, ib);
+            } else if (ca == cb) {
+                ia++;
+                ib++;
+            } else {
+                return false;
+            }
+        }
+        return ia == a.length() && ib == b.length();
+    }
+
+    private static int parameterEnd(String key, int from) {
+        int i = from;
+        while (i < key.length() && key.charAt(i) != ',' && key.charAt(i) != ')') {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,9 @@
+package io.jadify.core.reactor;
+
+import io.jadify.core.model.Issue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/** Issues of one module of a reactor scan; element source files are relative to {@code moduleRoot}. */
+public record ModuleResult(Path moduleRoot, List<Issue> issues) {}
@@ -0,0 +1,96 @@
+package io.jadify.core.reactor;
+
+import io.jadify.core.config.exception.ConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the modules of a Maven reactor by following the {@code <modules>} of {@code pom.xml}, recursively, so nested
+ * aggregators are expanded. Modules are returned in declaration order, each aggregator before its own modules.
+ */
+public final class ReactorModules {
+
+    private static final String POM = "pom.xml";
+
+    /**
+     * Returns the reactor root and all its modules that contain {@code sourceRoot} (the configured project root,
+     * e.g. {@code src/main/java}); aggregators and modules without sources are left out.
+     */
+    public static List<Path> fromPom(Path reactorRoot, String sourceRoot) {
+        Set<Path> modules = new LinkedHashSet<>();
+        collect(reactorRoot.toAbsolutePath().normalize(), newDocumentBuilder(), modules);
+        return modules.stream()
+                .filter(module -> Files.isDirectory(module.resolve(sourceRoot)))
+                .toList();
+    }
+
+    private static void collect(Path module, DocumentBuilder builder, Set<Path> modules) {
+        if (!modules.add(module)) {
+            return; // already reached through another aggregator
+        }
+        Path pom = module.resolve(POM);
+        if (!Files.isRegularFile(pom)) {
+            return;
+        }
+        for (String name : moduleNames(pom, builder)) {
+            Path child = module.resolve(name).normalize();
+            // <module> may also point at a POM file instead of its directory.
+            collect(Files.isRegularFile(child) ? child.getParent() : child, builder, modules);
+        }
+    }
+
+    private static List<String> moduleNames(Path pom, DocumentBuilder builder) {
+        final Document document;
+        try {
+            document = builder.parse(pom.toFile());
+        } catch (Exception e) {
+            throw new ConfigurationException("Failed to read modules of " + pom, e);
+        }
+        List<String> names = new ArrayList<>();
+        // Only <project><modules>, modules of profiles are not part of the default reactor.
+        for (Element modules : children(document.getDocumentElement(), "modules")) {
+            for (Element module : children(modules, "module")) {
+                String name = module.getTextContent().strip();
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    private static List<Element> children(Element parent, String name) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element && name.equals(element.getLocalName() == null ? element.getTagName() : element.getLocalName())) {
+                children.add(element);
+            }
+        }
+        return children;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return factory.newDocumentBuilder();
+        } catch (Exception e) {
+            throw new IllegalStateException("No XML parser available", e);
+        }
+    }
+
+    private ReactorModules() {}
+}
@@ -0,0 +1,85 @@
+package io.jadify.core.report;
+
+import io.jadify.core.model.Issue;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Checkstyle's XML report, as read by Jenkins, reviewdog and most code-review bots: one {@code <file>} element per run
+ * of consecutive issues in the same file, each issue an {@code <error>} in it. A file whose issues do not arrive
+ * together gets several {@code <file>} elements, which consumers merge.
+ */
+final class CheckstyleReporter extends IssueReporter {
+
+    private static final XMLOutputFactory XML = XMLOutputFactory.newFactory();
+
+    private final XMLStreamWriter xml;
+    private Path file;
+
+    CheckstyleReporter(Writer out) throws IOException {
+        super(out);
+        try {
+            this.xml = XML.createXMLStreamWriter(out);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("checkstyle");
+            xml.writeAttribute("version", "8.0");
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    protected void write(Issue issue, Path file, int line, int column) throws IOException {
+        try {
+            if (!file.equals(this.file)) {
+                if (this.file != null) {
+                    xml.writeCharacters("\n  ");
+                    xml.writeEndElement();
+                }
+                this.file = file;
+                xml.writeCharacters("\n  ");
+                xml.writeStartElement("file");
+                xml.writeAttribute("name", file.toString());
+            }
+            xml.writeCharacters("\n    ");
+            xml.writeEmptyElement("error");
+            if (line > 0) {
+                xml.writeAttribute("line", Integer.toString(line));
+                xml.writeAttribute("column", Integer.toString(column));
+            }
+            xml.writeAttribute("severity", switch (issue.severity()) {
+                case ERROR -> "error";
+                case WARN -> "warning";
+                case INFO -> "info";
+                case OFF -> "ignore";
+            });
+            xml.writeAttribute("message", issue.message());
+            xml.writeAttribute("source", issue.ruleId());
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        try {
+            if (file != null) {
+                xml.writeCharacters("\n  ");
+                xml.writeEndElement();
+            }
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+}
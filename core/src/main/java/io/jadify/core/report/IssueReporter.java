@@ -0,0 +1,91 @@
+package io.jadify.core.report;
+
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.Issue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Writes issues in a machine-readable {@link ReportFormat} as they arrive, so it can be handed to
+ * {@link io.jadify.core.JadifyRunner#stream} directly. Nothing is collected or sorted: a report takes the same small
+ * amount of memory whether it holds ten issues or millions. Formats that group issues by file start a new group
+ * whenever the file changes, so issues of one file should arrive together, as a streamed scan delivers them; a batch of
+ * issues collected by rule, such as {@link io.jadify.core.JadifyRunner#run} returns, should be sorted
+ * {@link #BY_LOCATION} first.
+ * <p>
+ * Line and column are only computed for elements that have issues: the element's {@link ElementRef#position()} is
+ * mapped through the line starts of its source file, which is read when its first issue arrives and dropped when an
+ * issue of another file does. Elements without a position, or in files that cannot be read such as archive entries,
+ * are reported without line and column.
+ * <p>
+ * {@link #close()} completes the document and flushes the writer, but leaves closing it to the caller.
+ */
+public abstract class IssueReporter implements Consumer<Issue>, Closeable {
+
+    /** Issues by source file, then by the position of their element; a stable sort keeps the order of one element. */
+    public static final Comparator<Issue> BY_LOCATION = Comparator
+            .comparing((Issue issue) -> issue.element().sourceFile())
+            .thenComparingInt(issue -> issue.element().position());
+
+    private final Writer out;
+    private final SourceLines lines = new SourceLines();
+    private Path projectRoot = Path.of("");
+    private String sourceFile;
+    private Path file;
+    private int count;
+
+    protected IssueReporter(Writer out) {
+        this.out = out;
+    }
+
+    /** Source files of the issues that follow are relative to {@code projectRoot}, the root their module was scanned from. */
+    public void projectRoot(Path projectRoot) {
+        this.projectRoot = projectRoot;
+        this.sourceFile = null;
+    }
+
+    @Override
+    public final void accept(Issue issue) {
+        ElementRef element = issue.element();
+        if (!element.sourceFile().equals(sourceFile)) {
+            sourceFile = element.sourceFile();
+            file = projectRoot.resolve(sourceFile);
+        }
+        long location = lines.locate(file, element.position());
+        try {
+            write(issue, file, SourceLines.line(location), SourceLines.column(location));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        count++;
+    }
+
+    /** Number of issues written so far. */
+    public int count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.flush();
+    }
+
+    /**
+     * Writes one issue.
+     *
+     * @param file   the issue's source file, resolved against the {@link #projectRoot(Path) project root}
+     * @param line   1-based line of the element's declaration, or {@code 0} if unknown
+     * @param column 1-based column of the element's declaration, or {@code 0} if unknown
+     */
+    protected abstract void write(Issue issue, Path file, int line, int column) throws IOException;
+
+    /** Writes whatever closes the document after the last issue. */
+    protected abstract void finish() throws IOException;
+}
@@ -0,0 +1,55 @@
+package io.jadify.core.report;
+
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.Issue;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * One JSON object per line and issue ({@code severity}, {@code rule}, {@code message}, {@code kind}, {@code element},
+ * {@code file}, and {@code line} and {@code column} where known), e.g. for {@code jq} or log pipelines.
+ */
+final class JsonLinesReporter extends IssueReporter {
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .rootValueSeparator("\n")
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final JsonGenerator json;
+
+    JsonLinesReporter(Writer out) {
+        super(out);
+        this.json = JSON.createGenerator(ObjectWriteContext.empty(), out);
+    }
+
+    @Override
+    protected void write(Issue issue, Path file, int line, int column) {
+        ElementRef element = issue.element();
+        json.writeStartObject();
+        json.writeStringProperty("severity", issue.severity().name());
+        json.writeStringProperty("rule", issue.ruleId());
+        json.writeStringProperty("message", issue.message());
+        json.writeStringProperty("kind", element.kind().name());
+        json.writeStringProperty("element", element.displayName());
+        json.writeStringProperty("file", file.toString());
+        if (line > 0) {
+            json.writeNumberProperty("line", line);
+            json.writeNumberProperty("column", column);
+        }
+        json.writeEndObject();
+    }
+
+    @Override
+    protected void finish() {
+        if (count() > 0) {
+            json.writeRaw('\n');
+        }
+        json.close();
+    }
+}
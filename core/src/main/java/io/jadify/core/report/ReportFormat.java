@@ -0,0 +1,23 @@
+package io.jadify.core.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** The machine-readable report formats; each {@link #open opens} a streaming {@link IssueReporter}. */
+public enum ReportFormat {
+    /** SARIF 2.1.0, for code scanning dashboards. */
+    SARIF,
+    /** JSON Lines: one JSON object per issue and line. */
+    JSONL,
+    /** Checkstyle XML, for CI plugins and review bots. */
+    CHECKSTYLE;
+
+    /** A reporter writing to {@code out}, which should be buffered; the document head, if any, is written right away. */
+    public IssueReporter open(Writer out) throws IOException {
+        return switch (this) {
+            case SARIF -> new SarifReporter(out);
+            case JSONL -> new JsonLinesReporter(out);
+            case CHECKSTYLE -> new CheckstyleReporter(out);
+        };
+    }
+}
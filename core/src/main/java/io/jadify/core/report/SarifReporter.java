@@ -0,0 +1,114 @@
+package io.jadify.core.report;
+
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.Issue;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+
+/**
+ * A SARIF 2.1.0 log with a single run, as read by GitHub code scanning and most CI dashboards. The document head is
+ * written up front and every issue becomes a result as it arrives; the element is both the region of its physical
+ * location and a logical location.
+ */
+final class SarifReporter extends IssueReporter {
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final JsonGenerator json;
+    private Path file;
+    private String uri;
+
+    SarifReporter(Writer out) {
+        super(out);
+        this.json = JSON.createGenerator(ObjectWriteContext.empty(), out);
+        json.writeStartObject();
+        json.writeStringProperty("$schema", "https://json.schemastore.org/sarif-2.1.0.json");
+        json.writeStringProperty("version", "2.1.0");
+        json.writeArrayPropertyStart("runs");
+        json.writeStartObject();
+        json.writeObjectPropertyStart("tool");
+        json.writeObjectPropertyStart("driver");
+        json.writeStringProperty("name", "Jadify");
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeArrayPropertyStart("results");
+    }
+
+    @Override
+    protected void write(Issue issue, Path file, int line, int column) {
+        ElementRef element = issue.element();
+        json.writeStartObject();
+        json.writeStringProperty("ruleId", issue.ruleId());
+        json.writeStringProperty("level", switch (issue.severity()) {
+            case ERROR -> "error";
+            case WARN -> "warning";
+            case INFO -> "note";
+            case OFF -> "none";
+        });
+        json.writeObjectPropertyStart("message");
+        json.writeStringProperty("text", issue.message());
+        json.writeEndObject();
+
+        json.writeArrayPropertyStart("locations");
+        json.writeStartObject();
+        json.writeObjectPropertyStart("physicalLocation");
+        json.writeObjectPropertyStart("artifactLocation");
+        json.writeStringProperty("uri", uri(file));
+        json.writeEndObject();
+        if (line > 0) {
+            json.writeObjectPropertyStart("region");
+            json.writeNumberProperty("startLine", line);
+            json.writeNumberProperty("startColumn", column);
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+        json.writeArrayPropertyStart("logicalLocations");
+        json.writeStartObject();
+        json.writeStringProperty("fullyQualifiedName", element.displayName());
+        json.writeStringProperty("kind", switch (element.kind()) {
+            case METHOD, CONSTRUCTOR -> "member";
+            default -> "type";
+        });
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+
+        json.writeEndObject();
+    }
+
+    @Override
+    protected void finish() {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+    }
+
+    /** A relative URI reference for relative paths, as SARIF consumers resolve them against the checkout. */
+    private String uri(Path file) {
+        if (!file.equals(this.file)) {
+            this.file = file;
+            if (file.isAbsolute()) {
+                uri = file.toUri().toString();
+            } else {
+                try {
+                    uri = new URI(null, null, file.toString().replace('\\', '/'), null).toASCIIString();
+                } catch (URISyntaxException e) {
+                    uri = file.toString().replace('\\', '/');
+                }
+            }
+        }
+        return uri;
+    }
+}
@@ -0,0 +1,82 @@
+package io.jadify.core.report;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Line starts of one source file at a time, the way javac's {@code LineMap} counts them: {@code \n}, {@code \r} and
+ * {@code \r\n} end a line, and offsets are in UTF-16 characters. A file is read when a position in it is first
+ * located, without keeping its text, and replaced by the next file asked for.
+ */
+final class SourceLines {
+
+    private final char[] buffer = new char[8192];
+    private Path file;
+    private int[] starts = new int[256];
+    private int lineCount; // 0 if the file could not be read
+    private int length;
+
+    /**
+     * The 1-based line and column of character offset {@code position} in {@code file}, packed into a long; {@code 0}
+     * if the position is unknown or past the end of the file.
+     */
+    long locate(Path file, int position) {
+        if (position < 0) {
+            return 0;
+        }
+        if (!file.equals(this.file)) {
+            this.file = file;
+            read(file);
+        }
+        if (lineCount == 0 || position > length) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(starts, 0, lineCount, position);
+        int line = index >= 0 ? index : -index - 2;
+        return (long) (line + 1) << 32 | (position - starts[line] + 1);
+    }
+
+    static int line(long location) {
+        return (int) (location >>> 32);
+    }
+
+    static int column(long location) {
+        return (int) location;
+    }
+
+    private void read(Path file) {
+        lineCount = 0;
+        length = 0;
+        int lines = 1;
+        int offset = 0;
+        boolean afterCarriageReturn = false;
+        try (Reader in = new InputStreamReader(Files.newInputStream(file), UTF_8)) {
+            starts[0] = 0;
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                for (int i = 0; i < n; i++) {
+                    char c = buffer[i];
+                    offset++;
+                    if (c == '\n' && afterCarriageReturn) {
+                        starts[lines - 1] = offset; // \r\n is a single line break
+                    } else if (c == '\n' || c == '\r') {
+                        if (lines == starts.length) {
+                            starts = Arrays.copyOf(starts, lines * 2);
+                        }
+                        starts[lines++] = offset;
+                    }
+                    afterCarriageReturn = c == '\r';
+                }
+            }
+        } catch (IOException e) {
+            return; // e.g. an archive entry: report without lines
+        }
+        lineCount = lines;
+        length = offset;
+    }
+}
@@ -0,0 +1,48 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rules Jadify ships, with the options of their entries in the config. A {@code rules} list in the user's config
+ * replaces the default one, so only the built-in rules with an enabled entry in the merged config run.
+ */
+public final class BuiltInRules {
+
+    /** The rules {@code config} enables; every rule, with its defaults, if {@code config} is {@code null}. */
+    public static List<Rule> forConfig(Config config) {
+        List<Rule> rules = new ArrayList<>();
+        if (enabled(config, PublicJavadocPresenceRule.CONFIG_ID)) {
+            rules.add(PublicJavadocPresenceRule.fromConfig(config));
+        }
+        if (enabled(config, JavadocTagsRule.ID)) {
+            rules.add(JavadocTagsRule.fromConfig(config));
+        }
+        if (enabled(config, JavadocSummaryRule.ID)) {
+            rules.add(JavadocSummaryRule.fromConfig(config));
+        }
+        if (enabled(config, CustomTagsRule.ID)) {
+            rules.add(CustomTagsRule.fromConfig(config));
+        }
+        return List.copyOf(rules);
+    }
+
+    /** Whether the first config rule with id {@code ruleId} is enabled, as {@link RuleEngine} reads it. */
+    private static boolean enabled(Config config, String ruleId) {
+        if (config == null) {
+            return true;
+        }
+        if (config.rules() != null) {
+            for (Config.Rule rule : config.rules()) {
+                if (rule.id().equals(ruleId)) {
+                    return rule.enabled();
+                }
+            }
+        }
+        return false;
+    }
+
+    private BuiltInRules() {}
+}
@@ -0,0 +1,106 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@code javadoc.customTags}: tags outside the Javadoc standard, block or inline, that documented elements must carry.
+ * A tag is required on the {@code requiredOn} targets (all if none), except on the excluded accessor kinds, and
+ * without {@code allowMultiple} it may occur only once. Checks count the element's {@link DocTags#customTags()};
+ * elements without a doc comment are left to the presence rule.
+ */
+public class CustomTagsRule implements ElementRule {
+
+    public static final String ID = "javadoc.customTags";
+
+    /** @param targets the targets the tag is required on; all if empty */
+    public record Tag(String name, List<Config.Target> targets, List<Config.AccessorKind> excludeAccessorKinds) {}
+
+    private final List<Tag> tags;
+    private final boolean allowMultiple;
+    private final Severity severity;
+
+    public CustomTagsRule(List<Tag> tags, boolean allowMultiple) {
+        this(tags, allowMultiple, Severity.WARN);
+    }
+
+    public CustomTagsRule(List<Tag> tags, boolean allowMultiple, Severity severity) {
+        this.tags = List.copyOf(tags);
+        this.allowMultiple = allowMultiple;
+        this.severity = severity;
+    }
+
+    /** The rule with the tags and severity of the config's {@value #ID} entry. */
+    public static CustomTagsRule fromConfig(Config config) {
+        RuleOptions options = RuleOptions.of(config, ID);
+        List<Tag> tags = new ArrayList<>();
+        for (RuleOptions tag : options.list("tags")) {
+            String name = tag.string("name");
+            if (name == null || name.isBlank()) {
+                throw new ConfigurationException("Every tag of rule %s needs a name".formatted(ID));
+            }
+            RuleOptions requiredOn = tag.object("requiredOn");
+            tags.add(new Tag(name.startsWith("@") ? name.substring(1) : name,
+                    requiredOn.enums("targets", Config.Target.class),
+                    requiredOn.enums("excludeAccessorKinds", Config.AccessorKind.class)));
+        }
+        return new CustomTagsRule(tags, options.flag("allowMultiple", true), options.severity(Severity.WARN));
+    }
+
+    /** The severity given to the constructor or by the config entry, ahead of {@code byVisibility}. */
+    @Override
+    public Severity defaultSeverity() {
+        return severity;
+    }
+
+    @Override
+    public String getName() {
+        return ID;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, Consumer<Issue> issues) {
+        evaluate(elements, id, elements.docComment(id), issues);
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, String doc, Consumer<Issue> issues) {
+        DocTags docTags = elements.docTags(id);
+        if (doc == null || docTags == null || tags.isEmpty()) {
+            return;
+        }
+        int attributes = elements.attributes(id);
+        if (attributes == 0) {
+            attributes = ElementAttributes.forKind(elements.kind(id));
+        }
+        Config.Target target = ElementAttributes.target(attributes);
+        Config.AccessorKind accessorKind = ElementAttributes.accessorKind(attributes);
+        for (Tag tag : tags) {
+            int count = docTags.count(tag.name());
+            if (count == 0 && (tag.targets().isEmpty() || tag.targets().contains(target))
+                    && (accessorKind == null || !tag.excludeAccessorKinds().contains(accessorKind))) {
+                issues.accept(issue(elements, id, "Missing @" + tag.name()));
+            } else if (count > 1 && !allowMultiple) {
+                issues.accept(issue(elements, id, "Repeated @" + tag.name()));
+            }
+        }
+    }
+
+    private Issue issue(ElementTable elements, int id, String message) {
+        return new Issue(severity, getName(), message + ": " + elements.displayName(id), elements.ref(id));
+    }
+}
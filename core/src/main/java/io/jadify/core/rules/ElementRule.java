@@ -0,0 +1,80 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.scan.ScanContext;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A rule that judges each element on its own, without looking at the rest of the scan. Such rules can consume
+ * elements while the scan is still running, except those they judge by {@link #usesTypeHierarchy(ElementTable, int)
+ * the type hierarchy}.
+ */
+public interface ElementRule extends Rule {
+
+    /**
+     * Evaluates a single element.
+     *
+     * @param elements the table holding the element
+     * @param id       the element's id in {@code elements}
+     * @param issues   receives every issue found
+     */
+    void evaluate(ElementTable elements, int id, Consumer<Issue> issues);
+
+    /**
+     * Evaluates a single element whose doc comment the caller has already looked up. Rules that read the doc comment
+     * should override this and let {@link #evaluate(ElementTable, int, Consumer)} delegate here.
+     */
+    default void evaluate(ElementTable elements, int id, String docComment, Consumer<Issue> issues) {
+        evaluate(elements, id, issues);
+    }
+
+    /** The kinds of element this rule judges; the {@link RuleEngine} does not call it for others. */
+    default Set<ElementKind> targetKinds() {
+        return EnumSet.allOf(ElementKind.class);
+    }
+
+    /**
+     * Whether {@link #evaluate(ElementTable, int, Consumer)} keeps no state between elements and may be called for
+     * different elements from several threads at once. Stateless rules are evaluated in parallel over partitions of the
+     * table; the issues are still reported in element order.
+     */
+    default boolean isStateless() {
+        return false;
+    }
+
+    /**
+     * Whether {@link #evaluate(ElementTable, int, Consumer)} consults {@link ElementTable#hierarchy()}. That hierarchy
+     * only spans the types of its table, so such a rule must be given a table of the whole scan rather than one batch
+     * or one file of it.
+     */
+    default boolean usesTypeHierarchy() {
+        return false;
+    }
+
+    /**
+     * Whether evaluating element {@code id} may consult types of the hierarchy that are not in {@code elements}. A
+     * streamed run holds such elements back until the scan is complete and evaluates them against the whole scan's
+     * hierarchy, while the others are evaluated batch by batch. By default that is every element of a rule that
+     * {@link #usesTypeHierarchy() uses the type hierarchy}.
+     */
+    default boolean usesTypeHierarchy(ElementTable elements, int id) {
+        return usesTypeHierarchy();
+    }
+
+    @Override
+    default List<Issue> evaluate(ScanContext ctx) {
+        var issues = new ArrayList<Issue>();
+        ElementTable elements = ctx.elements();
+        for (int id = 0; id < elements.size(); id++) {
+            evaluate(elements, id, issues::add);
+        }
+        return issues;
+    }
+}
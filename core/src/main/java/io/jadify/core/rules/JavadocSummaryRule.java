@@ -0,0 +1,104 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+
+import java.util.function.Consumer;
+
+/**
+ * {@code javadoc.summary}: the first sentence of a doc comment must be there, end with a period and stay within
+ * {@code maxSummaryLength} visible characters. The sentence is found by {@link SummarySentence} directly on the
+ * comment text, so a conforming element costs no allocation; elements without a doc comment are left to the presence
+ * rule, and comments starting with {@code {@inheritDoc}} are skipped.
+ */
+public class JavadocSummaryRule implements ElementRule {
+
+    public static final String ID = "javadoc.summary";
+
+    /** @param maxSummaryLength the longest summary allowed, in visible characters; 0 for no limit */
+    public record Options(boolean requireSummarySentence, int maxSummaryLength, boolean requirePeriod) {
+        public static final Options DEFAULTS = new Options(true, 140, true);
+    }
+
+    private final Options options;
+    private final Severity severity;
+
+    public JavadocSummaryRule() {
+        this(Options.DEFAULTS);
+    }
+
+    public JavadocSummaryRule(Options options) {
+        this(options, Severity.WARN);
+    }
+
+    public JavadocSummaryRule(Options options, Severity severity) {
+        this.options = options;
+        this.severity = severity;
+    }
+
+    /** The rule with the options and severity of the config's {@value #ID} entry. */
+    public static JavadocSummaryRule fromConfig(Config config) {
+        RuleOptions options = RuleOptions.of(config, ID);
+        int maxSummaryLength = options.integer("maxSummaryLength", Options.DEFAULTS.maxSummaryLength());
+        if (maxSummaryLength < 0) {
+            throw new ConfigurationException("Option maxSummaryLength of rule %s must not be negative".formatted(ID));
+        }
+        return new JavadocSummaryRule(new Options(
+                options.flag("requireSummarySentence", Options.DEFAULTS.requireSummarySentence()),
+                maxSummaryLength,
+                options.flag("requirePeriod", Options.DEFAULTS.requirePeriod())),
+                options.severity(Severity.WARN));
+    }
+
+    /** The severity given to the constructor or by the config entry, ahead of {@code byVisibility}. */
+    @Override
+    public Severity defaultSeverity() {
+        return severity;
+    }
+
+    @Override
+    public String getName() {
+        return ID;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, Consumer<Issue> issues) {
+        evaluate(elements, id, elements.docComment(id), issues);
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, String doc, Consumer<Issue> issues) {
+        if (doc == null) {
+            return;
+        }
+        long summary = SummarySentence.scan(doc);
+        if (SummarySentence.is(summary, SummarySentence.INHERITED)) {
+            return;
+        }
+        int length = SummarySentence.length(summary);
+        if (length == 0) {
+            if (options.requireSummarySentence()) {
+                issues.accept(issue(elements, id, "Missing summary sentence"));
+            }
+            return;
+        }
+        if (options.requirePeriod() && !SummarySentence.is(summary, SummarySentence.PERIOD)) {
+            issues.accept(issue(elements, id, "Summary sentence does not end with a period"));
+        }
+        if (options.maxSummaryLength() > 0 && length > options.maxSummaryLength()) {
+            issues.accept(issue(elements, id, "Summary sentence longer than " + options.maxSummaryLength() + " characters"));
+        }
+    }
+
+    private Issue issue(ElementTable elements, int id, String message) {
+        return new Issue(severity, getName(), message + ": " + elements.displayName(id), elements.ref(id));
+    }
+}
@@ -0,0 +1,128 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@code javadoc.tags}: a documented method or constructor needs a {@code @param} for every parameter, a
+ * {@code @return} unless it returns {@code void} and a {@code @throws} for every type of its {@code throws} clause.
+ * Checks are lookups on the element's {@link DocTags}; elements without a doc comment are left to the presence rule,
+ * and comments with {@code {@inheritDoc}} are skipped.
+ */
+public class JavadocTagsRule implements ElementRule {
+
+    public static final String ID = "javadoc.tags";
+
+    public record Options(boolean requireParamTags, boolean requireReturnTag, boolean requireThrowsTags,
+                          boolean allowMissingReturnOnBooleanGetters) {
+        public static final Options DEFAULTS = new Options(true, true, true, true);
+    }
+
+    private final Options options;
+    private final Severity severity;
+
+    public JavadocTagsRule() {
+        this(Options.DEFAULTS);
+    }
+
+    public JavadocTagsRule(Options options) {
+        this(options, Severity.WARN);
+    }
+
+    public JavadocTagsRule(Options options, Severity severity) {
+        this.options = options;
+        this.severity = severity;
+    }
+
+    /** The rule with the options and severity of the config's {@value #ID} entry. */
+    public static JavadocTagsRule fromConfig(Config config) {
+        RuleOptions options = RuleOptions.of(config, ID);
+        return new JavadocTagsRule(new Options(
+                options.flag("requireParamTags", Options.DEFAULTS.requireParamTags()),
+                options.flag("requireReturnTag", Options.DEFAULTS.requireReturnTag()),
+                options.flag("requireThrowsTags", Options.DEFAULTS.requireThrowsTags()),
+                options.flag("allowMissingReturnOnBooleanGetters", Options.DEFAULTS.allowMissingReturnOnBooleanGetters())),
+                options.severity(Severity.WARN));
+    }
+
+    /** The severity given to the constructor or by the config entry, ahead of {@code byVisibility}. */
+    @Override
+    public Severity defaultSeverity() {
+        return severity;
+    }
+
+    @Override
+    public String getName() {
+        return ID;
+    }
+
+    @Override
+    public Set<ElementKind> targetKinds() {
+        return EnumSet.of(ElementKind.METHOD, ElementKind.CONSTRUCTOR);
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, Consumer<Issue> issues) {
+        evaluate(elements, id, elements.docComment(id), issues);
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, String doc, Consumer<Issue> issues) {
+        DocTags tags = elements.docTags(id);
+        if (doc == null || tags == null || tags.has(DocTags.Kind.INHERIT_DOC)) {
+            return;
+        }
+        if (options.requireParamTags()) {
+            for (String parameter : tags.parameters()) {
+                if (!tags.paramTags().contains(parameter)) {
+                    issues.accept(issue(elements, id, "Missing @param " + parameter));
+                }
+            }
+        }
+        if (options.requireReturnTag() && !tags.returnsVoid() && !tags.has(DocTags.Kind.RETURN)
+                && !(options.allowMissingReturnOnBooleanGetters()
+                        && ElementAttributes.accessorKind(elements.attributes(id)) == Config.AccessorKind.BOOLEAN_GETTER)) {
+            issues.accept(issue(elements, id, "Missing @return"));
+        }
+        if (options.requireThrowsTags()) {
+            for (String type : tags.thrown()) {
+                if (!isDocumented(type, tags)) {
+                    issues.accept(issue(elements, id, "Missing @throws " + type));
+                }
+            }
+        }
+    }
+
+    /** Whether some {@code @throws} names {@code type}, qualified or not. */
+    private static boolean isDocumented(String type, DocTags tags) {
+        String simpleName = simpleName(type);
+        for (String documented : tags.throwsTags()) {
+            if (documented.equals(type) || simpleName(documented).equals(simpleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String simpleName(String type) {
+        return type.substring(type.lastIndexOf('.') + 1);
+    }
+
+    private Issue issue(ElementTable elements, int id, String message) {
+        return new Issue(severity, getName(), message + ": " + elements.displayName(id), elements.ref(id));
+    }
+}
@@ -1,13 +1,49 @@
 package io.jadify.core.rules;
 
+import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementTable;
 import io.jadify.core.model.Issue;
 import io.jadify.core.model.Severity;
-import io.jadify.core.scan.ScanContext;
+import io.jadify.core.model.TypeDeclaration;
+import io.jadify.core.model.TypeHierarchy;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
-public class PublicJavadocPresenceRule implements Rule {
+/**
+ * Reports elements without a doc comment. With {@code allowInherited} in the config's {@value #CONFIG_ID} entry, a
+ * method that overrides a documented method is accepted, since Javadoc copies that comment; the element table's
+ * {@link TypeHierarchy} decides, and where it cannot, an {@code @Override} annotation does.
+ * <p>
+ * Unless its config entry sets a severity, the rule has no {@link #defaultSeverity() default severity}: under a
+ * config, the severity overrides and {@code byVisibility} decide, and the severity it reports only applies without one.
+ */
+public class PublicJavadocPresenceRule implements ElementRule {
+
+    public static final String CONFIG_ID = "javadoc.presence";
+
+    private final boolean allowInherited;
+    private final Severity severity;
+
+    public PublicJavadocPresenceRule() {
+        this(false);
+    }
+
+    public PublicJavadocPresenceRule(boolean allowInherited) {
+        this(allowInherited, Severity.ERROR);
+    }
+
+    public PublicJavadocPresenceRule(boolean allowInherited, Severity severity) {
+        this.allowInherited = allowInherited;
+        this.severity = severity;
+    }
+
+    /** The rule with the options and severity of the config's {@value #CONFIG_ID} entry. */
+    public static PublicJavadocPresenceRule fromConfig(Config config) {
+        RuleOptions options = RuleOptions.of(config, CONFIG_ID);
+        return new PublicJavadocPresenceRule(options.flag("allowInherited", false), options.severity(Severity.ERROR));
+    }
 
     @Override
     public String getName() {
@@ -15,19 +51,70 @@ public class PublicJavadocPresenceRule implements Rule {
     }
 
     @Override
-    public List<Issue> evaluate(ScanContext ctx) {
-        var issues = new ArrayList<Issue>();
-        for (var el : ctx.publicApiElements()) {
-            String doc = ctx.docComments().get(el);
-            if (doc == null || doc.trim().isEmpty()) {
-                issues.add(new Issue(
-                        Severity.ERROR,
-                        getName(),
-                        "Missing Javadoc: " + el.displayName(),
-                        el
-                ));
-            }
+    public String configId() {
+        return CONFIG_ID;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    @Override
+    public boolean usesTypeHierarchy() {
+        return allowInherited;
+    }
+
+    /**
+     * Only undocumented methods of types with supertypes: a type without any only inherits from {@code Object}, which
+     * every table's hierarchy answers alike, and a documented element is never looked up.
+     */
+    @Override
+    public boolean usesTypeHierarchy(ElementTable elements, int id) {
+        if (!allowInherited || elements.kind(id) != ElementKind.METHOD || !isBlank(elements.docComment(id))) {
+            return false;
+        }
+        String name = elements.qualifiedName(id);
+        TypeDeclaration type = elements.hierarchy().type(name.substring(0, name.indexOf('#')));
+        return type == null || !type.supertypes().isEmpty();
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, Consumer<Issue> issues) {
+        evaluate(elements, id, elements.docComment(id), issues);
+    }
+
+    @Override
+    public void evaluate(ElementTable elements, int id, String doc, Consumer<Issue> issues) {
+        if (isBlank(doc) && !(allowInherited && inheritsDoc(elements, id))) {
+            issues.accept(new Issue(
+                    severity,
+                    getName(),
+                    "Missing Javadoc: " + elements.displayName(id),
+                    elements.ref(id)
+            ));
+        }
+    }
+
+    private static boolean inheritsDoc(ElementTable elements, int id) {
+        if (elements.kind(id) != ElementKind.METHOD) {
+            return false;
         }
-        return issues;
+        String name = elements.qualifiedName(id);
+        int split = name.indexOf('#');
+        TypeHierarchy.Inheritance inheritance = elements.hierarchy().inheritance(name.substring(0, split), name.substring(split + 1));
+        return switch (inheritance) {
+            case DOCUMENTED -> true;
+            case UNDOCUMENTED -> false;
+            case UNKNOWN -> isOverride(elements.annotations(id));
+        };
+    }
+
+    private static boolean isBlank(String doc) {
+        return doc == null || doc.trim().isEmpty();
+    }
+
+    private static boolean isOverride(List<String> annotations) {
+        return annotations.contains("Override") || annotations.contains("java.lang.Override");
     }
 }
@@ -1,6 +1,7 @@
 package io.jadify.core.rules;
 
 import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
 import io.jadify.core.scan.ScanContext;
 
 import java.util.List;
@@ -8,4 +9,20 @@ import java.util.List;
 public interface Rule {
     String getName();
     List<Issue> evaluate(ScanContext ctx);
+
+    /**
+     * The id of the config rule entry whose {@code enabled} flag, {@code when} selector and {@code severity} apply to
+     * this rule; by default its {@link #getName() name}.
+     */
+    default String configId() {
+        return getName();
+    }
+
+    /**
+     * The severity of this rule's issues on elements for which neither its config entry nor a severity override sets
+     * one; it ranks ahead of {@code byVisibility}. {@code null}, the default, leaves those issues to {@code byVisibility}.
+     */
+    default Severity defaultSeverity() {
+        return null;
+    }
 }
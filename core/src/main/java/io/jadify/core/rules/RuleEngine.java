@@ -0,0 +1,269 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.compile.CompiledConfig;
+import io.jadify.core.config.compile.CompiledConfig.CompiledRule;
+import io.jadify.core.config.compile.CompiledConfig.CompiledSelector;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.config.compile.SelectorMatcher;
+import io.jadify.core.config.compile.SeverityResolver;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+import io.jadify.core.scan.ScanContext;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates all rules in a single pass over the element table. Element rules register callbacks for the element kinds
+ * they target; for each element the engine reads the doc comment once and calls only the callbacks registered for the
+ * element's kind whose {@code when} selector can match. Rules that need the whole scan are adapted: they run after the
+ * pass through {@link Rule#evaluate(ScanContext)}.
+ * <p>
+ * A rule's {@code when} selector and {@code enabled} flag come from the config rule whose id equals
+ * {@link Rule#configId()}; rules without one apply everywhere. Target and member kind constraints are resolved per
+ * element kind when the engine is built, the rest per element by {@link SelectorMatcher}. With a config, each issue
+ * an element callback reports gets its effective severity from a {@link SeverityResolver}, which ranks the rule's
+ * {@link Rule#defaultSeverity() default severity} ahead of {@code byVisibility}; the severity the rule reported is kept
+ * where neither determines one, and issues resolved to {@link Severity#OFF} are dropped.
+ * <p>
+ * {@link #evaluate} groups issues by rule in registration order and by element within a rule, the same order as
+ * evaluating the rules one after another. If every element callback is stateless, large tables are split across the
+ * common fork/join pool and merged in that same order.
+ * <p>
+ * An engine is reused across modules, runs and daemon requests; each {@link #evaluate} starts by
+ * {@link io.jadify.core.config.compile.NameMatching#reset resetting} the memoized name matches. {@link #stream} is
+ * called once per batch of a run and keeps them; the bounded caches start over whenever they fill up.
+ */
+public final class RuleEngine {
+
+    /** Elements below which the pass is not worth splitting across the fork/join pool. */
+    static final int PARALLEL_THRESHOLD = 2048;
+
+    private static final ElementKind[] KINDS = ElementKind.values();
+    private static final Registration[] NONE = new Registration[0];
+
+    /** Called for one element, with its doc comment already looked up ({@code null} if it has none). */
+    @FunctionalInterface
+    public interface ElementCallback {
+        void visit(ElementTable elements, int id, String docComment, Consumer<Issue> issues);
+    }
+
+    /** @param when the rule's selector, or {@code null} if it applies to every element of the registered kinds */
+    private record Registration(int rule, ElementCallback callback, CompiledSelector when) {}
+
+    private record ScanRule(int rule, Rule delegate) {}
+
+    private final int ruleCount;
+    private final Registration[][] byKind;
+    private final List<ScanRule> scanRules;
+    private final boolean stateless;
+    private final SeverityResolver severities;
+    private final SelectorMatcher selectors = new SelectorMatcher();
+
+    private RuleEngine(Builder builder) {
+        this.ruleCount = builder.ruleCount;
+        this.byKind = new Registration[KINDS.length][];
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            this.byKind[kind] = builder.byKind.get(kind).toArray(NONE);
+        }
+        this.scanRules = List.copyOf(builder.scanRules);
+        this.stateless = builder.stateless;
+        this.severities = builder.config == null ? null : SeverityResolver.compile(builder.config, builder.ruleIds, builder.defaultSeverities, selectors);
+    }
+
+    /** An engine for {@code rules}, adapted as described for {@link Builder#add(Rule)}. */
+    public static RuleEngine of(List<Rule> rules, CompiledConfig config) {
+        Builder builder = builder(config);
+        rules.forEach(builder::add);
+        return builder.build();
+    }
+
+    /** @param config the config whose rule entries apply, or {@code null} to apply every rule everywhere */
+    public static Builder builder(CompiledConfig config) {
+        return new Builder(config);
+    }
+
+    public boolean hasScanRules() {
+        return !scanRules.isEmpty();
+    }
+
+    public List<Issue> evaluate(ScanContext ctx) {
+        selectors.matching().reset();
+        ElementTable elements = ctx.elements();
+        List<List<Issue>> issues;
+        if (stateless && elements.size() >= PARALLEL_THRESHOLD) {
+            issues = IntStream.range(0, elements.size()).parallel().collect(
+                    this::newBuckets,
+                    (buckets, id) -> visit(elements, id, buckets, null),
+                    RuleEngine::append);
+        } else {
+            issues = newBuckets();
+            for (int id = 0; id < elements.size(); id++) {
+                visit(elements, id, issues, null);
+            }
+        }
+        for (ScanRule scanRule : scanRules) {
+            issues.get(scanRule.rule()).addAll(scanRule.delegate().evaluate(ctx));
+        }
+        List<Issue> all = new ArrayList<>();
+        issues.forEach(all::addAll);
+        return all;
+    }
+
+    /**
+     * Evaluates the element callbacks on {@code elements} and hands each issue to {@code issues} as soon as it is found,
+     * in element order with all rules of one element before the next. Rules that need the whole scan are not run.
+     */
+    public void stream(ElementTable elements, Consumer<Issue> issues) {
+        stream(elements, issues, () -> false);
+    }
+
+    /** Like {@link #stream(ElementTable, Consumer)}, but stops before the next element once {@code cancelled} holds. */
+    public void stream(ElementTable elements, Consumer<Issue> issues, BooleanSupplier cancelled) {
+        stream(elements, id -> true, issues, cancelled);
+    }
+
+    /** Like {@link #stream(ElementTable, Consumer, BooleanSupplier)}, but skips the elements {@code include} rejects. */
+    public void stream(ElementTable elements, IntPredicate include, Consumer<Issue> issues, BooleanSupplier cancelled) {
+        for (int id = 0; id < elements.size() && !cancelled.getAsBoolean(); id++) {
+            if (include.test(id)) {
+                visit(elements, id, null, issues);
+            }
+        }
+    }
+
+    /** Calls the callbacks for element {@code id}, reporting into {@code sink} or else the rule's bucket. */
+    private void visit(ElementTable elements, int id, List<List<Issue>> buckets, Consumer<Issue> sink) {
+        Registration[] registrations = byKind[elements.kind(id).ordinal()];
+        if (registrations.length == 0) {
+            return;
+        }
+        String doc = elements.docComment(id);
+        for (Registration registration : registrations) {
+            if (registration.when() != null && !selectors.matches(registration.when(), elements, id)) {
+                continue;
+            }
+            Consumer<Issue> issues = sink != null ? sink : buckets.get(registration.rule())::add;
+            registration.callback().visit(elements, id, doc,
+                    severities == null ? issues : resolving(registration.rule(), elements, id, issues));
+        }
+    }
+
+    private Consumer<Issue> resolving(int rule, ElementTable elements, int id, Consumer<Issue> issues) {
+        return issue -> {
+            Severity severity = severities.resolve(rule, issue.severity(), elements, id);
+            if (severity == Severity.OFF) {
+                return;
+            }
+            issues.accept(severity == issue.severity() ? issue : new Issue(severity, issue.ruleId(), issue.message(), issue.element()));
+        };
+    }
+
+    private List<List<Issue>> newBuckets() {
+        List<List<Issue>> buckets = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        return buckets;
+    }
+
+    private static void append(List<List<Issue>> left, List<List<Issue>> right) {
+        for (int i = 0; i < left.size(); i++) {
+            left.get(i).addAll(right.get(i));
+        }
+    }
+
+    public static final class Builder {
+        private final CompiledConfig config;
+        private final List<List<Registration>> byKind = new ArrayList<>();
+        private final List<ScanRule> scanRules = new ArrayList<>();
+        private final List<String> ruleIds = new ArrayList<>();
+        private final List<Severity> defaultSeverities = new ArrayList<>();
+        private int ruleCount;
+        private boolean stateless = true;
+
+        private Builder(CompiledConfig config) {
+            this.config = config;
+            for (int i = 0; i < KINDS.length; i++) {
+                byKind.add(new ArrayList<>());
+            }
+        }
+
+        /**
+         * Adapts an existing rule: an {@link ElementRule} is called per element of its {@link ElementRule#targetKinds()},
+         * any other rule runs once on the whole scan after the pass.
+         */
+        public Builder add(Rule rule) {
+            if (rule instanceof ElementRule elementRule) {
+                return onElements(rule.configId(), rule.defaultSeverity(), elementRule.targetKinds(), elementRule.isStateless(),
+                        elementRule::evaluate);
+            }
+            CompiledRule configured = configured(rule.configId());
+            if (configured == null || configured.enabled()) {
+                ruleIds.add(rule.configId());
+                defaultSeverities.add(rule.defaultSeverity());
+                scanRules.add(new ScanRule(ruleCount++, rule));
+            }
+            return this;
+        }
+
+        /**
+         * Registers {@code callback} for the elements of {@code kinds} that the {@code when} selector of the config rule
+         * {@code ruleId} can match.
+         *
+         * @param stateless whether the callback may be called for different elements from several threads at once
+         */
+        public Builder onElements(String ruleId, Set<ElementKind> kinds, boolean stateless, ElementCallback callback) {
+            return onElements(ruleId, null, kinds, stateless, callback);
+        }
+
+        /**
+         * Like {@link #onElements(String, Set, boolean, ElementCallback)}, with the rule's
+         * {@link Rule#defaultSeverity() default severity}.
+         */
+        public Builder onElements(String ruleId, Severity defaultSeverity, Set<ElementKind> kinds, boolean stateless,
+                                  ElementCallback callback) {
+            CompiledRule configured = configured(ruleId);
+            if (configured != null && !configured.enabled()) {
+                return this;
+            }
+            CompiledSelector when = configured == null ? null : configured.when();
+            ruleIds.add(ruleId);
+            defaultSeverities.add(defaultSeverity);
+            Registration registration = new Registration(ruleCount++, callback, when);
+            for (ElementKind kind : kinds.isEmpty() ? EnumSet.noneOf(ElementKind.class) : EnumSet.copyOf(kinds)) {
+                int attributes = ElementAttributes.forKind(kind);
+                if (when == null || ((attributes & when.mask().targets()) != 0 && (attributes & when.mask().memberKinds()) != 0)) {
+                    byKind.get(kind.ordinal()).add(registration);
+                }
+            }
+            this.stateless &= stateless;
+            return this;
+        }
+
+        public RuleEngine build() {
+            return new RuleEngine(this);
+        }
+
+        private CompiledRule configured(String ruleId) {
+            if (config == null || config.rules() == null) {
+                return null;
+            }
+            for (CompiledRule rule : config.rules()) {
+                if (rule.id().equals(ruleId)) {
+                    return rule;
+                }
+            }
+            return null;
+        }
+
+    }
+}
@@ -0,0 +1,121 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.Severity;
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Reads the free-form {@code config} of a rule entry; a missing option takes its default. */
+final class RuleOptions {
+
+    private final String ruleId;
+    private final Severity severity;
+    private final JsonNode node;
+
+    private RuleOptions(String ruleId, Severity severity, JsonNode node) {
+        this.ruleId = ruleId;
+        this.severity = severity;
+        this.node = node;
+    }
+
+    /** The options of the first config rule with id {@code ruleId}; empty if there is none. */
+    static RuleOptions of(Config config, String ruleId) {
+        if (config != null && config.rules() != null) {
+            for (Config.Rule rule : config.rules()) {
+                if (rule.id().equals(ruleId)) {
+                    return new RuleOptions(ruleId, rule.severity(), rule.config());
+                }
+            }
+        }
+        return new RuleOptions(ruleId, null, null);
+    }
+
+    /** The entry's {@code severity}, the one its issues are reported with; {@code defaultValue} if it sets none. */
+    Severity severity(Severity defaultValue) {
+        return severity == null ? defaultValue : severity;
+    }
+
+    boolean flag(String name, boolean defaultValue) {
+        JsonNode value = get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!value.isBoolean()) {
+            throw invalid(name, "a boolean");
+        }
+        return value.booleanValue();
+    }
+
+    int integer(String name, int defaultValue) {
+        JsonNode value = get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!value.isInt()) {
+            throw invalid(name, "an integer");
+        }
+        return value.intValue();
+    }
+
+    /** The objects of list option {@code name}, each as options of its own. */
+    List<RuleOptions> list(String name) {
+        JsonNode value = get(name);
+        if (value == null) {
+            return List.of();
+        }
+        if (!value.isArray()) {
+            throw invalid(name, "a list");
+        }
+        List<RuleOptions> items = new ArrayList<>();
+        for (JsonNode item : value) {
+            items.add(new RuleOptions(ruleId, null, item));
+        }
+        return items;
+    }
+
+    String string(String name) {
+        JsonNode value = get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!value.isString()) {
+            throw invalid(name, "a string");
+        }
+        return value.stringValue();
+    }
+
+    RuleOptions object(String name) {
+        return new RuleOptions(ruleId, null, get(name));
+    }
+
+    <E extends Enum<E>> List<E> enums(String name, Class<E> type) {
+        JsonNode value = get(name);
+        if (value == null) {
+            return List.of();
+        }
+        if (!value.isArray()) {
+            throw invalid(name, "a list");
+        }
+        List<E> constants = new ArrayList<>();
+        for (JsonNode item : value) {
+            try {
+                constants.add(Enum.valueOf(type, item.asString()));
+            } catch (IllegalArgumentException e) {
+                throw invalid(name, "a list of " + type.getSimpleName() + " constants");
+            }
+        }
+        return constants;
+    }
+
+    private JsonNode get(String name) {
+        JsonNode value = node == null || !node.isObject() ? null : node.get(name);
+        return value == null || value.isNull() ? null : value;
+    }
+
+    private ConfigurationException invalid(String name, String expected) {
+        return new ConfigurationException("Option %s of rule %s must be %s".formatted(name, ruleId, expected));
+    }
+}
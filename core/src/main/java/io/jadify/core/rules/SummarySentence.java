@@ -0,0 +1,216 @@
+package io.jadify.core.rules;
+
+/**
+ * Finds the first sentence of a doc comment in one forward scan over its text, in place: no regex, no split, no
+ * substring. The sentence ends at a period followed by whitespace, at an HTML block element or at the first block tag,
+ * as in the Javadoc tool. Inline tags are skipped as a unit, so periods inside {@code {@code a.b()}} do not end it, and
+ * count with the length of their content; other HTML tags are skipped, an entity counts as one character and
+ * whitespace runs as one space.
+ * <p>
+ * The result is packed into a {@code long}: the visible length of the sentence in the low 32 bits and
+ * {@link #PERIOD}, {@link #INHERITED} and {@link #BLANK} above.
+ */
+final class SummarySentence {
+
+    /** The sentence ends with a period, or is a {@code {@return}} that Javadoc expands into one. */
+    static final long PERIOD = 1L << 32;
+    /** The main description starts with {@code {@inheritDoc}}. */
+    static final long INHERITED = 1L << 33;
+    /** The comment is blank. */
+    static final long BLANK = 1L << 34;
+
+    private static final String[] BLOCK_ELEMENTS = {
+            "p", "pre", "ul", "ol", "dl", "li", "table", "blockquote", "div", "hr", "section",
+            "h1", "h2", "h3", "h4", "h5", "h6"
+    };
+
+    static long scan(CharSequence doc) {
+        int n = doc.length();
+        int length = 0;
+        boolean space = false; // whitespace since the last visible character
+        boolean lineStart = true;
+        boolean content = false;
+        char last = 0;
+        int i = 0;
+        while (i < n) {
+            char c = doc.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = length > 0;
+                lineStart |= c == '\n';
+                i++;
+                continue;
+            }
+            content = true;
+            if (c == '@' && lineStart) {
+                break; // block tags end the main description
+            }
+            lineStart = false;
+            if (c == '{' && i + 1 < n && doc.charAt(i + 1) == '@') {
+                int nameEnd = tagNameEnd(doc, i + 2);
+                int end = inlineTagEnd(doc, nameEnd);
+                int visible = visibleLength(doc, nameEnd, end);
+                if (length == 0 && matches(doc, i + 2, nameEnd, "inheritDoc")) {
+                    return INHERITED;
+                }
+                if (length == 0 && matches(doc, i + 2, nameEnd, "return")) {
+                    return PERIOD | Math.max(visible, 1);
+                }
+                if (visible > 0) {
+                    length += visible + (space ? 1 : 0);
+                    space = false;
+                    last = doc.charAt(lastVisible(doc, nameEnd, end));
+                }
+                i = end + 1;
+                continue;
+            }
+            if (c == '<') {
+                int end = indexOf(doc, '>', i + 1);
+                if (end > 0) {
+                    if (length > 0 && isBlockElement(doc, i + 1, end)) {
+                        break;
+                    }
+                    i = end + 1;
+                    continue;
+                }
+            }
+            if (c == '&') {
+                int end = entityEnd(doc, i + 1);
+                if (end > 0) {
+                    length += 1 + (space ? 1 : 0);
+                    space = false;
+                    last = c;
+                    i = end + 1;
+                    continue;
+                }
+            }
+            length += 1 + (space ? 1 : 0);
+            space = false;
+            last = c;
+            if (c == '.' && (i + 1 == n || Character.isWhitespace(doc.charAt(i + 1)))) {
+                return PERIOD | length;
+            }
+            i++;
+        }
+        if (!content) {
+            return BLANK;
+        }
+        return last == '.' ? PERIOD | length : length;
+    }
+
+    static int length(long summary) {
+        return (int) summary;
+    }
+
+    static boolean is(long summary, long flag) {
+        return (summary & flag) != 0;
+    }
+
+    private static int tagNameEnd(CharSequence doc, int start) {
+        int end = start;
+        while (end < doc.length() && Character.isJavaIdentifierPart(doc.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /** Index of the brace closing the inline tag whose name ends at {@code from}, or the end of {@code doc}. */
+    private static int inlineTagEnd(CharSequence doc, int from) {
+        int depth = 1;
+        for (int i = from; i < doc.length(); i++) {
+            char c = doc.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return doc.length();
+    }
+
+    /** Length of {@code doc[from, to)} with leading and trailing whitespace dropped and runs collapsed to one space. */
+    private static int visibleLength(CharSequence doc, int from, int to) {
+        int length = 0;
+        boolean space = false;
+        for (int i = from; i < to; i++) {
+            if (Character.isWhitespace(doc.charAt(i))) {
+                space = length > 0;
+            } else {
+                length += 1 + (space ? 1 : 0);
+                space = false;
+            }
+        }
+        return length;
+    }
+
+    private static int lastVisible(CharSequence doc, int from, int to) {
+        int i = to - 1;
+        while (i > from && Character.isWhitespace(doc.charAt(i))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int indexOf(CharSequence doc, char c, int from) {
+        for (int i = from; i < doc.length(); i++) {
+            if (doc.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Index of the {@code ;} ending an entity such as {@code &amp;} or {@code &#64;} that starts at {@code from}, or -1. */
+    private static int entityEnd(CharSequence doc, int from) {
+        for (int i = from; i < doc.length() && i < from + 10; i++) {
+            char c = doc.charAt(i);
+            if (c == ';') {
+                return i > from ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /** Whether the HTML tag {@code doc[from, to)}, after {@code <}, opens or closes a block element. */
+    private static boolean isBlockElement(CharSequence doc, int from, int to) {
+        int start = from < to && doc.charAt(from) == '/' ? from + 1 : from;
+        int end = start;
+        while (end < to && Character.isLetterOrDigit(doc.charAt(end))) {
+            end++;
+        }
+        for (String element : BLOCK_ELEMENTS) {
+            if (matchesIgnoreCase(doc, start, end, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(CharSequence doc, int start, int end, String name) {
+        if (end - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (doc.charAt(start + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesIgnoreCase(CharSequence doc, int start, int end, String name) {
+        if (end - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.toLowerCase(doc.charAt(start + i)) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SummarySentence() {}
+}
@@ -0,0 +1,232 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.exception.ConfigurationException;
+
+import javax.tools.SimpleJavaFileObject;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Java sources read straight out of a {@code -sources.jar}, zip or tar.gz archive, without extracting anything to
+ * disk. Zip and jar archives are opened through the zip {@link FileSystem}; tar.gz archives are decompressed and
+ * read entry by entry in a single pass. Every source ends up as a byte array that scanners parse in memory.
+ * <p>
+ * A source jar keeps its packages at the archive root. If the archive instead holds a project tree, only the sources
+ * below the configured project root are taken, e.g. {@code lib-1.0/src/main/java/} of a release tarball.
+ */
+final class ArchiveSources {
+
+    private static final int TAR_BLOCK = 512;
+
+    /** A source file of an archive; {@code name} is its path inside the archive. */
+    record Entry(String name, byte[] content) {}
+
+    private ArchiveSources() {}
+
+    static boolean isArchive(Path path) {
+        String name = path.getFileName() == null ? "" : path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return (name.endsWith(".jar") || name.endsWith(".zip") || name.endsWith(".tar.gz") || name.endsWith(".tgz"))
+                && Files.isRegularFile(path);
+    }
+
+    /** Reads the Java sources of {@code archive} below {@code sourceRoot}, if it has any there, ordered by name. */
+    static List<Entry> read(Path archive, String sourceRoot) {
+        List<Entry> entries;
+        try {
+            String name = archive.getFileName().toString().toLowerCase(Locale.ROOT);
+            entries = name.endsWith(".jar") || name.endsWith(".zip") ? readZip(archive) : readTarGz(archive);
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to read source archive " + archive.toAbsolutePath(), e);
+        }
+        entries = underSourceRoot(entries, sourceRoot);
+        if (entries.isEmpty()) {
+            throw new ConfigurationException("No Java files in %s".formatted(archive.toAbsolutePath()));
+        }
+        entries.sort(Comparator.comparing(Entry::name));
+        return entries;
+    }
+
+    private static List<Entry> underSourceRoot(List<Entry> entries, String sourceRoot) {
+        String root = sourceRoot.replace('\\', '/').replaceAll("^\\./|/$", "");
+        if (root.isEmpty() || root.equals(".")) {
+            return entries;
+        }
+        String marker = root + "/";
+        for (Entry entry : entries) {
+            String name = entry.name();
+            int nested = name.indexOf("/" + marker);
+            if (name.startsWith(marker) || nested >= 0) {
+                String prefix = name.startsWith(marker) ? marker : name.substring(0, nested + 1 + marker.length());
+                List<Entry> below = new ArrayList<>();
+                for (Entry candidate : entries) {
+                    if (candidate.name().startsWith(prefix)) {
+                        below.add(candidate);
+                    }
+                }
+                return below;
+            }
+        }
+        return entries;
+    }
+
+    private static List<Entry> readZip(Path archive) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (FileSystem zip = FileSystems.newFileSystem(archive);
+             Stream<Path> paths = Files.walk(zip.getPath("/"))) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.toString().endsWith(".java") && Files.isRegularFile(path)) {
+                    entries.add(new Entry(path.toString().substring(1), Files.readAllBytes(path)));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /** Reads ustar, GNU long-name and pax-extended tar entries; links and special files are skipped. */
+    private static List<Entry> readTarGz(Path archive) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(archive), 64 * 1024))) {
+            String longName = null;
+            byte[] header = new byte[TAR_BLOCK];
+            while (true) {
+                int read = in.readNBytes(header, 0, TAR_BLOCK);
+                if (read == 0 || (read == TAR_BLOCK && header[0] == 0)) {
+                    break; // end of the stream or end-of-archive marker
+                }
+                if (read < TAR_BLOCK) {
+                    throw new EOFException("Truncated tar header");
+                }
+                long size = tarNumber(header, 124, 12);
+                if (size < 0 || size > Integer.MAX_VALUE) {
+                    throw new IOException("Unsupported tar entry size " + size);
+                }
+                char type = (char) header[156];
+                boolean java = false;
+                String name = longName != null ? longName : tarName(header);
+                longName = null;
+                byte[] content = null;
+                switch (type) {
+                    case 'L' -> longName = trimNul(new String(readFully(in, (int) size), UTF_8));
+                    case 'x' -> longName = paxPath(readFully(in, (int) size));
+                    case '0', '\0', '7' -> {
+                        java = name.endsWith(".java");
+                        if (java) {
+                            content = readFully(in, (int) size);
+                        } else {
+                            in.skipNBytes(size);
+                        }
+                    }
+                    default -> in.skipNBytes(size);
+                }
+                in.skipNBytes((TAR_BLOCK - size % TAR_BLOCK) % TAR_BLOCK);
+                if (java) {
+                    entries.add(new Entry(name.startsWith("./") ? name.substring(2) : name, content));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static String tarName(byte[] header) {
+        String name = field(header, 0, 100);
+        boolean ustar = field(header, 257, 6).startsWith("ustar");
+        String prefix = ustar ? field(header, 345, 155) : "";
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    /** The {@code path} record of a pax extended header, or {@code null}. */
+    private static String paxPath(byte[] records) {
+        String text = new String(records, UTF_8);
+        int at = 0;
+        while (at < text.length()) {
+            int space = text.indexOf(' ', at);
+            int end = text.indexOf('\n', space);
+            if (space < 0 || end < 0) {
+                break;
+            }
+            String record = text.substring(space + 1, end);
+            if (record.startsWith("path=")) {
+                return record.substring("path=".length());
+            }
+            at = end + 1;
+        }
+        return null;
+    }
+
+    private static long tarNumber(byte[] header, int offset, int length) {
+        if ((header[offset] & 0x80) != 0) {
+            long value = 0; // base-256 for sizes beyond 8 GiB
+            for (int i = offset + 1; i < offset + length; i++) {
+                value = (value << 8) | (header[i] & 0xFF);
+            }
+            return value;
+        }
+        String octal = field(header, offset, length).trim();
+        return octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+    }
+
+    private static String field(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, UTF_8);
+    }
+
+    private static String trimNul(String s) {
+        int nul = s.indexOf('\0');
+        return nul < 0 ? s : s.substring(0, nul);
+    }
+
+    private static byte[] readFully(InputStream in, int size) throws IOException {
+        byte[] bytes = in.readNBytes(size);
+        if (bytes.length < size) {
+            throw new EOFException("Truncated tar entry");
+        }
+        return bytes;
+    }
+
+    /** Hands an archive entry to javac without touching the file system. */
+    static final class SourceObject extends SimpleJavaFileObject {
+        private final Entry entry;
+
+        SourceObject(Path archive, Entry entry) {
+            super(uri(archive, entry), Kind.SOURCE);
+            this.entry = entry;
+        }
+
+        /** A hierarchical {@code jar:/path/lib.jar!/com/example/Foo.java}, so javac can derive the file name. */
+        private static URI uri(Path archive, Entry entry) {
+            try {
+                return new URI("jar", null, archive.toAbsolutePath().toUri().getPath() + "!/" + entry.name(), null);
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid archive entry name " + entry.name(), e);
+            }
+        }
+
+        Entry entry() {
+            return entry;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return new String(entry.content(), UTF_8);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.jadify.core.scan;
+
+import javax.tools.ForwardingJavaFileObject;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+
+/**
+ * Turns a Java source into its declaration skeleton by blanking the insides of method and constructor bodies, so
+ * javac does not build trees for statements, lambdas and anonymous classes nobody looks at. Blanked characters become
+ * spaces and line breaks are kept, so every offset, line number and doc comment position stays where it was.
+ * <p>
+ * Only bodies whose header has a parameter list and no {@code =} are blanked: methods, constructors, enum constants
+ * with a class body and annotation defaults. Type bodies are descended into; field initializers and initializer blocks
+ * are copied as they are, since the latter may declare local classes the scanner reports. The classification errs on
+ * the side of copying, so a misread header costs time, never elements. Sources with unicode escapes of punctuation,
+ * which javac decodes before it sees braces, are returned unchanged.
+ */
+final class BodyBlanker {
+
+    private BodyBlanker() {}
+
+    /** {@code source} as javac should see it: its skeleton, under the original name and URI. */
+    static JavaFileObject skeleton(JavaFileObject source) {
+        return new ForwardingJavaFileObject<>(source) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+                return blank(super.getCharContent(ignoreEncodingErrors).toString());
+            }
+        };
+    }
+
+    static String blank(String source) {
+        if (hasStructuralUnicodeEscape(source)) {
+            return source;
+        }
+        char[] text = source.toCharArray();
+        boolean changed = false;
+        int n = text.length;
+        Header header = new Header();
+        int i = 0;
+        while (i < n) {
+            char c = text[i];
+            int skipped = skipLiteralOrComment(text, i);
+            if (skipped != i) {
+                i = skipped;
+                continue;
+            }
+            if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < n && Character.isJavaIdentifierPart(text[end])) {
+                    end++;
+                }
+                header.word(new String(text, i, end - i));
+                i = end;
+                continue;
+            }
+            switch (c) {
+                case '(' -> header.open();
+                case ')' -> header.close();
+                case '=' -> header.assign();
+                case '.' -> header.dot();
+                case ';' -> {
+                    if (header.parens == 0) {
+                        header = new Header();
+                    }
+                }
+                case '}' -> header = new Header(); // end of a type body
+                case '{' -> {
+                    if (header.parens > 0 || !header.typeKeyword) {
+                        int close = matchingBrace(text, i);
+                        if (close < 0) {
+                            return source; // unbalanced: leave it to javac to report
+                        }
+                        if (header.parens == 0 && header.hasParameters && !header.hasAssignment) {
+                            for (int j = i + 1; j < close; j++) {
+                                if (text[j] != '\n' && text[j] != '\r') {
+                                    text[j] = ' ';
+                                    changed = true;
+                                }
+                            }
+                        }
+                        i = close;
+                        if (header.parens == 0) {
+                            header = new Header();
+                        }
+                    } else {
+                        header = new Header(); // a type body, whose members are classified in turn
+                    }
+                }
+                default -> header.other();
+            }
+            i++;
+        }
+        return changed ? new String(text) : source;
+    }
+
+    /**
+     * Whether a unicode escape stands for a character that could change where braces, literals or comments are,
+     * which this character-level scan would miss. Escapes of letters, as in doc comments, are harmless.
+     */
+    private static boolean hasStructuralUnicodeEscape(String source) {
+        for (int i = source.indexOf("\\u"); i >= 0; i = source.indexOf("\\u", i + 2)) {
+            int hex = i + 2;
+            while (hex < source.length() && source.charAt(hex) == 'u') {
+                hex++;
+            }
+            if (hex + 4 > source.length()) {
+                return true;
+            }
+            int value;
+            try {
+                value = Integer.parseInt(source, hex, hex + 4, 16);
+            } catch (NumberFormatException e) {
+                continue; // not an escape, javac would reject it anyway
+            }
+            if (value < 0x80 && !Character.isLetterOrDigit(value) && value != ' ' && value != '\t' && value != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** What has been seen of the declaration header since the last {@code ;}, {@code {} or {@code }}. */
+    private static final class Header {
+        int parens;
+        boolean hasParameters;
+        boolean hasAssignment;
+        boolean typeKeyword;
+        private boolean afterDot;
+
+        void word(String word) {
+            if (parens == 0 && !afterDot) {
+                switch (word) {
+                    case "class", "interface", "enum", "record" -> typeKeyword = true;
+                    default -> {}
+                }
+            }
+            afterDot = false;
+        }
+
+        void open() {
+            parens++;
+            hasParameters = true;
+            afterDot = false;
+        }
+
+        void close() {
+            parens--;
+            afterDot = false;
+        }
+
+        void assign() {
+            if (parens == 0) {
+                hasAssignment = true;
+            }
+            afterDot = false;
+        }
+
+        void dot() {
+            afterDot = true; // Foo.class is not a declaration
+        }
+
+        void other() {
+            afterDot = false;
+        }
+    }
+
+    /** Index of the {@code '}'} closing the brace at {@code open}, or {@code -1}. */
+    private static int matchingBrace(char[] text, int open) {
+        int depth = 0;
+        int i = open;
+        while (i < text.length) {
+            int skipped = skipLiteralOrComment(text, i);
+            if (skipped != i) {
+                i = skipped;
+                continue;
+            }
+            if (text[i] == '{') {
+                depth++;
+            } else if (text[i] == '}' && --depth == 0) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /** If a comment or literal starts at {@code i}, the index after it; otherwise {@code i}. */
+    private static int skipLiteralOrComment(char[] text, int i) {
+        int n = text.length;
+        char c = text[i];
+        if (c == '/' && i + 1 < n && text[i + 1] == '/') {
+            while (i < n && text[i] != '\n') {
+                i++;
+            }
+            return i;
+        }
+        if (c == '/' && i + 1 < n && text[i + 1] == '*') {
+            for (i += 2; i < n; i++) {
+                if (text[i] == '*' && i + 1 < n && text[i + 1] == '/') {
+                    return i + 2;
+                }
+            }
+            return n;
+        }
+        if (c == '"' && i + 2 < n && text[i + 1] == '"' && text[i + 2] == '"') {
+            for (i += 3; i < n; i++) {
+                if (text[i] == '\\') {
+                    i++;
+                } else if (text[i] == '"' && i + 2 < n && text[i + 1] == '"' && text[i + 2] == '"') {
+                    return i + 3;
+                }
+            }
+            return n;
+        }
+        if (c == '"' || c == '\'') {
+            for (i++; i < n && text[i] != '\n'; i++) {
+                if (text[i] == '\\') {
+                    i++;
+                } else if (text[i] == c) {
+                    return i + 1;
+                }
+            }
+            return i;
+        }
+        return i;
+    }
+}
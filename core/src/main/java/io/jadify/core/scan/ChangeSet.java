@@ -0,0 +1,198 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.exception.ConfigurationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The files (and optionally lines) touched by a change, read from a unified diff or a plain file list such as the
+ * output of {@code git diff --name-only}. Paths are matched against scanned files by suffix, so a diff taken at the
+ * repository root also applies when only a module's source root is scanned.
+ */
+public final class ChangeSet {
+
+    private final Map<String, List<Entry>> byFileName;
+    private final boolean hasLineRanges;
+
+    private ChangeSet(Map<String, List<Entry>> byFileName, boolean hasLineRanges) {
+        this.byFileName = byFileName;
+        this.hasLineRanges = hasLineRanges;
+    }
+
+    public static ChangeSet read(Path file) {
+        try {
+            return parse(Files.readAllLines(file, UTF_8));
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to read change set " + file.toAbsolutePath(), e);
+        }
+    }
+
+    /** Parses a unified diff (detected by its {@code +++}/{@code @@} lines) or a list of paths, one per line. */
+    public static ChangeSet parse(List<String> lines) {
+        boolean diff = lines.stream().anyMatch(l -> l.startsWith("+++ ") || l.startsWith("@@ ") || l.startsWith("diff --git "));
+        Map<String, List<Entry>> byFileName = new HashMap<>();
+        if (!diff) {
+            for (String line : lines) {
+                String path = line.strip();
+                if (!path.isEmpty()) {
+                    add(byFileName, path, LineRanges.ALL);
+                }
+            }
+            return new ChangeSet(byFileName, false);
+        }
+
+        LineRanges.Builder current = null;
+        for (String raw : lines) {
+            String line = raw.endsWith("\r") ? raw.substring(0, raw.length() - 1) : raw;
+            if (line.startsWith("+++ ")) {
+                String path = line.substring(4);
+                int tab = path.indexOf('\t'); // diff -u appends a timestamp
+                if (tab >= 0) {
+                    path = path.substring(0, tab);
+                }
+                if (path.equals("/dev/null")) {
+                    current = null; // deleted file
+                    continue;
+                }
+                if (path.startsWith("b/")) {
+                    path = path.substring(2);
+                }
+                current = new LineRanges.Builder();
+                add(byFileName, path, current);
+            } else if (line.startsWith("@@ ") && current != null) {
+                current.addHunk(line);
+            }
+        }
+        return new ChangeSet(byFileName, true);
+    }
+
+    /** Whether this change set restricts lines, not just files. */
+    public boolean hasLineRanges() {
+        return hasLineRanges;
+    }
+
+    /** The same files, each considered changed as a whole. */
+    public ChangeSet wholeFiles() {
+        Map<String, List<Entry>> copy = new HashMap<>();
+        byFileName.forEach((name, entries) -> copy.put(name, entries.stream()
+                .map(e -> new Entry(e.path(), LineRanges.ALL))
+                .toList()));
+        return new ChangeSet(copy, false);
+    }
+
+    /** Returns the changed lines of {@code file}, {@link LineRanges#ALL} for whole-file changes, or {@code null}. */
+    public LineRanges lookup(Path file) {
+        Path name = file.getFileName();
+        List<Entry> candidates = name == null ? null : byFileName.get(name.toString());
+        if (candidates == null) {
+            return null;
+        }
+        Path absolute = file.toAbsolutePath().normalize();
+        for (Entry candidate : candidates) {
+            if (absolute.endsWith(candidate.path())) {
+                return candidate.lines().build();
+            }
+        }
+        return null;
+    }
+
+    private static void add(Map<String, List<Entry>> byFileName, String rawPath, LineRangeSource lines) {
+        final Path path;
+        try {
+            path = Path.of(rawPath).normalize();
+        } catch (InvalidPathException e) {
+            return;
+        }
+        if (path.getFileName() == null) {
+            return;
+        }
+        byFileName.computeIfAbsent(path.getFileName().toString(), k -> new ArrayList<>()).add(new Entry(path, lines));
+    }
+
+    private interface LineRangeSource {
+        LineRanges build();
+    }
+
+    private record Entry(Path path, LineRangeSource lines) {}
+
+    /** Sorted, inclusive 1-based line ranges of one file. */
+    public static final class LineRanges implements LineRangeSource {
+
+        public static final LineRanges ALL = new LineRanges(null);
+
+        private final int[] bounds; // [from0, to0, from1, to1, ...]; null means every line
+
+        private LineRanges(int[] bounds) {
+            this.bounds = bounds;
+        }
+
+        public boolean isAll() {
+            return bounds == null;
+        }
+
+        /** Whether any changed line falls into {@code [fromLine, toLine]}. */
+        public boolean overlaps(int fromLine, int toLine) {
+            if (bounds == null) {
+                return true;
+            }
+            for (int i = 0; i < bounds.length; i += 2) {
+                if (bounds[i] > toLine) {
+                    return false;
+                }
+                if (bounds[i + 1] >= fromLine) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public LineRanges build() {
+            return this;
+        }
+
+        private static final class Builder implements LineRangeSource {
+            private final List<int[]> ranges = new ArrayList<>();
+            private LineRanges built;
+
+            /** Adds the new-file side of a hunk header such as {@code @@ -10,7 +12,9 @@}. */
+            void addHunk(String header) {
+                int plus = header.indexOf(" +");
+                if (plus < 0) {
+                    return;
+                }
+                int end = header.indexOf(' ', plus + 2);
+                String[] parts = header.substring(plus + 2, end < 0 ? header.length() : end).split(",");
+                try {
+                    int start = Integer.parseInt(parts[0]);
+                    int count = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+                    // A pure deletion touches the lines on both sides of the removed block.
+                    ranges.add(count == 0 ? new int[]{start, start + 1} : new int[]{start, start + count - 1});
+                    built = null;
+                } catch (NumberFormatException e) {
+                    // not a hunk header after all
+                }
+            }
+
+            @Override
+            public LineRanges build() {
+                if (built == null) {
+                    ranges.sort(Comparator.comparingInt(r -> r[0]));
+                    int[] bounds = new int[ranges.size() * 2];
+                    for (int i = 0; i < ranges.size(); i++) {
+                        bounds[2 * i] = ranges.get(i)[0];
+                        bounds[2 * i + 1] = ranges.get(i)[1];
+                    }
+                    built = new LineRanges(bounds);
+                }
+                return built;
+            }
+        }
+    }
+}
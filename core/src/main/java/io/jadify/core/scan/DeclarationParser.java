@@ -0,0 +1,951 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.TypeDeclaration;
+import io.jadify.core.scan.JavaSourceScanner.ScanFilters;
+
+import java.util.*;
+
+import static io.jadify.core.model.ElementKind.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Hand-written declaration parser used by {@link DeclarationScanner}. A lexer makes one pass over the UTF-8 bytes of a
+ * compilation unit and records token boundaries plus the doc comment preceding each token; the parser then walks the
+ * tokens, tracking brace nesting, modifiers, annotations and parameter types, and skips method bodies, initializers and
+ * field values without looking inside them.
+ * <p>
+ * Element names, signatures and the public API decisions follow {@code JavaSourceScanner.ScannerVisitor}; types in
+ * signatures are rendered the way javac prints type trees. Doc comments are kept as their raw text with the leading
+ * asterisks removed, which is enough for presence checks but not identical to javac's {@code DocCommentTree} rendering.
+ * Their tags are lexed from that text the way javac recognizes them, so the recorded {@link DocTags} are the same.
+ */
+final class DeclarationParser {
+
+    private static final byte IDENT = 1;
+    private static final byte SYMBOL = 2;
+    private static final byte LITERAL = 3;
+    private static final byte ELLIPSIS = 4;
+    private static final byte EOF = 5;
+
+    private static final Set<String> MODIFIERS = Set.of(
+            "public", "protected", "private", "static", "final", "abstract", "default", "synchronized", "native",
+            "transient", "volatile", "strictfp", "sealed"
+    );
+
+    private final byte[] source;
+    private final Config config;
+    private final ScanFilters filters;
+    private final String sourceFile;
+    private final ChangeSet.LineRanges changedLines;
+
+    private byte[] kinds = new byte[256];
+    private int[] starts = new int[256];
+    private int[] ends = new int[256];
+    private int[] docs = new int[256]; // index of the doc comment preceding each token, or -1
+    private int tokenCount;
+    private final List<int[]> docRanges = new ArrayList<>();
+
+    private int p;
+    private String packageName = "";
+    private final List<String> imports = new ArrayList<>();
+    private final Deque<ClassContext> classStack = new ArrayDeque<>();
+    private final UnitResult result = UnitResult.collecting();
+    private int[] lineStarts;
+    private int positionByte; // the last byte offset charOffset counted up to, and its character offset
+    private int positionChar;
+
+    DeclarationParser(byte[] source, Config config, ScanFilters filters, String sourceFile) {
+        this(source, config, filters, sourceFile, ChangeSet.LineRanges.ALL);
+    }
+
+    /** Only keeps elements whose doc comment or declaration overlaps {@code changedLines}. */
+    DeclarationParser(byte[] source, Config config, ScanFilters filters, String sourceFile, ChangeSet.LineRanges changedLines) {
+        this.source = source;
+        this.config = config;
+        this.filters = filters;
+        this.sourceFile = sourceFile;
+        this.changedLines = changedLines;
+    }
+
+    /** Parses the unit; an excluded package yields an empty result. */
+    UnitResult parse() {
+        lex();
+        parseUnit();
+        if (!filters.packages().matches(packageName)) {
+            return UnitResult.empty();
+        }
+        return result;
+    }
+
+    // ---------------------------------------------------------------- lexer
+
+    private void lex() {
+        byte[] b = source;
+        int n = b.length;
+        int i = 0;
+        int pendingDoc = -1;
+        while (i < n) {
+            int c = b[i] & 0xFF;
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                i++;
+            } else if (c == '/' && i + 1 < n && b[i + 1] == '/') {
+                while (i < n && b[i] != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && b[i + 1] == '*') {
+                int end = i + 2;
+                while (end + 1 < n && !(b[end] == '*' && b[end + 1] == '/')) {
+                    end++;
+                }
+                end = Math.min(end + 2, n);
+                // "/**/" is an empty block comment, not a doc comment.
+                if (i + 2 < n && b[i + 2] == '*' && end - i > 4) {
+                    docRanges.add(new int[]{i + 3, end - 2});
+                    pendingDoc = docRanges.size() - 1;
+                }
+                i = end;
+            } else if (c == '"') {
+                int start = i;
+                i = skipString(i);
+                addToken(LITERAL, start, i, pendingDoc);
+                pendingDoc = -1;
+            } else if (c == '\'') {
+                int start = i++;
+                while (i < n && b[i] != '\'' && b[i] != '\n') {
+                    i += b[i] == '\\' ? 2 : 1;
+                }
+                i = Math.min(i + 1, n);
+                addToken(LITERAL, start, i, pendingDoc);
+                pendingDoc = -1;
+            } else if (isIdentifierStart(c)) {
+                int start = i;
+                while (i < n && isIdentifierPart(b[i] & 0xFF)) {
+                    i++;
+                }
+                addToken(IDENT, start, i, pendingDoc);
+                pendingDoc = -1;
+            } else if (isDigit(c) || (c == '.' && i + 1 < n && isDigit(b[i + 1] & 0xFF))) {
+                int start = i;
+                while (i < n) {
+                    int d = b[i] & 0xFF;
+                    if (isIdentifierPart(d) || d == '.') {
+                        i++;
+                    } else if ((d == '+' || d == '-') && (b[i - 1] == 'e' || b[i - 1] == 'E' || b[i - 1] == 'p' || b[i - 1] == 'P')) {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                addToken(LITERAL, start, i, pendingDoc);
+                pendingDoc = -1;
+            } else if (c == '.' && i + 2 < n && b[i + 1] == '.' && b[i + 2] == '.') {
+                addToken(ELLIPSIS, i, i + 3, pendingDoc);
+                pendingDoc = -1;
+                i += 3;
+            } else {
+                addToken(SYMBOL, i, i + 1, pendingDoc);
+                pendingDoc = -1;
+                i++;
+            }
+        }
+        addToken(EOF, n, n, -1);
+    }
+
+    private int skipString(int i) {
+        byte[] b = source;
+        int n = b.length;
+        if (i + 2 < n && b[i + 1] == '"' && b[i + 2] == '"') {
+            // Text block
+            i += 3;
+            while (i < n && !(b[i] == '"' && i + 2 < n && b[i + 1] == '"' && b[i + 2] == '"')) {
+                i += b[i] == '\\' ? 2 : 1;
+            }
+            return Math.min(i + 3, n);
+        }
+        i++;
+        while (i < n && b[i] != '"' && b[i] != '\n') {
+            i += b[i] == '\\' ? 2 : 1;
+        }
+        return Math.min(i + 1, n);
+    }
+
+    private void addToken(byte kind, int start, int end, int doc) {
+        if (tokenCount == kinds.length) {
+            int capacity = tokenCount * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            docs = Arrays.copyOf(docs, capacity);
+        }
+        kinds[tokenCount] = kind;
+        starts[tokenCount] = start;
+        ends[tokenCount] = end;
+        docs[tokenCount] = doc;
+        tokenCount++;
+    }
+
+    private static boolean isIdentifierStart(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$' || c >= 0x80;
+    }
+
+    private static boolean isIdentifierPart(int c) {
+        return isIdentifierStart(c) || isDigit(c);
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // ---------------------------------------------------------------- token helpers
+
+    private boolean isSymbol(int index, char symbol) {
+        return kinds[index] == SYMBOL && source[starts[index]] == symbol;
+    }
+
+    private boolean isIdent(int index) {
+        return kinds[index] == IDENT;
+    }
+
+    private boolean isIdent(int index, String word) {
+        if (kinds[index] != IDENT || ends[index] - starts[index] != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (source[starts[index] + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean atEnd() {
+        return kinds[p] == EOF;
+    }
+
+    private int next(int index) {
+        return Math.min(index + 1, tokenCount - 1);
+    }
+
+    private String text(int index) {
+        return new String(source, starts[index], ends[index] - starts[index], UTF_8);
+    }
+
+    /** Skips a balanced {@code open ... close} group starting at the current token. */
+    private void skipBalanced(char open, char close) {
+        int depth = 0;
+        while (!atEnd()) {
+            if (isSymbol(p, open)) {
+                depth++;
+            } else if (isSymbol(p, close)) {
+                depth--;
+                if (depth == 0) {
+                    p++;
+                    return;
+                }
+            }
+            p++;
+        }
+    }
+
+    /** Skips to the {@code ;} ending a statement-like construct, stepping over nested brackets. */
+    private void skipToSemicolon() {
+        int depth = 0;
+        while (!atEnd()) {
+            if (isSymbol(p, '{') || isSymbol(p, '(') || isSymbol(p, '[')) {
+                depth++;
+            } else if (isSymbol(p, '}') || isSymbol(p, ')') || isSymbol(p, ']')) {
+                if (depth == 0) {
+                    return; // malformed, leave the closing brace to the caller
+                }
+                depth--;
+            } else if (depth == 0 && isSymbol(p, ';')) {
+                p++;
+                return;
+            }
+            p++;
+        }
+    }
+
+    private String readQualifiedName() {
+        StringBuilder name = new StringBuilder();
+        while (isIdent(p)) {
+            name.append(text(p++));
+            if (isSymbol(p, '.') && isIdent(next(p))) {
+                name.append('.');
+                p++;
+            } else {
+                break;
+            }
+        }
+        return name.toString();
+    }
+
+    // ---------------------------------------------------------------- declarations
+
+    private void parseUnit() {
+        while (!atEnd()) {
+            if (isIdent(p, "package")) {
+                p++;
+                packageName = readQualifiedName();
+                if (!filters.packages().matches(packageName)) {
+                    return; // the whole unit is dropped, no need to look at its types
+                }
+                skipToSemicolon();
+            } else if (isIdent(p, "import")) {
+                p++;
+                if (!isIdent(p, "static")) {
+                    String name = readQualifiedName();
+                    imports.add(isSymbol(p, '.') && isSymbol(next(p), '*') ? name + ".*" : name);
+                }
+                skipToSemicolon();
+            } else if (isIdent(p, "module") || (isIdent(p, "open") && isIdent(next(p), "module"))) {
+                return;
+            } else {
+                int start = p;
+                Modifiers modifiers = parseModifiers();
+                if (isTypeDeclarationStart()) {
+                    parseTypeDeclaration(modifiers, start);
+                } else if (p == start) {
+                    p++;
+                }
+            }
+        }
+    }
+
+    private Modifiers parseModifiers() {
+        Modifiers modifiers = new Modifiers(new HashSet<>(), new ArrayList<>());
+        while (!atEnd()) {
+            if (isSymbol(p, '@') && !isIdent(next(p), "interface")) {
+                p++;
+                modifiers.annotations().add(readQualifiedName());
+                if (isSymbol(p, '(')) {
+                    skipBalanced('(', ')');
+                }
+            } else if (isIdent(p) && MODIFIERS.contains(text(p))) {
+                modifiers.keywords().add(text(p++));
+            } else if (isIdent(p, "non") && isSymbol(next(p), '-') && isIdent(next(next(p)), "sealed")) {
+                p += 3;
+            } else {
+                return modifiers;
+            }
+        }
+        return modifiers;
+    }
+
+    private boolean isTypeDeclarationStart() {
+        return isIdent(p, "class") || isIdent(p, "interface") || isIdent(p, "enum")
+                || (isSymbol(p, '@') && isIdent(next(p), "interface"))
+                || (isIdent(p, "record") && isIdent(next(p)) && (isSymbol(next(next(p)), '(') || isSymbol(next(next(p)), '<')));
+    }
+
+    private void parseTypeDeclaration(Modifiers modifiers, int declarationStart) {
+        ElementKind kind;
+        if (isIdent(p, "interface")) {
+            kind = INTERFACE;
+        } else if (isIdent(p, "enum")) {
+            kind = ENUM;
+        } else if (isSymbol(p, '@')) {
+            kind = ANNOTATION;
+            p++;
+        } else if (isIdent(p, "record")) {
+            kind = RECORD;
+        } else {
+            kind = CLASS;
+        }
+        p++;
+        if (!isIdent(p)) {
+            return;
+        }
+        String simpleName = text(p++);
+        Set<String> typeVariables = new HashSet<>(classStack.isEmpty() ? Set.of() : classStack.peek().typeVariables());
+        if (isSymbol(p, '<')) {
+            typeVariables.addAll(parseTypeParameters());
+        }
+        Parameters components = kind == RECORD && isSymbol(p, '(') ? parseParameters() : Parameters.NONE;
+        String extendsClause = null;
+        List<String> supertypes = new ArrayList<>();
+        while (!atEnd() && !isSymbol(p, '{')) {
+            if (isIdent(p, "extends") || isIdent(p, "implements")) {
+                boolean extendsKeyword = isIdent(p, "extends");
+                p++;
+                for (String type = parseType(); !type.isEmpty(); type = parseType()) {
+                    if (kind == CLASS && extendsKeyword && extendsClause == null) {
+                        extendsClause = type;
+                    }
+                    supertypes.add(TypeDeclaration.rawName(type));
+                    if (!isSymbol(p, ',')) {
+                        break;
+                    }
+                    p++;
+                }
+            } else {
+                p++;
+            }
+        }
+
+        boolean parentPublic = classStack.isEmpty() || classStack.peek().isPublicApi();
+        boolean parentInterface = !classStack.isEmpty() && classStack.peek().isInterfaceLike();
+        boolean isPublicApi = parentPublic && modifiers.isPublicOrProtected();
+        if (!isPublicApi && parentInterface && !modifiers.keywords().contains("private")) {
+            // Nested members in interfaces are implicitly public unless declared private.
+            isPublicApi = true;
+        }
+        String qualifiedName = buildQualifiedName(simpleName);
+        boolean isInterfaceLike = kind == INTERFACE || kind == ANNOTATION;
+        ClassContext context = new ClassContext(simpleName, qualifiedName, kind, isPublicApi, isInterfaceLike, components,
+                typeVariables, new ArrayList<>());
+        classStack.push(context);
+
+        if (matchesTypeKind(kind, extendsClause) && filters.typeNames().matches(qualifiedName)
+                && filters.typeAnnotations().matchesAny(modifiers.annotations())
+                && isPublicApi) {
+            // Only the header counts as the type's declaration; changes to members are attributed to the members.
+            add(kind, qualifiedName, ElementAttributes.of(kind, modifiers.visibility(parentInterface), null),
+                    modifiers.annotations(), new DocTags.Builder(), declarationStart, atEnd() ? source.length : starts[p]);
+        }
+
+        parseBody();
+        classStack.pop();
+        result.addType(new TypeDeclaration(qualifiedName, packageName, imports, supertypes, context.methods()));
+    }
+
+    private void parseBody() {
+        if (!isSymbol(p, '{')) {
+            return;
+        }
+        p++;
+        ClassContext context = classStack.peek();
+        if (context.kind() == ENUM) {
+            skipEnumConstants();
+        }
+        while (!atEnd()) {
+            if (isSymbol(p, '}')) {
+                p++;
+                return;
+            }
+            if (isSymbol(p, ';')) {
+                p++;
+                continue;
+            }
+            int start = p;
+            Modifiers modifiers = parseModifiers();
+            if (isSymbol(p, '{')) {
+                skipBalanced('{', '}'); // initializer block
+            } else if (isTypeDeclarationStart()) {
+                parseTypeDeclaration(modifiers, start);
+            } else {
+                parseMember(context, modifiers, start);
+            }
+            if (p == start) {
+                p++;
+            }
+        }
+    }
+
+    private void skipEnumConstants() {
+        while (!atEnd()) {
+            if (isSymbol(p, '}')) {
+                return;
+            }
+            if (isSymbol(p, ';')) {
+                p++;
+                return;
+            }
+            if (isSymbol(p, '{')) {
+                skipBalanced('{', '}');
+            } else if (isSymbol(p, '(')) {
+                skipBalanced('(', ')');
+            } else {
+                p++;
+            }
+        }
+    }
+
+    private void parseMember(ClassContext context, Modifiers modifiers, int declarationStart) {
+        List<String> methodTypeVariables = isSymbol(p, '<') ? parseTypeParameters() : List.of(); // generic method or constructor
+        if (isIdent(p) && isSymbol(next(p), '(')) {
+            p++;
+            Parameters parameters = parseParameters();
+            List<String> thrown = parseMethodRest();
+            addMember(context, modifiers, true, context.simpleName(), parameters, true, thrown, declarationStart);
+            return;
+        }
+        if (context.kind() == RECORD && isIdent(p, context.simpleName()) && isSymbol(next(p), '{')) {
+            // Compact canonical constructor: javac gives it the record components as parameters.
+            p++;
+            skipBalanced('{', '}');
+            addMember(context, modifiers, true, context.simpleName(), context.recordComponents(), true, List.of(), declarationStart);
+            return;
+        }
+        String type = parseType();
+        if (type.isEmpty()) {
+            skipToSemicolon();
+            return;
+        }
+        if (isIdent(p) && isSymbol(next(p), '(')) {
+            String name = text(p++);
+            Parameters parameters = parseParameters();
+            List<String> thrown = parseMethodRest();
+            if (!modifiers.keywords().contains("private") && !modifiers.keywords().contains("static")) {
+                Set<String> typeVariables = context.typeVariables();
+                if (!methodTypeVariables.isEmpty()) {
+                    typeVariables = new HashSet<>(typeVariables);
+                    typeVariables.addAll(methodTypeVariables);
+                }
+                int doc = docs[declarationStart];
+                context.methods().add(new TypeDeclaration.Method(name + "(" + String.join(", ", parameters.types()) + ")",
+                        TypeDeclaration.methodKey(name, parameters.types(), typeVariables),
+                        doc >= 0 && hasText(docRanges.get(doc))));
+            }
+            addMember(context, modifiers, false, name, parameters, type.equals("void"), thrown, declarationStart);
+            return;
+        }
+        skipToSemicolon(); // field
+    }
+
+    /** Skips the rest of a method declaration and returns the types of its {@code throws} clause. */
+    private List<String> parseMethodRest() {
+        List<String> thrown = List.of();
+        while (!atEnd()) {
+            if (isIdent(p, "throws")) {
+                p++;
+                thrown = new ArrayList<>();
+                for (String type = parseType(); !type.isEmpty(); type = parseType()) {
+                    thrown.add(type);
+                    if (!isSymbol(p, ',')) {
+                        break;
+                    }
+                    p++;
+                }
+                continue;
+            }
+            if (isSymbol(p, '{')) {
+                skipBalanced('{', '}');
+                return thrown;
+            }
+            if (isSymbol(p, ';') || isSymbol(p, '}')) {
+                if (isSymbol(p, ';')) {
+                    p++;
+                }
+                return thrown;
+            }
+            if (isIdent(p, "default")) {
+                skipToSemicolon(); // annotation element default value
+                return thrown;
+            }
+            p++;
+        }
+        return thrown;
+    }
+
+    /** Parses {@code (...)} and returns the parameter types rendered like javac's type trees, and their names. */
+    private Parameters parseParameters() {
+        List<String> types = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        p++; // '('
+        while (!atEnd() && !isSymbol(p, ')')) {
+            parseModifiers();
+            StringBuilder type = new StringBuilder(parseType());
+            if (kinds[p] == ELLIPSIS) {
+                type.append("[]");
+                p++;
+                parseModifiers(); // annotations on the varargs brackets
+            }
+            boolean receiver = false;
+            String name = null;
+            if (isIdent(p, "this")) {
+                receiver = true;
+                p++;
+            } else if (isIdent(p)) {
+                name = text(p++);
+                while (isSymbol(p, '.') && isIdent(next(p))) {
+                    p += 2;
+                    receiver = true; // Outer.this
+                }
+            }
+            while (isSymbol(p, '[') && isSymbol(next(p), ']')) {
+                type.append("[]");
+                p += 2;
+            }
+            if (!receiver && !type.isEmpty()) {
+                types.add(type.toString());
+                names.add(name);
+            }
+            if (isSymbol(p, ',')) {
+                p++;
+            } else if (!isSymbol(p, ')')) {
+                // Unexpected token; resynchronize on the closing parenthesis.
+                while (!atEnd() && !isSymbol(p, ')')) {
+                    if (isSymbol(p, '(')) {
+                        skipBalanced('(', ')');
+                    } else {
+                        p++;
+                    }
+                }
+            }
+        }
+        if (isSymbol(p, ')')) {
+            p++;
+        }
+        return new Parameters(types, names);
+    }
+
+    /** Parses {@code <A extends B<C>, @D E>} and returns the names of the type parameters. */
+    private List<String> parseTypeParameters() {
+        List<String> names = new ArrayList<>();
+        p++; // '<'
+        int depth = 1;
+        boolean expectName = true;
+        while (!atEnd() && depth > 0) {
+            if (expectName && isSymbol(p, '@')) {
+                p++;
+                readQualifiedName();
+                if (isSymbol(p, '(')) {
+                    skipBalanced('(', ')');
+                }
+                continue;
+            }
+            if (isSymbol(p, '<')) {
+                depth++;
+            } else if (isSymbol(p, '>')) {
+                depth--;
+            } else if (depth == 1 && isSymbol(p, ',')) {
+                expectName = true;
+            } else if (expectName && isIdent(p)) {
+                names.add(text(p));
+                expectName = false;
+            }
+            p++;
+        }
+        return names;
+    }
+
+    /** Parses a type at the current position, rendered like javac's {@code Tree.toString()}. */
+    private String parseType() {
+        StringBuilder type = new StringBuilder();
+        appendType(type);
+        return type.toString();
+    }
+
+    private void appendType(StringBuilder type) {
+        while (isSymbol(p, '@') && !isIdent(next(p), "interface")) {
+            p++;
+            type.append('@').append(readQualifiedName());
+            if (isSymbol(p, '(')) {
+                skipBalanced('(', ')');
+            }
+            type.append(' ');
+        }
+        if (!isIdent(p)) {
+            return;
+        }
+        type.append(text(p++));
+        while (true) {
+            if (isSymbol(p, '.') && isIdent(next(p))) {
+                type.append('.').append(text(next(p)));
+                p += 2;
+            } else if (isSymbol(p, '<')) {
+                appendTypeArguments(type);
+            } else {
+                break;
+            }
+        }
+        while (isSymbol(p, '[') && isSymbol(next(p), ']')) {
+            type.append("[]");
+            p += 2;
+        }
+    }
+
+    private void appendTypeArguments(StringBuilder type) {
+        type.append('<');
+        p++;
+        boolean first = true;
+        while (!atEnd() && !isSymbol(p, '>')) {
+            if (!first) {
+                type.append(", ");
+            }
+            first = false;
+            if (isSymbol(p, '?')) {
+                type.append('?');
+                p++;
+                if (isIdent(p, "extends") || isIdent(p, "super")) {
+                    type.append(' ').append(text(p++)).append(' ');
+                    appendType(type);
+                }
+            } else {
+                int before = p;
+                appendType(type);
+                if (p == before) {
+                    p++; // not a type, avoid looping forever
+                }
+            }
+            if (isSymbol(p, ',')) {
+                p++;
+            }
+        }
+        if (isSymbol(p, '>')) {
+            p++;
+        }
+        type.append('>');
+    }
+
+    // ---------------------------------------------------------------- elements
+
+    private void addMember(ClassContext context, Modifiers modifiers, boolean isConstructor, String memberName,
+                           Parameters parameters, boolean returnsVoid, List<String> thrown, int declarationStart) {
+        if (!context.isPublicApi()) {
+            return;
+        }
+        boolean includeMember = isConstructor ? config.scan().members().include().constructors() : config.scan().members().include().methods();
+        boolean methodPublic = modifiers.isPublicOrProtected();
+        if (!methodPublic && context.isInterfaceLike() && !modifiers.keywords().contains("private")) {
+            // Interface methods are public by default.
+            methodPublic = true;
+        }
+        if (!includeMember || !methodPublic) {
+            return;
+        }
+        if (!filters.memberNames().matches(memberName)) {
+            return;
+        }
+        if (!filters.memberAnnotations().matchesAny(modifiers.annotations())) {
+            return;
+        }
+
+        String qualifiedName = context.qualifiedName() + "#" + memberName + "(" + String.join(", ", parameters.types()) + ")";
+        ElementKind kind = isConstructor ? CONSTRUCTOR : METHOD;
+        Config.AccessorKind accessorKind = isConstructor ? null : ElementAttributes.accessorKind(memberName, parameters.types().size());
+        add(kind, qualifiedName, ElementAttributes.of(kind, modifiers.visibility(context.isInterfaceLike()), accessorKind),
+                modifiers.annotations(), new DocTags.Builder().declaration(parameters.names(), returnsVoid, thrown),
+                declarationStart, ends[p - 1]);
+    }
+
+    /**
+     * Adds an element declared from token {@code declarationStart} up to byte offset {@code end}; {@code tags} holds
+     * its declaration and receives the tags of its doc comment.
+     */
+    private void add(ElementKind kind, String qualifiedName, int attributes, List<String> annotations, DocTags.Builder tags,
+                     int declarationStart, int end) {
+        int doc = docs[declarationStart];
+        if (!changedLines.isAll()) {
+            int start = doc >= 0 ? docRanges.get(doc)[0] : starts[declarationStart];
+            if (!changedLines.overlaps(lineOf(start), lineOf(Math.max(start, end - 1)))) {
+                return;
+            }
+        }
+        String text = doc >= 0 ? docText(docRanges.get(doc)) : null;
+        if (text != null) {
+            lexTags(text, tags);
+        }
+        ElementRef ref = new ElementRef(kind, qualifiedName, qualifiedName, sourceFile, charOffset(starts[declarationStart]));
+        result.add(ref, text, attributes, annotations, tags.build(), packageName);
+    }
+
+    private boolean matchesTypeKind(ElementKind kind, String extendsClause) {
+        Config.IncludeKinds include = config.scan().types().include();
+        return switch (kind) {
+            case INTERFACE -> include.interfaces();
+            case ENUM -> include.enums();
+            case ANNOTATION -> include.annotations();
+            case RECORD -> include.records();
+            default -> include.classes() || (include.exceptions() && extendsClause != null && extendsClause.endsWith("Exception"));
+        };
+    }
+
+    private String buildQualifiedName(String simpleName) {
+        StringBuilder builder = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            builder.append(packageName).append('.');
+        }
+        for (var iterator = classStack.descendingIterator(); iterator.hasNext(); ) {
+            builder.append(iterator.next().simpleName()).append('.');
+        }
+        builder.append(simpleName);
+        return builder.toString();
+    }
+
+    /** 1-based line of a byte offset; the line table is only built when line ranges are filtered. */
+    private int lineOf(int offset) {
+        if (lineStarts == null) {
+            int count = 1;
+            for (byte b : source) {
+                if (b == '\n') {
+                    count++;
+                }
+            }
+            lineStarts = new int[count];
+            int line = 1;
+            for (int i = 0; i < source.length; i++) {
+                if (source[i] == '\n') {
+                    lineStarts[line++] = i + 1;
+                }
+            }
+        }
+        int index = Arrays.binarySearch(lineStarts, offset);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * The character offset javac reports for byte offset {@code offset}: UTF-8 continuation bytes add no character and a
+     * four-byte sequence adds a surrogate pair. Elements are added in source order, so counting resumes where the
+     * previous call stopped.
+     */
+    private int charOffset(int offset) {
+        if (offset < positionByte) {
+            positionByte = 0;
+            positionChar = 0;
+        }
+        for (; positionByte < offset; positionByte++) {
+            int b = source[positionByte] & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                positionChar += b >= 0xF0 ? 2 : 1;
+            }
+        }
+        return positionChar;
+    }
+
+    /** Whether {@link #docText} of {@code range} is not blank, without building it. */
+    private boolean hasText(int[] range) {
+        int margin = 0; // 0: leading whitespace of a line, 1: its asterisks, 2: past them
+        for (int i = range[0]; i < range[1]; i++) {
+            byte c = source[i];
+            boolean whitespace = c == ' ' || c == '\t' || c == '\r' || c == '\f';
+            if (c == '\n') {
+                margin = 0;
+            } else if (c == '*' && margin < 2) {
+                margin = 1;
+            } else if (whitespace) {
+                margin = margin == 1 ? 2 : margin;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Doc comment body with the leading whitespace and asterisks of every line removed. */
+    private String docText(int[] range) {
+        String raw = new String(source, range[0], range[1] - range[0], UTF_8);
+        StringBuilder text = new StringBuilder(raw.length());
+        for (String line : raw.split("\n", -1)) {
+            int i = 0;
+            while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            while (i < line.length() && line.charAt(i) == '*') {
+                i++;
+            }
+            if (!text.isEmpty()) {
+                text.append('\n');
+            }
+            text.append(line.substring(i).strip());
+        }
+        return text.toString().strip();
+    }
+
+    /**
+     * Records the tags of doc comment {@code text} as javac recognizes them: a block tag starts a line, inline tags
+     * count in the main description only, and nothing inside an inline tag is a tag of the comment.
+     */
+    static void lexTags(String text, DocTags.Builder tags) {
+        int depth = 0; // open braces of the current inline tag
+        boolean lineStart = true;
+        boolean description = true;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (depth == 0 && lineStart && c == '@' && i + 1 < text.length() && Character.isJavaIdentifierStart(text.charAt(i + 1))) {
+                int end = tagNameEnd(text, i + 1);
+                String name = text.substring(i + 1, end);
+                String argument = null;
+                DocTags.Kind kind = DocTags.kindOf(name);
+                if (kind == DocTags.Kind.PARAM || kind == DocTags.Kind.THROWS) {
+                    int start = end;
+                    while (start < text.length() && Character.isWhitespace(text.charAt(start))) {
+                        start++;
+                    }
+                    end = start;
+                    while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+                        end++;
+                    }
+                    argument = start < end ? text.substring(start, end) : null;
+                }
+                tags.tag(name, argument);
+                description = false;
+                lineStart = false;
+                i = end;
+                continue;
+            }
+            if (depth == 0 && c == '{' && i + 1 < text.length() && text.charAt(i + 1) == '@') {
+                int end = tagNameEnd(text, i + 2);
+                if (description && end > i + 2) {
+                    tags.tag(text.substring(i + 2, end), null);
+                }
+                depth = 1;
+                lineStart = false;
+                i = end;
+                continue;
+            }
+            if (c == '{' && depth > 0) {
+                depth++;
+            } else if (c == '}' && depth > 0) {
+                depth--;
+            }
+            if (c == '\n') {
+                lineStart = true;
+            } else if (!Character.isWhitespace(c)) {
+                lineStart = false;
+            }
+            i++;
+        }
+    }
+
+    private static int tagNameEnd(String text, int start) {
+        int end = start;
+        while (end < text.length() && (Character.isJavaIdentifierPart(text.charAt(end)) || text.charAt(end) == '.'
+                || text.charAt(end) == '-')) {
+            end++;
+        }
+        return end;
+    }
+
+    private record Parameters(List<String> types, List<String> names) {
+        static final Parameters NONE = new Parameters(List.of(), List.of());
+    }
+
+    private record Modifiers(Set<String> keywords, List<String> annotations) {
+        boolean isPublicOrProtected() {
+            return keywords.contains("public") || keywords.contains("protected");
+        }
+
+        /** Declared visibility; without a modifier, members of interfaces are public. */
+        Config.Visibility visibility(boolean inInterface) {
+            if (keywords.contains("public")) {
+                return Config.Visibility.PUBLIC;
+            }
+            if (keywords.contains("protected")) {
+                return Config.Visibility.PROTECTED;
+            }
+            if (keywords.contains("private")) {
+                return Config.Visibility.PRIVATE;
+            }
+            return inInterface ? Config.Visibility.PUBLIC : Config.Visibility.PACKAGE;
+        }
+    }
+
+    private record ClassContext(
+            String simpleName,
+            String qualifiedName,
+            ElementKind kind,
+            boolean isPublicApi,
+            boolean isInterfaceLike,
+            Parameters recordComponents,
+            Set<String> typeVariables,
+            List<TypeDeclaration.Method> methods
+    ) {}
+}
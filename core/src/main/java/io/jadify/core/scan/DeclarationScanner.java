@@ -0,0 +1,144 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.scan.JavaSourceScanner.ScanFilters;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Javac-free scanner for presence-only checks. Each file is read once into a byte buffer and handed to a
+ * {@link DeclarationParser}, which finds declarations, their modifiers and the doc comment directly preceding them
+ * without building an AST. It reports the same elements as {@link JavaSourceScanner}; doc comment texts are the raw
+ * comment bodies rather than javac's normalized rendering, so rules that interpret doc content should keep using
+ * {@link JavaSourceScanner}.
+ */
+public class DeclarationScanner implements Scanner {
+
+    private static final Logger log = getLogger(DeclarationScanner.class.getName());
+
+    private final ChangeSet changes;
+    private final int batchSize;
+
+    public DeclarationScanner() {
+        this(ScanOptions.defaults());
+    }
+
+    /**
+     * Only {@link ScanOptions#changes()} and, when streaming, {@link ScanOptions#batchSize()} apply; files are parsed
+     * one after another without a cache.
+     */
+    public DeclarationScanner(ScanOptions options) {
+        this.changes = options.changes();
+        this.batchSize = options.batchSize();
+    }
+
+    /** Like {@link JavaSourceScanner#scan(Path, Config)}, {@code projectRoot} may also be a source archive. */
+    @Override
+    public ScanContext scan(Path projectRoot, Config config) {
+        if (ArchiveSources.isArchive(projectRoot)) {
+            return scanArchive(projectRoot, config);
+        }
+        Path sourceRoot = projectRoot.resolve(config.projectRoot()).normalize();
+        List<Path> javaFiles = JavaSourceScanner.restrictToChanges(JavaSourceScanner.discoverSources(sourceRoot, config.scan().sources()), changes);
+        ScanFilters filters = ScanFilters.from(config.scan());
+
+        ElementTable.Builder elements = new ElementTable.Builder();
+        int skipped = 0;
+        for (Path file : javaFiles) {
+            if (!scanFile(projectRoot, config, filters, file, elements)) {
+                skipped++;
+            }
+        }
+        log.info("Scanned %d Java files: %d skipped by package header".formatted(javaFiles.size(), skipped));
+        filters.logStats();
+        return new ScanContext(config, elements.build());
+    }
+
+    /** Hands the elements of every {@link ScanOptions#batchSize()} files to {@code sink} as soon as they are parsed. */
+    @Override
+    public void scan(Path projectRoot, Config config, Consumer<ScanBatch> sink) {
+        if (ArchiveSources.isArchive(projectRoot)) {
+            sink.accept(new ScanBatch(scanArchive(projectRoot, config).elements()));
+            return;
+        }
+        Path sourceRoot = projectRoot.resolve(config.projectRoot()).normalize();
+        List<Path> javaFiles = JavaSourceScanner.restrictToChanges(JavaSourceScanner.discoverSources(sourceRoot, config.scan().sources()), changes);
+        ScanFilters filters = ScanFilters.from(config.scan());
+
+        int skipped = 0;
+        for (int from = 0; from < javaFiles.size(); from += batchSize) {
+            ElementTable.Builder elements = new ElementTable.Builder();
+            for (Path file : javaFiles.subList(from, Math.min(from + batchSize, javaFiles.size()))) {
+                if (!scanFile(projectRoot, config, filters, file, elements)) {
+                    skipped++;
+                }
+            }
+            sink.accept(new ScanBatch(elements.build()));
+        }
+        log.info("Scanned %d Java files: %d skipped by package header".formatted(javaFiles.size(), skipped));
+        filters.logStats();
+    }
+
+    private ScanContext scanArchive(Path archive, Config config) {
+        List<ArchiveSources.Entry> entries = ArchiveSources.read(archive, config.projectRoot());
+        ScanFilters filters = ScanFilters.from(config.scan());
+        ElementTable.Builder elements = new ElementTable.Builder();
+        int skipped = 0;
+        for (ArchiveSources.Entry entry : entries) {
+            String packageName = HeaderSniffer.sniffPackage(entry.content(), true);
+            if (packageName != HeaderSniffer.UNKNOWN && !filters.packages().matches(packageName)) {
+                skipped++;
+                continue;
+            }
+            new DeclarationParser(entry.content(), config, filters, entry.name(), ChangeSet.LineRanges.ALL).parse().appendTo(elements);
+        }
+        log.info("Scanned %d Java files of %s: %d skipped by package header".formatted(entries.size(), archive.getFileName(), skipped));
+        filters.logStats();
+        return new ScanContext(config, elements.build());
+    }
+
+    @Override
+    public boolean supportsFileScan() {
+        return true;
+    }
+
+    @Override
+    public List<ElementTable> scanFiles(Path projectRoot, Config config, List<Path> files) {
+        ScanFilters filters = ScanFilters.from(config.scan());
+        List<ElementTable> tables = new ArrayList<>(files.size());
+        for (Path file : files) {
+            ElementTable.Builder elements = new ElementTable.Builder();
+            scanFile(projectRoot, config, filters, file, elements);
+            tables.add(elements.build());
+        }
+        return tables;
+    }
+
+    /** Appends the elements of {@code file}; returns {@code false} if its package header excludes it unparsed. */
+    private boolean scanFile(Path projectRoot, Config config, ScanFilters filters, Path file, ElementTable.Builder elements) {
+        String packageName = HeaderSniffer.sniffPackage(file);
+        if (packageName != HeaderSniffer.UNKNOWN && !filters.packages().matches(packageName)) {
+            return false;
+        }
+        final byte[] source;
+        try {
+            source = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file.toAbsolutePath(), e);
+        }
+        String sourceFile = JavaSourceScanner.toSourceFile(projectRoot, file.toAbsolutePath().normalize());
+        ChangeSet.LineRanges changedLines = JavaSourceScanner.changedLines(changes, file);
+        new DeclarationParser(source, config, filters, sourceFile, changedLines).parse().appendTo(elements);
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package io.jadify.core.scan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads just the head of a source file to find its package declaration, so files of excluded packages can be dropped
+ * before they reach a parser. Only comments, whitespace and (package) annotations may precede {@code package}, which
+ * keeps the sniff to the first few kilobytes of the file.
+ */
+final class HeaderSniffer {
+
+    static final int HEAD_BYTES = 8 * 1024;
+
+    /** Marker for "could not tell from the head of the file"; such files must be parsed. */
+    static final String UNKNOWN = null;
+
+    /**
+     * Returns the declared package, {@code ""} for the unnamed package, or {@link #UNKNOWN} when the head of the file
+     * does not settle it.
+     */
+    static String sniffPackage(Path file) {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = in.readNBytes(HEAD_BYTES);
+        } catch (IOException e) {
+            return UNKNOWN;
+        }
+        return sniffPackage(head, head.length < HEAD_BYTES);
+    }
+
+    static String sniffPackage(byte[] b, boolean complete) {
+        int n = b.length;
+        int i = n >= 3 && (b[0] & 0xFF) == 0xEF && (b[1] & 0xFF) == 0xBB && (b[2] & 0xFF) == 0xBF ? 3 : 0;
+        while (true) {
+            i = skipTrivia(b, i);
+            if (i >= n) {
+                // An empty (or comment-only) file belongs to the unnamed package.
+                return complete ? "" : UNKNOWN;
+            }
+            if (b[i] == '@') {
+                if (startsWithWord(b, i + 1, "interface")) {
+                    return "";
+                }
+                i = skipAnnotation(b, i + 1);
+                if (i < 0) {
+                    return UNKNOWN;
+                }
+            } else if (startsWithWord(b, i, "package")) {
+                return readPackageName(b, i + "package".length(), complete);
+            } else if (!complete && endOfWord(b, i) >= n) {
+                return UNKNOWN; // the head ends inside this token, it might still be "package"
+            } else {
+                // Any other token (import, modifier, type keyword) means there is no package declaration.
+                return "";
+            }
+        }
+    }
+
+    private static String readPackageName(byte[] b, int i, boolean complete) {
+        StringBuilder name = new StringBuilder();
+        while (true) {
+            i = skipTrivia(b, i);
+            if (i >= b.length) {
+                return UNKNOWN;
+            }
+            if (b[i] == ';') {
+                return name.toString();
+            }
+            if (b[i] == '.' || isIdentifierPart(b[i] & 0xFF)) {
+                int start = i;
+                while (i < b.length && (b[i] == '.' || isIdentifierPart(b[i] & 0xFF))) {
+                    i++;
+                }
+                if (i >= b.length && !complete) {
+                    return UNKNOWN; // the name may continue past the head
+                }
+                name.append(new String(b, start, i - start, UTF_8));
+            } else {
+                return UNKNOWN;
+            }
+        }
+    }
+
+    /** Skips an annotation name and its optional argument list; returns -1 if it runs past the head. */
+    private static int skipAnnotation(byte[] b, int i) {
+        i = skipTrivia(b, i);
+        while (i < b.length && (b[i] == '.' || isIdentifierPart(b[i] & 0xFF))) {
+            i++;
+        }
+        i = skipTrivia(b, i);
+        if (i < b.length && b[i] == '(') {
+            int depth = 0;
+            while (i < b.length) {
+                if (b[i] == '"') {
+                    i++;
+                    while (i < b.length && b[i] != '"') {
+                        i += b[i] == '\\' ? 2 : 1;
+                    }
+                } else if (b[i] == '(') {
+                    depth++;
+                } else if (b[i] == ')' && --depth == 0) {
+                    return i + 1;
+                }
+                i++;
+            }
+            return -1;
+        }
+        return i;
+    }
+
+    private static int skipTrivia(byte[] b, int i) {
+        int n = b.length;
+        while (i < n) {
+            byte c = b[i];
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                i++;
+            } else if (c == '/' && i + 1 < n && b[i + 1] == '/') {
+                while (i < n && b[i] != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && b[i + 1] == '*') {
+                i += 2;
+                while (i + 1 < n && !(b[i] == '*' && b[i + 1] == '/')) {
+                    i++;
+                }
+                i += 2;
+            } else {
+                return i;
+            }
+        }
+        return n;
+    }
+
+    private static int endOfWord(byte[] b, int i) {
+        while (i < b.length && isIdentifierPart(b[i] & 0xFF)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean startsWithWord(byte[] b, int i, String word) {
+        if (i + word.length() > b.length) {
+            return false;
+        }
+        for (int k = 0; k < word.length(); k++) {
+            if (b[i + k] != word.charAt(k)) {
+                return false;
+            }
+        }
+        int end = i + word.length();
+        return end == b.length || !isIdentifierPart(b[end] & 0xFF);
+    }
+
+    private static boolean isIdentifierPart(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$' || c >= 0x80;
+    }
+
+    private HeaderSniffer() {}
+}
@@ -0,0 +1,158 @@
+package io.jadify.core.scan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Patterns in {@code .gitignore} syntax, relative to the directory that declares them. Rules of a nested directory
+ * take precedence over those of its parents, and within one file the last matching rule wins, as in git. Supported:
+ * comments, {@code !} negation, trailing {@code /} for directories only, leading or inner {@code /} anchoring,
+ * {@code *}, {@code ?}, {@code [...]} and {@code **}.
+ */
+final class IgnoreRules {
+
+    static final String GITIGNORE = ".gitignore";
+
+    private final Path base;
+    private final List<Rule> rules;
+    private final IgnoreRules parent;
+
+    private IgnoreRules(Path base, List<Rule> rules, IgnoreRules parent) {
+        this.base = base;
+        this.rules = rules;
+        this.parent = parent;
+    }
+
+    /** Compiles {@code lines} relative to {@code base}; returns {@code parent} if there are no rules. */
+    static IgnoreRules of(Path base, List<String> lines, IgnoreRules parent) {
+        List<Rule> rules = new ArrayList<>();
+        for (String line : lines) {
+            Rule rule = Rule.parse(line);
+            if (rule != null) {
+                rules.add(rule);
+            }
+        }
+        return rules.isEmpty() ? parent : new IgnoreRules(base, List.copyOf(rules), parent);
+    }
+
+    /** Adds the rules of {@code directory/.gitignore}, if there is one, on top of {@code parent}. */
+    static IgnoreRules load(Path directory, IgnoreRules parent) {
+        Path file = directory.resolve(GITIGNORE);
+        if (!Files.isRegularFile(file)) {
+            return parent;
+        }
+        try {
+            return of(directory, Files.readAllLines(file, UTF_8), parent);
+        } catch (IOException e) {
+            return parent; // an unreadable ignore file ignores nothing, like git
+        }
+    }
+
+    boolean isIgnored(Path path, boolean directory) {
+        for (IgnoreRules level = this; level != null; level = level.parent) {
+            Boolean ignored = level.match(path, directory);
+            if (ignored != null) {
+                return ignored;
+            }
+        }
+        return false;
+    }
+
+    private Boolean match(Path path, boolean directory) {
+        if (!path.startsWith(base) || path.equals(base)) {
+            return null;
+        }
+        String relative = base.relativize(path).toString().replace('\\', '/');
+        String name = path.getFileName().toString();
+        for (int i = rules.size() - 1; i >= 0; i--) {
+            Rule rule = rules.get(i);
+            if (rule.directoryOnly() && !directory) {
+                continue;
+            }
+            if (rule.pattern().matcher(rule.anchored() ? relative : name).matches()) {
+                return !rule.negated();
+            }
+        }
+        return null;
+    }
+
+    private record Rule(Pattern pattern, boolean negated, boolean directoryOnly, boolean anchored) {
+
+        static Rule parse(String line) {
+            String text = stripTrailingSpaces(line);
+            if (text.isEmpty() || text.startsWith("#")) {
+                return null;
+            }
+            boolean negated = text.startsWith("!");
+            if (negated || text.startsWith("\\!") || text.startsWith("\\#")) {
+                text = text.substring(1);
+            }
+            boolean directoryOnly = text.endsWith("/");
+            if (directoryOnly) {
+                text = text.substring(0, text.length() - 1);
+            }
+            // A slash anywhere but at the end ties the pattern to the directory of the ignore file.
+            boolean anchored = text.indexOf('/') >= 0;
+            if (text.startsWith("/")) {
+                text = text.substring(1);
+            }
+            if (text.isEmpty()) {
+                return null;
+            }
+            return new Rule(Pattern.compile(toRegex(text)), negated, directoryOnly, anchored);
+        }
+
+        private static String stripTrailingSpaces(String line) {
+            int end = line.length();
+            while (end > 0 && line.charAt(end - 1) == ' ' && !(end > 1 && line.charAt(end - 2) == '\\')) {
+                end--;
+            }
+            return line.substring(0, end);
+        }
+
+        private static String toRegex(String glob) {
+            StringBuilder regex = new StringBuilder();
+            int n = glob.length();
+            for (int i = 0; i < n; i++) {
+                char c = glob.charAt(i);
+                if (c == '*' && i + 1 < n && glob.charAt(i + 1) == '*'
+                        && (i == 0 || glob.charAt(i - 1) == '/') && (i + 2 == n || glob.charAt(i + 2) == '/')) {
+                    if (i + 2 == n) {
+                        regex.append(".*"); // trailing "**" matches everything inside
+                    } else {
+                        regex.append("(?:.*/)?"); // "**/" matches zero or more directories
+                        i++;
+                    }
+                    i++;
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                } else if (c == '?') {
+                    regex.append("[^/]");
+                } else if (c == '[') {
+                    int close = glob.indexOf(']', i + 2);
+                    if (close < 0) {
+                        regex.append("\\[");
+                    } else {
+                        String set = glob.substring(i + 1, close);
+                        if (set.startsWith("!")) {
+                            set = "^" + set.substring(1);
+                        }
+                        regex.append('[').append(set.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+                        i = close;
+                    }
+                } else if (c == '\\' && i + 1 < n) {
+                    regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return regex.toString();
+        }
+    }
+}
@@ -1,30 +1,51 @@
 package io.jadify.core.scan;
 
+import com.sun.source.doctree.BlockTagTree;
+import com.sun.source.doctree.DocCommentTree;
+import com.sun.source.doctree.DocTree;
+import com.sun.source.doctree.InlineTagTree;
+import com.sun.source.doctree.ParamTree;
+import com.sun.source.doctree.ThrowsTree;
 import com.sun.source.tree.*;
 import com.sun.source.util.DocTrees;
+import com.sun.source.util.SourcePositions;
 import com.sun.source.util.JavacTask;
 import com.sun.source.util.TreePath;
 import com.sun.source.util.TreePathScanner;
 import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.CompiledConfig;
+import io.jadify.core.config.compile.ConfigCompiler;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.config.compile.NameMatcher;
+import io.jadify.core.config.compile.NameMatching;
 import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.DocTags;
 import io.jadify.core.model.ElementKind;
 import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.TypeDeclaration;
 
 import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 import static io.jadify.core.model.ElementKind.*;
 import static java.util.logging.Logger.getLogger;
-import static java.util.stream.Collectors.toList;
 import static javax.lang.model.element.Modifier.*;
 import static javax.tools.ToolProvider.getSystemJavaCompiler;
 
@@ -32,117 +53,585 @@ public class JavaSourceScanner implements Scanner {
 
     private static final Logger log = getLogger(JavaSourceScanner.class.getName());
 
+    /**
+     * Heap taken by the trees, doc comments and javac tables of one source byte, measured at about 12 on the full parse
+     * of {@code java.util} (see {@code ParseModeBenchmark}); rounded up since the results of the scan live on too.
+     */
+    static final int TREE_BYTES_PER_SOURCE_BYTE = 16;
+
+    private final ScanOptions options;
+
+    public JavaSourceScanner() {
+        this(ScanOptions.defaults());
+    }
+
+    public JavaSourceScanner(ScanOptions options) {
+        this.options = Objects.requireNonNull(options, "options");
+    }
+
+    /**
+     * Scans the sources below the configured project root of {@code projectRoot}, or, if {@code projectRoot} is a
+     * {@code -sources.jar}, zip or tar.gz file, the sources inside that archive.
+     */
     @Override
     public ScanContext scan(Path projectRoot, Config config) {
-        Path sourceRoot = projectRoot.resolve(config.projectRoot()).normalize();
+        if (ArchiveSources.isArchive(projectRoot)) {
+            return scanArchive(projectRoot, config);
+        }
+        ScanRun run = start(projectRoot, config);
+        // Merge in discovery order so the result does not depend on the batching or partitioning.
+        ElementTable.Builder elements = new ElementTable.Builder();
+        for (int[] batch : run.batches(Integer.MAX_VALUE)) {
+            for (UnitResult result : run.scanFiles(run.javaFiles.subList(batch[0], batch[1]))) {
+                result.appendTo(elements);
+            }
+        }
+        run.finish();
+        return new ScanContext(config, elements.build());
+    }
 
-        log.info("Scanning " + sourceRoot.toAbsolutePath());
-        if (!Files.exists(sourceRoot)) {
-            throw new ConfigurationException("Source root %s does not exist".formatted(sourceRoot.toAbsolutePath()));
+    /**
+     * Scans {@link ScanOptions#batchSize()} files at a time, each batch with its own javac task, and hands every batch
+     * to {@code sink} before parsing the next one. Trees of earlier batches become garbage, so memory is bounded by the
+     * batch size rather than by the project size. Batches are cut earlier where {@link #batchByteLimit} requires.
+     */
+    @Override
+    public void scan(Path projectRoot, Config config, Consumer<ScanBatch> sink) {
+        if (ArchiveSources.isArchive(projectRoot)) {
+            sink.accept(new ScanBatch(scanArchive(projectRoot, config).elements()));
+            return;
         }
+        ScanRun run = start(projectRoot, config);
+        for (int[] batch : run.batches(options.batchSize())) {
+            ElementTable.Builder elements = new ElementTable.Builder();
+            for (UnitResult result : run.scanFiles(run.javaFiles.subList(batch[0], batch[1]))) {
+                result.appendTo(elements);
+            }
+            sink.accept(new ScanBatch(elements.build()));
+        }
+        run.finish();
+    }
 
-        final List<Path> javaFiles;
-        try {
-            javaFiles = listJavaFiles(sourceRoot);
-        } catch (IOException e) {
-            throw new ConfigurationException("Failed to list Java files under " + sourceRoot.toAbsolutePath(), e);
+    @Override
+    public boolean supportsFileScan() {
+        return true;
+    }
+
+    @Override
+    public List<ElementTable> scanFiles(Path projectRoot, Config config, List<Path> files) {
+        ScanRun run = start(projectRoot, config, files, false);
+        UnitResult[] results = run.scanFiles(files);
+        run.finish();
+
+        List<ElementTable> tables = new ArrayList<>(results.length);
+        for (UnitResult result : results) {
+            ElementTable.Builder elements = new ElementTable.Builder();
+            result.appendTo(elements);
+            tables.add(elements.build());
         }
+        return tables;
+    }
 
-        if (javaFiles.isEmpty()) {
-            throw new ConfigurationException("No Java files under %s".formatted(sourceRoot.toAbsolutePath()));
+    /**
+     * Parses the sources of an archive from memory. Entries are batched and partitioned over
+     * {@link ScanOptions#threads()} javac tasks like files on disk; the cache and change sets do not apply, since
+     * archives are immutable releases.
+     */
+    private ScanContext scanArchive(Path archive, Config config) {
+        log.info("Scanning archive " + archive.toAbsolutePath());
+        List<ArchiveSources.Entry> entries = ArchiveSources.read(archive, config.projectRoot());
+        ScanFilters filters = ScanFilters.from(config.scan());
+        JavaCompiler compiler = getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler available (are you running on a JRE instead of a JDK?)");
+        }
+
+        List<ArchiveSources.SourceObject> sources = new ArrayList<>();
+        for (ArchiveSources.Entry entry : entries) {
+            String packageName = HeaderSniffer.sniffPackage(entry.content(), true);
+            if (packageName == HeaderSniffer.UNKNOWN || filters.packages().matches(packageName)) {
+                sources.add(new ArchiveSources.SourceObject(archive, entry));
+            }
         }
-        log.info("Found %d Java files under %s".formatted(javaFiles.size(), sourceRoot.toAbsolutePath()));
 
+        long[] sizes = sources.stream().mapToLong(source -> source.entry().content().length).toArray();
+        UnitResult[] results = new UnitResult[sources.size()];
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(options.threads(), sources.size())))) {
+            for (int[] batch : batches(sizes, Integer.MAX_VALUE, batchByteLimit(options, maxHeap()))) {
+                int from = batch[0];
+                List<Future<?>> futures = new ArrayList<>();
+                for (int[] partition : partitionBySize(Arrays.copyOfRange(sizes, from, batch[1]), options.threads())) {
+                    futures.add(executor.submit(() -> {
+                        List<ArchiveSources.SourceObject> partitionSources = new ArrayList<>(partition.length);
+                        for (int index : partition) {
+                            partitionSources.add(sources.get(from + index));
+                        }
+                        UnitResult[] partitionResults = new UnitResult[partition.length];
+                        parseAndVisit(archive.toAbsolutePath(), compiler, null, partitionSources, config, filters, options.declarationsOnly(),
+                                position -> partitionSources.get(position).entry().name(),
+                                position -> ChangeSet.LineRanges.ALL,
+                                partitionResults);
+                        for (int position = 0; position < partition.length; position++) {
+                            results[from + partition[position]] = partitionResults[position];
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning " + archive.toAbsolutePath(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to scan Java sources in " + archive.toAbsolutePath(), e.getCause());
+        }
+
+        ElementTable.Builder elements = new ElementTable.Builder();
+        for (UnitResult result : results) {
+            result.appendTo(elements);
+        }
+        log.info("Scanned %d Java files of %s: %d skipped by package header".formatted(
+                entries.size(), archive.getFileName(), entries.size() - sources.size()));
+        filters.logStats();
+        return new ScanContext(config, elements.build());
+    }
+
+    private ScanRun start(Path projectRoot, Config config) {
+        Path sourceRoot = projectRoot.resolve(config.projectRoot()).normalize();
+        List<Path> javaFiles = discoverSources(sourceRoot, config.scan().sources());
+        return start(projectRoot, config, restrictToChanges(javaFiles, options.changes()), options.changes() == null);
+    }
+
+    /** @param complete whether {@code javaFiles} are all sources under the root, so the cache may evict the rest */
+    private ScanRun start(Path projectRoot, Config config, List<Path> javaFiles, boolean complete) {
+        Path sourceRoot = projectRoot.resolve(config.projectRoot()).normalize();
         JavaCompiler compiler = getSystemJavaCompiler();
         if (compiler == null) {
             throw new IllegalStateException("No system Java compiler available (are you running on a JRE instead of a JDK?)");
         }
 
-        List<ElementRef> elements = new ArrayList<>();
-        Map<ElementRef, String> docComments = new HashMap<>();
-        ScanFilters filters = ScanFilters.from(config.scan());
+        // Cached results are not filtered by lines; a line-filtered scan only parses a handful of files anyway.
+        boolean lineFiltered = options.changes() != null && options.changes().hasLineRanges();
+        ScanCache cache = options.cacheDir() == null || lineFiltered
+                ? null
+                : ScanCache.open(projectRoot.resolve(options.cacheDir()), config.scan(), projectRoot, sourceRoot);
+        return new ScanRun(compiler, projectRoot, sourceRoot, config, ScanFilters.from(config.scan()), cache, javaFiles,
+                complete);
+    }
 
-        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
-            Iterable<? extends JavaFileObject> fileObjects = fileManager.getJavaFileObjectsFromPaths(javaFiles);
+    /** State shared by all files of one scan invocation. */
+    private final class ScanRun {
+        private final JavaCompiler compiler;
+        private final Path projectRoot;
+        private final Path sourceRoot;
+        private final Config config;
+        private final ScanFilters filters;
+        private final ScanCache cache;
+        private final List<Path> javaFiles;
+        private final boolean complete;
+        private int headerSkipped;
+        private int cacheHits;
+        private int parsed;
+
+        private ScanRun(
+                JavaCompiler compiler,
+                Path projectRoot,
+                Path sourceRoot,
+                Config config,
+                ScanFilters filters,
+                ScanCache cache,
+                List<Path> javaFiles,
+                boolean complete
+        ) {
+            this.compiler = compiler;
+            this.projectRoot = projectRoot;
+            this.sourceRoot = sourceRoot;
+            this.config = config;
+            this.filters = filters;
+            this.cache = cache;
+            this.javaFiles = javaFiles;
+            this.complete = complete;
+        }
 
-            JavacTask task = (JavacTask) compiler.getTask(
-                    null,
-                    fileManager,
-                    null,
-                    List.of("-proc:none"), // Disable annotation processing
-                    null,
-                    fileObjects
-            );
+        /**
+         * Returns one result per file, in the order of {@code files}. Files whose header declares an excluded package
+         * and unchanged files from the cache never reach javac.
+         */
+        UnitResult[] scanFiles(List<Path> files) {
+            UnitResult[] results = new UnitResult[files.size()];
+            int skipped = 0;
+            for (int i = 0; i < results.length; i++) {
+                String packageName = HeaderSniffer.sniffPackage(files.get(i));
+                if (packageName != HeaderSniffer.UNKNOWN && !filters.packages().matches(packageName)) {
+                    results[i] = UnitResult.empty();
+                    skipped++;
+                }
+            }
+            headerSkipped += skipped;
+            String[] cacheKeys = cache == null ? null : cache.lookup(files, results);
+
+            List<Path> pendingFiles = new ArrayList<>();
+            List<Integer> pendingIndices = new ArrayList<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    pendingFiles.add(files.get(i));
+                    pendingIndices.add(i);
+                }
+            }
+            cacheHits += files.size() - skipped - pendingFiles.size();
+            parsed += pendingFiles.size();
+
+            if (!pendingFiles.isEmpty()) {
+                UnitResult[] pendingResults = new UnitResult[pendingFiles.size()];
+                int threads = Math.min(options.threads(), pendingFiles.size());
+                if (threads <= 1) {
+                    scanPartition(pendingFiles, indices(pendingFiles.size()), pendingResults);
+                } else {
+                    scanParallel(pendingFiles, threads, pendingResults);
+                }
+                for (int i = 0; i < pendingResults.length; i++) {
+                    int index = pendingIndices.get(i);
+                    results[index] = pendingResults[i] == null ? UnitResult.empty() : pendingResults[i];
+                    if (cache != null) {
+                        cache.store(cacheKeys[index], results[index]);
+                    }
+                }
+            }
+            return results;
+        }
 
-            final Iterable<? extends CompilationUnitTree> compilationUnits;
-            try {
-                compilationUnits = task.parse();
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to parse Java sources under " + sourceRoot.toAbsolutePath(), e);
+        /**
+         * Bounds {@code [from, to)} of consecutive {@link #javaFiles} that share a javac task: at most {@code maxFiles}
+         * files, and at most {@link #batchByteLimit} bytes of source unless a single file is larger.
+         */
+        List<int[]> batches(int maxFiles) {
+            long maxBytes = batchByteLimit(options, maxHeap());
+            long[] sizes = new long[javaFiles.size()];
+            if (maxBytes != Long.MAX_VALUE) {
+                for (int i = 0; i < sizes.length; i++) {
+                    sizes[i] = sizeOf(javaFiles.get(i));
+                }
             }
+            List<int[]> batches = JavaSourceScanner.batches(sizes, maxFiles, maxBytes);
+            if (batches.size() > 1 && maxBytes != Long.MAX_VALUE) {
+                log.info("Parsing %d Java files in %d batches of at most %d KB".formatted(
+                        javaFiles.size(), batches.size(), maxBytes / 1024));
+            }
+            return batches;
+        }
+
+        void finish() {
+            log.info("Scanned %d Java files: %d parsed, %d from cache, %d skipped by package header".formatted(
+                    javaFiles.size(), parsed, cacheHits, headerSkipped));
+            filters.logStats();
+            if (cache != null && complete) {
+                cache.evictStale();
+            }
+        }
 
-            DocTrees docTrees = DocTrees.instance(task);
+        private void scanParallel(List<Path> files, int threads, UnitResult[] results) {
+            List<int[]> partitions = partitionBySize(files, threads);
+            log.info("Scanning %d Java files on %d threads".formatted(files.size(), partitions.size()));
 
-            for (CompilationUnitTree unit : compilationUnits) {
-                String packageName = unit.getPackageName() == null ? "" : unit.getPackageName().toString();
-                if (!filters.packages().matches(packageName)) {
-                    continue;
+            try (ExecutorService executor = Executors.newFixedThreadPool(partitions.size())) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int[] partition : partitions) {
+                    futures.add(executor.submit(() -> scanPartition(files, partition, results)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
                 }
-                String sourceFile = toSourceFile(projectRoot, unit);
-                new ScannerVisitor(config, filters, docTrees, packageName, sourceFile, elements, docComments)
-                        .scan(unit, null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while scanning " + sourceRoot.toAbsolutePath(), e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Failed to scan Java sources under " + sourceRoot.toAbsolutePath(), e.getCause());
+            }
+        }
+
+        /**
+         * Parses and visits the files at {@code fileIndices} with a dedicated {@link JavacTask}, storing each unit's
+         * result at its index in {@code results}. Javac tasks are not thread-safe, so every partition owns its own task.
+         */
+        private void scanPartition(List<Path> files, int[] fileIndices, UnitResult[] results) {
+            List<Path> partitionFiles = new ArrayList<>(fileIndices.length);
+            for (int index : fileIndices) {
+                partitionFiles.add(files.get(index));
             }
+
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+                List<JavaFileObject> fileObjects = new ArrayList<>(partitionFiles.size());
+                fileManager.getJavaFileObjectsFromPaths(partitionFiles).forEach(fileObjects::add);
+                UnitResult[] partitionResults = new UnitResult[fileIndices.length];
+                parseAndVisit(sourceRoot.toAbsolutePath(), compiler, fileManager, fileObjects, config, filters, options.declarationsOnly(),
+                        position -> toSourceFile(projectRoot, Path.of(fileObjects.get(position).toUri())),
+                        position -> changedLines(options.changes(), partitionFiles.get(position)),
+                        partitionResults);
+                for (int position = 0; position < fileIndices.length; position++) {
+                    results[fileIndices[position]] = partitionResults[position];
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to scan Java sources under %s".formatted(sourceRoot.toAbsolutePath()), e);
+            }
+        }
+    }
+
+    /**
+     * Parses {@code fileObjects} with one {@link JavacTask} and visits every unit, storing the result of
+     * {@code fileObjects.get(i)} in {@code results[i]}. The source file name and changed lines of a unit are looked up
+     * by the same position.
+     */
+    private static void parseAndVisit(
+            Object origin,
+            JavaCompiler compiler,
+            StandardJavaFileManager fileManager,
+            List<? extends JavaFileObject> fileObjects,
+            Config config,
+            ScanFilters filters,
+            boolean declarationsOnly,
+            IntFunction<String> sourceFiles,
+            IntFunction<ChangeSet.LineRanges> changedLines,
+            UnitResult[] results
+    ) {
+        JavacTask task = (JavacTask) compiler.getTask(
+                null,
+                fileManager,
+                null,
+                List.of("-proc:none"), // Disable annotation processing
+                null,
+                declarationsOnly ? fileObjects.stream().map(BodyBlanker::skeleton).toList() : fileObjects
+        );
+
+        final Iterable<? extends CompilationUnitTree> compilationUnits;
+        try {
+            compilationUnits = task.parse();
         } catch (IOException e) {
-            throw new RuntimeException("Failed to scan Java sources under %s".formatted(sourceRoot.toAbsolutePath()), e);
+            throw new UncheckedIOException("Failed to parse Java sources of " + origin, e);
+        }
+
+        DocTrees docTrees = DocTrees.instance(task);
+
+        // Units come back in the order the file objects were handed to the task.
+        int position = 0;
+        for (CompilationUnitTree unit : compilationUnits) {
+            int index = position++;
+            String packageName = unit.getPackageName() == null ? "" : unit.getPackageName().toString();
+            if (!filters.packages().matches(packageName)) {
+                results[index] = UnitResult.empty();
+                continue;
+            }
+            UnitResult result = UnitResult.collecting();
+            new ScannerVisitor(config, filters, docTrees, packageName, sourceFiles.apply(index), changedLines.apply(index), result)
+                    .scan(unit, null);
+            results[index] = result;
         }
+    }
+
+    /**
+     * Most source bytes a single javac task may parse: {@link ScanOptions#batchBytes()}, lowered to what fits
+     * {@link ScanOptions#maxHeapFraction()} of {@code maxHeap} at {@link #TREE_BYTES_PER_SOURCE_BYTE}, or
+     * {@link Long#MAX_VALUE} if neither is set.
+     */
+    static long batchByteLimit(ScanOptions options, long maxHeap) {
+        long limit = options.batchBytes() > 0 ? options.batchBytes() : Long.MAX_VALUE;
+        if (options.maxHeapFraction() > 0 && maxHeap > 0) {
+            limit = Math.min(limit, Math.max(1, (long) (maxHeap * options.maxHeapFraction() / TREE_BYTES_PER_SOURCE_BYTE)));
+        }
+        return limit;
+    }
 
-        return new ScanContext(config, elements, docComments);
+    private static long maxHeap() {
+        long max = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
+        return max > 0 ? max : Runtime.getRuntime().maxMemory();
     }
 
-    private static List<Path> listJavaFiles(Path sourceRoot) throws IOException {
-        try (Stream<Path> paths = Files.walk(sourceRoot)) {
-            return paths
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(".java"))
-                    .sorted()
-                    .collect(toList());
+    /**
+     * Cuts {@code sizes} in order into bounds {@code [from, to)} of at most {@code maxFiles} entries and
+     * {@code maxBytes} bytes; an entry larger than {@code maxBytes} gets a batch of its own.
+     */
+    static List<int[]> batches(long[] sizes, int maxFiles, long maxBytes) {
+        List<int[]> batches = new ArrayList<>();
+        int from = 0;
+        long bytes = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            if (i > from && (i - from == maxFiles || bytes + sizes[i] > maxBytes)) {
+                batches.add(new int[]{from, i});
+                from = i;
+                bytes = 0;
+            }
+            bytes += sizes[i];
+        }
+        if (from < sizes.length) {
+            batches.add(new int[]{from, sizes.length});
         }
+        return batches;
     }
 
-    private static boolean matchesAnnotations(List<? extends AnnotationTree> annotations, PatternFilter filter) {
-        if (!matchesAnyAnnotation(annotations, filter.include())) {
-            return false;
+    /**
+     * Splits the files into at most {@code partitions} groups of similar total size. Files are assigned largest first
+     * to the currently lightest group, so one huge file cannot end up queued behind many others.
+     */
+    static List<int[]> partitionBySize(List<Path> files, int partitions) {
+        long[] sizes = new long[files.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = sizeOf(files.get(i));
         }
-        return !matchesAnyAnnotation(annotations, filter.exclude());
+        return partitionBySize(sizes, partitions);
     }
 
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    private static boolean matchesAnyAnnotation(List<? extends AnnotationTree> annotations, List<Pattern> patterns) {
-        if (patterns.isEmpty()) {
-            return true;
+    static List<int[]> partitionBySize(long[] sizes, int partitions) {
+        Integer[] bySizeDesc = new Integer[sizes.length];
+        for (int i = 0; i < bySizeDesc.length; i++) {
+            bySizeDesc[i] = i;
         }
-        for (AnnotationTree annotation : annotations) {
-            String annotationName = annotation.getAnnotationType().toString();
-            for (Pattern pattern : patterns) {
-                if (pattern.matcher(annotationName).matches()) {
-                    return true;
+        Arrays.sort(bySizeDesc, Comparator.comparingLong((Integer i) -> sizes[i]).reversed());
+
+        int count = Math.max(1, Math.min(partitions, sizes.length));
+        long[] loads = new long[count];
+        List<List<Integer>> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (Integer index : bySizeDesc) {
+            int lightest = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
                 }
             }
+            groups.get(lightest).add(index);
+            loads[lightest] += sizes[index];
+        }
+        return groups.stream()
+                .map(group -> group.stream().mapToInt(Integer::intValue).toArray())
+                .toList();
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static int[] indices(int size) {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
         }
-        return false;
+        return indices;
     }
 
-    private static String toSourceFile(Path projectRoot, CompilationUnitTree unit) {
-        if (unit.getSourceFile() == null || unit.getSourceFile().toUri() == null) {
-            return "";
+    /** Keeps the files touched by {@code changes}; {@code null} keeps all of them. */
+    static List<Path> restrictToChanges(List<Path> javaFiles, ChangeSet changes) {
+        if (changes == null) {
+            return javaFiles;
         }
-        Path path = Path.of(unit.getSourceFile().toUri());
+        List<Path> changed = javaFiles.stream().filter(file -> changes.lookup(file) != null).toList();
+        log.info("Restricted scan to %d of %d Java files touched by the change set".formatted(changed.size(), javaFiles.size()));
+        return changed;
+    }
+
+    static ChangeSet.LineRanges changedLines(ChangeSet changes, Path file) {
+        ChangeSet.LineRanges lines = changes == null ? null : changes.lookup(file);
+        return lines == null ? ChangeSet.LineRanges.ALL : lines;
+    }
+
+    /** Lists the {@code .java} files below {@code sourceRoot} in a stable order, failing if there are none. */
+    static List<Path> discoverSources(Path sourceRoot, Config.Sources sources) {
+        log.info("Scanning " + sourceRoot.toAbsolutePath());
+        if (!Files.exists(sourceRoot)) {
+            throw new ConfigurationException("Source root %s does not exist".formatted(sourceRoot.toAbsolutePath()));
+        }
+
+        SourceDiscovery discovery = new SourceDiscovery(sourceRoot, sources);
+        final List<Path> javaFiles;
+        try {
+            javaFiles = discovery.discover(sourceRoot);
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to list Java files under " + sourceRoot.toAbsolutePath(), e);
+        }
+
+        if (javaFiles.isEmpty()) {
+            throw new ConfigurationException("No Java files under %s".formatted(sourceRoot.toAbsolutePath()));
+        }
+        log.info("Found %d Java files under %s (%d directories pruned)".formatted(
+                javaFiles.size(), sourceRoot.toAbsolutePath(), discovery.prunedDirectories()));
+        return javaFiles;
+    }
+
+    private static List<String> annotationNames(List<? extends AnnotationTree> annotations) {
+        if (annotations.isEmpty()) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(annotations.size());
+        for (AnnotationTree annotation : annotations) {
+            names.add(annotation.getAnnotationType().toString());
+        }
+        return names;
+    }
+
+    /** Declared visibility; without a modifier, members of interfaces are public. */
+    private static Config.Visibility visibility(Set<Modifier> modifiers, boolean inInterface) {
+        if (modifiers.contains(PUBLIC)) {
+            return Config.Visibility.PUBLIC;
+        }
+        if (modifiers.contains(PROTECTED)) {
+            return Config.Visibility.PROTECTED;
+        }
+        if (modifiers.contains(PRIVATE)) {
+            return Config.Visibility.PRIVATE;
+        }
+        return inInterface ? Config.Visibility.PUBLIC : Config.Visibility.PACKAGE;
+    }
+
+    static String toSourceFile(Path projectRoot, Path path) {
         if (path.startsWith(projectRoot)) {
             return projectRoot.relativize(path).toString();
         }
         return path.toString();
     }
 
+    /** Position of the first {@code '{'} at or after {@code from} outside comments, or {@code limit}. */
+    private static int openingBrace(String text, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                return i;
+            }
+            if (c == '/' && i + 1 < limit && text.charAt(i + 1) == '/') {
+                int newline = text.indexOf('\n', i);
+                i = newline < 0 ? limit : newline;
+            } else if (c == '/' && i + 1 < limit && text.charAt(i + 1) == '*') {
+                int close = text.indexOf("*/", i + 2);
+                i = close < 0 ? limit : close + 1;
+            }
+        }
+        return limit;
+    }
+
+    /** Start of the doc comment that ends right before {@code declarationStart}, or {@code declarationStart}. */
+    private static int docCommentStart(String text, int declarationStart) {
+        int i = declarationStart;
+        while (i > 0 && Character.isWhitespace(text.charAt(i - 1))) {
+            i--;
+        }
+        if (i < 2 || !text.startsWith("*/", i - 2)) {
+            return declarationStart;
+        }
+        int open = text.lastIndexOf("/**", i - 2);
+        return open < 0 ? declarationStart : open;
+    }
+
     private static boolean isPublicApi(Set<Modifier> modifiers) {
         return modifiers.contains(PUBLIC) || modifiers.contains(PROTECTED); // TODO keep PROTECTED?
     }
@@ -164,9 +653,11 @@ public class JavaSourceScanner implements Scanner {
         private final DocTrees docTrees;
         private final String packageName;
         private final String sourceFile;
-        private final List<ElementRef> elements;
-        private final Map<ElementRef, String> docComments;
+        private final ChangeSet.LineRanges changedLines;
+        private final UnitResult result;
         private final Deque<ClassContext> classStack = new ArrayDeque<>();
+        private String sourceText;
+        private List<String> imports;
 
         private ScannerVisitor(
                 Config config,
@@ -174,16 +665,16 @@ public class JavaSourceScanner implements Scanner {
                 DocTrees docTrees,
                 String packageName,
                 String sourceFile,
-                List<ElementRef> elements,
-                Map<ElementRef, String> docComments
+                ChangeSet.LineRanges changedLines,
+                UnitResult result
         ) {
             this.config = config;
             this.filters = filters;
             this.docTrees = docTrees;
             this.packageName = packageName;
             this.sourceFile = sourceFile;
-            this.elements = elements;
-            this.docComments = docComments;
+            this.changedLines = changedLines;
+            this.result = result;
         }
 
         @Override
@@ -205,27 +696,37 @@ public class JavaSourceScanner implements Scanner {
 
             boolean isInterfaceLike = node.getKind() == Tree.Kind.INTERFACE
                     || node.getKind() == Tree.Kind.ANNOTATION_TYPE;
-            classStack.push(new ClassContext(simpleName, qualifiedName, isPublicApi, isInterfaceLike));
-
-            if (matchesTypeKind(node, elementKind) && filters.typeNames().matches(qualifiedName) && matchesAnnotations(
-                    node.getModifiers().getAnnotations(),
-                    filters.typeAnnotations()
-            ) && isPublicApi) {
+            Set<String> typeVariables = new HashSet<>(classStack.isEmpty() ? Set.of() : classStack.peek().typeVariables);
+            node.getTypeParameters().forEach(parameter -> typeVariables.add(parameter.getName().toString()));
+            ClassContext context = new ClassContext(simpleName, qualifiedName, isPublicApi, isInterfaceLike, typeVariables,
+                    new ArrayList<>());
+            classStack.push(context);
+
+            List<String> annotations = annotationNames(node.getModifiers().getAnnotations());
+            if (matchesTypeKind(node, elementKind) && filters.typeNames().matches(qualifiedName)
+                    && filters.typeAnnotations().matchesAny(annotations)
+                    && isPublicApi && touchesChangedLines(node, true)) {
                 ElementRef ref = new ElementRef(
                         elementKind,
                         qualifiedName,
                         qualifiedName,
-                        sourceFile
+                        sourceFile,
+                        startPosition(node)
                 );
-                elements.add(ref);
-                String doc = readDocComment();
-                if (doc != null) {
-                    docComments.put(ref, doc);
-                }
+                int attributes = ElementAttributes.of(elementKind, visibility(node.getModifiers().getFlags(), parentInterface), null);
+                DocCommentTree doc = docCommentTree();
+                result.add(ref, doc == null ? null : doc.toString(), attributes, annotations, docTags(doc, null),
+                        packageName);
             }
 
             super.visitClass(node, unused);
             classStack.pop();
+            List<String> supertypes = new ArrayList<>();
+            if (node.getExtendsClause() != null) {
+                supertypes.add(TypeDeclaration.rawName(node.getExtendsClause().toString()));
+            }
+            node.getImplementsClause().forEach(type -> supertypes.add(TypeDeclaration.rawName(type.toString())));
+            result.addType(new TypeDeclaration(qualifiedName, packageName, imports(), supertypes, context.methods));
             return null;
         }
 
@@ -235,11 +736,29 @@ public class JavaSourceScanner implements Scanner {
                 return null;
             }
             ClassContext context = classStack.peek();
+            boolean isConstructor = node.getReturnType() == null;
+            Set<Modifier> flags = node.getModifiers().getFlags();
+            DocCommentTree doc = null;
+            if (!isConstructor && !flags.contains(PRIVATE) && !flags.contains(STATIC)) {
+                doc = docCommentTree();
+                Set<String> typeVariables = context.typeVariables;
+                if (!node.getTypeParameters().isEmpty()) {
+                    typeVariables = new HashSet<>(typeVariables);
+                    for (TypeParameterTree parameter : node.getTypeParameters()) {
+                        typeVariables.add(parameter.getName().toString());
+                    }
+                }
+                List<String> parameterTypes = new ArrayList<>(node.getParameters().size());
+                node.getParameters().forEach(parameter -> parameterTypes.add(parameter.getType().toString()));
+                String name = node.getName().toString();
+                context.methods.add(new TypeDeclaration.Method(buildSignature(name, node.getParameters()),
+                        TypeDeclaration.methodKey(name, parameterTypes, typeVariables),
+                        doc != null && !(doc.getFullBody().isEmpty() && doc.getBlockTags().isEmpty())));
+            }
             if (!context.isPublicApi) {
                 return null;
             }
 
-            boolean isConstructor = node.getReturnType() == null;
             boolean includeMember = isConstructor ? config.scan().members().include().constructors() : config.scan().members().include().methods();
             boolean methodPublic = isPublicApi(node.getModifiers().getFlags());
             if (!methodPublic && context.isInterfaceLike && !node.getModifiers().getFlags().contains(PRIVATE)) {
@@ -254,7 +773,12 @@ public class JavaSourceScanner implements Scanner {
             if (!filters.memberNames().matches(memberName)) {
                 return null;
             }
-            if (!matchesAnnotations(node.getModifiers().getAnnotations(), filters.memberAnnotations())) {
+            List<String> annotations = annotationNames(node.getModifiers().getAnnotations());
+            if (!filters.memberAnnotations().matchesAny(annotations)) {
+                return null;
+            }
+
+            if (!touchesChangedLines(node, false)) {
                 return null;
             }
 
@@ -262,12 +786,14 @@ public class JavaSourceScanner implements Scanner {
             ElementKind kind = isConstructor ? ElementKind.CONSTRUCTOR : ElementKind.METHOD;
             String qualifiedName = context.qualifiedName + "#" + signature;
             String displayName = context.qualifiedName + "#" + signature;
-            ElementRef ref = new ElementRef(kind, qualifiedName, displayName, sourceFile);
-            elements.add(ref);
-            String doc = readDocComment();
-            if (doc != null) {
-                docComments.put(ref, doc);
+            ElementRef ref = new ElementRef(kind, qualifiedName, displayName, sourceFile, startPosition(node));
+            int attributes = ElementAttributes.of(kind, visibility(node.getModifiers().getFlags(), context.isInterfaceLike),
+                    isConstructor ? null : ElementAttributes.accessorKind(memberName, node.getParameters().size()));
+            if (doc == null) {
+                doc = docCommentTree();
             }
+            result.add(ref, doc == null ? null : doc.toString(), attributes, annotations, docTags(doc, node),
+                    packageName);
 
             return null;
         }
@@ -316,67 +842,150 @@ public class JavaSourceScanner implements Scanner {
             return builder.toString();
         }
 
-        private String readDocComment() {
-            TreePath path = getCurrentPath();
-            if (path == null) {
-                return null;
+        /**
+         * Whether the doc comment or declaration of {@code node} overlaps a changed line. For types only the header up
+         * to the opening brace counts, so an edit inside one member does not pull in the enclosing type.
+         */
+        private boolean touchesChangedLines(Tree node, boolean headerOnly) {
+            if (changedLines.isAll()) {
+                return true;
             }
-            // DocTrees returns null when no doc comment is present.
-            var doc = docTrees.getDocCommentTree(path);
-            return doc == null ? null : doc.toString();
+            CompilationUnitTree unit = getCurrentPath().getCompilationUnit();
+            SourcePositions positions = docTrees.getSourcePositions();
+            String text = sourceText(unit);
+            int start = (int) positions.getStartPosition(unit, node);
+            int end = (int) positions.getEndPosition(unit, node);
+            if (start < 0 || end < 0 || text == null) {
+                return true;
+            }
+            if (headerOnly) {
+                long modifiersEnd = positions.getEndPosition(unit, ((ClassTree) node).getModifiers());
+                end = openingBrace(text, modifiersEnd < 0 ? start : (int) modifiersEnd, end);
+            }
+            if (docTrees.getDocCommentTree(getCurrentPath()) != null) {
+                start = docCommentStart(text, start);
+            }
+            LineMap lineMap = unit.getLineMap();
+            return changedLines.overlaps((int) lineMap.getLineNumber(start), (int) lineMap.getLineNumber(Math.max(start, end - 1)));
         }
-    }
 
-    private record ClassContext(String simpleName, String qualifiedName, boolean isPublicApi, boolean isInterfaceLike) {}
+        /** Offset of the first annotation or modifier of {@code node}, or of its first token if it has none. */
+        private int startPosition(Tree node) {
+            return (int) docTrees.getSourcePositions().getStartPosition(getCurrentPath().getCompilationUnit(), node);
+        }
 
-    private record PatternFilter(List<Pattern> include, List<Pattern> exclude) {
-        boolean matches(String value) {
-            if (!matchesAny(value, include)) {
-                return false;
+        private String sourceText(CompilationUnitTree unit) {
+            if (sourceText == null) {
+                try {
+                    sourceText = unit.getSourceFile().getCharContent(true).toString();
+                } catch (IOException e) {
+                    return null;
+                }
             }
-            return !matchesAny(value, exclude);
+            return sourceText;
         }
 
-        @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-        private static boolean matchesAny(String value, List<Pattern> patterns) {
-            if (patterns.isEmpty()) {
-                return true;
-            }
-            for (Pattern pattern : patterns) {
-                if (pattern.matcher(value).matches()) {
-                    return true;
+        /** The single-type and on-demand imports of the unit, as the {@link TypeDeclaration}s of its types record them. */
+        private List<String> imports() {
+            if (imports == null) {
+                List<String> names = new ArrayList<>();
+                for (ImportTree tree : getCurrentPath().getCompilationUnit().getImports()) {
+                    if (!tree.isStatic()) {
+                        names.add(tree.getQualifiedIdentifier().toString());
+                    }
                 }
+                imports = List.copyOf(names);
             }
-            return false;
+            return imports;
         }
 
-        static PatternFilter from(List<String> include, List<String> exclude) {
-            return new PatternFilter(compilePatterns(include), compilePatterns(exclude));
+        private DocCommentTree docCommentTree() {
+            TreePath path = getCurrentPath();
+            // DocTrees returns null when no doc comment is present.
+            return path == null ? null : docTrees.getDocCommentTree(path);
         }
 
-        private static List<Pattern> compilePatterns(List<String> patterns) {
-            if (patterns == null || patterns.isEmpty()) {
-                return List.of();
+        /** Tags of {@code doc} and the declaration of {@code method}, or of a type if it is {@code null}. */
+        private static DocTags docTags(DocCommentTree doc, MethodTree method) {
+            DocTags.Builder tags = new DocTags.Builder();
+            if (doc != null) {
+                for (DocTree tree : doc.getFullBody()) {
+                    if (tree instanceof InlineTagTree inline) {
+                        tags.tag(inline.getTagName(), null);
+                    }
+                }
+                for (DocTree tree : doc.getBlockTags()) {
+                    if (tree instanceof ParamTree param) {
+                        String name = param.getName().getName().toString();
+                        tags.tag(param.getTagName(), param.isTypeParameter() ? "<" + name + ">" : name);
+                    } else if (tree instanceof ThrowsTree throwsTag) {
+                        tags.tag(throwsTag.getTagName(), throwsTag.getExceptionName().getSignature());
+                    } else if (tree instanceof BlockTagTree block) {
+                        tags.tag(block.getTagName(), null);
+                    }
+                }
+            }
+            if (method != null) {
+                List<String> parameters = new ArrayList<>(method.getParameters().size());
+                for (VariableTree parameter : method.getParameters()) {
+                    parameters.add(parameter.getName().toString());
+                }
+                List<String> thrown = new ArrayList<>(method.getThrows().size());
+                for (ExpressionTree type : method.getThrows()) {
+                    thrown.add(type.toString());
+                }
+                Tree returnType = method.getReturnType();
+                boolean returnsVoid = returnType == null
+                        || (returnType instanceof PrimitiveTypeTree primitive && primitive.getPrimitiveTypeKind() == TypeKind.VOID);
+                tags.declaration(parameters, returnsVoid, thrown);
             }
-            return patterns.stream().map(Pattern::compile).collect(toList());
+            return tags.build();
         }
     }
 
-    private record ScanFilters(
-            PatternFilter packages,
-            PatternFilter typeNames,
-            PatternFilter typeAnnotations,
-            PatternFilter memberNames,
-            PatternFilter memberAnnotations
+    /** @param methods the overridable methods of the type, collected for its {@link TypeDeclaration} */
+    private record ClassContext(String simpleName, String qualifiedName, boolean isPublicApi, boolean isInterfaceLike,
+                                Set<String> typeVariables, List<TypeDeclaration.Method> methods) {}
+
+    /** The scan filters of one run, each with a memoizing {@link NameMatcher} of its own. */
+    record ScanFilters(
+            NameMatching matching,
+            NameMatcher packages,
+            NameMatcher typeNames,
+            NameMatcher typeAnnotations,
+            NameMatcher memberNames,
+            NameMatcher memberAnnotations
     ) {
+        private static volatile Compiled lastCompiled;
+
+        private record Compiled(Config.Scan scan, CompiledConfig.CompiledScan compiled) {}
+
+        /**
+         * Matchers for the filters of {@code scan}, with caches that live as long as the run. The compiled patterns
+         * are memoized by identity, so the modules of a reactor scan, which share one config, compile them once.
+         */
         static ScanFilters from(Config.Scan scan) {
+            Compiled last = lastCompiled;
+            if (last == null || last.scan() != scan) {
+                last = new Compiled(scan, new ConfigCompiler().compileScan(scan));
+                lastCompiled = last;
+            }
+            CompiledConfig.CompiledScan compiled = last.compiled();
+            NameMatching matching = new NameMatching();
             return new ScanFilters(
-                    PatternFilter.from(scan.packages().include(), scan.packages().exclude()),
-                    PatternFilter.from(scan.types().names().include(), scan.types().names().exclude()),
-                    PatternFilter.from(scan.types().annotations().include(), scan.types().annotations().exclude()),
-                    PatternFilter.from(scan.members().names().include(), scan.members().names().exclude()),
-                    PatternFilter.from(scan.members().annotations().include(), scan.members().annotations().exclude())
+                    matching,
+                    matching.matcher(compiled.packages()),
+                    matching.matcher(compiled.typeNames()),
+                    matching.matcher(compiled.typeAnnotations()),
+                    matching.matcher(compiled.memberNames()),
+                    matching.matcher(compiled.memberAnnotations())
             );
         }
+
+        void logStats() {
+            NameMatching.Stats stats = matching.stats();
+            log.info("Matched %d names against scan filters: %.1f%% from cache, %d regex evaluations".formatted(
+                    stats.lookups(), 100 * stats.hitRate(), stats.regexEvaluations()));
+        }
     }
 }
@@ -0,0 +1,23 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A slice of a streamed scan: the public API elements of a group of files, in discovery order, with their doc comments.
+ */
+public record ScanBatch(ElementTable elements) {
+
+    /** The elements as records, materialized on access. */
+    public List<ElementRef> publicApiElements() {
+        return elements.refs();
+    }
+
+    /** Doc comments keyed by element, copied from {@link #elements()} on every call. */
+    public Map<ElementRef, String> docComments() {
+        return elements.docCommentMap();
+    }
+}
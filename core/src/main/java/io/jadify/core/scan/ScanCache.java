@@ -0,0 +1,346 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.TypeDeclaration;
+
+import java.io.*;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Persistent per-file scan results, so unchanged sources skip javac on the next run.
+ * <p>
+ * Entries are content addressed: the key hashes the scan filter fingerprint, the file's absolute path and its bytes. Editing a file or changing {@link Config.Scan} therefore simply produces a
+ * new key. Every entry is written to a temporary file and atomically moved into place, so concurrent runs sharing a
+ * cache directory only ever observe complete entries.
+ * <p>
+ * Entry names start with a scope, the hash of the fingerprint, the project root (element source paths are relative to
+ * it) and the source root. After a scan of every source under
+ * the root, {@link #evictStale} drops the entries of its scope that the scan did not reference (deleted files, old
+ * contents); other configs and projects sharing the directory keep theirs. Cache failures are logged and degrade to a
+ * full scan; they never fail the run.
+ */
+final class ScanCache {
+
+    private static final Logger log = getLogger(ScanCache.class.getName());
+
+    private static final int MAGIC = 0x4A414443; // "JADC"
+    private static final int VERSION = 6;
+    private static final String ENTRY_SUFFIX = ".unit";
+
+    private final Path directory;
+    private final byte[] fingerprint;
+    private final String scope;
+    private final Set<String> live = new HashSet<>();
+    private boolean directoryReady;
+
+    private ScanCache(Path directory, byte[] fingerprint, String scope) {
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+        this.scope = scope;
+    }
+
+    static ScanCache open(Path directory, Config.Scan scan, Path projectRoot, Path sourceRoot) {
+        byte[] fingerprint = fingerprint(scan);
+        MessageDigest digest = sha256();
+        digest.update(fingerprint);
+        digest.update(projectRoot.toAbsolutePath().normalize().toString().getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(sourceRoot.toAbsolutePath().normalize().toString().getBytes(UTF_8));
+        return new ScanCache(directory, fingerprint, HexFormat.of().formatHex(digest.digest(), 0, 8) + '-');
+    }
+
+    /**
+     * Fills {@code results} for every file with a valid cache entry and returns the key of each file; a {@code null}
+     * key means the file could not be hashed and will not be cached. Files that already have a result are left alone.
+     */
+    String[] lookup(List<Path> files, UnitResult[] results) {
+        String[] keys = new String[files.size()];
+        for (int i = 0; i < keys.length; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            keys[i] = keyFor(files.get(i));
+            if (keys[i] == null) {
+                continue;
+            }
+            UnitResult cached = read(directory.resolve(entryName(keys[i])));
+            if (cached != null) {
+                results[i] = cached;
+                live.add(entryName(keys[i]));
+            }
+        }
+        return keys;
+    }
+
+    /** Stores the freshly scanned result of a file that missed. */
+    void store(String key, UnitResult result) {
+        if (key == null || !ensureDirectory()) {
+            return;
+        }
+        live.add(entryName(key));
+        write(key, result);
+    }
+
+    /**
+     * Evicts every entry of this scope that no {@link #lookup} hit or {@link #store} of this scan referenced. Only call
+     * it after scanning every source under the root; a partial scan would evict the entries of the files it skipped.
+     */
+    void evictStale() {
+        if (ensureDirectory()) {
+            evictExcept(live);
+        }
+    }
+
+    private String entryName(String key) {
+        return scope + key + ENTRY_SUFFIX;
+    }
+
+    private boolean ensureDirectory() {
+        if (directoryReady) {
+            return true;
+        }
+        try {
+            Files.createDirectories(directory);
+            directoryReady = true;
+        } catch (IOException e) {
+            log.warning("Scan cache disabled, cannot create %s: %s".formatted(directory, e));
+        }
+        return directoryReady;
+    }
+
+    private String keyFor(Path file) {
+        try {
+            MessageDigest digest = sha256();
+            digest.update(fingerprint);
+            digest.update(file.toAbsolutePath().normalize().toString().getBytes(UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static UnitResult read(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            String sourceFile = readString(in);
+            String packageName = readString(in);
+            int count = in.readInt();
+            List<ElementRef> elements = new ArrayList<>(count);
+            List<String> docComments = new ArrayList<>(count);
+            List<Integer> attributes = new ArrayList<>(count);
+            List<List<String>> annotations = new ArrayList<>(count);
+            List<DocTags> docTags = new ArrayList<>(count);
+            ElementKind[] kinds = ElementKind.values();
+            for (int i = 0; i < count; i++) {
+                ElementKind kind = kinds[in.readUnsignedByte()];
+                String qualifiedName = readString(in);
+                String displayName = in.readBoolean() ? qualifiedName : readString(in);
+                elements.add(new ElementRef(kind, qualifiedName, displayName, sourceFile, in.readInt()));
+                docComments.add(in.readBoolean() ? readString(in) : null);
+                attributes.add(in.readInt());
+                String[] names = new String[in.readUnsignedShort()];
+                for (int n = 0; n < names.length; n++) {
+                    names[n] = readString(in);
+                }
+                annotations.add(List.of(names));
+                docTags.add(in.readBoolean() ? readDocTags(in) : null);
+            }
+            List<TypeDeclaration> types = new ArrayList<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                types.add(readType(in));
+            }
+            return new UnitResult(elements, docComments, attributes, annotations, docTags,
+                    Collections.nCopies(count, packageName), types);
+        } catch (IOException | RuntimeException e) {
+            // Truncated or foreign data: treat as a miss, the entry is rewritten after the scan.
+            return null;
+        }
+    }
+
+    private void write(String key, UnitResult result) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                List<ElementRef> elements = result.elements();
+                // A compilation unit has a single source file and package.
+                writeString(out, elements.isEmpty() ? "" : elements.getFirst().sourceFile());
+                writeString(out, elements.isEmpty() ? "" : result.packageNames().getFirst());
+                out.writeInt(elements.size());
+                for (int i = 0; i < elements.size(); i++) {
+                    ElementRef ref = elements.get(i);
+                    out.writeByte(ref.kind().ordinal());
+                    writeString(out, ref.qualifiedName());
+                    boolean sameName = ref.displayName().equals(ref.qualifiedName());
+                    out.writeBoolean(sameName);
+                    if (!sameName) {
+                        writeString(out, ref.displayName());
+                    }
+                    out.writeInt(ref.position());
+                    String doc = result.docComments().get(i);
+                    out.writeBoolean(doc != null);
+                    if (doc != null) {
+                        writeString(out, doc);
+                    }
+                    out.writeInt(result.attributes().get(i));
+                    List<String> annotations = result.annotations().get(i);
+                    out.writeShort(annotations.size());
+                    for (String annotation : annotations) {
+                        writeString(out, annotation);
+                    }
+                    DocTags tags = result.docTags().get(i);
+                    out.writeBoolean(tags != null);
+                    if (tags != null) {
+                        writeDocTags(out, tags);
+                    }
+                }
+                out.writeInt(result.types().size());
+                for (TypeDeclaration type : result.types()) {
+                    writeType(out, type);
+                }
+            }
+            moveAtomically(temp, directory.resolve(entryName(key)));
+        } catch (IOException e) {
+            log.warning("Failed to write scan cache entry %s: %s".formatted(key, e));
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+
+    private void evictExcept(Set<String> live) {
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(ENTRY_SUFFIX) && !live.contains(name))
+                    // Names without a scope predate scoping, and no scan references them any more.
+                    .filter(name -> name.startsWith(scope) || name.indexOf('-') < 0)
+                    .map(directory::resolve)
+                    .forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException e) {
+                            log.fine("Failed to evict scan cache entry %s: %s".formatted(path, e));
+                        }
+                    });
+        } catch (IOException e) {
+            log.warning("Failed to evict stale scan cache entries in %s: %s".formatted(directory, e));
+        }
+    }
+
+    private static byte[] fingerprint(Config.Scan scan) {
+        // Records render their components deterministically, which covers every filter the scanner reads.
+        return sha256().digest(("v" + VERSION + '\n' + scan).getBytes(UTF_8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void writeDocTags(DataOutputStream out, DocTags tags) throws IOException {
+        out.writeInt(tags.kinds());
+        for (List<String> names : List.of(tags.paramTags(), tags.throwsTags(), tags.customTags(), tags.parameters(), tags.thrown())) {
+            writeStrings(out, names);
+        }
+        out.writeBoolean(tags.returnsVoid());
+    }
+
+    private static DocTags readDocTags(DataInputStream in) throws IOException {
+        int kinds = in.readInt();
+        List<String> paramTags = readStrings(in);
+        List<String> throwsTags = readStrings(in);
+        List<String> customTags = readStrings(in);
+        List<String> parameters = readStrings(in);
+        List<String> thrown = readStrings(in);
+        return new DocTags(kinds, paramTags, throwsTags, customTags, parameters, in.readBoolean(), thrown);
+    }
+
+    private static void writeType(DataOutputStream out, TypeDeclaration type) throws IOException {
+        writeString(out, type.name());
+        writeString(out, type.packageName());
+        writeStrings(out, type.imports());
+        writeStrings(out, type.supertypes());
+        out.writeShort(type.methods().size());
+        for (TypeDeclaration.Method method : type.methods()) {
+            writeString(out, method.signature());
+            writeString(out, method.key());
+            out.writeBoolean(method.documented());
+        }
+    }
+
+    private static TypeDeclaration readType(DataInputStream in) throws IOException {
+        String name = readString(in);
+        String packageName = readString(in);
+        List<String> imports = readStrings(in);
+        List<String> supertypes = readStrings(in);
+        TypeDeclaration.Method[] methods = new TypeDeclaration.Method[in.readUnsignedShort()];
+        for (int i = 0; i < methods.length; i++) {
+            methods[i] = new TypeDeclaration.Method(readString(in), readString(in), in.readBoolean());
+        }
+        return new TypeDeclaration(name, packageName, imports, supertypes, List.of(methods));
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeShort(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        String[] values = new String[in.readUnsignedShort()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(in);
+        }
+        return List.of(values);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -2,13 +2,27 @@ package io.jadify.core.scan;
 
 import io.jadify.core.config.Config;
 import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
 
 import java.util.List;
 import java.util.Map;
 
 public record ScanContext(
         Config config,
-        List<ElementRef> publicApiElements,
-        Map<ElementRef, String> docComments
+        ElementTable elements
 ) {
+
+    public ScanContext(Config config, List<ElementRef> publicApiElements, Map<ElementRef, String> docComments) {
+        this(config, ElementTable.of(publicApiElements, docComments));
+    }
+
+    /** The elements as records, materialized on access; rules should iterate {@link #elements()} by id. */
+    public List<ElementRef> publicApiElements() {
+        return elements.refs();
+    }
+
+    /** Doc comments keyed by element, copied from {@link #elements()} on every call. */
+    public Map<ElementRef, String> docComments() {
+        return elements.docCommentMap();
+    }
 }
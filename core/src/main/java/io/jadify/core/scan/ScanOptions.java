@@ -0,0 +1,83 @@
+package io.jadify.core.scan;
+
+import java.nio.file.Path;
+
+/**
+ * Runtime tuning for {@link JavaSourceScanner}. Unlike {@link io.jadify.core.config.Config} these settings never
+ * change the scan result, only how it is computed; the one exception is {@code changes}, which narrows the scan to
+ * what a change touched.
+ *
+ * @param threads   number of worker threads used to parse and visit sources; {@code <= 0} means one per available
+ *                  processor and {@code 1} keeps the single-task sequential path
+ * @param cacheDir  directory of the persistent scan cache, resolved against the project root; {@code null} disables it
+ * @param batchSize number of files parsed per javac task when streaming
+ * @param batchBytes total source bytes parsed per javac task, streaming or not; {@code 0} means no limit
+ * @param maxHeapFraction share of the maximum heap the trees of one javac task may take, which bounds the source bytes
+ *                  per task like {@code batchBytes} does; {@code 0} means no limit
+ * @param changes   only scan the files of this change set, and only report elements overlapping its changed lines if it
+ *                  has any; {@code null} scans everything
+ * @param declarationsOnly hand javac a skeleton of every file with method bodies blanked (see {@link BodyBlanker}),
+ *                  which cuts parse time and tree allocation without changing the result
+ */
+public record ScanOptions(
+        int threads,
+        Path cacheDir,
+        int batchSize,
+        long batchBytes,
+        double maxHeapFraction,
+        ChangeSet changes,
+        boolean declarationsOnly
+) {
+
+    /** Conventional cache location, relative to the project root. */
+    public static final Path DEFAULT_CACHE_DIR = Path.of(".jadify", "cache");
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    public ScanOptions {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (batchBytes < 0) {
+            throw new IllegalArgumentException("batchBytes must not be negative: " + batchBytes);
+        }
+        if (!(maxHeapFraction >= 0 && maxHeapFraction <= 1)) {
+            throw new IllegalArgumentException("maxHeapFraction must be between 0 and 1: " + maxHeapFraction);
+        }
+    }
+
+    public static ScanOptions defaults() {
+        return new ScanOptions(1, null, DEFAULT_BATCH_SIZE, 0, 0, null, false);
+    }
+
+    public ScanOptions withThreads(int threads) {
+        return new ScanOptions(threads, cacheDir, batchSize, batchBytes, maxHeapFraction, changes, declarationsOnly);
+    }
+
+    public ScanOptions withCacheDir(Path cacheDir) {
+        return new ScanOptions(threads, cacheDir, batchSize, batchBytes, maxHeapFraction, changes, declarationsOnly);
+    }
+
+    public ScanOptions withBatchSize(int batchSize) {
+        return new ScanOptions(threads, cacheDir, batchSize, batchBytes, maxHeapFraction, changes, declarationsOnly);
+    }
+
+    public ScanOptions withBatchBytes(long batchBytes) {
+        return new ScanOptions(threads, cacheDir, batchSize, batchBytes, maxHeapFraction, changes, declarationsOnly);
+    }
+
+    public ScanOptions withMaxHeapFraction(double maxHeapFraction) {
+        return new ScanOptions(threads, cacheDir, batchSize, batchBytes, maxHeapFraction, changes, declarationsOnly);
+    }
+
+    public ScanOptions withChanges(ChangeSet changes) {
+        return new ScanOptions(threads, cacheDir, batchSize, batchBytes, maxHeapFraction, changes, declarationsOnly);
+    }
+
+    public ScanOptions withDeclarationsOnly(boolean declarationsOnly) {
+        return new ScanOptions(threads, cacheDir, batchSize, batchBytes, maxHeapFraction, changes, declarationsOnly);
+    }
+}
@@ -1,10 +1,35 @@
 package io.jadify.core.scan;
 
 import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementTable;
 
-import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface Scanner {
     ScanContext scan(Path projectRoot, Config config);
+
+    /**
+     * Streams the scan result to {@code sink} in discovery order. Scanners that cannot stream deliver everything as a
+     * single batch.
+     */
+    default void scan(Path projectRoot, Config config, Consumer<ScanBatch> sink) {
+        ScanContext ctx = scan(projectRoot, config);
+        sink.accept(new ScanBatch(ctx.elements()));
+    }
+
+    /** Whether this scanner implements {@link #scanFiles}, which watch mode needs. */
+    default boolean supportsFileScan() {
+        return false;
+    }
+
+    /**
+     * Scans exactly {@code files}, skipping source discovery, and returns the elements of each file in a table of its
+     * own, in the order of {@code files}. Watch mode uses this to re-check the files that changed. Only scanners that
+     * {@link #supportsFileScan() support it} implement it; the others throw {@link UnsupportedOperationException}.
+     */
+    default List<ElementTable> scanFiles(Path projectRoot, Config config, List<Path> files) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot scan individual files");
+    }
 }
@@ -0,0 +1,159 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * Finds the {@code .java} files below a source root. Every directory is listed by its own fork/join task, so sibling
+ * subtrees are read concurrently, which pays off on slow or network-mounted file systems. Directories are pruned
+ * before they are listed: build outputs, {@link Config.Sources#excludeDirectories()} and, if enabled, whatever the
+ * {@code .gitignore} files of the repository exclude. The result is sorted, so it does not depend on scheduling.
+ */
+public final class SourceDiscovery {
+
+    private static final int PARALLELISM = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final IgnoreRules excludedDirectories;
+    private final boolean respectGitignore;
+    private final AtomicInteger pruned = new AtomicInteger();
+    private final Queue<Path> listed = new ConcurrentLinkedQueue<>();
+
+    public SourceDiscovery(Path sourceRoot, Config.Sources sources) {
+        this.excludedDirectories = sources == null || sources.excludeDirectories() == null
+                ? null
+                : IgnoreRules.of(sourceRoot, sources.excludeDirectories(), null);
+        this.respectGitignore = sources != null && sources.respectGitignore();
+    }
+
+    /** Lists the Java files below {@code sourceRoot} in {@link Path} order. */
+    public List<Path> discover(Path sourceRoot) throws IOException {
+        pruned.set(0);
+        listed.clear();
+        IgnoreRules inherited = respectGitignore ? ancestorRules(sourceRoot) : null;
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try {
+            List<Path> javaFiles = pool.invoke(new DirectoryTask(sourceRoot, inherited));
+            javaFiles.sort(null);
+            return javaFiles;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Number of directories skipped by the last {@link #discover} call. */
+    public int prunedDirectories() {
+        return pruned.get();
+    }
+
+    /** The directories listed by the last {@link #discover} call, including its root, in {@link Path} order. */
+    public List<Path> listedDirectories() {
+        List<Path> directories = new ArrayList<>(listed);
+        directories.sort(null);
+        return directories;
+    }
+
+    /** Whether {@code directory} would be skipped if it were met while listing its parent. */
+    public boolean isPruned(Path directory) {
+        return isPruned(directory, respectGitignore ? ancestorRules(directory) : null);
+    }
+
+    /**
+     * The {@code .gitignore} rules of the directories between the enclosing repository root and {@code sourceRoot},
+     * which apply to the source root although they live above it.
+     */
+    private static IgnoreRules ancestorRules(Path sourceRoot) {
+        Path absolute = sourceRoot.toAbsolutePath().normalize();
+        List<Path> ancestors = new ArrayList<>();
+        for (Path dir = absolute.getParent(); dir != null; dir = dir.getParent()) {
+            ancestors.add(dir);
+            if (Files.exists(dir.resolve(".git"))) {
+                IgnoreRules rules = null;
+                for (int i = ancestors.size() - 1; i >= 0; i--) {
+                    rules = IgnoreRules.load(ancestors.get(i), rules);
+                }
+                return rules;
+            }
+        }
+        return null; // not inside a git repository
+    }
+
+    private boolean isPruned(Path directory, IgnoreRules gitignore) {
+        return isBuildOutput(directory)
+                || (excludedDirectories != null && excludedDirectories.isIgnored(directory, true))
+                || (gitignore != null && gitignore.isIgnored(directory.toAbsolutePath().normalize(), true));
+    }
+
+    /** A {@code target} next to a Maven POM or a {@code build} next to a Gradle build script. */
+    private static boolean isBuildOutput(Path directory) {
+        String name = directory.getFileName().toString();
+        Path parent = directory.getParent();
+        if (parent == null) {
+            return false;
+        }
+        return switch (name) {
+            case "target" -> Files.exists(parent.resolve("pom.xml"));
+            case "build" -> Files.exists(parent.resolve("build.gradle")) || Files.exists(parent.resolve("build.gradle.kts"));
+            default -> false;
+        };
+    }
+
+    private final class DirectoryTask extends RecursiveTask<List<Path>> {
+        private final Path directory;
+        private final IgnoreRules gitignore;
+
+        private DirectoryTask(Path directory, IgnoreRules gitignore) {
+            this.directory = directory;
+            this.gitignore = gitignore;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            listed.add(directory);
+            IgnoreRules rules = respectGitignore ? IgnoreRules.load(directory.toAbsolutePath().normalize(), gitignore) : null;
+            List<Path> javaFiles = new ArrayList<>();
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class, NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        if (isPruned(entry, rules)) {
+                            pruned.incrementAndGet();
+                        } else {
+                            DirectoryTask task = new DirectoryTask(entry, rules);
+                            task.fork();
+                            subdirectories.add(task);
+                        }
+                    } else if (entry.getFileName().toString().endsWith(".java")
+                            // Like Files.walk, symbolic links to files are followed but links to directories are not.
+                            && (attributes.isRegularFile() || (attributes.isSymbolicLink() && Files.isRegularFile(entry)))
+                            && (rules == null || !rules.isIgnored(entry.toAbsolutePath().normalize(), false))) {
+                        javaFiles.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (DirectoryTask task : subdirectories) {
+                javaFiles.addAll(task.join());
+            }
+            return javaFiles;
+        }
+    }
+}
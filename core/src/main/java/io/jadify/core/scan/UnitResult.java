@@ -0,0 +1,51 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.TypeDeclaration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Elements and doc comments contributed by a single compilation unit; {@code docComments.get(i)} belongs to
+ * {@code elements.get(i)} and is {@code null} if it has none, likewise its packed selector attributes, annotation
+ * names, doc tags and package names. {@code types} declares every type of the unit, element or not. A unit whose
+ * package is filtered out yields an empty result, so it can be cached like any other.
+ */
+record UnitResult(List<ElementRef> elements, List<String> docComments, List<Integer> attributes,
+                  List<List<String>> annotations, List<DocTags> docTags, List<String> packageNames,
+                  List<TypeDeclaration> types) {
+
+    static UnitResult empty() {
+        return new UnitResult(List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    static UnitResult collecting() {
+        return new UnitResult(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+
+    void add(ElementRef element, String docComment, int attributes, List<String> annotations, DocTags docTags,
+             String packageName) {
+        elements.add(element);
+        docComments.add(docComment);
+        this.attributes.add(attributes);
+        this.annotations.add(annotations);
+        this.docTags.add(docTags);
+        packageNames.add(packageName);
+    }
+
+    void addType(TypeDeclaration type) {
+        types.add(type);
+    }
+
+    void appendTo(ElementTable.Builder table) {
+        for (int i = 0; i < elements.size(); i++) {
+            table.add(elements.get(i), docComments.get(i), attributes.get(i), annotations.get(i), docTags.get(i),
+                    packageNames.get(i));
+        }
+        types.forEach(table::addType);
+    }
+}
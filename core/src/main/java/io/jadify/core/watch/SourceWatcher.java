@@ -0,0 +1,109 @@
+package io.jadify.core.watch;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.scan.SourceDiscovery;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the directories of a source root, as {@link SourceDiscovery} sees them, and reports changed Java files in
+ * bursts. Events are collected until none has arrived for the quiet period, so a branch switch or a formatter run
+ * becomes one re-check instead of hundreds; a steady stream of events is still flushed after {@code 10 * quiet}.
+ * Directories created later are watched as well. If the platform drops events, the whole source root is reported.
+ */
+public final class SourceWatcher implements Closeable {
+
+    private final Path sourceRoot;
+    private final SourceDiscovery discovery;
+    private final Duration quiet;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    public SourceWatcher(Path sourceRoot, Config.Sources sources, Duration quiet) throws IOException {
+        this.sourceRoot = sourceRoot.toAbsolutePath().normalize();
+        this.discovery = new SourceDiscovery(this.sourceRoot, sources);
+        this.quiet = quiet;
+        this.watchService = this.sourceRoot.getFileSystem().newWatchService();
+        registerTree(this.sourceRoot);
+    }
+
+    /**
+     * Blocks until a burst of changes has settled and returns the Java files and directories that were created,
+     * modified or deleted, in the order they were first reported.
+     */
+    public Set<Path> awaitChanges() throws InterruptedException {
+        Set<Path> changed = new LinkedHashSet<>();
+        long maxDelay = quiet.toNanos() * 10;
+        while (changed.isEmpty()) {
+            WatchKey key = watchService.take();
+            long deadline = System.nanoTime() + maxDelay;
+            while (key != null) {
+                collect(key, changed);
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                key = watchService.poll(Math.min(quiet.toNanos(), remaining), TimeUnit.NANOSECONDS);
+            }
+        }
+        return changed;
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || directory == null) {
+                changed.add(sourceRoot);
+                continue;
+            }
+            Path child = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(child, NOFOLLOW_LINKS)) {
+                if (!discovery.isPruned(child)) {
+                    try {
+                        registerTree(child);
+                    } catch (IOException e) {
+                        changed.add(sourceRoot); // gone again or unreadable; let the re-check sort it out
+                        continue;
+                    }
+                    changed.add(child);
+                }
+            } else if (child.getFileName().toString().endsWith(".java")
+                    || (event.kind() == ENTRY_DELETE && directories.containsValue(child))) {
+                changed.add(child);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key); // the directory itself was deleted
+        }
+    }
+
+    private void registerTree(Path root) throws IOException {
+        discovery.discover(root);
+        for (Path directory : discovery.listedDirectories()) {
+            directories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -0,0 +1,247 @@
+package io.jadify.core.watch;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.CompiledConfig;
+import io.jadify.core.config.compile.ConfigCompiler;
+import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.rules.ElementRule;
+import io.jadify.core.rules.Rule;
+import io.jadify.core.rules.RuleEngine;
+import io.jadify.core.scan.ScanContext;
+import io.jadify.core.scan.Scanner;
+import io.jadify.core.scan.SourceDiscovery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * The scan of one project kept in memory between re-checks: the elements and issues of every source file. A
+ * {@link #recheck} parses only the files that changed and swaps in their elements and issues, so its cost follows the
+ * size of the change rather than the size of the project.
+ * <p>
+ * {@link ElementRule}s are evaluated per file by a {@link RuleEngine}, so their selectors and severities apply as in a
+ * full run. Those that {@link ElementRule#usesTypeHierarchy() use the type hierarchy} see supertypes in other files
+ * only in a table of the whole scan, so like rules that are not element rules they are re-run on all elements after
+ * every re-check.
+ */
+public final class WatchSession {
+
+    private static final Logger log = getLogger(WatchSession.class.getName());
+
+    private final Scanner scanner;
+    private final Config config;
+    private final Path projectRoot;
+    private final Path sourceRoot;
+    private final SourceDiscovery discovery;
+    private final RuleEngine elementRules;
+    private final RuleEngine hierarchyRules;
+    private final List<Rule> scanRules = new ArrayList<>();
+    private final NavigableMap<Path, FileState> files = new TreeMap<>();
+    private List<Issue> scanIssues = List.of();
+
+    private record FileState(ElementTable elements, List<Issue> issues) {}
+
+    /** What a re-check changed; {@code added} and {@code removed} are in file order. */
+    public record Delta(int filesChecked, List<Issue> added, List<Issue> removed) {
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private WatchSession(Scanner scanner, List<Rule> rules, Path projectRoot, Config config) {
+        this.scanner = scanner;
+        this.config = config;
+        this.projectRoot = projectRoot.toAbsolutePath().normalize();
+        this.sourceRoot = this.projectRoot.resolve(config.projectRoot()).normalize();
+        this.discovery = new SourceDiscovery(sourceRoot, config.scan().sources());
+        List<Rule> perFile = new ArrayList<>();
+        List<Rule> hierarchy = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (!(rule instanceof ElementRule elementRule)) {
+                scanRules.add(rule);
+            } else if (elementRule.usesTypeHierarchy()) {
+                hierarchy.add(rule);
+            } else {
+                perFile.add(rule);
+            }
+        }
+        CompiledConfig compiled = new ConfigCompiler().compile(config);
+        this.elementRules = RuleEngine.of(perFile, compiled);
+        this.hierarchyRules = hierarchy.isEmpty() ? null : RuleEngine.of(hierarchy, compiled);
+    }
+
+    /**
+     * Scans the whole project once; later changes go through {@link #recheck}.
+     *
+     * @throws IllegalArgumentException if {@code scanner} does not {@link Scanner#supportsFileScan() scan files}
+     */
+    public static WatchSession start(Scanner scanner, List<Rule> rules, Path projectRoot, Config config) {
+        if (!scanner.supportsFileScan()) {
+            throw new IllegalArgumentException("%s cannot re-check individual files".formatted(scanner.getClass().getSimpleName()));
+        }
+        WatchSession session = new WatchSession(scanner, rules, projectRoot, config);
+        if (!Files.isDirectory(session.sourceRoot)) {
+            throw new ConfigurationException("Source root %s does not exist".formatted(session.sourceRoot));
+        }
+        session.recheck(List.of(session.sourceRoot));
+        return session;
+    }
+
+    public Path sourceRoot() {
+        return sourceRoot;
+    }
+
+    /** All current issues, in file order. */
+    public List<Issue> issues() {
+        List<Issue> issues = new ArrayList<>();
+        for (FileState state : files.values()) {
+            issues.addAll(state.issues());
+        }
+        issues.addAll(scanIssues);
+        return issues;
+    }
+
+    public int issueCount() {
+        int count = scanIssues.size();
+        for (FileState state : files.values()) {
+            count += state.issues().size();
+        }
+        return count;
+    }
+
+    /**
+     * Brings the session up to date with {@code changed}, which may name Java files and directories, each of which
+     * may have been created, modified or deleted. A directory stands for everything below it, so passing the source
+     * root rescans the whole project.
+     */
+    public Delta recheck(Collection<Path> changed) {
+        TreeSet<Path> toScan = new TreeSet<>();
+        List<Issue> removed = new ArrayList<>();
+        for (Path path : changed) {
+            Path absolute = path.toAbsolutePath().normalize();
+            if (!absolute.startsWith(sourceRoot)) {
+                continue;
+            }
+            if (Files.isDirectory(absolute)) {
+                List<Path> present = discover(absolute);
+                toScan.addAll(present);
+                var keep = new TreeSet<>(present);
+                for (Path file : trackedUnder(absolute)) {
+                    if (!keep.contains(file)) {
+                        remove(file, removed);
+                    }
+                }
+            } else if (Files.isRegularFile(absolute)) {
+                if (absolute.getFileName().toString().endsWith(".java")) {
+                    toScan.add(absolute);
+                }
+            } else {
+                // Deleted: a file, or a directory with everything that was below it.
+                for (Path file : trackedUnder(absolute)) {
+                    remove(file, removed);
+                }
+            }
+        }
+
+        List<Issue> added = new ArrayList<>();
+        if (!toScan.isEmpty()) {
+            List<Path> scanFiles = List.copyOf(toScan);
+            List<ElementTable> tables = scanner.scanFiles(projectRoot, config, scanFiles);
+            for (int i = 0; i < scanFiles.size(); i++) {
+                ElementTable elements = tables.get(i);
+                List<Issue> issues = new ArrayList<>();
+                elementRules.stream(elements, issues::add);
+                FileState previous = files.put(scanFiles.get(i), new FileState(elements, issues));
+                diff(previous == null ? List.of() : previous.issues(), issues, added, removed);
+            }
+        }
+        if (hierarchyRules != null || !scanRules.isEmpty()) {
+            List<Issue> previous = scanIssues;
+            scanIssues = evaluateScanRules();
+            diff(previous, scanIssues, added, removed);
+        }
+        log.fine(() -> "Re-checked %d files: %d issues added, %d removed".formatted(toScan.size(), added.size(), removed.size()));
+        return new Delta(toScan.size(), added, removed);
+    }
+
+    private List<Path> discover(Path directory) {
+        if (!directory.equals(sourceRoot) && discovery.isPruned(directory)) {
+            return List.of();
+        }
+        try {
+            return discovery.discover(directory).stream().map(file -> file.toAbsolutePath().normalize()).toList();
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to list Java files under " + directory, e);
+        }
+    }
+
+    /** The tracked files at or below {@code path}. */
+    private List<Path> trackedUnder(Path path) {
+        return files.keySet().stream().filter(file -> file.startsWith(path)).toList();
+    }
+
+    private void remove(Path file, List<Issue> removed) {
+        FileState state = files.remove(file);
+        if (state != null) {
+            removed.addAll(state.issues());
+        }
+    }
+
+    private List<Issue> evaluateScanRules() {
+        ElementTable.Builder all = new ElementTable.Builder();
+        for (FileState state : files.values()) {
+            all.addAll(state.elements());
+        }
+        ScanContext ctx = new ScanContext(config, all.build());
+        List<Issue> issues = new ArrayList<>();
+        if (hierarchyRules != null) {
+            hierarchyRules.stream(ctx.elements(), issues::add);
+        }
+        for (Rule rule : scanRules) {
+            issues.addAll(rule.evaluate(ctx));
+        }
+        return issues;
+    }
+
+    /** Adds to {@code added} what is only in {@code after} and to {@code removed} what is only in {@code before}. */
+    private static void diff(List<Issue> before, List<Issue> after, List<Issue> added, List<Issue> removed) {
+        Map<Issue, Integer> remaining = new HashMap<>();
+        for (Issue issue : before) {
+            remaining.merge(issue, 1, Integer::sum);
+        }
+        for (Issue issue : after) {
+            Integer count = remaining.get(issue);
+            if (count == null) {
+                added.add(issue);
+            } else if (count == 1) {
+                remaining.remove(issue);
+            } else {
+                remaining.put(issue, count - 1);
+            }
+        }
+        for (Issue issue : before) {
+            Integer count = remaining.get(issue);
+            if (count != null) {
+                removed.add(issue);
+                remaining.put(issue, count - 1);
+                if (count == 1) {
+                    remaining.remove(issue);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package io.jadify.core;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+import io.jadify.core.model.TypeDeclaration;
+import io.jadify.core.reactor.ModuleResult;
+import io.jadify.core.rules.PublicJavadocPresenceRule;
+import io.jadify.core.rules.Rule;
+import io.jadify.core.scan.ScanBatch;
+import io.jadify.core.scan.ScanContext;
+import io.jadify.core.scan.Scanner;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static io.jadify.core.config.Config.Visibility.PUBLIC;
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static io.jadify.core.model.ElementKind.CLASS;
+import static io.jadify.core.model.ElementKind.METHOD;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JadifyRunnerTest {
+
+    private static final ElementRef TYPE = new ElementRef(CLASS, "com.example.Foo", "com.example.Foo", "Foo.java");
+    private static final ElementRef MEMBER = new ElementRef(METHOD, "com.example.Foo#run()", "com.example.Foo#run()", "Foo.java");
+
+    @Test
+    void streamReportsTheSameIssuesAsRun() throws Exception {
+        Config config = loadDefault();
+        Scanner scanner = (root, cfg) -> new ScanContext(cfg, publicApi(List.of(TYPE, MEMBER), Map.of(TYPE, "Documented.")));
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule()));
+
+        List<Issue> streamed = new ArrayList<>();
+        runner.stream(Path.of("."), config, streamed::add);
+
+        assertEquals(runner.run(Path.of("."), config), streamed);
+        assertEquals(List.of(MEMBER), streamed.stream().map(Issue::element).toList());
+    }
+
+    @Test
+    void streamPropagatesScannerFailures() throws Exception {
+        Config config = loadDefault();
+        Scanner scanner = (root, cfg) -> {
+            throw new IllegalStateException("boom");
+        };
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule()));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> runner.stream(Path.of("."), config, issue -> {}));
+        assertEquals("boom", ex.getMessage());
+    }
+
+    @Test
+    void streamRejectsRulesThatNeedTheWholeScan() throws Exception {
+        Rule wholeScanRule = new Rule() {
+            @Override
+            public String getName() {
+                return "whole-scan";
+            }
+
+            @Override
+            public List<Issue> evaluate(ScanContext ctx) {
+                return List.of();
+            }
+        };
+        Scanner scanner = (root, cfg) -> new ScanContext(cfg, List.of(), Map.of());
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(wholeScanRule));
+
+        assertThrows(IllegalStateException.class, () -> runner.stream(Path.of("."), loadDefault(), issue -> {}));
+    }
+
+    @Test
+    void streamResolvesInheritedDocsAcrossBatches() throws Exception {
+        ElementRef base = new ElementRef(CLASS, "com.example.Base", "com.example.Base", "Base.java");
+        ElementRef baseRun = new ElementRef(METHOD, "com.example.Base#run()", "com.example.Base#run()", "Base.java");
+        ElementRef impl = new ElementRef(CLASS, "com.example.Impl", "com.example.Impl", "Impl.java");
+        ElementRef implRun = new ElementRef(METHOD, "com.example.Impl#run()", "com.example.Impl#run()", "Impl.java");
+        TypeDeclaration.Method run = new TypeDeclaration.Method("run()", "run()", true);
+        List<ElementTable> batches = List.of(
+                publicApi(List.of(base, baseRun), Map.of(base, "Base.", baseRun, "Runs."),
+                        new TypeDeclaration("com.example.Base", "com.example", List.of(), List.of(), List.of(run))),
+                publicApi(List.of(impl, implRun), Map.of(impl, "Impl."),
+                        new TypeDeclaration("com.example.Impl", "com.example", List.of(), List.of("Base"),
+                                List.of(new TypeDeclaration.Method("run()", "run()", false)))));
+        Scanner scanner = new Scanner() {
+            @Override
+            public ScanContext scan(Path projectRoot, Config config) {
+                ElementTable.Builder all = new ElementTable.Builder();
+                batches.forEach(all::addAll);
+                return new ScanContext(config, all.build());
+            }
+
+            @Override
+            public void scan(Path projectRoot, Config config, Consumer<ScanBatch> sink) {
+                batches.forEach(batch -> sink.accept(new ScanBatch(batch)));
+            }
+        };
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule(true)));
+
+        List<Issue> streamed = new ArrayList<>();
+        runner.stream(Path.of("."), loadDefault(), streamed::add);
+
+        assertEquals(List.of(), runner.run(Path.of("."), loadDefault()));
+        assertEquals(List.of(), streamed);
+        assertEquals(List.of(), runner.failFast(Path.of("."), loadDefault(), Severity.INFO, 1));
+    }
+
+    @Test
+    void streamHoldsBackOnlyMethodsThatMayInheritTheirDoc() throws Exception {
+        ElementRef impl = new ElementRef(CLASS, "com.example.Impl", "com.example.Impl", "Impl.java");
+        ElementRef implRun = new ElementRef(METHOD, "com.example.Impl#run()", "com.example.Impl#run()", "Impl.java");
+        ElementRef implStop = new ElementRef(METHOD, "com.example.Impl#stop()", "com.example.Impl#stop()", "Impl.java");
+        ElementRef base = new ElementRef(CLASS, "com.example.Base", "com.example.Base", "Base.java");
+        ElementRef baseRun = new ElementRef(METHOD, "com.example.Base#run()", "com.example.Base#run()", "Base.java");
+        List<ElementTable> batches = List.of(
+                publicApi(List.of(impl, implRun, implStop), Map.of(),
+                        new TypeDeclaration("com.example.Impl", "com.example", List.of(), List.of("Base"), List.of(
+                                new TypeDeclaration.Method("run()", "run()", false),
+                                new TypeDeclaration.Method("stop()", "stop()", false)))),
+                publicApi(List.of(base, baseRun), Map.of(baseRun, "Runs."),
+                        new TypeDeclaration("com.example.Base", "com.example", List.of(), List.of(),
+                                List.of(new TypeDeclaration.Method("run()", "run()", true)))));
+        // Streaming must not fall back to scanning the whole project at once.
+        Scanner scanner = new Scanner() {
+            @Override
+            public ScanContext scan(Path projectRoot, Config config) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void scan(Path projectRoot, Config config, Consumer<ScanBatch> sink) {
+                batches.forEach(batch -> sink.accept(new ScanBatch(batch)));
+            }
+        };
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule(true)));
+
+        List<Issue> streamed = new ArrayList<>();
+        runner.stream(Path.of("."), loadDefault(), streamed::add);
+
+        assertEquals(List.of(impl, base, implStop), streamed.stream().map(Issue::element).toList());
+    }
+
+    @Test
+    void failFastStopsTheScanAtTheFirstOffenders() throws Exception {
+        AtomicInteger batches = new AtomicInteger();
+        // Every batch holds one undocumented type; a full scan would report 1000 issues.
+        Scanner scanner = new Scanner() {
+            @Override
+            public ScanContext scan(Path projectRoot, Config config) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void scan(Path projectRoot, Config config, Consumer<ScanBatch> sink) {
+                for (int i = 0; i < 1000; i++) {
+                    batches.incrementAndGet();
+                    String name = "com.example.Foo" + i;
+                    sink.accept(new ScanBatch(publicApi(List.of(new ElementRef(CLASS, name, name, "Foo.java")), Map.of())));
+                }
+            }
+        };
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule()));
+
+        List<Issue> offenders = runner.failFast(Path.of("."), loadDefault(), Severity.INFO, 2);
+
+        assertEquals(List.of("com.example.Foo0", "com.example.Foo1"),
+                offenders.stream().map(issue -> issue.element().displayName()).toList());
+        assertTrue(batches.get() < 1000, "scan was not cancelled: " + batches.get() + " batches");
+    }
+
+    @Test
+    void failFastStopsTheScanEarlyWhenRulesUseTheTypeHierarchy() throws Exception {
+        AtomicInteger batches = new AtomicInteger();
+        Scanner scanner = new Scanner() {
+            @Override
+            public ScanContext scan(Path projectRoot, Config config) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void scan(Path projectRoot, Config config, Consumer<ScanBatch> sink) {
+                for (int i = 0; i < 1000; i++) {
+                    batches.incrementAndGet();
+                    String name = "com.example.Foo" + i;
+                    sink.accept(new ScanBatch(publicApi(List.of(new ElementRef(CLASS, name, name, "Foo.java")), Map.of(),
+                            new TypeDeclaration(name, "com.example", List.of(), List.of("Base"), List.of()))));
+                }
+            }
+        };
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule(true)));
+
+        List<Issue> offenders = runner.failFast(Path.of("."), loadDefault(), Severity.INFO, 2);
+
+        assertEquals(2, offenders.size());
+        assertTrue(batches.get() < 1000, "scan was not cancelled: " + batches.get() + " batches");
+    }
+
+    @Test
+    void failFastPassesWithoutBlockingIssues() throws Exception {
+        Scanner scanner = (root, cfg) -> new ScanContext(cfg, publicApi(List.of(TYPE, MEMBER), Map.of(TYPE, "Documented.")));
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule()));
+
+        assertEquals(List.of(), runner.failFast(Path.of("."), loadDefault(), Severity.OFF, 1));
+        assertEquals(List.of(MEMBER), runner.failFast(Path.of("."), loadDefault(), Severity.INFO, 5).stream()
+                .map(Issue::element).toList());
+    }
+
+    @Test
+    void runModulesKeepsModuleOrderAndPerModuleResults() throws Exception {
+        Config config = loadDefault();
+        // Each module reports one undocumented element named after its root.
+        Scanner scanner = (root, cfg) -> {
+            ElementRef ref = new ElementRef(CLASS, root.toString(), root.toString(), "Foo.java");
+            return new ScanContext(cfg, List.of(ref), Map.of());
+        };
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule()));
+        List<Path> modules = List.of(Path.of("a"), Path.of("b"), Path.of("c"), Path.of("d"));
+
+        List<ModuleResult> results = runner.runModules(modules, config, 3);
+
+        assertEquals(modules, results.stream().map(ModuleResult::moduleRoot).toList());
+        for (ModuleResult result : results) {
+            assertEquals(runner.run(result.moduleRoot(), config), result.issues());
+        }
+    }
+
+    @Test
+    void runModulesPropagatesModuleFailures() throws Exception {
+        Scanner scanner = (root, cfg) -> {
+            if (root.equals(Path.of("broken"))) {
+                throw new IllegalStateException("boom");
+            }
+            return new ScanContext(cfg, List.of(), Map.of());
+        };
+        JadifyRunner runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule()));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> runner.runModules(List.of(Path.of("ok"), Path.of("broken")), loadDefault(), 2));
+        assertEquals("boom", ex.getMessage());
+    }
+
+    /** The elements as public API, which the default config's rule selectors match. */
+    private static ElementTable publicApi(List<ElementRef> elements, Map<ElementRef, String> docComments,
+                                          TypeDeclaration... types) {
+        ElementTable.Builder table = new ElementTable.Builder();
+        for (ElementRef element : elements) {
+            table.add(element, docComments.get(element), ElementAttributes.of(element.kind(), PUBLIC, null), List.of());
+        }
+        for (TypeDeclaration type : types) {
+            table.addType(type);
+        }
+        return table.build();
+    }
+}
@@ -0,0 +1,82 @@
+package io.jadify.core.bench;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.scan.SourceDiscovery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+
+/**
+ * Manual benchmark of source discovery on a synthetic multi-module tree whose modules carry build outputs,
+ * {@code node_modules} and ignored directories next to deep package hierarchies. Compares a plain {@code Files.walk}
+ * with {@link SourceDiscovery}. Run with {@code java -cp <test-classpath> io.jadify.core.bench.DiscoveryBenchmark [modules]}.
+ */
+public final class DiscoveryBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int modules = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+
+        Path root = Files.createTempDirectory("jadify-discovery-bench");
+        Files.createDirectories(root.resolve(".git"));
+        Files.writeString(root.resolve(".gitignore"), "*.log\nout/\n");
+        for (int m = 0; m < modules; m++) {
+            generateModule(root.resolve("module" + m));
+        }
+        Config config = loadDefault();
+
+        measure("Files.walk", () -> walk(root));
+        measure("discovery", () -> new SourceDiscovery(root, config.scan().sources()).discover(root));
+    }
+
+    private static List<Path> walk(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile).filter(path -> path.toString().endsWith(".java")).sorted().toList();
+        }
+    }
+
+    private static void measure(String label, Callable<List<Path>> discovery) throws Exception {
+        int files = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            files = discovery.call().size();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            files = discovery.call().size();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-12s best of %d: %6d ms (%d files)%n", label, MEASURED_ROUNDS, best / 1_000_000, files);
+    }
+
+    /** A module with 5 levels of packages plus build output, node_modules and ignored trees of similar size. */
+    private static void generateModule(Path module) throws IOException {
+        Files.createDirectories(module);
+        Files.writeString(module.resolve("pom.xml"), "<project/>");
+        for (int a = 0; a < 4; a++) {
+            for (int b = 0; b < 4; b++) {
+                String pkg = "com/example/a%d/b%d/c".formatted(a, b);
+                for (int f = 0; f < 5; f++) {
+                    touch(module.resolve("src/main/java").resolve(pkg).resolve("Type" + f + ".java"));
+                    touch(module.resolve("target/generated-sources/annotations").resolve(pkg).resolve("Gen" + f + ".java"));
+                    touch(module.resolve("target/classes").resolve(pkg).resolve("Type" + f + ".class"));
+                    touch(module.resolve("out").resolve(pkg).resolve("Type" + f + ".java"));
+                    touch(module.resolve("node_modules/lib%d/dist/d%d/Type%d.js".formatted(a, b, f)));
+                }
+            }
+        }
+    }
+
+    private static void touch(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "");
+    }
+}
@@ -0,0 +1,121 @@
+package io.jadify.core.bench;
+
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Manual benchmark comparing {@link ElementTable} with the record representation ({@code List<ElementRef>} plus a
+ * {@code HashMap<ElementRef, String>} of doc comments): retained heap per 100k elements and the throughput of a
+ * presence-check pass over all elements. Run with
+ * {@code java -cp <test-classpath> io.jadify.core.bench.ElementTableBenchmark [elements]}.
+ */
+public final class ElementTableBenchmark {
+
+    private static final int MEMBERS_PER_TYPE = 20;
+    private static final int TYPES_PER_FILE = 2;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        Records records = measureHeap("records", count, () -> records(count));
+        ElementTable table = measureHeap("table", count, () -> table(count));
+
+        long missing = 0;
+        long recordsBest = Long.MAX_VALUE;
+        long tableBest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            missing += missingDocs(records);
+            recordsBest = Math.min(recordsBest, System.nanoTime() - start);
+            start = System.nanoTime();
+            missing += missingDocs(table);
+            tableBest = Math.min(tableBest, System.nanoTime() - start);
+        }
+        System.out.printf("records iteration: %8.1f M elements/s%n", count * 1e3 / recordsBest);
+        System.out.printf("table iteration:   %8.1f M elements/s%n", count * 1e3 / tableBest);
+        System.out.println("(checksum " + missing + ")");
+    }
+
+    private record Records(List<ElementRef> elements, Map<ElementRef, String> docComments) {}
+
+    private static long missingDocs(Records records) {
+        long missing = 0;
+        for (ElementRef element : records.elements()) {
+            String doc = records.docComments().get(element);
+            if (doc == null || doc.trim().isEmpty()) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+
+    private static long missingDocs(ElementTable table) {
+        long missing = 0;
+        for (int id = 0; id < table.size(); id++) {
+            String doc = table.docComment(id);
+            if (doc == null || doc.trim().isEmpty()) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+
+    private static Records records(int count) {
+        List<ElementRef> elements = new ArrayList<>();
+        Map<ElementRef, String> docComments = new HashMap<>();
+        generate(count, (ref, doc) -> {
+            elements.add(ref);
+            if (doc != null) {
+                docComments.put(ref, doc);
+            }
+        });
+        return new Records(elements, docComments);
+    }
+
+    private static ElementTable table(int count) {
+        ElementTable.Builder builder = new ElementTable.Builder();
+        generate(count, builder::add);
+        return builder.build();
+    }
+
+    /** Emits elements the way the scanners build them: fresh name strings, one source file string per file. */
+    private static void generate(int count, BiConsumer<ElementRef, String> sink) {
+        int emitted = 0;
+        for (int type = 0; emitted < count; type++) {
+            String pkg = "com.example.module" + (type % 40) + ".feature" + (type % 7);
+            String typeName = pkg + ".Type" + type;
+            String sourceFile = "src/main/java/" + pkg.replace('.', '/') + "/Type" + (type - type % TYPES_PER_FILE) + ".java";
+            sink.accept(new ElementRef(ElementKind.CLASS, typeName, typeName, sourceFile), "The type " + type + ".");
+            emitted++;
+            for (int m = 0; m < MEMBERS_PER_TYPE && emitted < count; m++, emitted++) {
+                String name = typeName + "#method" + m + "(java.util.List<String>, int)";
+                sink.accept(new ElementRef(ElementKind.METHOD, name, name, sourceFile), m % 3 == 0 ? null : "Method " + m + ".");
+            }
+        }
+    }
+
+    private static <T> T measureHeap(String label, int count, Supplier<T> factory) {
+        long before = usedHeap();
+        T value = factory.get();
+        long after = usedHeap();
+        System.out.printf("%-8s retained heap: %6.1f MB per 100k elements%n", label, (after - before) / 1e6 * 100_000 / count);
+        return value;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,125 @@
+package io.jadify.core.bench;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.jadify.core.config.Config;
+import io.jadify.core.scan.JavaSourceScanner;
+import io.jadify.core.scan.ScanContext;
+import io.jadify.core.scan.ScanOptions;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+
+/**
+ * Manual benchmark comparing full parses with declaration-only parses ({@link ScanOptions#declarationsOnly()}) on a
+ * real-world corpus, by default {@code java.base/java/util} of the running JDK's {@code lib/src.zip}. Reports the best
+ * scan time, the bytes allocated by a scan and the largest growth of the heap left after a GC during a scan, which is
+ * dominated by the syntax trees of the single javac task. Run with a small young generation so collections happen mid-scan, e.g.
+ * {@code java -Xmn16m -cp <test-classpath> io.jadify.core.bench.ParseModeBenchmark [src.zip] [prefix]}.
+ */
+public final class ParseModeBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        Path srcZip = args.length > 0 ? Path.of(args[0]) : Path.of(System.getProperty("java.home"), "lib", "src.zip");
+        String prefix = args.length > 1 ? args[1] : "java.base/java/util/";
+
+        Path projectRoot = Files.createTempDirectory("jadify-parse-bench");
+        int files = extract(srcZip, prefix, projectRoot.resolve("src/main/java"));
+        Config config = loadDefault();
+        System.out.printf("%d files under %s%s%n", files, srcZip, "!/" + prefix);
+
+        // One task for the whole corpus, so the trees of all files are alive at the same time.
+        ScanOptions options = ScanOptions.defaults().withBatchSize(Integer.MAX_VALUE);
+        JavaSourceScanner full = new JavaSourceScanner(options);
+        JavaSourceScanner declarations = new JavaSourceScanner(options.withDeclarationsOnly(true));
+        measure("full parse", full, projectRoot, config);
+        measure("declarations", declarations, projectRoot, config);
+
+        ScanContext expected = full.scan(projectRoot, config);
+        ScanContext actual = declarations.scan(projectRoot, config);
+        System.out.println("identical results: " + (expected.publicApiElements().equals(actual.publicApiElements())
+                && expected.docComments().equals(actual.docComments())));
+    }
+
+    private static void measure(String label, JavaSourceScanner scanner, Path projectRoot, Config config) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            scanner.scan(projectRoot, config);
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long best = Long.MAX_VALUE;
+        long allocated = 0;
+        long peak = 0;
+        int elements = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            System.gc();
+            long baseline = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            AtomicLong peakAfterGc = new AtomicLong(baseline);
+            Runnable stop = watchHeapAfterGc(peakAfterGc);
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            elements = scanner.scan(projectRoot, config).elements().size();
+            best = Math.min(best, System.nanoTime() - start);
+            allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            stop.run();
+            peak = Math.max(peak, peakAfterGc.get() - baseline);
+        }
+        System.out.printf("%-13s best %6d ms, %7.1f MB allocated, %6.1f MB peak live heap above baseline (%d elements)%n",
+                label, best / 1_000_000, allocated / 1e6, peak / 1e6, elements);
+    }
+
+    /** Records the largest heap usage right after any collection until the returned action runs. */
+    private static Runnable watchHeapAfterGc(AtomicLong peak) {
+        javax.management.NotificationListener listener = (notification, handback) -> {
+            if (notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                long used = info.getGcInfo().getMemoryUsageAfterGc().values().stream().mapToLong(MemoryUsage::getUsed).sum();
+                peak.accumulateAndGet(used, Math::max);
+            }
+        };
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+        }
+        return () -> {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                try {
+                    ((NotificationEmitter) gc).removeNotificationListener(listener);
+                } catch (javax.management.ListenerNotFoundException ignored) {
+                    // not registered on this collector
+                }
+            }
+        };
+    }
+
+    private static int extract(Path srcZip, String prefix, Path sourceRoot) throws IOException {
+        int count = 0;
+        try (FileSystem zip = FileSystems.newFileSystem(srcZip);
+             Stream<Path> paths = Files.walk(zip.getPath("/", prefix))) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.toString();
+                if (name.endsWith(".java") && !name.endsWith("module-info.java")) {
+                    Path target = sourceRoot.resolve(name.substring(name.indexOf('/', 1) + 1));
+                    Files.createDirectories(target.getParent());
+                    Files.copy(path, target);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private ParseModeBenchmark() {}
+}
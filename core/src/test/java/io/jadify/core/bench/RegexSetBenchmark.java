@@ -0,0 +1,109 @@
+package io.jadify.core.bench;
+
+import io.jadify.core.config.compile.RegexAutomaton;
+import io.jadify.core.config.compile.RegexSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Manual benchmark of {@link RegexSet#matches} against {@link RegexAutomaton#matches} on a set of exclusion and
+ * override patterns the size of a large organisation's config, matched against synthetic qualified names. Also times a
+ * pattern that backtracks catastrophically. Run with
+ * {@code java -cp <test-classpath> io.jadify.core.bench.RegexSetBenchmark [patterns] [names]}.
+ */
+public final class RegexSetBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int patternCount = args.length > 0 ? Integer.parseInt(args[0]) : 240;
+        int nameCount = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+        RegexSet set = RegexSet.fromIncludes(patterns(patternCount));
+        List<String> names = names(nameCount);
+        long start = System.nanoTime();
+        RegexAutomaton automaton = set.toAutomaton();
+        System.out.printf("%d patterns, %d compiled into the automaton in %d ms; %d names%n", patternCount,
+                automaton.compiledPatterns(), (System.nanoTime() - start) / 1_000_000, names.size());
+
+        int expected = measure("RegexSet", set::matches, names);
+        int actual = measure("automaton", automaton::matches, names);
+        System.out.println("identical results: " + (expected == actual && names.stream().allMatch(name -> set.matches(name) == automaton.matches(name))));
+
+        // "an Impl at least 8 packages deep", which backtracks polynomially in the depth of names that do not match
+        RegexSet catastrophic = RegexSet.fromIncludes(List.of("(.*\\.){8}\\w*Impl"));
+        String name = "com.acme" + ".a".repeat(30) + ".Foo";
+        start = System.nanoTime();
+        boolean backtracked = catastrophic.matches(name);
+        long backtracking = System.nanoTime() - start;
+        start = System.nanoTime();
+        boolean linear = catastrophic.toAutomaton().matches(name);
+        System.out.printf("(.*\\.){8}\\w*Impl on a %d-char name: RegexSet %d ms, automaton %.2f ms (both %s)%n", name.length(),
+                backtracking / 1_000_000, (System.nanoTime() - start) / 1e6, backtracked == linear ? backtracked : "DIFFER");
+    }
+
+    private static int measure(String label, Predicate<String> matcher, List<String> names) {
+        int matched = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            matched = count(matcher, names);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            matched = count(matcher, names);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-10s best of %d: %6d ms, %5.0f ns/name (%d matched)%n", label, MEASURED_ROUNDS,
+                best / 1_000_000, (double) best / names.size(), matched);
+        return matched;
+    }
+
+    private static int count(Predicate<String> matcher, List<String> names) {
+        int matched = 0;
+        for (String name : names) {
+            if (matcher.test(name)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    /** Package exclusions, generated-code and test suffixes, and selector-style patterns per team. */
+    private static List<String> patterns(int count) {
+        List<String> patterns = new ArrayList<>(List.of(
+                "^.*\\.(generated|gen)(\\..*)?$", "^.*\\.(internal|impl)(\\..*)?$", "^.*\\.(test|tests)(\\..*)?$",
+                ".*Test$", ".*IT$", ".*ITCase$", "^(javax|jakarta)\\.annotation\\.Generated$", "^lombok\\.Generated$"));
+        for (int i = 0; patterns.size() < count; i++) {
+            patterns.add(switch (i % 4) {
+                case 0 -> "com\\.acme\\.team%d\\.(internal|spi)\\..*".formatted(i);
+                case 1 -> ".*\\.Team%d[A-Z]\\w*(Factory|Builder)".formatted(i);
+                case 2 -> "org\\.vendor%d(\\.[a-z]+)*\\.[A-Z]\\w*Impl".formatted(i);
+                default -> "com\\.acme\\.team%d\\.[a-z]+\\.[A-Z]\\w*#(get|set|is)[A-Z]\\w*\\(.*\\)".formatted(i);
+            });
+        }
+        return patterns;
+    }
+
+    private static List<String> names(int count) {
+        Random random = new Random(1);
+        String[] types = {"Service", "Team12Factory", "FooTest", "OrderIT", "Handler", "Team40Builder", "ClientImpl"};
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String pkg = switch (random.nextInt(4)) {
+                case 0 -> "com.acme.team" + random.nextInt(300) + (random.nextBoolean() ? ".internal" : ".api");
+                case 1 -> "org.vendor" + random.nextInt(300) + ".core.util";
+                case 2 -> "com.example.generated.model";
+                default -> "io.jadify.core.scan";
+            };
+            String name = pkg + "." + types[random.nextInt(types.length)];
+            names.add(random.nextInt(3) == 0 ? name + "#getValue" + random.nextInt(10) + "(int)" : name);
+        }
+        return names;
+    }
+
+    private RegexSetBenchmark() {}
+}
@@ -0,0 +1,92 @@
+package io.jadify.core.bench;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.scan.DeclarationScanner;
+import io.jadify.core.scan.JavaSourceScanner;
+import io.jadify.core.scan.ScanContext;
+import io.jadify.core.scan.ScanOptions;
+import io.jadify.core.scan.Scanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+
+/**
+ * Manual benchmark comparing the scan paths (sequential, parallel, warm cache, javac-free) on a synthetic corpus.
+ * Run with {@code java -cp <test-classpath> io.jadify.core.bench.ScanBenchmark [files] [threads]}.
+ */
+public final class ScanBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 4_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+
+        Path projectRoot = Files.createTempDirectory("jadify-bench");
+        Corpus.generate(projectRoot.resolve("src/main/java"), files);
+        Config config = loadDefault();
+
+        measure("sequential", new JavaSourceScanner(), projectRoot, config);
+        measure("parallel(" + ScanOptions.defaults().withThreads(threads).threads() + ")",
+                new JavaSourceScanner(ScanOptions.defaults().withThreads(threads)), projectRoot, config);
+        measure("cached (warm)", new JavaSourceScanner(ScanOptions.defaults().withCacheDir(ScanOptions.DEFAULT_CACHE_DIR)), projectRoot, config);
+        measure("declaration", new DeclarationScanner(), projectRoot, config);
+    }
+
+    private static void measure(String label, Scanner scanner, Path projectRoot, Config config) {
+        int elements = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            elements = scanner.scan(projectRoot, config).publicApiElements().size();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            ScanContext ctx = scanner.scan(projectRoot, config);
+            best = Math.min(best, System.nanoTime() - start);
+            elements = ctx.publicApiElements().size();
+        }
+        System.out.printf("%-14s best of %d: %6d ms (%d elements)%n", label, MEASURED_ROUNDS, best / 1_000_000, elements);
+    }
+
+    /** Writes a deterministic corpus of documented and undocumented types with varying sizes. */
+    static final class Corpus {
+
+        static void generate(Path sourceRoot, int files) throws IOException {
+            for (int i = 0; i < files; i++) {
+                String pkg = "com.example.p" + (i % 50);
+                Path dir = sourceRoot.resolve(pkg.replace('.', '/'));
+                Files.createDirectories(dir);
+                Files.writeString(dir.resolve("Type" + i + ".java"), source(pkg, "Type" + i, 5 + (i * 31) % 60));
+            }
+        }
+
+        static String source(String pkg, String type, int methods) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("package ").append(pkg).append(";\n\n")
+                    .append("import java.util.List;\n\n")
+                    .append("/** The ").append(type).append(" type. */\n")
+                    .append("public class ").append(type).append(" {\n");
+            for (int m = 0; m < methods; m++) {
+                if (m % 3 != 0) {
+                    sb.append("    /**\n     * Method ").append(m).append(".\n     * @param values the values\n     */\n");
+                }
+                sb.append("    public int method").append(m).append("(List<String> values, int limit) {\n")
+                        .append("        int total = 0;\n")
+                        .append("        for (String value : values) {\n")
+                        .append("            if (value.length() > limit) { total += value.hashCode(); }\n")
+                        .append("        }\n")
+                        .append("        return total;\n")
+                        .append("    }\n\n");
+            }
+            return sb.append("}\n").toString();
+        }
+
+        private Corpus() {}
+    }
+
+    private ScanBenchmark() {}
+}
@@ -0,0 +1,121 @@
+package io.jadify.core.bench;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.CompiledConfig.CompiledSelector;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.config.compile.RegexSet;
+import io.jadify.core.config.compile.SelectorMatcher;
+import io.jadify.core.config.compile.SelectorMatcher.SelectorInput;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static io.jadify.core.config.Config.AccessorKind.*;
+import static io.jadify.core.config.Config.Visibility.*;
+
+/**
+ * Manual benchmark of selector evaluation: {@link SelectorMatcher#matches(CompiledSelector, SelectorInput)} on inputs
+ * built up front, against {@link SelectorMatcher#matches(CompiledSelector, ElementTable, int)} on packed attributes.
+ * The selectors are those of the default config's severity overrides and rules plus one with a name pattern. Run with
+ * {@code java -cp <test-classpath> io.jadify.core.bench.SelectorBenchmark [elements]}.
+ */
+public final class SelectorBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        List<CompiledSelector> selectors = List.of(
+                selector(List.of(Config.Target.METHOD), List.of(), List.of(GETTER, SETTER, BOOLEAN_GETTER), null),
+                selector(List.of(Config.Target.CONSTRUCTOR), List.of(PACKAGE), List.of(), null),
+                selector(List.of(Config.Target.TYPE, Config.Target.METHOD, Config.Target.CONSTRUCTOR), List.of(PUBLIC, PROTECTED), List.of(), null),
+                selector(List.of(Config.Target.METHOD, Config.Target.CONSTRUCTOR), List.of(PUBLIC, PROTECTED), List.of(), null),
+                selector(List.of(Config.Target.TYPE), List.of(PUBLIC), List.of(), RegexSet.fromIncludes(List.of(".*Builder$", ".*Exception$"))));
+
+        ElementTable.Builder builder = new ElementTable.Builder();
+        List<SelectorInput> inputs = new ArrayList<>(count);
+        Random random = new Random(1);
+        Config.Visibility[] visibilities = Config.Visibility.values();
+        for (int i = 0; i < count; i++) {
+            ElementKind kind = switch (random.nextInt(4)) {
+                case 0 -> ElementKind.CLASS;
+                case 1 -> ElementKind.CONSTRUCTOR;
+                default -> ElementKind.METHOD;
+            };
+            Config.Visibility visibility = visibilities[random.nextInt(visibilities.length)];
+            String type = "com.acme.team" + (i % 50) + ".Type" + (i % 997) + (i % 7 == 0 ? "Builder" : "");
+            String member = kind == ElementKind.METHOD ? (random.nextBoolean() ? "getValue" : "run") : "Type";
+            Config.AccessorKind accessor = member.equals("getValue") ? GETTER : null;
+            String name = kind == ElementKind.CLASS ? type : type + "#" + member + "()";
+            builder.add(new ElementRef(kind, name, name, "Type.java"), null, ElementAttributes.of(kind, visibility, accessor), List.of());
+            Config.Target target = kind == ElementKind.CLASS ? Config.Target.TYPE
+                    : kind == ElementKind.METHOD ? Config.Target.METHOD : Config.Target.CONSTRUCTOR;
+            Set<Config.MemberKind> memberKinds = kind == ElementKind.CLASS ? Set.of()
+                    : Set.of(kind == ElementKind.METHOD ? Config.MemberKind.METHOD : Config.MemberKind.CONSTRUCTOR);
+            String simpleName = kind == ElementKind.CLASS ? type.substring(type.lastIndexOf('.') + 1) : member;
+            inputs.add(new SelectorInput(Set.of(target), visibility, memberKinds, accessor == null ? Set.of() : Set.of(accessor),
+                    "com.acme.team" + (i % 50), name, simpleName, simpleName, null));
+        }
+        ElementTable table = builder.build();
+
+        compare("enum constraints only", selectors.subList(0, 4), inputs, table);
+        compare("with a name pattern", selectors, inputs, table);
+    }
+
+    private static void compare(String label, List<CompiledSelector> selectors, List<SelectorInput> inputs, ElementTable table) {
+        System.out.println(label + ":");
+        SelectorMatcher matcher = new SelectorMatcher();
+        long expected = measure("SelectorInput", inputs.size(), () -> {
+            long matched = 0;
+            for (SelectorInput input : inputs) {
+                for (CompiledSelector selector : selectors) {
+                    matched += matcher.matches(selector, input) ? 1 : 0;
+                }
+            }
+            return matched;
+        });
+        long actual = measure("attributes", table.size(), () -> {
+            long matched = 0;
+            for (int id = 0; id < table.size(); id++) {
+                for (CompiledSelector selector : selectors) {
+                    matched += matcher.matches(selector, table, id) ? 1 : 0;
+                }
+            }
+            return matched;
+        });
+        System.out.println("identical results: " + (expected == actual));
+    }
+
+    private interface Pass {
+        long run();
+    }
+
+    private static long measure(String label, int count, Pass pass) {
+        long matched = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            matched = pass.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            matched = pass.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("  %-13s best of %d: %5d ms, %5.1f ns/element (%d matches)%n", label, MEASURED_ROUNDS,
+                best / 1_000_000, (double) best / count, matched);
+        return matched;
+    }
+
+    private static CompiledSelector selector(List<Config.Target> targets, List<Config.Visibility> visibility,
+                                             List<Config.AccessorKind> accessorKinds, RegexSet simpleNamePatterns) {
+        return new CompiledSelector(targets, visibility, List.of(), accessorKinds, null, null, simpleNamePatterns, null, null);
+    }
+
+    private SelectorBenchmark() {}
+}
@@ -0,0 +1,74 @@
+package io.jadify.core.bench;
+
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.rules.JavadocSummaryRule;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Manual benchmark of {@link JavadocSummaryRule} over conforming doc comments with inline tags, HTML and block tags,
+ * reporting time and bytes allocated by the measuring thread per element; the rule should allocate nothing for
+ * elements it has no issue with. Run with {@code java -cp <test-classpath> io.jadify.core.bench.SummaryBenchmark [elements]}.
+ */
+public final class SummaryBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final String[] DOCS = {
+            "Returns the value.",
+            "Parses the {@code input} into a {@link java.util.List} of tokens. Whitespace is dropped.\n"
+                    + "@param input the text\n@return the tokens",
+            "Creates a <b>new</b> builder for the A&amp;B format.\n<p>\nThe builder is not thread safe.",
+            "{@return the number of elements in this table}",
+            "Opens the stream; calls {@code Files.newInputStream(path)} and wraps it.\n<ul>\n<li>first.</li>\n</ul>",
+    };
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        List<ElementRef> refs = new ArrayList<>(count);
+        Map<ElementRef, String> comments = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = "com.acme.Type" + (i % 997) + "#method" + i + "()";
+            ElementRef ref = new ElementRef(ElementKind.METHOD, name, name, "Type.java");
+            refs.add(ref);
+            comments.put(ref, DOCS[i % DOCS.length]);
+        }
+        ElementTable table = ElementTable.of(refs, comments);
+        JavadocSummaryRule rule = new JavadocSummaryRule();
+        long[] issues = new long[1];
+        Consumer<Issue> sink = issue -> issues[0]++;
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            evaluate(rule, table, sink);
+        }
+        long best = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            evaluate(rule, table, sink);
+            best = Math.min(best, System.nanoTime() - start);
+            allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - bytes);
+        }
+        System.out.printf("javadoc.summary best of %d: %5d ms, %5.1f ns/element, %5.2f B/element (%d issues)%n",
+                MEASURED_ROUNDS, best / 1_000_000, (double) best / count, (double) allocated / count, issues[0]);
+    }
+
+    private static void evaluate(JavadocSummaryRule rule, ElementTable table, Consumer<Issue> sink) {
+        for (int id = 0; id < table.size(); id++) {
+            rule.evaluate(table, id, sink);
+        }
+    }
+
+    private SummaryBenchmark() {}
+}
@@ -38,6 +38,7 @@ class ConfigLoaderTest {
         assertEquals("src/main/java", config.projectRoot());
         assertEquals(ERROR, config.failOn().severity());
         assertFalse(config.scan().types().include().annotations());
+        assertFalse(config.rules().stream().filter(r -> r.id().equals("javadoc.summary")).findFirst().orElseThrow().enabled());
     }
 
     @Test
@@ -68,7 +68,8 @@ class ConfigCompilerTest {
                                 new NameFilter(List.of("member.*"), List.of("ignore.*")),
                                 new AnnotationFilter(List.of("com.example.MemberAnno"), List.of("com.example.IgnoreMemberAnno")),
                                 true
-                        )
+                        ),
+                        new Config.Sources(List.of(), true)
                 ),
                 new Defaults(
                         new SeverityProfile(
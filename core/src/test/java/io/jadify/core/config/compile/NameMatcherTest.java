@@ -0,0 +1,94 @@
+package io.jadify.core.config.compile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.jadify.core.config.compile.RegexSet.fromExcludes;
+import static io.jadify.core.config.compile.RegexSet.fromIncludes;
+import static java.util.List.of;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameMatcherTest {
+
+    @Test
+    void fastPathsAgreeWithRegexes() {
+        List<String> patterns = of("Override", "com\\.example\\..*", "java\\.lang\\.Deprecated", ".*", "a\\.*", "Foo\\$Bar",
+                "[A-Z].*", "com\\.example", "\\QFoo\\E", "x.y", "(?i)override", "^lombok\\.Generated$", ".*Test$", ".*IT",
+                "a\\$", "foo\\\\$", "^", "^(javax|jakarta)\\.annotation\\.Generated$");
+        List<String> names = of("Override", "override", "com.example", "com.example.api", "com.example.\nx", "com.examples",
+                "java.lang.Deprecated", "a", "a..", "ab", "Foo$Bar", "FooxBar", "Foo", "x.y", "xzy", "", "a\u2028", "lombok.Generated",
+                "FooTest", "Foo\nTest", "FooIT", "a$", "foo\\", "javax.annotation.Generated");
+
+        for (String pattern : patterns) {
+            RegexSet set = fromIncludes(of(pattern));
+            NameMatcher matcher = new NameMatching().matcher(set);
+            for (String name : names) {
+                assertEquals(set.matches(name), matcher.matches(name), () -> pattern + " ~ " + name);
+            }
+        }
+        assertEquals("Foo$Bar", NameMatcher.literal("Foo\\$Bar"));
+        assertNull(NameMatcher.literal("\\QFoo\\E"));
+        assertEquals("lombok\\.Generated", NameMatcher.withoutAnchors("^lombok\\.Generated$"));
+        assertEquals("a\\$", NameMatcher.withoutAnchors("a\\$"));
+    }
+
+    @Test
+    void memoizesVerdictsAndCountsLookups() {
+        NameMatching matching = new NameMatching();
+        NameMatcher matcher = matching.matcher(new RegexFilter(fromIncludes(of("com\\..*", "Over[r]ide")), fromExcludes(of("com\\.internal\\..*"))));
+
+        assertTrue(matcher.matches("com.example"));
+        assertTrue(matcher.matches("com.example"));
+        assertFalse(matcher.matches("com.internal.Foo"));
+        assertTrue(matcher.matches("Override"));
+        assertTrue(matcher.matches("Override"));
+
+        NameMatching.Stats stats = matching.stats();
+        assertEquals(5, stats.lookups());
+        assertEquals(2, stats.cacheHits());
+        assertEquals(0.4, stats.hitRate());
+        assertEquals(1, stats.regexEvaluations());
+    }
+
+    @Test
+    void fullCacheStartsOver() {
+        NameMatching matching = new NameMatching(2);
+        NameMatcher matcher = matching.matcher(fromIncludes(of("[a-z]+")));
+
+        for (String name : of("a", "b", "a", "c", "d", "d")) {
+            assertTrue(matcher.matches(name));
+        }
+        assertEquals(2, matching.stats().cacheHits());
+        assertEquals(4, matching.stats().regexEvaluations());
+    }
+
+    @Test
+    void resetStartsANewRun() {
+        NameMatching matching = new NameMatching(1);
+        NameMatcher matcher = matching.matcher(fromIncludes(of("[a-z]+")));
+        matcher.matches("a");
+        matcher.matches("a");
+
+        matching.reset();
+        assertEquals(new NameMatching.Stats(0, 0, 0), matching.stats());
+        matcher.matches("b");
+        matcher.matches("b");
+
+        assertEquals(1, matching.stats().cacheHits());
+        assertEquals(1, matching.stats().regexEvaluations());
+    }
+
+    @Test
+    void matchesAnyAppliesFilterToAnnotationLists() {
+        NameMatching matching = new NameMatching();
+        NameMatcher included = matching.matcher(new RegexFilter(fromIncludes(of("Api")), fromExcludes(of("Internal"))));
+        NameMatcher unrestricted = matching.matcher(new RegexFilter(null, fromExcludes(of("Internal"))));
+
+        assertTrue(included.matchesAny(of("Override", "Api")));
+        assertFalse(included.matchesAny(of("Api", "Internal")));
+        assertFalse(included.matchesAny(of()));
+        assertTrue(unrestricted.matchesAny(of()));
+        assertFalse(unrestricted.matchesAny(of("Internal")));
+    }
+}
@@ -0,0 +1,98 @@
+package io.jadify.core.config.compile;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegexAutomatonTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "^.*\\.(generated|gen)(\\..*)?$", "^.*\\.(internal|impl)(\\..*)?$", ".*Test$", ".*IT", "[A-Z][a-zA-Z0-9_$]*",
+            "com\\.example\\.[a-z]+", "(?:ab|a)*b?", "a{2,3}", "x{2,}y", "[^.]+", "\\w+\\.\\d{1,2}", "\\s*", "\\Q.*\\E",
+            "foo|bar|", "[-a]+", "[a-]+", "\\u0041\\x42", "a.c", "(a*)*c", "\\$\\{.+\\}?");
+
+    private static final String ALPHABET = "abcxyAT.$-_1 \n{}";
+
+    /** Not in the subset, so matched by java.util.regex. */
+    private static final List<String> FALLBACK = List.of("(a)\\1", "(?i)foo", "a(?=b)b", "\\bab", "a++", "\\p{Lu}+");
+
+    @Test
+    void agreesWithJavaRegexOnEveryPattern() {
+        List<String> inputs = new ArrayList<>(List.of("", "a", "ab", "aab", "aaa", "aaaa", "xxy", "xy", "c", "ac", "abc", "a\nc",
+                "foo", "bar", "com.example.api", "com.example.Api", "com.acme.internal.Foo", "com.gen", "org.generated.x",
+                "FooTest", "FooIT", "Foo$Bar", "word.12", "word.123", " \t", ".*", "-a-", "AB", "${x}", "a\u2028c",
+                "\uD83D\uDE00", "a\uD83D\uDE00c", "Foo\u00E9"));
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder input = new StringBuilder();
+            for (int n = random.nextInt(8); n > 0; n--) {
+                input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            inputs.add(input.toString());
+        }
+
+        for (String regex : concat(PATTERNS, FALLBACK)) {
+            Pattern pattern = Pattern.compile(regex);
+            RegexAutomaton automaton = RegexAutomaton.compile(List.of(pattern));
+            assertEquals(PATTERNS.contains(regex) ? 1 : 0, automaton.compiledPatterns(), regex);
+            for (String input : inputs) {
+                assertEquals(pattern.matcher(input).matches(), automaton.matches(input), () -> regex + " ~ " + input);
+            }
+        }
+    }
+
+    @Test
+    void reportsTheFirstMatchingPatternAcrossAutomatonAndFallback() {
+        List<Pattern> patterns = Stream.of("(?i)FOO.*", "foo", "f.*", "(a)\\1", "a+").map(Pattern::compile).toList();
+        RegexAutomaton automaton = RegexAutomaton.compile(patterns);
+
+        assertEquals(3, automaton.compiledPatterns());
+        assertEquals(0, automaton.firstMatch("foobar"));
+        assertEquals(0, automaton.firstMatch("foo"));
+        assertEquals(2, automaton.firstMatch("fx"));
+        assertEquals(3, automaton.firstMatch("aa"));
+        assertEquals(4, automaton.firstMatch("aaa"));
+        assertEquals(-1, automaton.firstMatch("b"));
+        assertEquals(0, RegexAutomaton.compile(patterns.subList(1, 3)).firstMatch("foo"));
+    }
+
+    @Test
+    void matchesCatastrophicPatternsInLinearTime() {
+        RegexAutomaton automaton = RegexAutomaton.compile(List.of(Pattern.compile("(a+)+b"), Pattern.compile("(a|aa)*c")));
+        String input = "a".repeat(10_000) + "x";
+
+        assertEquals(2, automaton.compiledPatterns());
+        assertFalse(assertTimeoutPreemptively(Duration.ofSeconds(5), () -> automaton.matches(input)));
+        assertTrue(automaton.matches("a".repeat(10_000) + "b"));
+    }
+
+    @Test
+    void boundsTheDfaCache() {
+        // (a|b)*a(a|b){12} needs a DFA state per suffix of 13 letters.
+        RegexAutomaton automaton = RegexAutomaton.compile(List.of(Pattern.compile("[ab]*a[ab]{12}")));
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder input = new StringBuilder();
+            for (int n = 0; n < 200; n++) {
+                input.append(random.nextBoolean() ? 'a' : 'b');
+            }
+            automaton.matches(input);
+            assertTrue(automaton.cachedDfaStates() <= RegexAutomaton.MAX_DFA_STATES + 1);
+        }
+        assertTrue(automaton.matches("a" + "b".repeat(12)));
+        assertFalse(automaton.matches("b".repeat(13)));
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+}
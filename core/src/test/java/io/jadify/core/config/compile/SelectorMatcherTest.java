@@ -1,18 +1,28 @@
 package io.jadify.core.config.compile;
 
+import io.jadify.core.config.Config;
 import io.jadify.core.config.compile.CompiledConfig.CompiledSelector;
 import io.jadify.core.config.compile.SelectorMatcher.SelectorInput;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 import static io.jadify.core.config.Config.AccessorKind.GETTER;
+import static io.jadify.core.config.Config.AccessorKind.SETTER;
 import static io.jadify.core.config.Config.MemberKind.METHOD;
 import static io.jadify.core.config.Config.Target.TYPE;
 import static io.jadify.core.config.Config.Visibility.PRIVATE;
+import static io.jadify.core.config.Config.Visibility.PROTECTED;
 import static io.jadify.core.config.Config.Visibility.PUBLIC;
 import static io.jadify.core.config.compile.RegexSet.fromIncludes;
 import static java.util.List.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -64,6 +74,88 @@ class SelectorMatcherTest {
         );
     }
 
+    @Test
+    void attributeMasksAgreeWithEnumLookups() {
+        List<CompiledSelector> selectors = List.of(
+                selector(of(), of(), of(), of()),
+                selector(of(TYPE), of(PUBLIC), of(), of()),
+                selector(of(Config.Target.METHOD, Config.Target.CONSTRUCTOR), of(PUBLIC, PROTECTED), of(), of()),
+                selector(of(), of(), of(METHOD), of(GETTER, SETTER)),
+                selector(of(), of(PRIVATE), of(Config.MemberKind.CONSTRUCTOR), of()),
+                selector(of(TYPE), of(), of(METHOD), of()));
+        List<Config.Visibility> visibilities = new ArrayList<>(Arrays.asList(Config.Visibility.values()));
+        visibilities.add(null);
+        List<Config.AccessorKind> accessorKinds = new ArrayList<>(Arrays.asList(Config.AccessorKind.values()));
+        accessorKinds.add(null);
+
+        for (ElementKind kind : ElementKind.values()) {
+            for (Config.Visibility visibility : visibilities) {
+                for (Config.AccessorKind accessorKind : accessorKinds) {
+                    ElementTable.Builder table = new ElementTable.Builder();
+                    table.add(new ElementRef(kind, "com.example.Foo", "com.example.Foo", "Foo.java"), null,
+                            ElementAttributes.of(kind, visibility, accessorKind), of());
+                    Config.Target target = kind == ElementKind.METHOD ? Config.Target.METHOD
+                            : kind == ElementKind.CONSTRUCTOR ? Config.Target.CONSTRUCTOR : TYPE;
+                    Set<Config.MemberKind> memberKinds = kind == ElementKind.METHOD ? Set.of(METHOD)
+                            : kind == ElementKind.CONSTRUCTOR ? Set.of(Config.MemberKind.CONSTRUCTOR) : Set.of();
+                    SelectorInput input = new SelectorInput(Set.of(target), visibility, memberKinds,
+                            accessorKind == null ? Set.of() : Set.of(accessorKind), "com.example", "com.example.Foo", "Foo",
+                            "Foo", null);
+                    for (CompiledSelector selector : selectors) {
+                        assertEquals(matcher.matches(selector, input), matcher.matches(selector, table.build(), 0),
+                                () -> selector + " on " + input);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesTableElementsByNameAndAnnotation() {
+        ElementTable.Builder builder = new ElementTable.Builder();
+        builder.add(new ElementRef(ElementKind.METHOD, "com.example.Foo.Bar#getValue(int)", "com.example.Foo.Bar#getValue(int)",
+                "Foo.java"), null, ElementAttributes.of(ElementKind.METHOD, PUBLIC, null), of("Deprecated"));
+        ElementTable table = builder.build();
+
+        assertTrue(matcher.matches(new CompiledSelector(of(), of(PUBLIC), of(), of(), fromIncludes(of("com\\.example")),
+                fromIncludes(of(".*Bar#getValue.*")), fromIncludes(of("getValue")), fromIncludes(of("getValue\\(int\\)")),
+                new RegexFilter(fromIncludes(of("Deprecated")), RegexSet.fromExcludes(of()))), table, 0));
+        assertFalse(matcher.matches(new CompiledSelector(of(), of(), of(), of(), fromIncludes(of("com\\.example\\.Foo")),
+                null, null, null, null), table, 0));
+        assertFalse(matcher.matches(new CompiledSelector(of(), of(), of(), of(), null, null, null, null,
+                new RegexFilter(fromIncludes(of("Override")), RegexSet.fromExcludes(of()))), table, 0));
+    }
+
+    @Test
+    void matchesThePackageRecordedForTableElements() {
+        ElementTable.Builder builder = new ElementTable.Builder();
+        builder.add(new ElementRef(ElementKind.METHOD, "com.Vendor.api.Client#run()", "com.Vendor.api.Client#run()",
+                "Client.java"), null, ElementAttributes.of(ElementKind.METHOD, PUBLIC, null), of(), null, "com.Vendor.api");
+        builder.add(new ElementRef(ElementKind.CLASS, "com.example.legacy", "com.example.legacy", "legacy.java"),
+                null, ElementAttributes.of(ElementKind.CLASS, PUBLIC, null), of(), null, "com.example");
+        builder.add(new ElementRef(ElementKind.CLASS, "Main", "Main", "Main.java"),
+                null, ElementAttributes.of(ElementKind.CLASS, PUBLIC, null), of(), null, "");
+        ElementTable table = builder.build();
+
+        assertTrue(matcher.matches(packages("com\\.Vendor\\.api"), table, 0));
+        assertFalse(matcher.matches(packages("com"), table, 0));
+        assertTrue(matcher.matches(packages("com\\.example"), table, 1));
+        assertFalse(matcher.matches(packages("com\\.example\\.legacy"), table, 1));
+        assertTrue(matcher.matches(packages(""), table, 2));
+    }
+
+    private static CompiledSelector packages(String pattern) {
+        return new CompiledSelector(of(), of(), of(), of(), fromIncludes(of(pattern)), null, null, null, null);
+    }
+
+    @Test
+    void derivesPackagesByJavaNamingConvention() {
+        assertEquals("com.example", SelectorMatcher.packageName("com.example.Foo.Builder"));
+        assertEquals("com.example", SelectorMatcher.packageName("com.example.Foo"));
+        assertEquals("", SelectorMatcher.packageName("Foo"));
+        assertEquals("com", SelectorMatcher.packageName("com.example"));
+    }
+
     @Test
     void matchesReturnsFalseOnMismatchedEnumOrPattern() {
         CompiledSelector selector = new CompiledSelector(
@@ -107,4 +199,9 @@ class SelectorMatcherTest {
                 ))
         );
     }
+
+    private static CompiledSelector selector(List<Config.Target> targets, List<Config.Visibility> visibility,
+                                             List<Config.MemberKind> memberKinds, List<Config.AccessorKind> accessorKinds) {
+        return new CompiledSelector(targets, visibility, memberKinds, accessorKinds, null, null, null, null, null);
+    }
 }
@@ -0,0 +1,162 @@
+package io.jadify.core.config.compile;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.CompiledConfig.CompiledAnnotationPolicy;
+import io.jadify.core.config.compile.CompiledConfig.CompiledDefaults;
+import io.jadify.core.config.compile.CompiledConfig.CompiledRule;
+import io.jadify.core.config.compile.CompiledConfig.CompiledSelector;
+import io.jadify.core.config.compile.CompiledConfig.CompiledSeverityOverride;
+import io.jadify.core.config.compile.CompiledConfig.CompiledSeverityProfile;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static io.jadify.core.config.Config.AccessorKind.GETTER;
+import static io.jadify.core.config.Config.Visibility.PACKAGE;
+import static io.jadify.core.config.Config.Visibility.PROTECTED;
+import static io.jadify.core.config.Config.Visibility.PUBLIC;
+import static io.jadify.core.config.compile.RegexSet.fromIncludes;
+import static io.jadify.core.model.Severity.ERROR;
+import static io.jadify.core.model.Severity.INFO;
+import static io.jadify.core.model.Severity.OFF;
+import static io.jadify.core.model.Severity.WARN;
+import static java.util.List.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeverityResolverTest {
+
+    private static final Map<Config.Visibility, Severity> BY_VISIBILITY = Map.of(PUBLIC, ERROR, PROTECTED, WARN, PACKAGE, INFO);
+
+    @Test
+    void foldsVisibilityDefaultsAndAttributeOnlyOverrides() {
+        SeverityResolver resolver = resolver(List.of(
+                override(selector(of(Config.Target.METHOD), of(), of(GETTER)), INFO),
+                override(selector(of(Config.Target.CONSTRUCTOR), of(PACKAGE), of()), WARN)), List.of(), List.of());
+        ElementTable elements = table(
+                element(ElementKind.METHOD, "com.example.Foo#run()", PUBLIC, null),
+                element(ElementKind.METHOD, "com.example.Foo#stop()", PROTECTED, null),
+                element(ElementKind.METHOD, "com.example.Foo#getBar()", PUBLIC, GETTER),
+                element(ElementKind.CONSTRUCTOR, "com.example.Foo#Foo()", PACKAGE, null),
+                element(ElementKind.CLASS, "com.example.Bar", null, null));
+
+        assertEquals(List.of(ERROR, WARN, INFO, WARN, INFO), resolveAll(resolver, 0, Severity.INFO, elements));
+        assertEquals(ERROR, resolver.resolve(0, ERROR, elements, 4));
+    }
+
+    @Test
+    void lastMatchingOverrideWinsIncludingPatternOverrides() {
+        SeverityResolver resolver = resolver(List.of(
+                override(new CompiledSelector(of(Config.Target.TYPE), of(), of(), of(), null, null,
+                        fromIncludes(of(".*Builder")), null, null), INFO),
+                override(selector(of(Config.Target.TYPE), of(PUBLIC), of()), WARN),
+                override(new CompiledSelector(of(), of(), of(), of(), null, fromIncludes(of("com\\.internal\\..*")),
+                        null, null, null), OFF),
+                override(new CompiledSelector(of(), of(), of(), of(), null, null, null, null,
+                        new RegexFilter(fromIncludes(of("Beta")), null)), INFO)), List.of(), List.of());
+        ElementTable elements = table(
+                element(ElementKind.CLASS, "com.example.FooBuilder", PUBLIC, null),
+                element(ElementKind.CLASS, "com.example.FooBuilder", PROTECTED, null),
+                element(ElementKind.CLASS, "com.internal.Foo", PUBLIC, null),
+                element(ElementKind.METHOD, "com.example.Foo#run()", PUBLIC, null, "Beta"),
+                element(ElementKind.METHOD, "com.example.Foo#run()", PUBLIC, null));
+
+        assertEquals(List.of(WARN, INFO, OFF, INFO, ERROR), resolveAll(resolver, 0, ERROR, elements));
+    }
+
+    @Test
+    void ruleSeverityWinsOverDefaults() {
+        SeverityResolver resolver = resolver(List.of(override(null, INFO)), List.of(),
+                List.of(new CompiledRule("strict", true, WARN, null, null)));
+        ElementTable elements = table(element(ElementKind.METHOD, "com.example.Foo#run()", PUBLIC, null));
+
+        assertEquals(WARN, resolver.resolve(0, ERROR, elements, 0));
+        assertEquals(INFO, resolver.resolve(1, ERROR, elements, 0));
+    }
+
+    @Test
+    void ruleDefaultsRankBetweenOverridesAndVisibility() {
+        CompiledConfig config = new CompiledConfig("src/main/java", null, new CompiledDefaults(new CompiledSeverityProfile(
+                BY_VISIBILITY, List.of(override(selector(of(Config.Target.METHOD), of(), of(GETTER)), INFO))), List.of()),
+                List.of(), null);
+        SeverityResolver resolver = SeverityResolver.compile(config, List.of("strict", "loose"), Arrays.asList(WARN, null),
+                new SelectorMatcher());
+        ElementTable elements = table(
+                element(ElementKind.METHOD, "com.example.Foo#run()", PUBLIC, null),
+                element(ElementKind.METHOD, "com.example.Foo#getBar()", PUBLIC, GETTER));
+
+        assertEquals(List.of(WARN, INFO), resolveAll(resolver, 0, ERROR, elements));
+        assertEquals(List.of(ERROR, INFO), resolveAll(resolver, 1, WARN, elements));
+    }
+
+    @Test
+    void appliesAnnotationPoliciesForTheirTargetsInOrder() {
+        SeverityResolver resolver = resolver(List.of(), List.of(
+                policy("Generated", of(), Config.Effect.SUPPRESS, null, null, null),
+                policy("Internal", of(Config.Target.METHOD), Config.Effect.SUPPRESS_RULES, of("loose"), null, null),
+                policy("Beta", of(Config.Target.METHOD), Config.Effect.SET_SEVERITY, null, INFO, null),
+                policy("Legacy", of(), Config.Effect.SHIFT_SEVERITY, null, null, -1),
+                policy("Legacy", of(), Config.Effect.SET_SEVERITY, null, ERROR, null),
+                policy("Ancient", of(), Config.Effect.SHIFT_SEVERITY, null, null, -5)), List.of());
+        ElementTable elements = table(
+                element(ElementKind.METHOD, "com.example.Foo#a()", PUBLIC, null, "Generated"),
+                element(ElementKind.METHOD, "com.example.Foo#b()", PUBLIC, null, "Internal"),
+                element(ElementKind.CLASS, "com.example.Foo", PUBLIC, null, "Internal", "Beta"),
+                element(ElementKind.METHOD, "com.example.Foo#c()", PUBLIC, null, "Beta"),
+                element(ElementKind.METHOD, "com.example.Foo#d()", PROTECTED, null, "Legacy", "Ancient"),
+                element(ElementKind.METHOD, "com.example.Foo#e()", PUBLIC, null, "Generated", "Legacy"));
+
+        assertEquals(List.of(OFF, ERROR, ERROR, INFO, INFO, OFF), resolveAll(resolver, 0, ERROR, elements));
+        assertEquals(List.of(OFF, OFF, ERROR, INFO, INFO, OFF), resolveAll(resolver, 1, ERROR, elements));
+    }
+
+    private static List<Severity> resolveAll(SeverityResolver resolver, int rule, Severity fallback, ElementTable elements) {
+        return IntStream.range(0, elements.size())
+                .mapToObj(id -> resolver.resolve(rule, fallback, elements, id))
+                .toList();
+    }
+
+    /** Rule 0 is {@code strict}, rule 1 is {@code loose}. */
+    private static SeverityResolver resolver(List<CompiledSeverityOverride> overrides, List<CompiledAnnotationPolicy> policies,
+                                             List<CompiledRule> rules) {
+        CompiledConfig config = new CompiledConfig("src/main/java", null,
+                new CompiledDefaults(new CompiledSeverityProfile(BY_VISIBILITY, overrides), policies), rules, null);
+        return SeverityResolver.compile(config, List.of("strict", "loose"));
+    }
+
+    private static CompiledSeverityOverride override(CompiledSelector match, Severity severity) {
+        return new CompiledSeverityOverride(match, severity);
+    }
+
+    private static CompiledSelector selector(List<Config.Target> targets, List<Config.Visibility> visibility,
+                                             List<Config.AccessorKind> accessorKinds) {
+        return new CompiledSelector(targets, visibility, of(), accessorKinds, null, null, null, null, null);
+    }
+
+    private static CompiledAnnotationPolicy policy(String pattern, List<Config.Target> targets, Config.Effect effect,
+                                                   List<String> rules, Severity toSeverity, Integer shift) {
+        return new CompiledAnnotationPolicy(fromIncludes(of(pattern)), targets, effect, rules, toSeverity, shift);
+    }
+
+    private record Element(ElementRef ref, int attributes, List<String> annotations) {}
+
+    private static Element element(ElementKind kind, String name, Config.Visibility visibility,
+                                   Config.AccessorKind accessorKind, String... annotations) {
+        return new Element(new ElementRef(kind, name, name, "Foo.java"),
+                visibility == null ? 0 : ElementAttributes.of(kind, visibility, accessorKind), List.of(annotations));
+    }
+
+    private static ElementTable table(Element... elements) {
+        ElementTable.Builder builder = new ElementTable.Builder();
+        for (Element element : elements) {
+            builder.add(element.ref(), null, element.attributes(), element.annotations());
+        }
+        return builder.build();
+    }
+}
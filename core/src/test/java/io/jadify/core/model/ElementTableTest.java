@@ -0,0 +1,67 @@
+package io.jadify.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.jadify.core.model.ElementKind.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElementTableTest {
+
+    private static final ElementRef TYPE = new ElementRef(CLASS, "com.example.Foo", "com.example.Foo", "com/example/Foo.java");
+    private static final ElementRef NESTED = new ElementRef(INTERFACE, "com.example.Foo.Bar", "com.example.Foo.Bar", "com/example/Foo.java");
+    private static final ElementRef METHOD_REF = new ElementRef(METHOD, "com.example.Foo#size(java.util.List<String>, int)", "Foo.size", "com/example/Foo.java");
+    private static final ElementRef UNNAMED = new ElementRef(RECORD, "Point", "Point", "Point.java");
+
+    @Test
+    void roundTripsElementsAndDocCommentsById() {
+        List<ElementRef> refs = List.of(TYPE, NESTED, METHOD_REF, UNNAMED);
+        ElementTable table = ElementTable.of(refs, Map.of(TYPE, "Foo type.", METHOD_REF, ""));
+
+        assertEquals(4, table.size());
+        assertEquals(refs, table.refs());
+        assertEquals(METHOD, table.kind(2));
+        assertEquals("com.example.Foo#size(java.util.List<String>, int)", table.qualifiedName(2));
+        assertEquals("Foo.size", table.displayName(2));
+        assertEquals("com.example.Foo.Bar", table.displayName(1));
+        assertEquals("Point", table.qualifiedName(3));
+        assertEquals("Point.java", table.sourceFile(3));
+        assertEquals("Foo type.", table.docComment(0));
+        assertNull(table.docComment(1));
+        assertEquals("", table.docComment(2));
+        assertEquals(Map.of(TYPE, "Foo type.", METHOD_REF, ""), table.docCommentMap());
+    }
+
+    @Test
+    void keepsPositionsOutOfTheElementIdentity() {
+        ElementRef placed = new ElementRef(CLASS, "com.example.Foo", "com.example.Foo", "com/example/Foo.java", 42);
+        ElementTable table = ElementTable.of(List.of(placed, NESTED), Map.of());
+
+        assertEquals(42, table.position(0));
+        assertEquals(ElementRef.NOPOS, table.position(1));
+        assertEquals(42, table.ref(0).position());
+        assertEquals(TYPE, placed);
+        assertEquals(TYPE.hashCode(), placed.hashCode());
+    }
+
+    @Test
+    void builderGrowsAndAppendsTables() {
+        ElementTable.Builder builder = new ElementTable.Builder();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, builder.add(new ElementRef(METHOD, "com.example.Foo#m" + i + "()", "com.example.Foo#m" + i + "()", "Foo.java"), null));
+        }
+        ElementTable first = builder.build();
+
+        ElementTable.Builder combined = new ElementTable.Builder();
+        combined.add(TYPE, "doc");
+        combined.addAll(first);
+        ElementTable table = combined.build();
+
+        assertEquals(1001, table.size());
+        assertEquals(TYPE, table.ref(0));
+        assertEquals("com.example.Foo#m999()", table.qualifiedName(1000));
+        assertEquals(0, ElementTable.empty().size());
+    }
+}
@@ -0,0 +1,79 @@
+package io.jadify.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypeHierarchyTest {
+
+    @Test
+    void erasesMethodKeysAndTypeNames() {
+        assertEquals("put(*,Entry[])", TypeDeclaration.methodKey("put",
+                List.of("K", "java.util.Map.@NonNull Entry<K, V>..."), Set.of("K", "V")));
+        assertEquals("copy(int[][],String)", TypeDeclaration.methodKey("copy",
+                List.of("int[] []", "@Size(max = 3) String"), Set.of()));
+        assertEquals("java.util.Map.Entry", TypeDeclaration.rawName("java.util.@A Map.Entry<K, List<V>>"));
+
+        assertTrue(TypeHierarchy.matches("put(*,Entry[])", "put(String,Entry[])"));
+        assertFalse(TypeHierarchy.matches("put(*,Entry[])", "put(String,Entry)"));
+        assertFalse(TypeHierarchy.matches("get(*)", "get(*,int)"));
+    }
+
+    @Test
+    void findsDocumentedMethodsUpTheHierarchy() {
+        TypeHierarchy hierarchy = TypeHierarchy.of(List.of(
+                type("com.a.Base", "com.a", List.of(), List.of(),
+                        new TypeDeclaration.Method("apply(T)", "apply(*)", true),
+                        new TypeDeclaration.Method("plain()", "plain()", false)),
+                type("com.b.Middle", "com.b", List.of("com.a.Base"), List.of("Base<String>"),
+                        new TypeDeclaration.Method("plain()", "plain()", false)),
+                type("com.b.Leaf", "com.b", List.of(), List.of("Middle", "Runnable", "Comparable<Leaf>"),
+                        new TypeDeclaration.Method("apply(String)", "apply(String)", false),
+                        new TypeDeclaration.Method("plain()", "plain()", false),
+                        new TypeDeclaration.Method("run()", "run()", false),
+                        new TypeDeclaration.Method("compareTo(Leaf)", "compareTo(Leaf)", false),
+                        new TypeDeclaration.Method("toString()", "toString()", false)),
+                type("com.b.Lost", "com.b", List.of("org.missing.*"), List.of("Missing"),
+                        new TypeDeclaration.Method("call()", "call()", false))));
+
+        assertEquals(TypeHierarchy.Inheritance.DOCUMENTED, hierarchy.inheritance("com.b.Leaf", "apply(String)"));
+        assertEquals(TypeHierarchy.Inheritance.UNDOCUMENTED, hierarchy.inheritance("com.b.Leaf", "plain()"));
+        assertEquals(TypeHierarchy.Inheritance.DOCUMENTED, hierarchy.inheritance("com.b.Leaf", "run()"));
+        assertEquals(TypeHierarchy.Inheritance.DOCUMENTED, hierarchy.inheritance("com.b.Leaf", "toString()"));
+        assertEquals(TypeHierarchy.Inheritance.UNKNOWN, hierarchy.inheritance("com.b.Lost", "call()"));
+        assertEquals(TypeHierarchy.Inheritance.UNKNOWN, hierarchy.inheritance("com.b.Absent", "call()"));
+    }
+
+    @Test
+    void onlyReflectsOnPlatformClasses() {
+        // Both are on the test class path, but only the JDK interface is a dependency the hierarchy can vouch for.
+        TypeHierarchy hierarchy = TypeHierarchy.of(List.of(
+                type("com.c.Task", "com.c", List.of("org.junit.jupiter.api.function.Executable"),
+                        List.of("Executable", "java.util.concurrent.Callable<Void>"),
+                        new TypeDeclaration.Method("execute()", "execute()", false),
+                        new TypeDeclaration.Method("call()", "call()", false))));
+
+        assertEquals(TypeHierarchy.Inheritance.UNKNOWN, hierarchy.inheritance("com.c.Task", "execute()"));
+        assertEquals(TypeHierarchy.Inheritance.DOCUMENTED, hierarchy.inheritance("com.c.Task", "call()"));
+    }
+
+    @Test
+    void stopsAtCycles() {
+        TypeHierarchy hierarchy = TypeHierarchy.of(List.of(
+                type("p.A", "p", List.of(), List.of("B"), new TypeDeclaration.Method("m()", "m()", false)),
+                type("p.B", "p", List.of(), List.of("A"), new TypeDeclaration.Method("m()", "m()", false))));
+
+        assertEquals(TypeHierarchy.Inheritance.UNDOCUMENTED, hierarchy.inheritance("p.A", "m()"));
+    }
+
+    private static TypeDeclaration type(String name, String packageName, List<String> imports, List<String> supertypes,
+                                        TypeDeclaration.Method... methods) {
+        return new TypeDeclaration(name, packageName, imports,
+                supertypes.stream().map(TypeDeclaration::rawName).toList(), List.of(methods));
+    }
+}
@@ -0,0 +1,53 @@
+package io.jadify.core.reactor;
+
+import io.jadify.core.config.exception.ConfigurationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactorModulesTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void expandsNestedAggregatorsInDeclarationOrder() throws Exception {
+        pom(root, "<modules><module>core</module><module>services</module><module>docs</module></modules>"
+                + "<profiles><profile><modules><module>extra</module></modules></profile></profiles>");
+        pom(root.resolve("core"), "");
+        pom(root.resolve("services"), "<modules><module>api</module><module>impl/pom.xml</module><module>../core</module></modules>");
+        pom(root.resolve("services/api"), "");
+        pom(root.resolve("services/impl"), "");
+        pom(root.resolve("docs"), ""); // no sources
+        pom(root.resolve("extra"), "");
+        for (String module : List.of("core", "services/api", "services/impl", "extra")) {
+            Files.createDirectories(root.resolve(module).resolve("src/main/java"));
+        }
+
+        assertEquals(List.of(root.resolve("core"), root.resolve("services/api"), root.resolve("services/impl")),
+                ReactorModules.fromPom(root, "src/main/java"));
+    }
+
+    @Test
+    void rejectsMalformedPom() throws Exception {
+        Files.writeString(root.resolve("pom.xml"), "<project><modules>");
+
+        assertThrows(ConfigurationException.class, () -> ReactorModules.fromPom(root, "src/main/java"));
+    }
+
+    private static void pom(Path module, String body) throws IOException {
+        Files.createDirectories(module);
+        Files.writeString(module.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <modelVersion>4.0.0</modelVersion>
+                  %s
+                </project>
+                """.formatted(body));
+    }
+}
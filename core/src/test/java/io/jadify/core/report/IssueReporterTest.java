@@ -0,0 +1,144 @@
+package io.jadify.core.report;
+
+import io.jadify.core.JadifyRunner;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+import io.jadify.core.rules.PublicJavadocPresenceRule;
+import io.jadify.core.scan.DeclarationScanner;
+import io.jadify.core.scan.JavaSourceScanner;
+import io.jadify.core.scan.Scanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.jadify.core.config.ConfigLoader.load;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class IssueReporterTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void streamsJsonLinesWithTheLinesOfReportedElements() throws Exception {
+        Path source = projectRoot.resolve("src/a/A.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "package a;\r\n\r\n/** Ünïcödé 😀. */\r\npublic class A {\r\n    public void run() {}\r\n"
+                + "\r\n    /** Doc. */ public void documented() {}\r\n\t@Deprecated public A() {}\r\n}\r\n");
+        var config = load(Files.writeString(projectRoot.resolve("jadify.yaml"), "projectRoot: \"src\"\n"));
+
+        for (Scanner scanner : List.of(new JavaSourceScanner(), new DeclarationScanner())) {
+            var runner = new JadifyRunner(scanner, List.of(new PublicJavadocPresenceRule()));
+            StringWriter out = new StringWriter();
+            try (IssueReporter reporter = ReportFormat.JSONL.open(out)) {
+                reporter.projectRoot(projectRoot);
+                runner.stream(projectRoot, config, reporter);
+            }
+
+            String file = source.toString();
+            assertEquals("""
+                    {"severity":"ERROR","rule":"public-javadoc-presence","message":"Missing Javadoc: a.A#run()","kind":"METHOD","element":"a.A#run()","file":"%s","line":5,"column":5}
+                    {"severity":"ERROR","rule":"public-javadoc-presence","message":"Missing Javadoc: a.A#A()","kind":"CONSTRUCTOR","element":"a.A#A()","file":"%s","line":8,"column":2}
+                    """.formatted(file, file), out.toString(), scanner.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void writesSarifResults() throws Exception {
+        Path source = projectRoot.resolve("A.java");
+        Files.writeString(source, "class A {\n  void run() {}\n}\n");
+
+        StringWriter out = new StringWriter();
+        try (IssueReporter reporter = ReportFormat.SARIF.open(out)) {
+            reporter.projectRoot(projectRoot.getParent());
+            reporter.accept(issue(Severity.WARN, projectRoot.getFileName() + "/A.java", 12));
+            reporter.accept(issue(Severity.INFO, "missing dir/B.java", 0));
+            reporter.accept(issue(Severity.ERROR, projectRoot.getFileName() + "/A.java", ElementRef.NOPOS));
+        }
+
+        JsonNode run = JsonMapper.builder().build().readTree(out.toString()).get("runs").get(0);
+        assertEquals("Jadify", run.get("tool").get("driver").get("name").asString());
+        JsonNode results = run.get("results");
+        assertEquals(3, results.size());
+        assertEquals("warning", results.get(0).get("level").asString());
+        assertEquals("Missing Javadoc", results.get(0).get("message").get("text").asString());
+        JsonNode location = results.get(0).get("locations").get(0);
+        assertEquals(source.toUri().toString(), location.get("physicalLocation").get("artifactLocation").get("uri").asString());
+        assertEquals(2, location.get("physicalLocation").get("region").get("startLine").asInt());
+        assertEquals(3, location.get("physicalLocation").get("region").get("startColumn").asInt());
+        assertEquals("a.A#run()", location.get("logicalLocations").get(0).get("fullyQualifiedName").asString());
+        assertEquals("member", location.get("logicalLocations").get(0).get("kind").asString());
+        assertFalse(results.get(1).get("locations").get(0).get("physicalLocation").has("region"));
+        assertFalse(results.get(2).get("locations").get(0).get("physicalLocation").has("region"));
+    }
+
+    @Test
+    void groupsCheckstyleErrorsByConsecutiveFile() throws Exception {
+        StringWriter out = new StringWriter();
+        try (IssueReporter reporter = ReportFormat.CHECKSTYLE.open(out)) {
+            reporter.accept(issue(Severity.ERROR, "a/A.java", ElementRef.NOPOS));
+            reporter.accept(issue(Severity.WARN, "a/A.java", ElementRef.NOPOS));
+            reporter.accept(issue(Severity.INFO, "b/B \"quoted\".java", ElementRef.NOPOS));
+            reporter.accept(issue(Severity.ERROR, "a/A.java", ElementRef.NOPOS));
+            assertEquals(4, reporter.count());
+        }
+
+        assertEquals("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <checkstyle version="8.0">
+                  <file name="a/A.java">
+                    <error severity="error" message="Missing Javadoc" source="public-javadoc-presence"/>
+                    <error severity="warning" message="Missing Javadoc" source="public-javadoc-presence"/>
+                  </file>
+                  <file name="b/B &quot;quoted&quot;.java">
+                    <error severity="info" message="Missing Javadoc" source="public-javadoc-presence"/>
+                  </file>
+                  <file name="a/A.java">
+                    <error severity="error" message="Missing Javadoc" source="public-javadoc-presence"/>
+                  </file>
+                </checkstyle>
+                """, out.toString());
+    }
+
+    @Test
+    void sortsBatchesIntoOneCheckstyleFilePerFile() throws Exception {
+        List<Issue> byRule = List.of(
+                issue(Severity.ERROR, "b/B.java", 20),
+                issue(Severity.ERROR, "a/A.java", 10),
+                issue(Severity.WARN, "b/B.java", 5),
+                issue(Severity.WARN, "a/A.java", 10));
+
+        StringWriter out = new StringWriter();
+        try (IssueReporter reporter = ReportFormat.CHECKSTYLE.open(out)) {
+            byRule.stream().sorted(IssueReporter.BY_LOCATION).forEach(reporter);
+        }
+
+        assertEquals("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <checkstyle version="8.0">
+                  <file name="a/A.java">
+                    <error severity="error" message="Missing Javadoc" source="public-javadoc-presence"/>
+                    <error severity="warning" message="Missing Javadoc" source="public-javadoc-presence"/>
+                  </file>
+                  <file name="b/B.java">
+                    <error severity="warning" message="Missing Javadoc" source="public-javadoc-presence"/>
+                    <error severity="error" message="Missing Javadoc" source="public-javadoc-presence"/>
+                  </file>
+                </checkstyle>
+                """, out.toString());
+    }
+
+    private static Issue issue(Severity severity, String sourceFile, int position) {
+        return new Issue(severity, "public-javadoc-presence", "Missing Javadoc",
+                new ElementRef(ElementKind.METHOD, "a.A#run()", "a.A#run()", sourceFile, position));
+    }
+}
@@ -0,0 +1,89 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.jadify.core.config.Config.Visibility.PUBLIC;
+import static io.jadify.core.config.ConfigLoader.load;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CustomTagsRuleTest {
+
+    @Test
+    void requiresConfiguredTagsOnTheirTargets() throws Exception {
+        Path file = Files.createTempFile("jadify", ".yaml");
+        CustomTagsRule rule;
+        try {
+            Files.writeString(file, """
+                    rules:
+                      - id: "javadoc.customTags"
+                        enabled: true
+                        config:
+                          tags:
+                            - name: "description"
+                              requiredOn:
+                                targets: [TYPE]
+                            - name: "@apiNote"
+                              requiredOn:
+                                targets: [METHOD]
+                                excludeAccessorKinds: [GETTER, SETTER, BOOLEAN_GETTER]
+                          allowMultiple: false
+                    """);
+            rule = CustomTagsRule.fromConfig(load(file));
+        } finally {
+            Files.delete(file);
+        }
+        ElementTable.Builder table = new ElementTable.Builder();
+        add(table, ElementKind.CLASS, "com.example.Foo", null, "Foo.", "description");
+        add(table, ElementKind.CLASS, "com.example.Bar", null, "Bar.");
+        add(table, ElementKind.METHOD, "com.example.Foo#run()", null, "Runs.", "apiNote", "apiNote");
+        add(table, ElementKind.METHOD, "com.example.Foo#stop()", null, "Stops.");
+        add(table, ElementKind.METHOD, "com.example.Foo#getName()", Config.AccessorKind.GETTER, "Name.");
+        add(table, ElementKind.METHOD, "com.example.Foo#undocumented()", null, null);
+        ElementTable elements = table.build();
+
+        List<String> messages = new ArrayList<>();
+        for (int id = 0; id < elements.size(); id++) {
+            rule.evaluate(elements, id, issue -> messages.add(issue.message()));
+        }
+
+        assertEquals(List.of(
+                "Missing @description: com.example.Bar",
+                "Repeated @apiNote: com.example.Foo#run()",
+                "Missing @apiNote: com.example.Foo#stop()"
+        ), messages);
+    }
+
+    @Test
+    void withoutConfiguredTagsReportsNothing() throws Exception {
+        ElementTable elements = ElementTable.of(
+                List.of(new ElementRef(ElementKind.CLASS, "com.example.Foo", "com.example.Foo", "Foo.java")), Map.of());
+        List<Issue> issues = new ArrayList<>();
+
+        CustomTagsRule.fromConfig(load(null)).evaluate(elements, 0, "Foo.", issues::add);
+
+        assertEquals(List.of(), issues);
+    }
+
+    private static void add(ElementTable.Builder table, ElementKind kind, String name, Config.AccessorKind accessorKind,
+                            String doc, String... customTags) {
+        DocTags.Builder tags = new DocTags.Builder();
+        for (String tag : customTags) {
+            tags.tag(tag, null);
+        }
+        table.add(new ElementRef(kind, name, name, "Foo.java"), doc, ElementAttributes.of(kind, PUBLIC, accessorKind),
+                List.of(), tags.build());
+    }
+}
@@ -0,0 +1,118 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.jadify.core.config.ConfigLoader.load;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JavadocSummaryRuleTest {
+
+    @Test
+    void findsTheFirstSentenceOutsideInlineTagsAndHtml() {
+        assertSummary("Parses the input.", 17, true);
+        assertSummary("Parses the input. Then more.", 17, true);
+        assertSummary("Calls {@code a.b()} once.\n@param x the x", 17, true);
+        assertSummary("Returns   the\n  {@link Foo}", 15, false);
+        assertSummary("Reads <b>bold</b> text", 15, false);
+        assertSummary("Reads a list\n<ul><li>one.</li></ul>", 12, false);
+        assertSummary("Reads a file.<p>More.", 13, true);
+        assertSummary("Version 1.2 of the A&amp;B format.", 30, true);
+        assertSummary("{@return the size}", 8, true);
+        assertSummary("\n@param x the x", 0, false);
+        assertSummary("<p>Starts with a paragraph.", 24, true);
+
+        assertEquals(SummarySentence.BLANK, SummarySentence.scan("  \n "));
+        assertEquals(SummarySentence.INHERITED, SummarySentence.scan("{@inheritDoc} And more."));
+    }
+
+    @Test
+    void reportsMissingUnpunctuatedAndLongSummaries() {
+        ElementTable elements = table(
+                "Runs.",
+                "Runs the task",
+                "A very long summary sentence.",
+                "@return the size",
+                "  ",
+                "{@inheritDoc}",
+                null);
+
+        assertEquals(List.of(
+                "Summary sentence does not end with a period: com.example.Foo#m1()",
+                "Summary sentence longer than 20 characters: com.example.Foo#m2()",
+                "Missing summary sentence: com.example.Foo#m3()",
+                "Missing summary sentence: com.example.Foo#m4()"
+        ), messages(new JavadocSummaryRule(new JavadocSummaryRule.Options(true, 20, true)), elements));
+        assertEquals(List.of(), messages(new JavadocSummaryRule(new JavadocSummaryRule.Options(false, 0, false)), elements));
+    }
+
+    @Test
+    void readsOptionsFromTheConfig() throws Exception {
+        Path file = Files.createTempFile("jadify", ".yaml");
+        try {
+            Files.writeString(file, """
+                    rules:
+                      - id: "javadoc.summary"
+                        enabled: true
+                        config:
+                          maxSummaryLength: 5
+                          requirePeriod: false
+                    """);
+            assertEquals(List.of("Summary sentence longer than 5 characters: com.example.Foo#m0()"),
+                    messages(JavadocSummaryRule.fromConfig(load(file)), table("Runs the task")));
+
+            Files.writeString(file, """
+                    rules:
+                      - id: "javadoc.summary"
+                        enabled: true
+                        config:
+                          maxSummaryLength: "long"
+                    """);
+            Config invalid = load(file);
+            assertThrows(ConfigurationException.class, () -> JavadocSummaryRule.fromConfig(invalid));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertSummary(String doc, int length, boolean period) {
+        long summary = SummarySentence.scan(doc);
+        assertEquals(length, SummarySentence.length(summary), doc);
+        assertEquals(period, SummarySentence.is(summary, SummarySentence.PERIOD), doc);
+    }
+
+    private static ElementTable table(String... docs) {
+        List<ElementRef> refs = new ArrayList<>();
+        Map<ElementRef, String> comments = new LinkedHashMap<>();
+        for (int i = 0; i < docs.length; i++) {
+            String name = "com.example.Foo#m" + i + "()";
+            ElementRef ref = new ElementRef(ElementKind.METHOD, name, name, "Foo.java");
+            refs.add(ref);
+            if (docs[i] != null) {
+                comments.put(ref, docs[i]);
+            }
+        }
+        return ElementTable.of(refs, comments);
+    }
+
+    private static List<String> messages(ElementRule rule, ElementTable elements) {
+        List<Issue> issues = new ArrayList<>();
+        for (int id = 0; id < elements.size(); id++) {
+            rule.evaluate(elements, id, issues::add);
+        }
+        return issues.stream().map(Issue::message).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.jadify.core.config.ConfigLoader.load;
+import static io.jadify.core.config.Config.Visibility.PUBLIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JavadocTagsRuleTest {
+
+    @Test
+    void reportsMissingParamReturnAndThrowsTags() {
+        ElementTable elements = table(
+                method("parse(String, int)", null, "Parses.", tags(List.of("input"), List.of("IOException"))
+                        .declaration(List.of("input", "limit"), false, List.of("java.io.IOException", "IllegalStateException"))),
+                method("run()", null, "Runs.", tags(List.of(), List.of()).declaration(List.of(), true, List.of())),
+                method("get()", null, "Gets.", tags(List.of(), List.of()).tag("return", null).declaration(List.of(), false, List.of())),
+                method("isEmpty()", Config.AccessorKind.BOOLEAN_GETTER, "Whether empty.",
+                        tags(List.of(), List.of()).declaration(List.of(), false, List.of())),
+                method("size()", null, "{@inheritDoc}",
+                        new DocTags.Builder().tag("inheritDoc", null).declaration(List.of(), false, List.of())),
+                method("undocumented(int)", null, null, new DocTags.Builder().declaration(List.of("count"), false, List.of())));
+
+        assertEquals(List.of(
+                "Missing @param limit: com.example.Foo#parse(String, int)",
+                "Missing @return: com.example.Foo#parse(String, int)",
+                "Missing @throws IllegalStateException: com.example.Foo#parse(String, int)"
+        ), messages(new JavadocTagsRule(), elements));
+        assertEquals(List.of("Missing @return: com.example.Foo#parse(String, int)", "Missing @return: com.example.Foo#isEmpty()"),
+                messages(new JavadocTagsRule(new JavadocTagsRule.Options(false, true, false, false)), elements));
+    }
+
+    @Test
+    void readsOptionsFromTheConfig() throws Exception {
+        Path file = Files.createTempFile("jadify", ".yaml");
+        try {
+            Files.writeString(file, """
+                    rules:
+                      - id: "javadoc.tags"
+                        enabled: true
+                        config:
+                          requireReturnTag: false
+                    """);
+            ElementTable elements = table(method("size(int)", null, "Size.",
+                    tags(List.of(), List.of()).declaration(List.of("unit"), false, List.of())));
+            assertEquals(List.of("Missing @param unit: com.example.Foo#size(int)"),
+                    messages(JavadocTagsRule.fromConfig(load(file)), elements));
+
+            Files.writeString(file, """
+                    rules:
+                      - id: "javadoc.tags"
+                        enabled: true
+                        config:
+                          requireReturnTag: "no"
+                    """);
+            Config invalid = load(file);
+            assertThrows(ConfigurationException.class, () -> JavadocTagsRule.fromConfig(invalid));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static DocTags.Builder tags(List<String> params, List<String> throwsTypes) {
+        DocTags.Builder builder = new DocTags.Builder();
+        params.forEach(name -> builder.tag("param", name));
+        throwsTypes.forEach(type -> builder.tag("throws", type));
+        return builder;
+    }
+
+    private record Method(String signature, Config.AccessorKind accessorKind, String doc, DocTags.Builder tags) {}
+
+    private static Method method(String signature, Config.AccessorKind accessorKind, String doc, DocTags.Builder tags) {
+        return new Method(signature, accessorKind, doc, tags);
+    }
+
+    private static ElementTable table(Method... methods) {
+        ElementTable.Builder builder = new ElementTable.Builder();
+        for (Method method : methods) {
+            String name = "com.example.Foo#" + method.signature();
+            builder.add(new ElementRef(ElementKind.METHOD, name, name, "Foo.java"), method.doc(),
+                    ElementAttributes.of(ElementKind.METHOD, PUBLIC, method.accessorKind()), List.of(), method.tags().build());
+        }
+        return builder.build();
+    }
+
+    private static List<String> messages(ElementRule rule, ElementTable elements) {
+        List<Issue> issues = new ArrayList<>();
+        for (int id = 0; id < elements.size(); id++) {
+            rule.evaluate(elements, id, issues::add);
+        }
+        return issues.stream().map(Issue::message).toList();
+    }
+}
@@ -0,0 +1,290 @@
+package io.jadify.core.rules;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.compile.CompiledConfig;
+import io.jadify.core.config.compile.ConfigCompiler;
+import io.jadify.core.config.compile.ElementAttributes;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementKind;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.model.Issue;
+import io.jadify.core.model.Severity;
+import io.jadify.core.scan.ScanContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static io.jadify.core.config.Config.Visibility.PROTECTED;
+import static io.jadify.core.config.Config.Visibility.PUBLIC;
+import static io.jadify.core.config.ConfigLoader.load;
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static io.jadify.core.model.ElementKind.CLASS;
+import static io.jadify.core.model.ElementKind.CONSTRUCTOR;
+import static io.jadify.core.model.ElementKind.METHOD;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleEngineTest {
+
+    private static final ElementRef TYPE = new ElementRef(CLASS, "com.example.Foo", "com.example.Foo", "Foo.java");
+    private static final ElementRef INNER = new ElementRef(CLASS, "com.example.Foo.Builder", "com.example.Foo.Builder", "Foo.java");
+    private static final ElementRef CTOR = new ElementRef(CONSTRUCTOR, "com.example.Foo#Foo()", "com.example.Foo#Foo()", "Foo.java");
+    private static final ElementRef GETTER = new ElementRef(METHOD, "com.example.Foo#getBar()", "com.example.Foo#getBar()", "Foo.java");
+    private static final ElementRef RUN = new ElementRef(METHOD, "com.example.Foo#run(int)", "com.example.Foo#run(int)", "Foo.java");
+
+    @Test
+    void matchesSequentialEvaluationOfEveryRule() throws Exception {
+        ScanContext ctx = new ScanContext(loadDefault(), List.of(TYPE, INNER, CTOR, GETTER, RUN), Map.of(RUN, "Runs."));
+        List<Rule> rules = List.of(new PublicJavadocPresenceRule(), wholeScan("whole-scan"), new PublicJavadocPresenceRule());
+
+        List<Issue> expected = new ArrayList<>();
+        rules.forEach(rule -> expected.addAll(rule.evaluate(ctx)));
+
+        assertEquals(expected, RuleEngine.of(rules, null).evaluate(ctx));
+        assertEquals(expected, RuleEngine.of(rules, compile(List.of())).evaluate(ctx));
+    }
+
+    @Test
+    void dispatchesOnlyToElementsTheSelectorCanMatch() throws Exception {
+        ElementTable.Builder table = new ElementTable.Builder();
+        table.add(TYPE, null, ElementAttributes.of(CLASS, PUBLIC, null), List.of());
+        table.add(INNER, null, ElementAttributes.of(CLASS, PUBLIC, null), List.of());
+        table.add(CTOR, null, ElementAttributes.of(CONSTRUCTOR, PUBLIC, null), List.of());
+        table.add(GETTER, null, ElementAttributes.of(METHOD, PUBLIC, Config.AccessorKind.GETTER), List.of());
+        table.add(RUN, null, ElementAttributes.of(METHOD, PROTECTED, null), List.of("Deprecated"));
+        ScanContext ctx = new ScanContext(loadDefault(), table.build());
+        CompiledConfig config = compile(List.of(
+                rule("methods", true, selector(List.of(Config.Target.METHOD), List.of())),
+                rule("getters", true, selector(List.of(), List.of("get[A-Z].*"))),
+                rule("types", true, selector(List.of(Config.Target.TYPE), List.of(".*Builder"))),
+                rule("deprecated", true, new Config.Selector(List.of(), List.of(), List.of(), List.of(), List.of(), List.of(),
+                        List.of(), List.of(), new Config.AnnotationFilter(List.of("Deprecated"), List.of()))),
+                rule("off", false, null)));
+        Map<String, List<String>> visited = new ConcurrentHashMap<>();
+        RuleEngine.Builder builder = RuleEngine.builder(config);
+        for (String id : List.of("methods", "getters", "types", "deprecated", "off", "unconfigured")) {
+            builder.onElements(id, EnumSet.allOf(ElementKind.class), true, (elements, element, doc, issues) ->
+                    visited.computeIfAbsent(id, k -> new ArrayList<>()).add(elements.qualifiedName(element)));
+        }
+
+        builder.build().evaluate(ctx);
+
+        assertEquals(Map.of(
+                "methods", List.of(GETTER.qualifiedName()),
+                "getters", List.of(GETTER.qualifiedName()),
+                "types", List.of(INNER.qualifiedName()),
+                "deprecated", List.of(RUN.qualifiedName()),
+                "unconfigured", List.of(TYPE, INNER, CTOR, GETTER, RUN).stream().map(ElementRef::qualifiedName).toList()
+        ), visited);
+    }
+
+    @Test
+    void streamsElementByElementWithTheDocCommentLookedUp() {
+        ElementTable table = ElementTable.of(List.of(TYPE, RUN), Map.of(TYPE, "Foo."));
+        List<String> visits = new ArrayList<>();
+        RuleEngine engine = RuleEngine.builder(null)
+                .onElements("a", Set.of(CLASS, METHOD), false, (elements, id, doc, issues) -> visits.add("a " + doc))
+                .onElements("b", Set.of(CLASS), false, (elements, id, doc, issues) -> visits.add("b " + doc))
+                .build();
+
+        engine.stream(table, issue -> {});
+
+        assertEquals(List.of("a Foo.", "b Foo.", "a null"), visits);
+    }
+
+    @Test
+    void reportsEffectiveSeveritiesAndDropsSuppressedIssues() throws Exception {
+        ElementTable.Builder table = new ElementTable.Builder();
+        table.add(TYPE, null, ElementAttributes.of(CLASS, PUBLIC, null), List.of());
+        table.add(CTOR, null, ElementAttributes.of(CONSTRUCTOR, Config.Visibility.PACKAGE, null), List.of());
+        table.add(GETTER, null, ElementAttributes.of(METHOD, PUBLIC, Config.AccessorKind.GETTER), List.of("lombok.Generated"));
+        table.add(RUN, null, ElementAttributes.of(METHOD, PROTECTED, null), List.of());
+        ScanContext ctx = new ScanContext(loadDefault(), table.build());
+
+        List<Issue> issues = RuleEngine.of(List.of(new PublicJavadocPresenceRule()), compile(List.of())).evaluate(ctx);
+
+        assertEquals(List.of(Severity.ERROR, Severity.INFO, Severity.WARN), issues.stream().map(Issue::severity).toList());
+        assertEquals(List.of(TYPE, CTOR, RUN), issues.stream().map(Issue::element).toList());
+    }
+
+    @Test
+    void appliesConfigEntriesByTheRulesConfigId(@TempDir Path dir) throws Exception {
+        ElementTable.Builder table = new ElementTable.Builder();
+        table.add(TYPE, null, ElementAttributes.of(CLASS, PUBLIC, null), List.of());
+        table.add(RUN, null, ElementAttributes.of(METHOD, PUBLIC, null), List.of());
+        ElementTable elements = table.build();
+
+        Config enabled = loadDefault();
+        List<Issue> issues = RuleEngine.of(BuiltInRules.forConfig(enabled), new ConfigCompiler().compile(enabled))
+                .evaluate(new ScanContext(enabled, elements));
+        assertEquals(List.of(TYPE, RUN), issues.stream()
+                .filter(issue -> issue.ruleId().equals("public-javadoc-presence")).map(Issue::element).toList());
+
+        Config disabled = load(Files.writeString(dir.resolve("jadify.yaml"), """
+                rules:
+                  - id: "javadoc.presence"
+                    enabled: false
+                """));
+        issues = RuleEngine.of(BuiltInRules.forConfig(disabled), new ConfigCompiler().compile(disabled))
+                .evaluate(new ScanContext(disabled, elements));
+        assertTrue(issues.stream().noneMatch(issue -> issue.ruleId().equals("public-javadoc-presence")), issues::toString);
+    }
+
+    @Test
+    void runsOnlyTheBuiltInRulesTheConfigEnables(@TempDir Path dir) throws Exception {
+        ElementTable.Builder table = new ElementTable.Builder();
+        table.add(TYPE, "Foo.", ElementAttributes.of(CLASS, PUBLIC, null), List.of());
+        table.add(RUN, "runs", ElementAttributes.of(METHOD, PUBLIC, null), List.of(),
+                new DocTags.Builder().declaration(List.of("count"), false, List.of()).build());
+        table.add(CTOR, null, ElementAttributes.of(CONSTRUCTOR, PUBLIC, null), List.of());
+        ElementTable elements = table.build();
+
+        Config config = load(Files.writeString(dir.resolve("jadify.yaml"), """
+                rules:
+                  - id: "javadoc.presence"
+                    enabled: true
+                """));
+        List<Rule> rules = BuiltInRules.forConfig(config);
+
+        assertEquals(List.of("public-javadoc-presence"), rules.stream().map(Rule::getName).toList());
+        assertEquals(List.of("public-javadoc-presence ERROR"), severities(RuleEngine.of(rules,
+                new ConfigCompiler().compile(config)).evaluate(new ScanContext(config, elements))));
+        assertEquals(List.of("public-javadoc-presence", "javadoc.tags"),
+                BuiltInRules.forConfig(loadDefault()).stream().map(Rule::getName).toList());
+    }
+
+    @Test
+    void reportsTheSeverityOfTheRulesConfigEntry(@TempDir Path dir) throws Exception {
+        ElementTable.Builder table = new ElementTable.Builder();
+        table.add(TYPE, null, ElementAttributes.of(CLASS, PUBLIC, null), List.of());
+        table.add(RUN, "Runs.", ElementAttributes.of(METHOD, PUBLIC, null), List.of(),
+                new DocTags.Builder().declaration(List.of("count"), true, List.of()).build());
+        ElementTable elements = table.build();
+
+        Config defaults = loadDefault();
+        assertEquals(List.of("public-javadoc-presence ERROR", "javadoc.tags WARN"),
+                severities(RuleEngine.of(BuiltInRules.forConfig(defaults), new ConfigCompiler().compile(defaults))
+                        .evaluate(new ScanContext(defaults, elements))));
+
+        Config config = load(Files.writeString(dir.resolve("jadify.yaml"), """
+                rules:
+                  - id: "javadoc.presence"
+                    enabled: true
+                    severity: WARN
+                  - id: "javadoc.tags"
+                    enabled: true
+                    severity: INFO
+                """));
+        List<Rule> rules = BuiltInRules.forConfig(config);
+        assertEquals(List.of("public-javadoc-presence WARN", "javadoc.tags INFO"),
+                severities(RuleEngine.of(rules, new ConfigCompiler().compile(config)).evaluate(new ScanContext(config, elements))));
+        assertEquals(List.of("public-javadoc-presence WARN", "javadoc.tags INFO"),
+                severities(rules.stream().flatMap(rule -> rule.evaluate(new ScanContext(config, elements)).stream()).toList()));
+    }
+
+    @Test
+    void keepsTheDefaultSeverityOfARuleUnderTheDefaultSeverityProfile(@TempDir Path dir) throws Exception {
+        ElementTable.Builder table = new ElementTable.Builder();
+        table.add(RUN, "Runs.", ElementAttributes.of(METHOD, PUBLIC, null), List.of(),
+                new DocTags.Builder().declaration(List.of("count"), true, List.of()).build());
+        ScanContext ctx = new ScanContext(loadDefault(), table.build());
+        // The default defaults.severity, without the severity of the default javadoc.tags entry.
+        CompiledConfig defaults = new ConfigCompiler().compile(load(Files.writeString(dir.resolve("jadify.yaml"), """
+                rules:
+                  - id: "javadoc.tags"
+                    enabled: true
+                """)));
+
+        assertEquals(List.of("javadoc.tags WARN"),
+                severities(RuleEngine.of(List.of(new JavadocTagsRule()), defaults).evaluate(ctx)));
+        assertEquals(List.of("javadoc.tags INFO"), severities(RuleEngine.of(
+                List.of(new JavadocTagsRule(JavadocTagsRule.Options.DEFAULTS, Severity.INFO)), defaults).evaluate(ctx)));
+    }
+
+    @Test
+    void statelessRulesRunInParallelWithSequentialOrder() throws Exception {
+        List<ElementRef> elements = new ArrayList<>();
+        Map<ElementRef, String> docs = new HashMap<>();
+        for (int i = 0; i < 4 * RuleEngine.PARALLEL_THRESHOLD; i++) {
+            ElementRef ref = new ElementRef(METHOD, "com.example.Foo#m" + i + "()", "com.example.Foo#m" + i + "()", "Foo.java");
+            elements.add(ref);
+            if (i % 3 == 0) {
+                docs.put(ref, "Documented.");
+            }
+        }
+        ScanContext ctx = new ScanContext(loadDefault(), elements, docs);
+        PublicJavadocPresenceRule rule = new PublicJavadocPresenceRule();
+
+        List<Issue> expected = new ArrayList<>(rule.evaluate(ctx));
+        expected.addAll(rule.evaluate(ctx));
+        assertEquals(expected, RuleEngine.of(List.of(rule, rule), null).evaluate(ctx));
+    }
+
+    @Test
+    void statefulRulesRunOnTheCallingThread() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ElementRule stateful = new ElementRule() {
+            @Override
+            public String getName() {
+                return "stateful";
+            }
+
+            @Override
+            public void evaluate(ElementTable elements, int id, Consumer<Issue> issues) {
+                threads.add(Thread.currentThread());
+            }
+        };
+        List<ElementRef> elements = new ArrayList<>();
+        for (int i = 0; i < 2 * RuleEngine.PARALLEL_THRESHOLD; i++) {
+            elements.add(new ElementRef(CLASS, "com.example.C" + i, "com.example.C" + i, "C" + i + ".java"));
+        }
+
+        RuleEngine.of(List.of(new PublicJavadocPresenceRule(), stateful), null)
+                .evaluate(new ScanContext(loadDefault(), elements, Map.of()));
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    private static List<String> severities(List<Issue> issues) {
+        return issues.stream().map(issue -> issue.ruleId() + " " + issue.severity()).toList();
+    }
+
+    private static Rule wholeScan(String name) {
+        return new Rule() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public List<Issue> evaluate(ScanContext ctx) {
+                return List.of(new Issue(Severity.INFO, name, ctx.elements().size() + " elements", null));
+            }
+        };
+    }
+
+    private static Config.Rule rule(String id, boolean enabled, Config.Selector when) {
+        return new Config.Rule(id, enabled, null, when, null);
+    }
+
+    private static Config.Selector selector(List<Config.Target> targets, List<String> simpleNamePatterns) {
+        return new Config.Selector(targets, List.of(PUBLIC), List.of(), List.of(), List.of(), List.of(),
+                simpleNamePatterns, List.of(), null);
+    }
+
+    private static CompiledConfig compile(List<Config.Rule> rules) throws Exception {
+        Config defaults = loadDefault();
+        return new ConfigCompiler().compile(
+                new Config(defaults.projectRoot(), defaults.scan(), defaults.defaults(), rules, defaults.failOn()));
+    }
+}
@@ -0,0 +1,144 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveSourcesTest {
+
+    private static final Map<String, String> SOURCES = new LinkedHashMap<>();
+
+    static {
+        SOURCES.put("com/example/Foo.java", """
+                package com.example;
+
+                /** Foo. */
+                public class Foo {
+                    public void undocumented() {}
+
+                    /** Documented. */
+                    public int documented() { return 0; }
+                }
+                """);
+        SOURCES.put("com/example/internal/Hidden.java", "package com.example.internal; public class Hidden {}");
+        SOURCES.put("com/example/deeply/nested/pkg/name/that/needs/a/lengthy/tar/header/entry/to/be/stored/Bar.java",
+                "package com.example.deeply.nested.pkg.name.that.needs.a.lengthy.tar.header.entry.to.be.stored; public interface Bar {}");
+    }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void scansSourceJarAndTarballLikeExtractedSources() throws Exception {
+        Config config = loadDefault();
+        Path extracted = dir.resolve("extracted");
+        for (var source : SOURCES.entrySet()) {
+            Path file = extracted.resolve("src/main/java").resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+        }
+        Path sourcesJar = zip(dir.resolve("lib-1.0-sources.jar"), "");
+        Path tarball = tarGz(dir.resolve("lib-1.0.tar.gz"), "lib-1.0/src/main/java/");
+
+        for (Scanner scanner : List.of(new JavaSourceScanner(), new JavaSourceScanner(ScanOptions.defaults().withThreads(2)), new DeclarationScanner())) {
+            List<String> expected = names(scanner.scan(extracted, config));
+            assertTrue(expected.contains("com.example.Foo#undocumented()"));
+            assertTrue(expected.stream().anyMatch(name -> name.endsWith(".stored.Bar")));
+
+            ScanContext fromJar = scanner.scan(sourcesJar, config);
+            assertEquals(expected, names(fromJar));
+            assertEquals("com/example/Foo.java", fromJar.publicApiElements().getFirst().sourceFile());
+            assertEquals(expected, names(scanner.scan(tarball, config)));
+        }
+    }
+
+    @Test
+    void readsOnlyTheSourceRootOfAProjectArchive() throws Exception {
+        Path tarball = tarGz(dir.resolve("project.tgz"), "project/src/main/java/");
+        List<ArchiveSources.Entry> entries = ArchiveSources.read(tarball, "src/main/java");
+        assertEquals(SOURCES.size(), entries.size());
+        assertTrue(entries.stream().allMatch(entry -> entry.name().startsWith("project/src/main/java/com/example/")));
+        assertEquals(SOURCES.get("com/example/Foo.java"), new String(entries.getFirst().content(), UTF_8));
+    }
+
+    private static List<String> names(ScanContext ctx) {
+        return ctx.publicApiElements().stream().map(ElementRef::qualifiedName).sorted().toList();
+    }
+
+    private static Path zip(Path archive, String prefix) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(archive))) {
+            out.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            out.write("Manifest-Version: 1.0\n".getBytes(UTF_8));
+            for (var source : SOURCES.entrySet()) {
+                out.putNextEntry(new ZipEntry(prefix + source.getKey()));
+                out.write(source.getValue().getBytes(UTF_8));
+            }
+        }
+        return archive;
+    }
+
+    /** Writes a ustar archive, with a GNU long-name entry for paths over 100 bytes. */
+    private static Path tarGz(Path archive, String prefix) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(archive))) {
+            tarEntry(out, prefix, '5', new byte[0]);
+            tarEntry(out, prefix + "README.txt", '0', "not java".getBytes(UTF_8));
+            for (var source : SOURCES.entrySet()) {
+                tarEntry(out, prefix + source.getKey(), '0', source.getValue().getBytes(UTF_8));
+            }
+            out.write(new byte[1024]);
+        }
+        return archive;
+    }
+
+    private static void tarEntry(OutputStream out, String name, char type, byte[] content) throws IOException {
+        byte[] nameBytes = name.getBytes(UTF_8);
+        if (nameBytes.length > 100) {
+            byte[] longName = new byte[nameBytes.length + 1];
+            System.arraycopy(nameBytes, 0, longName, 0, nameBytes.length);
+            tarEntry(out, "././@LongLink", 'L', longName);
+        }
+        byte[] header = new byte[512];
+        System.arraycopy(nameBytes, 0, header, 0, Math.min(100, nameBytes.length));
+        put(header, 100, "0000644");
+        put(header, 124, "%011o".formatted(content.length));
+        put(header, 136, "%011o".formatted(0));
+        header[156] = (byte) type;
+        put(header, 257, "ustar");
+        put(header, 263, "00");
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        put(header, 148, "%06o\0".formatted(checksum));
+        out.write(header);
+        out.write(content);
+        ByteArrayOutputStream padding = new ByteArrayOutputStream();
+        padding.writeBytes(new byte[(512 - content.length % 512) % 512]);
+        out.write(padding.toByteArray());
+    }
+
+    private static void put(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+}
@@ -0,0 +1,116 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyBlankerTest {
+
+    private static final String TRICKY = """
+            package com.example;
+
+            import java.util.function.Supplier;
+
+            /** Tricky. */
+            @Deprecated(since = "1" + "}")
+            public class Tricky {
+                public static final Supplier<Object> FIELD = () -> new Object() { public String toString() { return "{"; } };
+                private final char brace = '{';
+                static {
+                    class LocalInInitializer {}
+                }
+
+                /** A method. */
+                public String method(int a) {
+                    String text = \"""
+                            { not a brace }
+                            \""";
+                    // }
+                    return new Object() { public String toString() { return text; } }.toString();
+                }
+
+                public Tricky() { this(Tricky.class); }
+
+                Tricky(Class<?> type) {}
+
+                public @interface Marker {
+                    /** Kinds. */
+                    Class<?>[] value() default { Tricky.class };
+                }
+
+                public enum Kind {
+                    A { @Override public int weight() { return 1; } },
+                    /** B. */
+                    B(2) {},
+                    C;
+
+                    Kind() {}
+
+                    Kind(int weight) {}
+
+                    /** Weight. */
+                    public int weight() { return 0; }
+                }
+
+                public record Pair(int left, int right) {
+                    public Pair {
+                        if (left > right) { throw new IllegalArgumentException(); }
+                    }
+
+                    /** Sum. */
+                    public int sum() { return left + right; }
+                }
+
+                public interface Shape {
+                    default double area() { return 0; }
+
+                    class Nested {}
+                }
+            }
+            """;
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void blanksMethodBodiesButKeepsPositionsAndInitializers() {
+        String blanked = BodyBlanker.blank(TRICKY);
+
+        assertEquals(TRICKY.length(), blanked.length());
+        assertEquals(TRICKY.lines().count(), blanked.lines().count());
+        assertFalse(blanked.contains("return text"));
+        assertTrue(blanked.contains("IllegalArgumentException")); // a compact constructor has no parameter list to go by
+        assertFalse(blanked.contains("return 0"));
+        assertTrue(blanked.contains("class LocalInInitializer {}"));
+        assertTrue(blanked.contains("public String toString() { return \"{\"; }"));
+        assertTrue(blanked.matches("(?s).*default \\{ +}.*"));
+        assertTrue(blanked.contains("/** Weight. */"));
+    }
+
+    @Test
+    void leavesSourcesWithStructuralUnicodeEscapesAlone() {
+        String source = "class A { void run() { int x = 0; \\u007D }";
+        assertSame(source, BodyBlanker.blank(source));
+    }
+
+    @Test
+    void declarationsOnlyScanFindsTheSameElements() throws Exception {
+        Path file = projectRoot.resolve("src/main/java/com/example/Tricky.java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, TRICKY);
+        Config config = loadDefault();
+
+        ScanContext full = new JavaSourceScanner().scan(projectRoot, config);
+        ScanContext declarations = new JavaSourceScanner(ScanOptions.defaults().withDeclarationsOnly(true)).scan(projectRoot, config);
+
+        assertFalse(full.publicApiElements().isEmpty());
+        assertEquals(full.publicApiElements(), declarations.publicApiElements());
+        assertEquals(full.docComments(), declarations.docComments());
+    }
+}
@@ -0,0 +1,127 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeSetTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void parsesFileList() {
+        ChangeSet changes = ChangeSet.parse(List.of("core/src/main/java/com/example/Foo.java", "", "README.md"));
+
+        assertFalse(changes.hasLineRanges());
+        assertTrue(changes.lookup(Path.of("/work/core/src/main/java/com/example/Foo.java")).isAll());
+        assertNull(changes.lookup(Path.of("/work/core/src/main/java/com/example/Bar.java")));
+        assertNull(changes.lookup(Path.of("/work/other/src/main/java/com/example/Foo.java")));
+    }
+
+    @Test
+    void parsesUnifiedDiffHunks() {
+        ChangeSet changes = ChangeSet.parse("""
+                diff --git a/src/Foo.java b/src/Foo.java
+                index 1111111..2222222 100644
+                --- a/src/Foo.java
+                +++ b/src/Foo.java
+                @@ -10,2 +10,3 @@ public class Foo {
+                +    added();
+                @@ -40,3 +41,0 @@
+                -    removed();
+                @@ -60 +60 @@
+                -old
+                +new
+                diff --git a/src/Gone.java b/src/Gone.java
+                deleted file mode 100644
+                --- a/src/Gone.java
+                +++ /dev/null
+                @@ -1,3 +0,0 @@
+                -class Gone {}
+                """.lines().toList());
+
+        assertTrue(changes.hasLineRanges());
+        ChangeSet.LineRanges lines = changes.lookup(Path.of("/repo/src/Foo.java"));
+        assertTrue(lines.overlaps(12, 20));
+        assertFalse(lines.overlaps(13, 40));
+        assertTrue(lines.overlaps(42, 42));
+        assertTrue(lines.overlaps(60, 60));
+        assertFalse(lines.overlaps(61, 100));
+        assertNull(changes.lookup(Path.of("/repo/src/Gone.java")));
+        assertTrue(changes.wholeFiles().lookup(Path.of("/repo/src/Foo.java")).isAll());
+    }
+
+    @Test
+    void scanIsLimitedToChangedFilesAndLines() throws Exception {
+        write("com/example/Foo.java", """
+                package com.example;
+
+                /** Foo. */
+                public class Foo {
+
+                    /**
+                     * Documented.
+                     */
+                    public void documented() {}
+
+                    public void edited() {
+                        System.out.println();
+                    }
+
+                    public void untouched() {}
+                }
+                """);
+        write("com/example/Bar.java", """
+                package com.example;
+
+                public class Bar {}
+                """);
+        Config config = loadDefault();
+
+        ChangeSet fileList = ChangeSet.parse(List.of("src/main/java/com/example/Foo.java"));
+        assertEquals(List.of("com.example.Foo", "com.example.Foo#documented()", "com.example.Foo#edited()", "com.example.Foo#untouched()"),
+                names(config, fileList));
+
+        ChangeSet diff = ChangeSet.parse("""
+                --- a/src/main/java/com/example/Foo.java
+                +++ b/src/main/java/com/example/Foo.java
+                @@ -7 +7 @@
+                -     * Old text.
+                +     * Documented.
+                @@ -12 +12 @@
+                -        System.err.println();
+                +        System.out.println();
+                """.lines().toList());
+        assertEquals(List.of("com.example.Foo#documented()", "com.example.Foo#edited()"), names(config, diff));
+
+        ChangeSet header = ChangeSet.parse("""
+                +++ b/src/main/java/com/example/Foo.java
+                @@ -4 +4 @@
+                """.lines().toList());
+        assertEquals(List.of("com.example.Foo"), names(config, header));
+    }
+
+    private List<String> names(Config config, ChangeSet changes) {
+        ScanOptions options = ScanOptions.defaults().withChanges(changes);
+        ScanContext javac = new JavaSourceScanner(options).scan(projectRoot, config);
+        ScanContext fast = new DeclarationScanner(options).scan(projectRoot, config);
+        assertEquals(javac.publicApiElements(), fast.publicApiElements());
+        return javac.publicApiElements().stream().map(ElementRef::qualifiedName).toList();
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = projectRoot.resolve("src/main/java").resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,334 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.model.DocTags;
+import io.jadify.core.model.ElementRef;
+import io.jadify.core.model.ElementTable;
+import io.jadify.core.rules.PublicJavadocPresenceRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static io.jadify.core.config.ConfigLoader.load;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Differential tests: the javac-free scanner must report exactly the elements {@link JavaSourceScanner} reports.
+ */
+class DeclarationScannerTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void agreesWithJavacOnTrickyDeclarations() throws Exception {
+        write("com/example/Tricky.java", """
+                package com.example;
+
+                import java.util.*;
+                import java.util.function.Function;
+
+                /** Tricky type with { braces } in its doc. */
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                public abstract class Tricky<T extends Comparable<? super T>> extends Base implements Runnable {
+                    private static final String TEXT = \"""
+                            } { not a brace
+                            \""";
+                    private static final char OPEN = '{';
+                    private final Runnable anonymous = new Runnable() {
+                        public void run() { /* } */ }
+                    };
+                    private final Function<String, Integer> lambda = s -> { return s.length(); };
+                    static { System.out.println("{"); }
+
+                    /** Generic method. */
+                    public <R> Map<String, List<? extends R>> convert(Map<? super String, R[]> input, int... limits) { return null; }
+
+                    public String[] legacy(String names[], final @Deprecated int count) throws java.io.IOException { return names; }
+
+                    /**
+                     * Parses {@code @notATag} and {@description inline}.
+                     * <pre>{@code
+                     * @NotATagEither
+                     * }</pre>
+                     *
+                     * @param input the input
+                     * @param <X> a type
+                     * @return something
+                     * @throws java.io.IOException never
+                     * @apiNote note {@link Map} and {@inheritDoc}
+                     */
+                    public <X> int parse(String input) throws java.io.IOException, IllegalStateException { return 0; }
+
+                    protected Tricky(Tricky<T> this, List<int[]> values) {}
+
+                    /** First. */
+                    /** Second wins. */
+                    public void twoDocs() {}
+
+                    @Override
+                    /** Not attached after an annotation. */
+                    public void run() {}
+
+                    public abstract java.util.Optional<java.lang.String> qualified();
+
+                    void packagePrivate() {}
+
+                    public static class Nested extends RuntimeException {
+                        public Nested() {}
+
+                        private class Hidden {
+                            public void invisible() {}
+                        }
+                    }
+
+                    protected interface Callback {
+                        void call(String value);
+                        default Callback andThen(Callback next) { return v -> { call(v); next.call(v); }; }
+                        private void helper() {}
+                        class Impl implements Callback { public void call(String value) {} }
+                    }
+
+                    /** Colors. */
+                    public enum Color {
+                        RED("r") { @Override public String code() { return "R"; } },
+                        GREEN("g");
+
+                        private final String code;
+
+                        Color(String code) { this.code = code; }
+
+                        public String code() { return code; }
+                    }
+
+                    public record Point(int x, int y, List<String> tags) implements Comparable<Point> {
+                        /** Compact constructor. */
+                        public Point {
+                            tags = List.copyOf(tags);
+                        }
+
+                        public Point(int x) { this(x, 0, List.of()); }
+
+                        @Override
+                        public int compareTo(Point other) { return Integer.compare(x, other.x); }
+                    }
+
+                    public @interface Marker {
+                        String value() default "}";
+                        int[] numbers() default {1, 2};
+                    }
+
+                    public sealed interface Shape permits Square, Circle {}
+                    public static final class Square implements Shape {}
+                    public static non-sealed class Circle implements Shape {}
+                }
+
+                class Base {
+                    public void notPublicApi() {}
+                }
+                """);
+        write("com/example/internal/Skipped.java", """
+                package com.example.internal;
+
+                public class Skipped { public void run() {} }
+                """);
+        write("com/example/package-info.java", """
+                /** Package docs. */
+                package com.example;
+                """);
+
+        assertScannersAgree(config("""
+                projectRoot: "src/main/java"
+                scan:
+                  types:
+                    include:
+                      annotations: true
+                """));
+    }
+
+    @Test
+    void recordsDocTagsAndDeclarations() throws Exception {
+        write("com/example/Tags.java", """
+                package com.example;
+
+                /**
+                 * Tagged type {@description inline}.
+                 *
+                 * @param <T> element type
+                 * @since 1.0
+                 */
+                public class Tags<T> {
+                    /**
+                     * Parses {@code @notATag}.
+                     * <pre>{@code
+                     * @NotATagEither
+                     * }</pre>
+                     *
+                     * @param input the input, see {@link #Tags()}
+                     * @return something
+                     * @throws java.io.IOException never
+                     * @apiNote twice
+                     * @apiNote again
+                     */
+                    public int parse(String input, int limit) throws java.io.IOException, IllegalStateException { return 0; }
+
+                    /** {@inheritDoc} */
+                    public Tags() {}
+                }
+                """);
+        Config config = config("""
+                projectRoot: "src/main/java"
+                """);
+
+        ScanContext fast = new DeclarationScanner().scan(projectRoot, config);
+
+        assertEquals(List.of(
+                new DocTags(bits(DocTags.Kind.PARAM, DocTags.Kind.SINCE), List.of("<T>"), List.of(), List.of("description"),
+                        List.of(), true, List.of()),
+                new DocTags(bits(DocTags.Kind.PARAM, DocTags.Kind.RETURN, DocTags.Kind.THROWS), List.of("input"),
+                        List.of("java.io.IOException"), List.of("apiNote", "apiNote"), List.of("input", "limit"), false,
+                        List.of("java.io.IOException", "IllegalStateException")),
+                new DocTags(bits(DocTags.Kind.INHERIT_DOC), List.of(), List.of(), List.of(), List.of(), true, List.of())
+        ), List.of(fast.elements().docTags(0), fast.elements().docTags(1), fast.elements().docTags(2)));
+        assertScannersAgree(config);
+    }
+
+    @Test
+    void resolvesInheritedDocsWithBothScanners() throws Exception {
+        write("com/example/api/Shape.java", """
+                package com.example.api;
+
+                /** A shape. */
+                public interface Shape {
+                    /** The area. */
+                    double area();
+
+                    double perimeter();
+                }
+                """);
+        write("com/example/shapes/Square.java", """
+                package com.example.shapes;
+
+                import com.example.api.*;
+                import java.util.concurrent.Callable;
+
+                /** A square. */
+                public class Square implements Shape, Callable<Double> {
+                    public double area() { return 1; }
+
+                    @Override
+                    public double perimeter() { return 4; }
+
+                    public Double call() { return area(); }
+
+                    public boolean equals(Object other) { return false; }
+
+                    public void grow() {}
+                }
+                """);
+        Config config = config("""
+                projectRoot: "src/main/java"
+                """);
+
+        for (Scanner scanner : List.of(new JavaSourceScanner(), new DeclarationScanner())) {
+            ElementTable elements = scanner.scan(projectRoot, config).elements();
+            List<String> messages = new ArrayList<>();
+            PublicJavadocPresenceRule rule = new PublicJavadocPresenceRule(true);
+            for (int id = 0; id < elements.size(); id++) {
+                rule.evaluate(elements, id, issue -> messages.add(issue.message()));
+            }
+            assertEquals(List.of(
+                    "Missing Javadoc: com.example.api.Shape#perimeter()",
+                    "Missing Javadoc: com.example.shapes.Square#grow()",
+                    "Missing Javadoc: com.example.shapes.Square#perimeter()"
+            ), messages.stream().sorted().toList(), scanner.getClass().getSimpleName());
+        }
+    }
+
+    private static int bits(DocTags.Kind... kinds) {
+        int bits = 0;
+        for (DocTags.Kind kind : kinds) {
+            bits |= 1 << kind.ordinal();
+        }
+        return bits;
+    }
+
+    @Test
+    void agreesWithJavacOnThisModule() throws Exception {
+        Path moduleSources = Path.of("src").toAbsolutePath();
+        assumeTrue(Files.isDirectory(moduleSources), "module sources not available");
+
+        assertScannersAgree(Path.of("").toAbsolutePath(), config("""
+                projectRoot: "src"
+                """));
+    }
+
+    @Test
+    void agreesWithJavacOnJdkSources() throws Exception {
+        Path srcZip = Path.of(System.getProperty("java.home"), "lib", "src.zip");
+        assumeTrue(Files.isRegularFile(srcZip), "JDK sources not installed");
+        try (ZipFile zip = new ZipFile(srcZip.toFile())) {
+            for (ZipEntry entry : zip.stream().toList()) {
+                String name = entry.getName();
+                if (name.matches("java\\.base/java/(util|util/concurrent|util/function|lang|io|time)/[^/]+\\.java")) {
+                    Path target = projectRoot.resolve("src/main/java").resolve(name.substring("java.base/".length()));
+                    Files.createDirectories(target.getParent());
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        Files.copy(in, target);
+                    }
+                }
+            }
+        }
+
+        assertScannersAgree(config("""
+                projectRoot: "src/main/java"
+                """));
+    }
+
+    private void assertScannersAgree(Config config) {
+        assertScannersAgree(projectRoot, config);
+    }
+
+    private static void assertScannersAgree(Path root, Config config) {
+        ScanContext javac = new JavaSourceScanner().scan(root, config);
+        ScanContext fast = new DeclarationScanner().scan(root, config);
+
+        assertFalse(javac.publicApiElements().isEmpty());
+        for (int i = 0; i < Math.min(javac.publicApiElements().size(), fast.publicApiElements().size()); i++) {
+            assertEquals(javac.publicApiElements().get(i), fast.publicApiElements().get(i), "element #" + i);
+            assertEquals(javac.elements().position(i), fast.elements().position(i), "position of element #" + i);
+            assertEquals(javac.elements().attributes(i), fast.elements().attributes(i), "attributes of element #" + i);
+            assertEquals(javac.elements().annotations(i), fast.elements().annotations(i), "annotations of element #" + i);
+            assertEquals(javac.elements().docTags(i), fast.elements().docTags(i), "doc tags of element #" + i);
+            assertNotNull(javac.elements().packageName(i), "package of element #" + i);
+            assertEquals(javac.elements().packageName(i), fast.elements().packageName(i), "package of element #" + i);
+        }
+        assertEquals(javac.publicApiElements().size(), fast.publicApiElements().size());
+        assertEquals(javac.elements().types(), fast.elements().types());
+        Map<ElementRef, String> javacDocs = javac.docComments();
+        Map<ElementRef, String> fastDocs = fast.docComments();
+        assertEquals(javacDocs.keySet(), fastDocs.keySet());
+        javacDocs.forEach((ref, doc) ->
+                assertEquals(doc.isBlank(), fastDocs.get(ref).isBlank(), () -> "doc presence of " + ref));
+    }
+
+    private Config config(String yaml) throws Exception {
+        return load(Files.writeString(projectRoot.resolve("jadify.yaml"), yaml));
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path file = projectRoot.resolve("src/main/java").resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,61 @@
+package io.jadify.core.scan;
+
+import org.junit.jupiter.api.Test;
+
+import static io.jadify.core.scan.HeaderSniffer.UNKNOWN;
+import static io.jadify.core.scan.HeaderSniffer.sniffPackage;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HeaderSnifferTest {
+
+    @Test
+    void readsPackageAfterLicenseHeaderAndComments() {
+        assertEquals("com.example.impl", sniff("""
+                /*
+                 * Copyright (c) Example. package fake.name;
+                 */
+                // generated: package other;
+                package com.example
+                    .impl;
+
+                public class Foo {}
+                """));
+    }
+
+    @Test
+    void skipsPackageAnnotations() {
+        assertEquals("com.example", sniff("""
+                /** Package docs. */
+                @Deprecated
+                @SuppressWarnings(value = {"a)", "b"})
+                package com.example;
+                """));
+    }
+
+    @Test
+    void reportsUnnamedPackageWhenFirstTokenIsNotPackage() {
+        assertEquals("", sniff("import java.util.List;\nclass Foo {}\n"));
+        assertEquals("", sniff("@Deprecated public class Foo {}\n"));
+        assertEquals("", sniff("public @interface Marker {}\n"));
+        assertEquals("", sniff("// only a comment\n"));
+    }
+
+    @Test
+    void stripsByteOrderMark() {
+        byte[] source = "﻿package com.example;".getBytes(UTF_8);
+        assertEquals("com.example", sniffPackage(source, true));
+    }
+
+    @Test
+    void truncatedHeadIsUnknown() {
+        assertEquals(UNKNOWN, sniffPackage("/* long license ".getBytes(UTF_8), false));
+        assertEquals(UNKNOWN, sniffPackage("package com.exa".getBytes(UTF_8), false));
+        assertEquals(UNKNOWN, sniffPackage("pack".getBytes(UTF_8), false));
+        assertEquals(UNKNOWN, sniffPackage("@Anno(value = \"".getBytes(UTF_8), false));
+    }
+
+    private static String sniff(String source) {
+        return sniffPackage(source.getBytes(UTF_8), true);
+    }
+}
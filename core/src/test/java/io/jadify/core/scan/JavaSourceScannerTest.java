@@ -0,0 +1,205 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.config.exception.ConfigurationException;
+import io.jadify.core.model.ElementRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static io.jadify.core.model.ElementKind.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaSourceScannerTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void scanCollectsPublicApiElementsAndDocComments() throws Exception {
+        write("com/example/Foo.java", """
+                package com.example;
+
+                /** Foo type. */
+                public class Foo {
+                    /** Creates a foo. */
+                    public Foo(String name) {}
+
+                    public int size(java.util.List<String> values, int limit) { return 0; }
+
+                    void hidden() {}
+
+                    private static class Secret {}
+
+                    public interface Nested {
+                        void run();
+                    }
+                }
+                """);
+
+        ScanContext ctx = new JavaSourceScanner().scan(projectRoot, loadDefault());
+
+        assertEquals(List.of(
+                new ElementRef(CLASS, "com.example.Foo", "com.example.Foo", source("com/example/Foo.java")),
+                new ElementRef(CONSTRUCTOR, "com.example.Foo#Foo(String)", "com.example.Foo#Foo(String)", source("com/example/Foo.java")),
+                new ElementRef(METHOD, "com.example.Foo#size(java.util.List<String>, int)", "com.example.Foo#size(java.util.List<String>, int)", source("com/example/Foo.java")),
+                new ElementRef(INTERFACE, "com.example.Foo.Nested", "com.example.Foo.Nested", source("com/example/Foo.java")),
+                new ElementRef(METHOD, "com.example.Foo.Nested#run()", "com.example.Foo.Nested#run()", source("com/example/Foo.java"))
+        ), ctx.publicApiElements());
+        assertEquals(2, ctx.docComments().size());
+        assertEquals("Foo type.", ctx.docComments().get(ctx.publicApiElements().getFirst()));
+    }
+
+    @Test
+    void scanSkipsExcludedPackages() throws Exception {
+        write("com/example/internal/Hidden.java", """
+                package com.example.internal;
+
+                public class Hidden {}
+                """);
+        write("com/example/Visible.java", """
+                package com.example;
+
+                public class Visible {}
+                """);
+
+        ScanContext ctx = new JavaSourceScanner().scan(projectRoot, loadDefault());
+
+        assertEquals(List.of("com.example.Visible"),
+                ctx.publicApiElements().stream().map(ElementRef::qualifiedName).toList());
+    }
+
+    @Test
+    void parallelScanMatchesSequentialOrder() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            StringBuilder body = new StringBuilder();
+            // Vary file sizes so the size-based partitioning reorders files.
+            for (int m = 0; m < (i * 7) % 23; m++) {
+                body.append("    /** Doc ").append(m).append(". */\n")
+                        .append("    public void m").append(m).append("(int a) {}\n");
+            }
+            write("com/example/p%d/Type%d.java".formatted(i % 5, i), """
+                    package com.example.p%d;
+
+                    public class Type%d {
+                    %s}
+                    """.formatted(i % 5, i, body));
+        }
+        Config config = loadDefault();
+
+        ScanContext sequential = new JavaSourceScanner().scan(projectRoot, config);
+        ScanContext parallel = new JavaSourceScanner(ScanOptions.defaults().withThreads(4)).scan(projectRoot, config);
+
+        assertEquals(sequential.publicApiElements(), parallel.publicApiElements());
+        assertEquals(sequential.docComments(), parallel.docComments());
+    }
+
+    @Test
+    void streamedBatchesConcatenateToMaterializedScan() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            write("com/example/Type%d.java".formatted(i), """
+                    package com.example;
+
+                    /** Type %d. */
+                    public class Type%d {
+                        public void run() {}
+                    }
+                    """.formatted(i, i));
+        }
+        Config config = loadDefault();
+        ScanContext materialized = new JavaSourceScanner().scan(projectRoot, config);
+
+        List<ScanBatch> batches = new ArrayList<>();
+        new JavaSourceScanner(ScanOptions.defaults().withBatchSize(3)).scan(projectRoot, config, batches::add);
+
+        assertEquals(3, batches.size());
+        assertEquals(materialized.publicApiElements(),
+                batches.stream().flatMap(b -> b.publicApiElements().stream()).toList());
+        Map<ElementRef, String> docs = new HashMap<>();
+        batches.forEach(b -> docs.putAll(b.docComments()));
+        assertEquals(materialized.docComments(), docs);
+    }
+
+    @Test
+    void byteBoundedBatchesMatchSingleTaskScan() throws Exception {
+        for (int i = 0; i < 9; i++) {
+            write("com/example/Type%d.java".formatted(i), """
+                    package com.example;
+
+                    /** Type %d. */
+                    public class Type%d {
+                        public void run() {}
+                    }
+                    """.formatted(i, i));
+        }
+        Config config = loadDefault();
+        ScanContext single = new JavaSourceScanner().scan(projectRoot, config);
+
+        for (ScanOptions options : List.of(
+                ScanOptions.defaults().withBatchBytes(200),
+                ScanOptions.defaults().withBatchBytes(200).withThreads(2),
+                ScanOptions.defaults().withMaxHeapFraction(1e-7))) {
+            ScanContext batched = new JavaSourceScanner(options).scan(projectRoot, config);
+            assertEquals(single.publicApiElements(), batched.publicApiElements());
+            assertEquals(single.docComments(), batched.docComments());
+        }
+    }
+
+    @Test
+    void batchesRespectFileAndByteLimits() {
+        long[] sizes = {100, 60, 50, 300, 10, 10, 10};
+
+        assertEquals(List.of("0-1", "1-3", "3-4", "4-7"), bounds(JavaSourceScanner.batches(sizes, 10, 120)));
+        assertEquals(List.of("0-2", "2-4", "4-6", "6-7"), bounds(JavaSourceScanner.batches(sizes, 2, Long.MAX_VALUE)));
+        assertEquals(List.of(), bounds(JavaSourceScanner.batches(new long[0], 2, 100)));
+
+        ScanOptions options = ScanOptions.defaults().withBatchBytes(1 << 20).withMaxHeapFraction(0.5);
+        assertEquals(1 << 20, JavaSourceScanner.batchByteLimit(options, 1L << 40));
+        assertEquals((1L << 24) / 2 / JavaSourceScanner.TREE_BYTES_PER_SOURCE_BYTE, JavaSourceScanner.batchByteLimit(options, 1L << 24));
+        assertEquals(Long.MAX_VALUE, JavaSourceScanner.batchByteLimit(ScanOptions.defaults(), 1L << 30));
+    }
+
+    @Test
+    void partitionBySizeBalancesLargestFilesFirst() throws Exception {
+        List<Path> files = List.of(
+                write("a/A.java", "x".repeat(100)),
+                write("a/B.java", "x".repeat(60)),
+                write("a/C.java", "x".repeat(50)),
+                write("a/D.java", "x".repeat(10))
+        );
+
+        List<int[]> partitions = JavaSourceScanner.partitionBySize(files, 2);
+
+        assertEquals(2, partitions.size());
+        assertArrayEquals(new int[]{0, 3}, partitions.get(0));
+        assertArrayEquals(new int[]{1, 2}, partitions.get(1));
+    }
+
+    @Test
+    void scanRejectsMissingSourceRoot() {
+        assertThrows(ConfigurationException.class,
+                () -> new JavaSourceScanner().scan(projectRoot.resolve("missing"), loadDefault()));
+    }
+
+    private static List<String> bounds(List<int[]> batches) {
+        return batches.stream().map(batch -> batch[0] + "-" + batch[1]).toList();
+    }
+
+    private Path write(String relativePath, String content) throws IOException {
+        Path file = projectRoot.resolve("src/main/java").resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private static String source(String relativePath) {
+        return Path.of("src/main/java").resolve(relativePath).toString();
+    }
+}
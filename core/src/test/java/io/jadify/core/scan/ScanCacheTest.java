@@ -0,0 +1,169 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import io.jadify.core.model.ElementRef;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.jadify.core.config.ConfigLoader.load;
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanCacheTest {
+
+    @TempDir
+    Path projectRoot;
+
+    private final JavaSourceScanner scanner = new JavaSourceScanner(ScanOptions.defaults().withCacheDir(ScanOptions.DEFAULT_CACHE_DIR));
+
+    @Test
+    void cachedScanMatchesUncachedScan() throws Exception {
+        write("com/example/A.java", "package com.example;\n/** A. */\npublic class A { @Deprecated public void run() {} }\n");
+        write("com/example/B.java", "package com.example;\npublic interface B { /** Doc. */ String getName(); }\n");
+        Config config = loadDefault();
+
+        ScanContext uncached = new JavaSourceScanner().scan(projectRoot, config);
+        ScanContext cold = scanner.scan(projectRoot, config);
+        ScanContext warm = scanner.scan(projectRoot, config);
+
+        assertEquals(uncached.publicApiElements(), cold.publicApiElements());
+        assertEquals(uncached.publicApiElements(), warm.publicApiElements());
+        assertEquals(uncached.docComments(), warm.docComments());
+        for (int id = 0; id < uncached.elements().size(); id++) {
+            assertEquals(uncached.elements().attributes(id), warm.elements().attributes(id));
+            assertEquals(uncached.elements().annotations(id), warm.elements().annotations(id));
+            assertEquals(uncached.elements().docTags(id), warm.elements().docTags(id));
+            assertEquals(uncached.elements().position(id), warm.elements().position(id));
+            assertEquals(uncached.elements().packageName(id), warm.elements().packageName(id));
+        }
+        assertEquals(uncached.elements().types(), warm.elements().types());
+        assertEquals(2, entries().size());
+    }
+
+    @Test
+    void changedFilesAreRescannedAndDeletedFilesEvicted() throws Exception {
+        Path a = write("com/example/A.java", "package com.example;\npublic class A {}\n");
+        Path b = write("com/example/B.java", "package com.example;\npublic class B {}\n");
+        Config config = loadDefault();
+        scanner.scan(projectRoot, config);
+        List<Path> before = entries();
+
+        Files.writeString(a, "package com.example;\n/** Now documented. */\npublic class A {}\n");
+        Files.delete(b);
+        ScanContext ctx = scanner.scan(projectRoot, config);
+
+        assertEquals(List.of("com.example.A"), ctx.publicApiElements().stream().map(ElementRef::qualifiedName).toList());
+        assertEquals("Now documented.", ctx.docComments().get(ctx.publicApiElements().getFirst()));
+        List<Path> after = entries();
+        assertEquals(1, after.size());
+        assertTrue(before.stream().noneMatch(after::contains));
+    }
+
+    @Test
+    void partialScansKeepTheEntriesOfFilesTheySkip() throws Exception {
+        Path a = write("com/example/A.java", "package com.example;\npublic class A {}\n");
+        write("com/example/B.java", "package com.example;\npublic class B {}\n");
+        Config config = loadDefault();
+        scanner.scan(projectRoot, config);
+        List<Path> before = entries();
+        assertEquals(2, before.size());
+
+        JavaSourceScanner changedOnly = new JavaSourceScanner(ScanOptions.defaults()
+                .withCacheDir(ScanOptions.DEFAULT_CACHE_DIR)
+                .withChanges(ChangeSet.parse(List.of("src/main/java/com/example/A.java"))));
+        assertEquals(1, changedOnly.scan(projectRoot, config).publicApiElements().size());
+        assertEquals(before, entries());
+
+        Files.writeString(a, "package com.example;\n/** Now documented. */\npublic class A {}\n");
+        scanner.scanFiles(projectRoot, config, List.of(a));
+        List<Path> after = entries();
+        assertEquals(3, after.size());
+        assertTrue(after.containsAll(before));
+    }
+
+    @Test
+    void configsSharingTheCacheKeepEachOthersEntries() throws Exception {
+        write("com/example/A.java", "package com.example;\npublic class A {}\n");
+        scanner.scan(projectRoot, loadDefault());
+        List<Path> before = entries();
+
+        Path yaml = Files.writeString(projectRoot.resolve("jadify.yaml"), """
+                scan:
+                  types:
+                    names:
+                      exclude: ["^com\\\\.example\\\\.B$"]
+                """);
+        scanner.scan(projectRoot, load(yaml));
+        scanner.scan(projectRoot, load(yaml));
+
+        List<Path> after = entries();
+        assertEquals(2, after.size());
+        assertTrue(after.containsAll(before));
+    }
+
+    @Test
+    void projectsSharingSourcesKeepTheirOwnSourcePaths() throws Exception {
+        write("com/example/A.java", "package com.example;\npublic class A {}\n");
+        scanner.scan(projectRoot, loadDefault());
+
+        Path module = projectRoot.resolve("src");
+        Path yaml = Files.writeString(projectRoot.resolve("jadify.yaml"), "projectRoot: \"main/java\"\n");
+        JavaSourceScanner sharedCache = new JavaSourceScanner(ScanOptions.defaults()
+                .withCacheDir(projectRoot.resolve(ScanOptions.DEFAULT_CACHE_DIR)));
+        ScanContext ctx = sharedCache.scan(module, load(yaml));
+
+        assertEquals(List.of(Path.of("main/java/com/example/A.java").toString()),
+                ctx.publicApiElements().stream().map(ElementRef::sourceFile).toList());
+        assertEquals(2, entries().size());
+    }
+
+    @Test
+    void scanConfigChangeInvalidatesEntries() throws Exception {
+        write("com/example/A.java", "package com.example;\npublic class A {}\n");
+        scanner.scan(projectRoot, loadDefault());
+        List<Path> before = entries();
+
+        Path yaml = Files.writeString(projectRoot.resolve("jadify.yaml"), """
+                scan:
+                  types:
+                    names:
+                      exclude: ["^com\\\\.example\\\\.A$"]
+                """);
+        ScanContext ctx = scanner.scan(projectRoot, load(yaml));
+
+        assertTrue(ctx.publicApiElements().isEmpty());
+        assertNotEquals(before, entries());
+    }
+
+    @Test
+    void corruptEntriesAreTreatedAsMisses() throws Exception {
+        write("com/example/A.java", "package com.example;\npublic class A {}\n");
+        Config config = loadDefault();
+        scanner.scan(projectRoot, config);
+        for (Path entry : entries()) {
+            Files.write(entry, new byte[]{1, 2, 3});
+        }
+
+        ScanContext ctx = scanner.scan(projectRoot, config);
+
+        assertEquals(1, ctx.publicApiElements().size());
+    }
+
+    private Path write(String relativePath, String content) throws IOException {
+        Path file = projectRoot.resolve("src/main/java").resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> files = Files.list(projectRoot.resolve(ScanOptions.DEFAULT_CACHE_DIR))) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.jadify.core.scan;
+
+import io.jadify.core.config.Config;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceDiscoveryTest {
+
+    @TempDir
+    Path repo;
+
+    @Test
+    void gitignorePatterns() {
+        IgnoreRules rules = IgnoreRules.of(repo, List.of(
+                "# comment",
+                "*.gen.java",
+                "/out/",
+                "docs/**/draft",
+                "tmp*/",
+                "!tmp-keep/",
+                "a/**"
+        ), null);
+
+        assertTrue(rules.isIgnored(repo.resolve("x/Foo.gen.java"), false));
+        assertFalse(rules.isIgnored(repo.resolve("x/Foo.java"), false));
+        assertTrue(rules.isIgnored(repo.resolve("out"), true));
+        assertFalse(rules.isIgnored(repo.resolve("out"), false));
+        assertFalse(rules.isIgnored(repo.resolve("x/out"), true));
+        assertTrue(rules.isIgnored(repo.resolve("docs/draft"), true));
+        assertTrue(rules.isIgnored(repo.resolve("docs/v1/v2/draft"), false));
+        assertTrue(rules.isIgnored(repo.resolve("x/tmp1"), true));
+        assertFalse(rules.isIgnored(repo.resolve("x/tmp-keep"), true));
+        assertTrue(rules.isIgnored(repo.resolve("a/b/C.java"), false));
+        assertFalse(rules.isIgnored(repo.resolve("b/a"), true));
+    }
+
+    @Test
+    void prunesBuildOutputsExcludedAndIgnoredDirectories() throws Exception {
+        Files.createDirectories(repo.resolve(".git"));
+        Files.writeString(repo.resolve(".gitignore"), "Ignored*.java\nscratch/\n");
+        Files.writeString(repo.resolve("pom.xml"), "<project/>");
+        Path sourceRoot = repo.resolve("src/main/java");
+        Files.writeString(Files.createDirectories(sourceRoot.resolve("com/example")).resolve(".gitignore"), "!IgnoredButKept.java\n");
+
+        write(sourceRoot, "com/example/Foo.java");
+        write(sourceRoot, "com/example/IgnoredByRoot.java");
+        write(sourceRoot, "com/example/IgnoredButKept.java");
+        write(sourceRoot, "com/example/scratch/Draft.java");
+        write(sourceRoot, "com/example/build/Builder.java"); // a package, no Gradle script next to it
+        write(sourceRoot, "com/example/node_modules/Lib.java");
+        write(sourceRoot, "com/example/.hidden/Hidden.java");
+        write(repo, "target/generated-sources/Gen.java");
+        write(repo, "module/build/Out.java");
+        Files.writeString(repo.resolve("module/build.gradle"), "");
+        write(repo, "module/src/Kept.java");
+
+        Config.Sources sources = new Config.Sources(List.of(".*/", "node_modules/"), true);
+
+        assertEquals(List.of(
+                sourceRoot.resolve("com/example/Foo.java"),
+                sourceRoot.resolve("com/example/IgnoredButKept.java"),
+                sourceRoot.resolve("com/example/build/Builder.java")
+        ), new SourceDiscovery(sourceRoot, sources).discover(sourceRoot));
+
+        SourceDiscovery fromRepoRoot = new SourceDiscovery(repo, sources);
+        assertEquals(List.of(
+                repo.resolve("module/src/Kept.java"),
+                sourceRoot.resolve("com/example/Foo.java"),
+                sourceRoot.resolve("com/example/IgnoredButKept.java"),
+                sourceRoot.resolve("com/example/build/Builder.java")
+        ), fromRepoRoot.discover(repo));
+        assertEquals(6, fromRepoRoot.prunedDirectories()); // .git, target, scratch, node_modules, .hidden, module/build
+    }
+
+    @Test
+    void findsTheSameFilesAsAPlainWalkWithoutRules() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                write(repo, "p%d/q%d/r/T%d%d.java".formatted(i, j, i, j));
+                write(repo, "p%d/N%d.java".formatted(i, j));
+            }
+        }
+        Files.writeString(repo.resolve("p0/notes.txt"), "");
+
+        List<Path> expected;
+        try (Stream<Path> paths = Files.walk(repo)) {
+            expected = paths.filter(Files::isRegularFile).filter(p -> p.toString().endsWith(".java")).sorted().toList();
+        }
+        assertEquals(expected, new SourceDiscovery(repo, new Config.Sources(List.of(), false)).discover(repo));
+    }
+
+    private static void write(Path root, String relativePath) throws IOException {
+        Path file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "class X {}");
+    }
+}
@@ -0,0 +1,129 @@
+package io.jadify.core.watch;
+
+import io.jadify.core.JadifyRunner;
+import io.jadify.core.config.Config;
+import io.jadify.core.model.Issue;
+import io.jadify.core.rules.PublicJavadocPresenceRule;
+import io.jadify.core.rules.Rule;
+import io.jadify.core.scan.DeclarationScanner;
+import io.jadify.core.scan.JavaSourceScanner;
+import io.jadify.core.scan.Scanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.jadify.core.config.ConfigLoader.loadDefault;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchSessionTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void recheckPatchesChangedFilesOnly() throws Exception {
+        write("com/example/Foo.java", "package com.example; public class Foo { public void run() {} }");
+        write("com/example/Bar.java", "package com.example; /** Bar. */ public class Bar {}");
+        Config config = loadDefault();
+        List<Rule> rules = List.of(new PublicJavadocPresenceRule());
+
+        for (Scanner scanner : List.of(new JavaSourceScanner(), new DeclarationScanner())) {
+            WatchSession session = WatchSession.start(scanner, rules, projectRoot, config);
+            assertEquals(List.of("com.example.Foo", "com.example.Foo#run()"), names(session.issues()));
+
+            Path foo = write("com/example/Foo.java", "package com.example; /** Foo. */ public class Foo { public void run() {} }");
+            WatchSession.Delta delta = session.recheck(List.of(foo));
+            assertEquals(1, delta.filesChecked());
+            assertEquals(List.of(), names(delta.added()));
+            assertEquals(List.of("com.example.Foo"), names(delta.removed()));
+
+            Path baz = write("com/example/sub/Baz.java", "package com.example.sub; public class Baz {}");
+            delta = session.recheck(List.of(baz.getParent()));
+            assertEquals(List.of("com.example.sub.Baz"), names(delta.added()));
+            assertEquals(issueSet(new JadifyRunner(scanner, rules).run(projectRoot, config)), issueSet(session.issues()));
+
+            Files.delete(baz);
+            Files.delete(baz.getParent());
+            delta = session.recheck(List.of(baz.getParent()));
+            assertEquals(List.of("com.example.sub.Baz"), names(delta.removed()));
+
+            Files.delete(foo);
+            delta = session.recheck(List.of(foo, foo)); // one file reported twice by a burst
+            assertEquals(List.of("com.example.Foo#run()"), names(delta.removed()));
+            assertEquals(List.of(), session.issues());
+
+            write("com/example/Foo.java", "package com.example; public class Foo { public void run() {} }"); // for the next scanner
+        }
+    }
+
+    @Test
+    void watcherCoalescesBurstsOfChanges() throws Exception {
+        Path sourceRoot = projectRoot.resolve("src/main/java");
+        write("com/example/Foo.java", "package com.example; public class Foo {}");
+        Files.createDirectories(sourceRoot.resolve(".idea"));
+
+        try (SourceWatcher watcher = new SourceWatcher(sourceRoot, loadDefault().scan().sources(), Duration.ofMillis(100))) {
+            Path foo = write("com/example/Foo.java", "package com.example; public class Foo { }");
+            Path bar = write("com/example/Bar.java", "package com.example; public class Bar {}");
+            write("com/example/notes.txt", "ignored");
+            write(".idea/Ignored.java", "class Ignored {}");
+
+            Set<Path> changed = assertTimeoutPreemptively(Duration.ofSeconds(10), watcher::awaitChanges);
+            assertEquals(Set.of(foo.toAbsolutePath(), bar.toAbsolutePath()), changed);
+        }
+    }
+
+    @Test
+    void resolvesInheritedDocsAcrossFiles() throws Exception {
+        write("com/example/Base.java", "package com.example; /** Base. */ public class Base { /** Runs. */ public void run() {} }");
+        Path impl = write("com/example/Impl.java", "package com.example; /** Impl. */ public class Impl extends Base { public void run() {} }");
+        List<Rule> rules = List.of(new PublicJavadocPresenceRule(true));
+
+        for (Scanner scanner : List.of(new JavaSourceScanner(), new DeclarationScanner())) {
+            WatchSession session = WatchSession.start(scanner, rules, projectRoot, loadDefault());
+            assertEquals(List.of(), session.issues());
+
+            Files.writeString(impl, "package com.example; /** Impl. */ public class Impl { public void run() {} }");
+            WatchSession.Delta delta = session.recheck(List.of(impl));
+            assertEquals(List.of("com.example.Impl#run()"), names(delta.added()));
+
+            Files.writeString(impl, "package com.example; /** Impl. */ public class Impl extends Base { public void run() {} }");
+            delta = session.recheck(List.of(impl));
+            assertEquals(List.of("com.example.Impl#run()"), names(delta.removed()));
+            assertEquals(List.of(), session.issues());
+        }
+    }
+
+    @Test
+    void needsAScannerThatScansFiles() throws Exception {
+        write("com/example/Foo.java", "package com.example; public class Foo {}");
+        Scanner wholeProjectOnly = (root, config) -> new JavaSourceScanner().scan(root, config);
+        List<Rule> rules = List.of(new PublicJavadocPresenceRule());
+
+        assertFalse(wholeProjectOnly.supportsFileScan());
+        assertThrows(IllegalArgumentException.class, () -> WatchSession.start(wholeProjectOnly, rules, projectRoot, loadDefault()));
+        assertTrue(new JavaSourceScanner().supportsFileScan());
+        assertTrue(new DeclarationScanner().supportsFileScan());
+    }
+
+    private static List<String> names(List<Issue> issues) {
+        return issues.stream().map(issue -> issue.element().qualifiedName()).toList();
+    }
+
+    private static Set<Issue> issueSet(List<Issue> issues) {
+        return new HashSet<>(issues);
+    }
+
+    private Path write(String relativePath, String content) throws IOException {
+        Path file = projectRoot.resolve("src/main/java").resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}